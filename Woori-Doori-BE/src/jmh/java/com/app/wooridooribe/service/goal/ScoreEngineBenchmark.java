@@ -0,0 +1,98 @@
+package com.app.wooridooribe.service.goal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoreEngine 처리량 벤치마크 (./gradlew jmh)
+ * - scoreSingleMember: 한 회원 점수 계산 (ns/op)
+ * - scoreOneMillionMembers: 합성 회원 100만 명 연속 계산 (회원당 ns, 결과 배열 하나를 재사용)
+ *
+ * 합성 회원은 PROFILES개의 지출 패턴을 돌려 쓰므로 100만 명 분량의 일별 배열을 메모리에 올리지 않습니다.
+ * 결과는 build/results/jmh/results.json에 남으므로 이전 결과와 비교해 처리량 저하를 확인합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoreEngineBenchmark {
+
+    private static final int MEMBERS = 1_000_000;
+    private static final int PROFILES = 1024;
+    private static final int DAYS = 31;
+
+    private int[][] dailySums;
+    private int[][] dailyCounts;
+    private int[] goalMoney;
+    private int[] essential;
+    private int[] nonEssential;
+    private int[] lastMonthSpending;
+    private int[] lastMonthGoal;
+    private final int[] out = new int[ScoreEngine.SCORE_COUNT];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        dailySums = new int[PROFILES][DAYS];
+        dailyCounts = new int[PROFILES][DAYS];
+        goalMoney = new int[PROFILES];
+        essential = new int[PROFILES];
+        nonEssential = new int[PROFILES];
+        lastMonthSpending = new int[PROFILES];
+        lastMonthGoal = new int[PROFILES];
+
+        for (int p = 0; p < PROFILES; p++) {
+            int total = 0;
+            for (int d = 0; d < DAYS; d++) {
+                // 약 60%의 날에 1~5건, 건당 3천~6만원 결제 (결제가 없는 날은 0)
+                if (random.nextInt(10) < 6) {
+                    int count = 1 + random.nextInt(5);
+                    int sum = 0;
+                    for (int c = 0; c < count; c++) {
+                        sum += 3_000 + random.nextInt(57_000);
+                    }
+                    dailySums[p][d] = sum;
+                    dailyCounts[p][d] = count;
+                    total += sum;
+                }
+            }
+            essential[p] = (int) (total * (0.3 + random.nextDouble() * 0.6));
+            nonEssential[p] = total - essential[p];
+            goalMoney[p] = (50 + random.nextInt(250)) * 10000;
+            // 약 20%는 지난 달 목표가 없는 신규 회원
+            if (random.nextInt(5) > 0) {
+                lastMonthGoal[p] = (50 + random.nextInt(250)) * 10000;
+                lastMonthSpending[p] = (int) (lastMonthGoal[p] * (0.5 + random.nextDouble()));
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] scoreSingleMember() {
+        return ScoreEngine.score(goalMoney[0], dailySums[0], dailyCounts[0], essential[0], nonEssential[0],
+                lastMonthSpending[0], lastMonthGoal[0], out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEMBERS)
+    public void scoreOneMillionMembers(Blackhole blackhole) {
+        long totalScore = 0;
+        for (int member = 0; member < MEMBERS; member++) {
+            int p = member & (PROFILES - 1);
+            ScoreEngine.score(goalMoney[p], dailySums[p], dailyCounts[p], essential[p], nonEssential[p],
+                    lastMonthSpending[p], lastMonthGoal[p], out);
+            totalScore += out[ScoreEngine.ACHIEVEMENT] + out[ScoreEngine.STABILITY]
+                    + out[ScoreEngine.RATIO] + out[ScoreEngine.CONTINUITY];
+        }
+        blackhole.consume(totalScore);
+    }
+}
@@ -56,6 +56,10 @@ public class AccountHistory {
     @Column(name = "history_transfer_target")
     private String historyTransferTarget;
 
+    // 우리두리 결제 내역을 복제해 만든 내역이면 원본 db1 CardHistory ID (두리뱅킹 자체 내역은 null)
+    @Column(name = "replicated_card_history_id", unique = true)
+    private Long replicatedCardHistoryId;
+
     @PrePersist
     void onCreate() {
         if (historyDate == null) {
@@ -1,10 +1,13 @@
 package com.app.dooribankbe.domain.repository;
 
 import com.app.dooribankbe.domain.entity.AccountHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountHistoryRepository extends JpaRepository<AccountHistory, Long> {
@@ -16,5 +19,23 @@ public interface AccountHistoryRepository extends JpaRepository<AccountHistory,
            "JOIN FETCH a.DB2Member m " +
            "WHERE ah.id = :id")
     Optional<AccountHistory> findByIdWithAccountAndMember(@Param("id") Long id);
-}
 
+    // 일괄 동기화용: 여러 건을 한 번의 쿼리로 계좌/회원까지 함께 조회
+    @Query("SELECT DISTINCT ah FROM AccountHistory ah " +
+           "JOIN FETCH ah.account a " +
+           "JOIN FETCH a.DB2Member m " +
+           "WHERE ah.id IN :ids")
+    List<AccountHistory> findAllByIdInWithAccountAndMember(@Param("ids") Collection<Long> ids);
+
+    // pull 동기화용: 커서(lastId) 이후의 내역을 ID 순으로 한 페이지씩 조회 (PK 범위 스캔)
+    @Query("SELECT ah FROM AccountHistory ah " +
+           "JOIN FETCH ah.account a " +
+           "JOIN FETCH a.DB2Member m " +
+           "WHERE ah.id > :lastId " +
+           "ORDER BY ah.id ASC")
+    List<AccountHistory> findNextPageWithAccountAndMember(@Param("lastId") Long lastId, Pageable pageable);
+
+    // pull 동기화 커서 초기화용: 현재 가장 마지막 내역 ID
+    @Query("SELECT COALESCE(MAX(ah.id), 0) FROM AccountHistory ah")
+    Long findMaxId();
+}
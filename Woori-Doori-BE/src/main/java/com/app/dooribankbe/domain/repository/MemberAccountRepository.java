@@ -2,11 +2,17 @@ package com.app.dooribankbe.domain.repository;
 
 import com.app.dooribankbe.domain.entity.MemberAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface MemberAccountRepository extends JpaRepository<MemberAccount, Long> {
 
     Optional<MemberAccount> findByAccountNumber(String accountNumber);
+
+    // 결제 동기화 작업 소유자 확인용: 계좌와 db2 회원을 함께 조회
+    @Query("SELECT a FROM MemberAccount a JOIN FETCH a.DB2Member m WHERE a.accountNumber = :accountNumber")
+    Optional<MemberAccount> findByAccountNumberWithMember(@Param("accountNumber") String accountNumber);
 }
 
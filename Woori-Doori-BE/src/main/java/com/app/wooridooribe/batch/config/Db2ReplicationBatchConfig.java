@@ -0,0 +1,274 @@
+package com.app.wooridooribe.batch.config;
+
+import com.app.wooridooribe.batch.dto.Db1CardHistoryRow;
+import com.app.wooridooribe.batch.dto.Db1MemberCardRow;
+import com.app.wooridooribe.batch.dto.Db1MemberRow;
+import com.app.wooridooribe.batch.listener.PartitionProgressListener;
+import com.app.wooridooribe.batch.partitioner.IdRangePartitioner;
+import com.app.wooridooribe.batch.writer.Db2AccountHistoryReplicationWriter;
+import com.app.wooridooribe.batch.writer.Db2AccountReplicationWriter;
+import com.app.wooridooribe.batch.writer.Db2MemberReplicationWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 우리두리(db1) → 두리뱅킹(db2) 일괄 복제 Job 설정
+ * 회원 → 카드(계좌) → 결제 내역 순서로 Step을 실행하며, 각 Step은 db1 PK 구간으로 나눈 파티션을 병렬 처리합니다.
+ *
+ * - Reader: db1 JdbcPagingItemReader (파티션 id 구간 안에서 id 순 keyset 페이징)
+ * - Writer: db2 JDBC 배치 INSERT (청크 단위, 이미 복제된 행은 건너뜀)
+ * - 파티션별 진행 상황은 PartitionProgressListener 로그와 BATCH_STEP_EXECUTION에 남음
+ */
+@Configuration
+@Slf4j
+public class Db2ReplicationBatchConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager db1TransactionManager;
+    private final PlatformTransactionManager db2TransactionManager;
+    private final DataSource db1DataSource;
+    private final Db2MemberReplicationWriter db2MemberReplicationWriter;
+    private final Db2AccountReplicationWriter db2AccountReplicationWriter;
+    private final Db2AccountHistoryReplicationWriter db2AccountHistoryReplicationWriter;
+    private final MeterRegistry meterRegistry;
+    private final int gridSize;
+    private final int chunkSize;
+    private final int skipLimit;
+
+    public Db2ReplicationBatchConfig(JobRepository jobRepository,
+                                     @Qualifier("db1TransactionManager") PlatformTransactionManager db1TransactionManager,
+                                     @Qualifier("db2TransactionManager") PlatformTransactionManager db2TransactionManager,
+                                     @Qualifier("db1DataSource") DataSource db1DataSource,
+                                     Db2MemberReplicationWriter db2MemberReplicationWriter,
+                                     Db2AccountReplicationWriter db2AccountReplicationWriter,
+                                     Db2AccountHistoryReplicationWriter db2AccountHistoryReplicationWriter,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.db2-replication.grid-size:4}") int gridSize,
+                                     @Value("${app.db2-replication.chunk-size:1000}") int chunkSize,
+                                     @Value("${app.db2-replication.skip-limit:100}") int skipLimit) {
+        this.jobRepository = jobRepository;
+        this.db1TransactionManager = db1TransactionManager;
+        this.db2TransactionManager = db2TransactionManager;
+        this.db1DataSource = db1DataSource;
+        this.db2MemberReplicationWriter = db2MemberReplicationWriter;
+        this.db2AccountReplicationWriter = db2AccountReplicationWriter;
+        this.db2AccountHistoryReplicationWriter = db2AccountHistoryReplicationWriter;
+        this.meterRegistry = meterRegistry;
+        this.gridSize = gridSize;
+        this.chunkSize = chunkSize;
+        this.skipLimit = skipLimit;
+    }
+
+    /**
+     * 파티션 실행용 TaskExecutor
+     * 파티션 하나가 db1/db2 커넥션을 하나씩 점유하므로 gridSize만큼만 스레드를 둡니다.
+     */
+    @Bean(name = "db2ReplicationTaskExecutor")
+    public TaskExecutor db2ReplicationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(gridSize);
+        executor.setMaxPoolSize(gridSize);
+        executor.setThreadNamePrefix("db2-replication-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    // ===== 1. 회원 =====
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Db1MemberRow> db1MemberReader(
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId) {
+        return new JdbcPagingItemReaderBuilder<Db1MemberRow>()
+                .name("db1MemberReader")
+                .dataSource(db1DataSource)
+                .selectClause("SELECT id, member_name, phone, birth_date, birth_back")
+                .fromClause("FROM tbl_member")
+                .whereClause("WHERE id BETWEEN :minId AND :maxId")
+                .parameterValues(Map.of("minId", minId, "maxId", maxId))
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .pageSize(chunkSize)
+                .rowMapper((rs, rowNum) -> new Db1MemberRow(
+                        rs.getLong("id"),
+                        rs.getString("member_name"),
+                        rs.getString("phone"),
+                        rs.getString("birth_date"),
+                        rs.getString("birth_back")))
+                .build();
+    }
+
+    @Bean
+    public Step replicateMembersWorkerStep() {
+        return new StepBuilder("replicateMembersWorkerStep", jobRepository)
+                .<Db1MemberRow, Db1MemberRow>chunk(chunkSize, db2TransactionManager)
+                .reader(db1MemberReader(null, null))
+                .writer(db2MemberReplicationWriter)
+                .listener((StepExecutionListener) db2ReplicationProgressListener())
+                .listener((ChunkListener) db2ReplicationProgressListener())
+                .faultTolerant()
+                .skip(DataAccessException.class)
+                .skipLimit(skipLimit)
+                .build();
+    }
+
+    @Bean
+    public Step replicateMembersStep() {
+        return new StepBuilder("replicateMembersStep", jobRepository)
+                .partitioner("replicateMembersWorkerStep", new IdRangePartitioner(db1DataSource, "tbl_member"))
+                .step(replicateMembersWorkerStep())
+                .gridSize(gridSize)
+                .taskExecutor(db2ReplicationTaskExecutor())
+                .build();
+    }
+
+    // ===== 2. 카드 → 계좌 =====
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Db1MemberCardRow> db1MemberCardReader(
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId) {
+        return new JdbcPagingItemReaderBuilder<Db1MemberCardRow>()
+                .name("db1MemberCardReader")
+                .dataSource(db1DataSource)
+                .selectClause("SELECT id, card_num, card_pw, card_create_at, card_user_name, card_user_regist_num, card_user_regist_back")
+                .fromClause("FROM tbl_member_card")
+                .whereClause("WHERE id BETWEEN :minId AND :maxId")
+                .parameterValues(Map.of("minId", minId, "maxId", maxId))
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .pageSize(chunkSize)
+                .rowMapper((rs, rowNum) -> new Db1MemberCardRow(
+                        rs.getLong("id"),
+                        rs.getString("card_num"),
+                        rs.getString("card_pw"),
+                        rs.getObject("card_create_at", LocalDate.class),
+                        rs.getString("card_user_name"),
+                        rs.getString("card_user_regist_num"),
+                        rs.getString("card_user_regist_back")))
+                .build();
+    }
+
+    @Bean
+    public Step replicateAccountsWorkerStep() {
+        return new StepBuilder("replicateAccountsWorkerStep", jobRepository)
+                .<Db1MemberCardRow, Db1MemberCardRow>chunk(chunkSize, db2TransactionManager)
+                .reader(db1MemberCardReader(null, null))
+                .writer(db2AccountReplicationWriter)
+                .listener((StepExecutionListener) db2ReplicationProgressListener())
+                .listener((ChunkListener) db2ReplicationProgressListener())
+                .faultTolerant()
+                .skip(DataAccessException.class)
+                .skipLimit(skipLimit)
+                .build();
+    }
+
+    @Bean
+    public Step replicateAccountsStep() {
+        return new StepBuilder("replicateAccountsStep", jobRepository)
+                .partitioner("replicateAccountsWorkerStep", new IdRangePartitioner(db1DataSource, "tbl_member_card"))
+                .step(replicateAccountsWorkerStep())
+                .gridSize(gridSize)
+                .taskExecutor(db2ReplicationTaskExecutor())
+                .build();
+    }
+
+    // ===== 3. 결제 내역 =====
+
+    /**
+     * 아직 두리뱅킹에 없는 내역(source_history_id가 비어 있는 직접 등록/과거 내역)만 읽습니다.
+     * 복제된 내역은 Writer가 source_history_id를 채우므로, keyset 페이징 도중 조건에서 빠져도 다음 페이지 위치는 바뀌지 않습니다.
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Db1CardHistoryRow> db1CardHistoryReader(
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId) {
+        return new JdbcPagingItemReaderBuilder<Db1CardHistoryRow>()
+                .name("db1CardHistoryReader")
+                .dataSource(db1DataSource)
+                .selectClause("SELECT id, user_card_id, history_date, history_name, history_price, history_status, history_category")
+                .fromClause("FROM tbl_card_history")
+                .whereClause("WHERE id BETWEEN :minId AND :maxId AND source_history_id IS NULL " +
+                        "AND user_card_id IS NOT NULL AND history_date IS NOT NULL AND history_name IS NOT NULL " +
+                        "AND history_price IS NOT NULL AND history_status IS NOT NULL")
+                .parameterValues(Map.of("minId", minId, "maxId", maxId))
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .pageSize(chunkSize)
+                .rowMapper((rs, rowNum) -> new Db1CardHistoryRow(
+                        rs.getLong("id"),
+                        rs.getLong("user_card_id"),
+                        rs.getObject("history_date", LocalDate.class),
+                        rs.getString("history_name"),
+                        rs.getInt("history_price"),
+                        rs.getString("history_status"),
+                        rs.getString("history_category")))
+                .build();
+    }
+
+    @Bean
+    public Step replicateHistoriesWorkerStep() {
+        return new StepBuilder("replicateHistoriesWorkerStep", jobRepository)
+                .<Db1CardHistoryRow, Db1CardHistoryRow>chunk(chunkSize, db1TransactionManager) // source_history_id 기록이 청크와 함께 커밋
+                .reader(db1CardHistoryReader(null, null))
+                .writer(db2AccountHistoryReplicationWriter)
+                .listener((StepExecutionListener) db2ReplicationProgressListener())
+                .listener((ChunkListener) db2ReplicationProgressListener())
+                .faultTolerant()
+                .skip(DataAccessException.class)
+                .skipLimit(skipLimit)
+                .build();
+    }
+
+    @Bean
+    public Step replicateHistoriesStep() {
+        return new StepBuilder("replicateHistoriesStep", jobRepository)
+                .partitioner("replicateHistoriesWorkerStep", new IdRangePartitioner(db1DataSource, "tbl_card_history"))
+                .step(replicateHistoriesWorkerStep())
+                .gridSize(gridSize)
+                .taskExecutor(db2ReplicationTaskExecutor())
+                .build();
+    }
+
+    @Bean
+    public PartitionProgressListener db2ReplicationProgressListener() {
+        return new PartitionProgressListener(meterRegistry, "batch.db2_replication.items");
+    }
+
+    /**
+     * db1 → db2 일괄 복제 Job (회원 → 카드 → 결제 내역)
+     */
+    @Bean
+    public Job db2ReplicationJob() {
+        return new JobBuilder("db2ReplicationJob", jobRepository)
+                .start(replicateMembersStep())
+                .next(replicateAccountsStep())
+                .next(replicateHistoriesStep())
+                .build();
+    }
+}
@@ -1,60 +1,91 @@
 package com.app.wooridooribe.batch.config;
 
+import com.app.wooridooribe.batch.dto.ProcessResult;
+import com.app.wooridooribe.batch.listener.PartitionProgressListener;
+import com.app.wooridooribe.batch.partitioner.IdRangePartitioner;
 import com.app.wooridooribe.batch.processor.GoalScoreItemProcessor;
-import com.app.wooridooribe.batch.reader.MemberItemReader;
 import com.app.wooridooribe.batch.writer.GoalScoreItemWriter;
-import com.app.wooridooribe.entity.Member;
-import com.app.wooridooribe.repository.member.MemberRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * 목표 점수 계산 Job 설정
+ * 활성 회원(3개월 내 로그인)의 id 구간을 gridSize개 파티션으로 나누고, 파티션마다 회원 id만 keyset 페이징으로 읽어 병렬 처리합니다.
+ * Reader는 파티션(워커 Step)마다 따로 생성되므로 스레드 간에 공유되지 않고, 회원 엔티티를 메모리에 모아 두지 않습니다.
+ *
+ * Job 파라미터:
+ * - timestamp: 실행 시각(ms). 활성 회원 기준 시각으로도 쓰이므로 같은 파라미터로 재시작하면 같은 회원 범위를 다시 읽습니다.
+ *
+ * 실패한 실행을 같은 파라미터로 다시 실행하면 JobRepository에 저장된 파티션 구간과 Reader 위치부터 이어서 처리하며,
+ * 파티션별 진행 상황과 처리량은 PartitionProgressListener 로그/메트릭과 BATCH_STEP_EXECUTION에 남습니다.
+ */
 @Configuration
-@RequiredArgsConstructor
 @Slf4j
 public class GoalScoreBatchConfig {
 
+    private static final String ACTIVE_MEMBER_CONDITION = "last_login_date >= ?";
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
+    private final DataSource db1DataSource;
     private final GoalScoreItemProcessor goalScoreItemProcessor;
     private final GoalScoreItemWriter goalScoreItemWriter;
-    private final MemberRepository memberRepository;
+    private final MeterRegistry meterRegistry;
+    private final int gridSize;
+    private final int chunkSize;
+
+    public GoalScoreBatchConfig(JobRepository jobRepository,
+                                @Qualifier("db1TransactionManager") PlatformTransactionManager transactionManager,
+                                @Qualifier("db1DataSource") DataSource db1DataSource,
+                                GoalScoreItemProcessor goalScoreItemProcessor,
+                                GoalScoreItemWriter goalScoreItemWriter,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.goal-score.grid-size:4}") int gridSize,
+                                @Value("${app.goal-score.batch-chunk-size:10}") int chunkSize) {
+        this.jobRepository = jobRepository;
+        this.transactionManager = transactionManager;
+        this.db1DataSource = db1DataSource;
+        this.goalScoreItemProcessor = goalScoreItemProcessor;
+        this.goalScoreItemWriter = goalScoreItemWriter;
+        this.meterRegistry = meterRegistry;
+        this.gridSize = gridSize;
+        this.chunkSize = chunkSize;
+    }
 
     /**
-     * 멀티스레드 TaskExecutor 설정
-     * 
-     * 스레드 풀 동작 방식:
-     * 1. 초기: corePoolSize(5개)만큼 스레드 생성
-     * 2. 작업이 들어오면:
-     *    - core 스레드가 여유 있으면 → core 스레드에서 처리
-     *    - 모든 core 스레드가 busy이고 queueCapacity(100개)에 여유 있으면 → 큐에 대기
-     *    - 모든 core 스레드가 busy이고 큐가 가득 차면 → maxPoolSize(10개)까지 스레드 추가 생성
-     * 3. 작업이 줄어들면:
-     *    - 큐가 비고, corePoolSize 초과 스레드는 유휴 시간 후 종료
-     *    - 최종적으로 corePoolSize(5개)만 유지
-     * 
-     * 예시:
-     * - 작업 5개 이하: 5개 스레드만 사용
-     * - 작업 6~105개: 5개 스레드 + 큐에 대기
-     * - 작업 106개 이상: 스레드가 6~10개로 증가 (큐가 가득 차면)
+     * 파티션 실행용 TaskExecutor
+     * 파티션 하나가 db1 커넥션을 하나씩 점유하므로 gridSize만큼만 스레드를 둡니다.
      */
     @Bean(name = "goalScoreTaskExecutor")
     public TaskExecutor goalScoreTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5); // 기본 5개 스레드 (항상 유지)
-        executor.setMaxPoolSize(10); // 최대 10개 스레드 (큐가 가득 차면 증가)
-        executor.setQueueCapacity(100); // 대기 큐 100개 (큐가 가득 차면 스레드 증가)
+        executor.setCorePoolSize(gridSize);
+        executor.setMaxPoolSize(gridSize);
         executor.setThreadNamePrefix("goal-score-batch-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
@@ -63,38 +94,72 @@ public class GoalScoreBatchConfig {
     }
 
     /**
-     * MemberItemReader Bean 생성 (@StepScope 사용)
-     * 각 Step 실행마다 새로운 인스턴스 생성
+     * 활성 회원 id 구간 Partitioner (@StepScope - 실행 시 Job 파라미터 기준 시각으로 생성)
+     * 재시작 시에는 저장된 파티션 구간을 그대로 사용하므로 다시 호출되지 않습니다.
      */
     @Bean
     @StepScope
-    public MemberItemReader memberItemReader() {
-        log.info("MemberItemReader Bean 생성 - StepScope");
-        MemberItemReader reader = new MemberItemReader();
-        reader.setMemberRepository(memberRepository);
-        return reader;
+    public Partitioner activeMemberPartitioner(@Value("#{jobParameters['timestamp']}") Long timestamp) {
+        return new IdRangePartitioner(db1DataSource, "tbl_member", ACTIVE_MEMBER_CONDITION, loginSince(timestamp));
     }
 
     /**
-     * 목표 점수 계산 Step
-     * - 청크 크기: 10개씩 처리
-     * - 멀티스레딩 활성화 (최대 10개 스레드로 병렬 처리)
+     * 파티션 id 구간 안의 활성 회원 id를 id 순 keyset 페이징으로 읽는 Reader (@StepScope - 파티션마다 생성)
+     * 읽은 위치를 ExecutionContext에 저장하므로 재시작 시 커밋된 청크 이후부터 읽습니다.
      */
     @Bean
-    public Step calculateGoalScoreStep() {
-        log.info("calculateGoalScoreStep Bean 생성");
-        
-        // @StepScope Bean을 사용 - Step 실행 시마다 새로운 인스턴스 생성
-        // Step 빌더에서 메서드 참조를 사용하면 Spring이 Step 실행 시점에 Bean을 생성함
-        return new StepBuilder("calculateGoalScoreStep", jobRepository)
-                .<Member, com.app.wooridooribe.batch.dto.ProcessResult>chunk(10, transactionManager) // 10개씩 청크 처리
-                .reader(memberItemReader()) // @StepScope Bean - Step 실행 시 Spring이 자동으로 생성
+    @StepScope
+    public JdbcPagingItemReader<Long> activeMemberIdReader(
+            @Value("#{jobParameters['timestamp']}") Long timestamp,
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId) {
+        return new JdbcPagingItemReaderBuilder<Long>()
+                .name("activeMemberIdReader")
+                .dataSource(db1DataSource)
+                .selectClause("SELECT id")
+                .fromClause("FROM tbl_member")
+                .whereClause("WHERE id BETWEEN :minId AND :maxId AND last_login_date >= :loginSince")
+                .parameterValues(Map.of("minId", minId, "maxId", maxId, "loginSince", loginSince(timestamp)))
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .pageSize(chunkSize)
+                .rowMapper((rs, rowNum) -> rs.getLong("id"))
+                .build();
+    }
+
+    /**
+     * 파티션별 목표 점수 계산 Step
+     * - 청크 단위로 점수 저장 커밋 (실패한 회원은 Processor가 FAILED로 기록하고 계속 진행)
+     */
+    @Bean
+    public Step calculateGoalScoreWorkerStep() {
+        return new StepBuilder("calculateGoalScoreWorkerStep", jobRepository)
+                .<Long, ProcessResult>chunk(chunkSize, transactionManager)
+                .reader(activeMemberIdReader(null, null, null)) // @StepScope 프록시 - 파티션 실행 시 생성
                 .processor(goalScoreItemProcessor)
                 .writer(goalScoreItemWriter)
-                .taskExecutor(goalScoreTaskExecutor()) // 멀티스레딩 활성화
+                .listener((StepExecutionListener) goalScoreProgressListener())
+                .listener((ChunkListener) goalScoreProgressListener())
                 .build();
     }
 
+    /**
+     * 목표 점수 계산 Step (파티션 관리자)
+     */
+    @Bean
+    public Step calculateGoalScoreStep() {
+        return new StepBuilder("calculateGoalScoreStep", jobRepository)
+                .partitioner("calculateGoalScoreWorkerStep", activeMemberPartitioner(null))
+                .step(calculateGoalScoreWorkerStep())
+                .gridSize(gridSize)
+                .taskExecutor(goalScoreTaskExecutor())
+                .build();
+    }
+
+    @Bean
+    public PartitionProgressListener goalScoreProgressListener() {
+        return new PartitionProgressListener(meterRegistry, "batch.goal_score.items");
+    }
+
     /**
      * 목표 점수 계산 Job
      */
@@ -104,5 +169,12 @@ public class GoalScoreBatchConfig {
                 .start(calculateGoalScoreStep())
                 .build();
     }
-}
 
+    // 실행 시각 기준 3개월 내 로그인 (timestamp가 없으면 현재 시각 기준)
+    private static LocalDateTime loginSince(Long timestamp) {
+        LocalDateTime base = timestamp != null
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault())
+                : LocalDateTime.now();
+        return base.minusMonths(3);
+    }
+}
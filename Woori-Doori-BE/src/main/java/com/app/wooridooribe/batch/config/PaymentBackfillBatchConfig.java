@@ -0,0 +1,151 @@
+package com.app.wooridooribe.batch.config;
+
+import com.app.wooridooribe.batch.writer.PaymentBackfillItemWriter;
+import com.app.wooridooribe.exception.CustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 두리뱅킹(db2) 과거 결제 내역을 우리두리(db1) CardHistory로 옮기는 백필 Job 설정
+ *
+ * Job 파라미터 (모두 선택, 식별 파라미터):
+ * - bankMemberId: 두리뱅킹 회원 ID (없으면 전체 회원)
+ * - fromDate / toDate: yyyy-MM-dd, [fromDate, toDate) 구간 (없으면 제한 없음)
+ *
+ * 같은 파라미터로 다시 실행하면 실패한 실행을 마지막 커밋 지점부터 재시작합니다.
+ */
+@Configuration
+@Slf4j
+public class PaymentBackfillBatchConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource db2DataSource;
+    private final PaymentBackfillItemWriter paymentBackfillItemWriter;
+    private final int chunkSize;
+    private final int fetchSize;
+    private final int skipLimit;
+
+    public PaymentBackfillBatchConfig(JobRepository jobRepository,
+                                      @Qualifier("db1TransactionManager") PlatformTransactionManager transactionManager,
+                                      @Qualifier("db2DataSource") DataSource db2DataSource,
+                                      PaymentBackfillItemWriter paymentBackfillItemWriter,
+                                      @Value("${app.payment-backfill.chunk-size:500}") int chunkSize,
+                                      @Value("${app.payment-backfill.fetch-size:1000}") int fetchSize,
+                                      @Value("${app.payment-backfill.skip-limit:100}") int skipLimit) {
+        this.jobRepository = jobRepository;
+        this.transactionManager = transactionManager;
+        this.db2DataSource = db2DataSource;
+        this.paymentBackfillItemWriter = paymentBackfillItemWriter;
+        this.chunkSize = chunkSize;
+        this.fetchSize = fetchSize;
+        this.skipLimit = skipLimit;
+    }
+
+    /**
+     * 백필 실행 전용 TaskExecutor
+     * 카드 등록 요청 스레드를 막지 않도록 별도 스레드에서 Job을 실행합니다.
+     * db2 커서 연결을 오래 점유하므로 동시에 실행되는 백필 수를 제한합니다.
+     */
+    @Bean(name = "paymentBackfillTaskExecutor")
+    public TaskExecutor paymentBackfillTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("payment-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * db2 account_history ID를 커서로 스트리밍하는 Reader (@StepScope)
+     * 전체 결과를 메모리에 올리지 않고 fetchSize 단위로 가져오며, 읽은 건수를 ExecutionContext에 저장하므로
+     * 재시작 시 이미 커밋된 구간은 건너뜁니다. (id 순 정렬이라 재시작 위치가 안정적)
+     * MySQL에서는 DB2_URL에 useCursorFetch=true가 있어야 fetchSize 단위 서버 커서로 동작합니다.
+     */
+    @Bean
+    @StepScope
+    public JdbcCursorItemReader<Long> paymentBackfillReader(
+            @Value("#{jobParameters['bankMemberId']}") Long bankMemberId,
+            @Value("#{jobParameters['fromDate']}") String fromDate,
+            @Value("#{jobParameters['toDate']}") String toDate) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT h.id FROM account_history h " +
+                "JOIN tbl_member_account a ON a.id = h.account_id " +
+                "WHERE h.history_status <> 'TRANSFER_IN' AND h.replicated_card_history_id IS NULL");
+        List<Object> args = new ArrayList<>();
+        if (bankMemberId != null) {
+            sql.append(" AND a.member_id = ?");
+            args.add(bankMemberId);
+        }
+        if (fromDate != null) {
+            sql.append(" AND h.history_date >= ?");
+            args.add(LocalDate.parse(fromDate).atStartOfDay());
+        }
+        if (toDate != null) {
+            sql.append(" AND h.history_date < ?");
+            args.add(LocalDate.parse(toDate).atStartOfDay());
+        }
+        sql.append(" ORDER BY h.id");
+
+        log.info("결제 내역 백필 Reader 생성 - bankMemberId: {}, 기간: [{}, {})", bankMemberId, fromDate, toDate);
+        return new JdbcCursorItemReaderBuilder<Long>()
+                .name("paymentBackfillReader")
+                .dataSource(db2DataSource)
+                .sql(sql.toString())
+                .queryArguments(args)
+                .rowMapper((rs, rowNum) -> rs.getLong(1))
+                .fetchSize(fetchSize)
+                .saveState(true)
+                .build();
+    }
+
+    /**
+     * 백필 Step
+     * - 청크 단위로 db1 트랜잭션 커밋 (CardHistory 배치 INSERT, 이미 있는 source_history_id는 건너뜀)
+     * - 저장 중 예외가 난 청크는 건별로 다시 시도하여 문제 행만 건너뜀 (skipLimit까지)
+     * - 건너뛴 건수와 처리량은 PaymentBackfillItemWriter가 메트릭으로 기록
+     */
+    @Bean
+    public Step paymentBackfillStep() {
+        return new StepBuilder("paymentBackfillStep", jobRepository)
+                .<Long, Long>chunk(chunkSize, transactionManager)
+                .reader(paymentBackfillReader(null, null, null)) // @StepScope 프록시 - 실행 시 Job 파라미터로 생성
+                .writer(paymentBackfillItemWriter)
+                .faultTolerant()
+                .skip(CustomException.class)
+                .skip(DataAccessException.class)
+                .skipLimit(skipLimit)
+                .build(); // Writer가 StepExecutionListener/SkipListener를 구현하므로 리스너로 자동 등록됨
+    }
+
+    @Bean
+    public Job paymentBackfillJob() {
+        return new JobBuilder("paymentBackfillJob", jobRepository)
+                .start(paymentBackfillStep())
+                .build();
+    }
+}
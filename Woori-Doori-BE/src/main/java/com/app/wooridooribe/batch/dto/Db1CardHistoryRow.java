@@ -0,0 +1,10 @@
+package com.app.wooridooribe.batch.dto;
+
+import java.time.LocalDate;
+
+/**
+ * db1 → db2 복제용 우리두리 결제 내역 행 (tbl_card_history 중 두리뱅킹에 아직 없는 내역)
+ */
+public record Db1CardHistoryRow(Long id, Long userCardId, LocalDate historyDate, String historyName,
+                                Integer historyPrice, String historyStatus, String historyCategory) {
+}
@@ -0,0 +1,17 @@
+package com.app.wooridooribe.batch.dto;
+
+import java.time.LocalDate;
+
+/**
+ * db1 → db2 복제용 우리두리 회원 카드 행 (tbl_member_card)
+ */
+public record Db1MemberCardRow(Long id, String cardNum, String cardPw, LocalDate cardCreateAt,
+                               String cardUserName, String cardUserRegistNum, String cardUserRegistBack) {
+
+    /**
+     * 카드 소유자의 두리뱅킹 회원 주민번호 값 (앞자리 + 뒷자리)
+     */
+    public String ownerRegistNum() {
+        return cardUserRegistNum + cardUserRegistBack;
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.wooridooribe.batch.dto;
+
+/**
+ * db1 → db2 복제용 우리두리 회원 행 (tbl_member)
+ */
+public record Db1MemberRow(Long id, String memberName, String phone, String birthDate, String birthBack) {
+
+    /**
+     * 두리뱅킹 회원의 주민번호 값 (생년월일 6자리 + 뒷자리 1자리), 정보가 없으면 null
+     */
+    public String registNum() {
+        if (birthDate == null || birthBack == null) {
+            return null;
+        }
+        return birthDate + birthBack;
+    }
+}
@@ -1,6 +1,5 @@
 package com.app.wooridooribe.batch.dto;
 
-import com.app.wooridooribe.entity.Member;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -10,20 +9,20 @@ import lombok.RequiredArgsConstructor;
 @Getter
 @RequiredArgsConstructor
 public class ProcessResult {
-    private final Member member;
+    private final Long memberId;
     private final Status status;
     private final String reason;
 
-    public static ProcessResult success(Member member) {
-        return new ProcessResult(member, Status.SUCCESS, null);
+    public static ProcessResult success(Long memberId) {
+        return new ProcessResult(memberId, Status.SUCCESS, null);
     }
 
-    public static ProcessResult skipped(Member member, String reason) {
-        return new ProcessResult(member, Status.SKIPPED, reason);
+    public static ProcessResult skipped(Long memberId, String reason) {
+        return new ProcessResult(memberId, Status.SKIPPED, reason);
     }
 
-    public static ProcessResult failed(Member member, String reason) {
-        return new ProcessResult(member, Status.FAILED, reason);
+    public static ProcessResult failed(Long memberId, String reason) {
+        return new ProcessResult(memberId, Status.FAILED, reason);
     }
 
     public enum Status {
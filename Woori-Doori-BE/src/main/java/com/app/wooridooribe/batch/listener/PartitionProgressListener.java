@@ -0,0 +1,62 @@
+package com.app.wooridooribe.batch.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 파티션(워커 Step)별 진행 상황을 로그와 메트릭으로 남기는 리스너
+ * 청크가 커밋될 때마다 파티션 이름, 누적 읽기/쓰기/스킵 건수를 기록하므로
+ * 긴 복제 작업 중에도 어느 파티션이 얼마나 진행되었는지 확인할 수 있습니다.
+ * 파티션이 끝나면 초당 처리 건수를 {metricName}.throughput 분포로 남겨 파티션 간 처리량 차이를 볼 수 있습니다.
+ * (파티션별 StepExecution은 BATCH_STEP_EXECUTION 테이블에도 그대로 남음)
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionProgressListener implements StepExecutionListener, ChunkListener {
+
+    private final MeterRegistry meterRegistry;
+    private final String metricName;
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        log.info("[{}] 진행 - 읽음: {}, 저장: {}, 스킵: {}, 커밋: {}",
+                stepExecution.getStepName(), stepExecution.getReadCount(), stepExecution.getWriteCount(),
+                stepExecution.getSkipCount(), stepExecution.getCommitCount());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        String step = stepExecution.getStepName().replaceAll(":partition\\d+$", "");
+        Counter.builder(metricName)
+                .tag("step", step)
+                .register(meterRegistry)
+                .increment(stepExecution.getWriteCount());
+
+        LocalDateTime startTime = stepExecution.getStartTime();
+        long elapsedMs = startTime != null ? Duration.between(startTime, LocalDateTime.now()).toMillis() : 0;
+        double throughput = elapsedMs > 0 ? stepExecution.getWriteCount() * 1000.0 / elapsedMs : 0.0;
+        DistributionSummary.builder(metricName + ".throughput")
+                .tag("step", step)
+                .baseUnit("items/s")
+                .register(meterRegistry)
+                .record(throughput);
+
+        log.info("[{}] 완료 - 상태: {}, 읽음: {}, 저장: {}, 스킵: {}, 소요: {}ms, 처리량: {}건/s",
+                stepExecution.getStepName(), stepExecution.getStatus(), stepExecution.getReadCount(),
+                stepExecution.getWriteCount(), stepExecution.getSkipCount(), elapsedMs,
+                String.format("%.1f", throughput));
+        return stepExecution.getExitStatus();
+    }
+}
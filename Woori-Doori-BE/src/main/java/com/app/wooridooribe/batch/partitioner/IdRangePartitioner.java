@@ -0,0 +1,88 @@
+package com.app.wooridooribe.batch.partitioner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PK(id) 구간으로 파티션을 나누는 Partitioner
+ * 테이블의 최소/최대 id를 조회한 뒤 gridSize개의 연속 구간 [minId, maxId]로 나누어
+ * 각 파티션의 ExecutionContext에 minId, maxId를 넣습니다.
+ * id에 빈 구간이 있으면 파티션별 건수가 고르지 않을 수 있지만, 구간 조회는 PK 범위 스캔이라 비용이 일정합니다.
+ * condition을 주면 조건에 맞는 행의 최소/최대 id로 구간을 잡습니다. (예: 최근 로그인한 회원만)
+ */
+@Slf4j
+public class IdRangePartitioner implements Partitioner {
+
+    public static final String MIN_ID = "minId";
+    public static final String MAX_ID = "maxId";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String condition;
+    private final Object[] args;
+
+    public IdRangePartitioner(DataSource dataSource, String table) {
+        this(dataSource, table, null);
+    }
+
+    /**
+     * @param condition WHERE 절 조건 (? 바인딩, null이면 전체 행)
+     * @param args      condition의 바인딩 값
+     */
+    public IdRangePartitioner(DataSource dataSource, String table, String condition, Object... args) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.table = table;
+        this.condition = condition;
+        this.args = args;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, Long> bounds = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM " + table
+                        + (condition != null ? " WHERE " + condition : ""),
+                (rs, rowNum) -> {
+                    Map<String, Long> row = new LinkedHashMap<>();
+                    row.put(MIN_ID, rs.getObject("min_id") != null ? rs.getLong("min_id") : null);
+                    row.put(MAX_ID, rs.getObject("max_id") != null ? rs.getLong("max_id") : null);
+                    return row;
+                }, args);
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        Long min = bounds != null ? bounds.get(MIN_ID) : null;
+        Long max = bounds != null ? bounds.get(MAX_ID) : null;
+        if (min == null || max == null) {
+            // 빈 테이블: 아무 행도 읽지 않는 파티션 하나만 생성
+            partitions.put("partition0", rangeContext(1L, 0L));
+            log.info("{} 파티션 생성 - 빈 테이블", table);
+            return partitions;
+        }
+
+        long rangeSize = (max - min) / gridSize + 1;
+        long start = min;
+        int index = 0;
+        while (start <= max) {
+            long end = Math.min(start + rangeSize - 1, max);
+            partitions.put("partition" + index, rangeContext(start, end));
+            start = end + 1;
+            index++;
+        }
+
+        log.info("{} 파티션 생성 - id 구간: [{}, {}], 파티션 수: {}, 파티션당 id 범위: {}",
+                table, min, max, partitions.size(), rangeSize);
+        return partitions;
+    }
+
+    private ExecutionContext rangeContext(long minId, long maxId) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_ID, minId);
+        context.putLong(MAX_ID, maxId);
+        return context;
+    }
+}
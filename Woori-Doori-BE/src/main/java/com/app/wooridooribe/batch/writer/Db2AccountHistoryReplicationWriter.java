@@ -0,0 +1,161 @@
+package com.app.wooridooribe.batch.writer;
+
+import com.app.dooribankbe.domain.entity.HistoryCategory;
+import com.app.dooribankbe.domain.entity.TransactionType;
+import com.app.wooridooribe.batch.dto.Db1CardHistoryRow;
+import com.app.wooridooribe.entity.type.StatusType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 우리두리 결제 내역을 두리뱅킹(db2) account_history로 복제하는 ItemWriter
+ *
+ * 복제한 행에는 원본 db1 CardHistory ID를 replicated_card_history_id(유니크)에 함께 저장하고,
+ * 저장 후 이 컬럼으로 db2 ID를 다시 조회해 db1 CardHistory.source_history_id에 기록하여 두 내역을 연결합니다.
+ *
+ * db2 INSERT는 별도 db2 트랜잭션으로 먼저 커밋하고, source_history_id 기록은 청크(db1) 트랜잭션에서 커밋합니다.
+ * 두 커밋 사이에 실패해 청크가 재실행(skip 시 건별 재처리 포함)되더라도 INSERT ... ON DUPLICATE KEY UPDATE로
+ * 이미 복제된 행은 다시 저장하지 않고 기존 db2 ID로 연결하므로 재실행해도 안전합니다.
+ * db2 → db1 동기화(push/pull/일괄/백필)는 replicated_card_history_id가 있는 행을 우리두리 원본 내역으로 보고 건너뜁니다.
+ */
+@Component
+@Slf4j
+public class Db2AccountHistoryReplicationWriter implements ItemWriter<Db1CardHistoryRow> {
+
+    private static final String SELECT_ACCOUNTS_SQL =
+            "SELECT id FROM tbl_member_account WHERE id IN (:accountIds)";
+
+    private static final String SELECT_REPLICATION_COLUMN_SQL =
+            "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'account_history' AND COLUMN_NAME = 'replicated_card_history_id'";
+
+    private static final String ADD_REPLICATION_COLUMN_SQL =
+            "ALTER TABLE account_history ADD COLUMN replicated_card_history_id BIGINT NULL, " +
+            "ADD UNIQUE KEY uk_account_history_replicated_card_history_id (replicated_card_history_id)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO account_history (account_id, history_date, history_price, history_status, history_category, history_name, replicated_card_history_id) " +
+            "VALUES (:accountId, :historyDate, :historyPrice, :historyStatus, :historyCategory, :historyName, :cardHistoryId) " +
+            "ON DUPLICATE KEY UPDATE id = id";
+
+    private static final String SELECT_REPLICATED_IDS_SQL =
+            "SELECT id, replicated_card_history_id FROM account_history WHERE replicated_card_history_id IN (:cardHistoryIds)";
+
+    private static final String LINK_SOURCE_SQL =
+            "UPDATE tbl_card_history SET source_history_id = :sourceHistoryId WHERE id = :id AND source_history_id IS NULL";
+
+    private final NamedParameterJdbcTemplate db1JdbcTemplate;
+    private final NamedParameterJdbcTemplate db2JdbcTemplate;
+    private final TransactionTemplate db2TransactionTemplate;
+
+    public Db2AccountHistoryReplicationWriter(@Qualifier("db1DataSource") DataSource db1DataSource,
+                                              @Qualifier("db2DataSource") DataSource db2DataSource,
+                                              @Qualifier("db2TransactionManager") PlatformTransactionManager db2TransactionManager) {
+        this.db1JdbcTemplate = new NamedParameterJdbcTemplate(db1DataSource);
+        this.db2JdbcTemplate = new NamedParameterJdbcTemplate(db2DataSource);
+        this.db2TransactionTemplate = new TransactionTemplate(db2TransactionManager);
+    }
+
+    /**
+     * 복제 연결 컬럼이 없으면 추가합니다. (db2 스키마는 JPA가 관리하지 않으므로 기동 시 한 번 확인)
+     * AccountHistory 엔티티가 이 컬럼을 매핑하므로 db2 조회가 시작되기 전에 실행되어야 합니다.
+     */
+    @PostConstruct
+    public void ensureReplicationColumn() {
+        JdbcTemplate jdbcTemplate = db2JdbcTemplate.getJdbcTemplate();
+        Integer count = jdbcTemplate.queryForObject(SELECT_REPLICATION_COLUMN_SQL, Integer.class);
+        if (count == null || count == 0) {
+            jdbcTemplate.execute(ADD_REPLICATION_COLUMN_SQL);
+            log.info("account_history.replicated_card_history_id 컬럼 추가 완료");
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends Db1CardHistoryRow> chunk) {
+        // FK 대상 계좌(= 복제된 카드)가 있는 내역만 저장
+        Set<Long> accountIds = chunk.getItems().stream()
+                .map(Db1CardHistoryRow::userCardId)
+                .collect(Collectors.toSet());
+        Set<Long> existingAccounts = new HashSet<>(db2JdbcTemplate.queryForList(SELECT_ACCOUNTS_SQL,
+                new MapSqlParameterSource("accountIds", accountIds), Long.class));
+        List<Db1CardHistoryRow> histories = chunk.getItems().stream()
+                .filter(history -> existingAccounts.contains(history.userCardId()))
+                .collect(Collectors.toList());
+        if (histories.isEmpty()) {
+            return;
+        }
+
+        // 1. db2 account_history 배치 INSERT (이미 복제된 CardHistory는 유니크 키로 건너뜀)
+        SqlParameterSource[] insertParams = histories.stream()
+                .map(this::toInsertParams)
+                .toArray(SqlParameterSource[]::new);
+        List<Long> cardHistoryIds = histories.stream().map(Db1CardHistoryRow::id).toList();
+        Map<Long, Long> sourceIdByCardHistoryId = db2TransactionTemplate.execute(status -> {
+            db2JdbcTemplate.batchUpdate(INSERT_SQL, insertParams);
+            Map<Long, Long> ids = new HashMap<>();
+            db2JdbcTemplate.query(SELECT_REPLICATED_IDS_SQL, new MapSqlParameterSource("cardHistoryIds", cardHistoryIds), rs -> {
+                ids.put(rs.getLong("replicated_card_history_id"), rs.getLong("id"));
+            });
+            return ids;
+        });
+
+        // 2. db1 CardHistory에 연결된 db2 ID 기록 (청크 트랜잭션)
+        SqlParameterSource[] linkParams = histories.stream()
+                .filter(history -> sourceIdByCardHistoryId.containsKey(history.id()))
+                .map(history -> new MapSqlParameterSource()
+                        .addValue("id", history.id())
+                        .addValue("sourceHistoryId", sourceIdByCardHistoryId.get(history.id())))
+                .toArray(SqlParameterSource[]::new);
+        db1JdbcTemplate.batchUpdate(LINK_SOURCE_SQL, linkParams);
+
+        log.debug("결제 내역 복제 청크 - 요청: {}, 저장: {}, 계좌 없음: {}",
+                chunk.size(), histories.size(), chunk.size() - histories.size());
+    }
+
+    private SqlParameterSource toInsertParams(Db1CardHistoryRow history) {
+        return new MapSqlParameterSource()
+                .addValue("accountId", history.userCardId())
+                .addValue("historyDate", history.historyDate().atStartOfDay())
+                .addValue("historyPrice", history.historyPrice().longValue())
+                .addValue("historyStatus", toTransactionType(history.historyStatus()).name())
+                .addValue("historyCategory", toHistoryCategory(history.historyCategory()).name())
+                .addValue("historyName", history.historyName())
+                .addValue("cardHistoryId", history.id());
+    }
+
+    /**
+     * StatusType → TransactionType (UNABLE은 출금으로 처리)
+     */
+    private TransactionType toTransactionType(String historyStatus) {
+        return StatusType.ABLE.name().equals(historyStatus) ? TransactionType.PAYMENT : TransactionType.TRANSFER_OUT;
+    }
+
+    /**
+     * CategoryType → HistoryCategory (enum 이름이 동일, 없으면 ETC)
+     */
+    private HistoryCategory toHistoryCategory(String historyCategory) {
+        try {
+            return HistoryCategory.valueOf(historyCategory);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return HistoryCategory.ETC;
+        }
+    }
+}
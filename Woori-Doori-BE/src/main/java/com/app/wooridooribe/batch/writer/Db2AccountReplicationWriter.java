@@ -0,0 +1,83 @@
+package com.app.wooridooribe.batch.writer;
+
+import com.app.wooridooribe.batch.dto.Db1MemberCardRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 우리두리 회원 카드를 두리뱅킹(db2) tbl_member_account로 복제하는 ItemWriter
+ * 계정계(db1) 카드 PK를 채널계(db2) 계좌 PK로 그대로 사용하며, 카드 소유자는 주민번호 값으로 두리뱅킹 회원을 찾습니다.
+ * PK/계좌번호 유니크 제약과 INSERT IGNORE로 이미 복제된 카드는 DB에서 걸러지므로 재실행해도 안전합니다.
+ */
+@Component
+@Slf4j
+public class Db2AccountReplicationWriter implements ItemWriter<Db1MemberCardRow> {
+
+    private static final String SELECT_MEMBERS_SQL =
+            "SELECT MIN(id) AS id, member_regist_num FROM tbl_member " +
+            "WHERE member_regist_num IN (:registNums) GROUP BY member_regist_num";
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO tbl_member_account (id, member_id, account_num, account_password, account_create_at, balance) " +
+            "VALUES (:id, :memberId, :accountNum, :accountPassword, :accountCreateAt, 0)";
+
+    private final NamedParameterJdbcTemplate db2JdbcTemplate;
+
+    public Db2AccountReplicationWriter(@Qualifier("db2DataSource") DataSource db2DataSource) {
+        this.db2JdbcTemplate = new NamedParameterJdbcTemplate(db2DataSource);
+    }
+
+    @Override
+    public void write(Chunk<? extends Db1MemberCardRow> chunk) {
+        List<Db1MemberCardRow> cards = chunk.getItems().stream()
+                .filter(card -> card.cardNum() != null && card.cardPw() != null
+                        && card.cardUserRegistNum() != null && card.cardUserRegistBack() != null)
+                .collect(Collectors.toList());
+        if (cards.isEmpty()) {
+            return;
+        }
+
+        // 카드 소유자 → 두리뱅킹 회원 ID 일괄 조회
+        Set<String> registNums = cards.stream().map(Db1MemberCardRow::ownerRegistNum).collect(Collectors.toSet());
+        Map<String, Long> memberIdByRegistNum = new HashMap<>();
+        db2JdbcTemplate.query(SELECT_MEMBERS_SQL, new MapSqlParameterSource("registNums", registNums),
+                rs -> {
+                    memberIdByRegistNum.put(rs.getString("member_regist_num"), rs.getLong("id"));
+                });
+
+        List<SqlParameterSource> params = new ArrayList<>(cards.size());
+        for (Db1MemberCardRow card : cards) {
+            Long memberId = memberIdByRegistNum.get(card.ownerRegistNum());
+            if (memberId == null) {
+                continue;
+            }
+            params.add(new MapSqlParameterSource()
+                    .addValue("id", card.id()) // 계정계 PK = 채널계 PK (동기화)
+                    .addValue("memberId", memberId)
+                    .addValue("accountNum", card.cardNum())
+                    .addValue("accountPassword", card.cardPw())
+                    .addValue("accountCreateAt", card.cardCreateAt() != null ? card.cardCreateAt() : LocalDate.now()));
+        }
+        if (!params.isEmpty()) {
+            db2JdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, params.toArray(SqlParameterSource[]::new));
+        }
+
+        log.debug("카드 복제 청크 - 요청: {}, 저장 시도: {}, 소유자 없음: {}",
+                chunk.size(), params.size(), cards.size() - params.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.wooridooribe.batch.writer;
+
+import com.app.wooridooribe.batch.dto.Db1MemberRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 우리두리 회원을 두리뱅킹(db2) tbl_member로 복제하는 ItemWriter
+ * 청크의 주민번호 값으로 이미 있는 회원을 한 번에 조회하고, 없는 회원만 JDBC 배치 INSERT로 저장합니다.
+ * 생년월일/뒷자리/이름/전화번호가 없는 회원은 두리뱅킹 필수 컬럼을 채울 수 없어 건너뜁니다.
+ */
+@Component
+@Slf4j
+public class Db2MemberReplicationWriter implements ItemWriter<Db1MemberRow> {
+
+    private static final String SELECT_EXISTING_SQL =
+            "SELECT member_regist_num FROM tbl_member WHERE member_regist_num IN (:registNums)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tbl_member (name, phone, member_regist_num) VALUES (:name, :phone, :registNum)";
+
+    private final NamedParameterJdbcTemplate db2JdbcTemplate;
+
+    public Db2MemberReplicationWriter(@Qualifier("db2DataSource") DataSource db2DataSource) {
+        this.db2JdbcTemplate = new NamedParameterJdbcTemplate(db2DataSource);
+    }
+
+    @Override
+    public void write(Chunk<? extends Db1MemberRow> chunk) {
+        // 주민번호 값 기준으로 청크 안의 중복 제거
+        Map<String, Db1MemberRow> byRegistNum = new LinkedHashMap<>();
+        for (Db1MemberRow member : chunk.getItems()) {
+            if (member.registNum() == null || member.memberName() == null || member.phone() == null) {
+                continue;
+            }
+            byRegistNum.putIfAbsent(member.registNum(), member);
+        }
+        if (byRegistNum.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(db2JdbcTemplate.queryForList(SELECT_EXISTING_SQL,
+                new MapSqlParameterSource("registNums", byRegistNum.keySet()), String.class));
+
+        SqlParameterSource[] params = byRegistNum.values().stream()
+                .filter(member -> !existing.contains(member.registNum()))
+                .map(member -> new MapSqlParameterSource()
+                        .addValue("name", member.memberName())
+                        .addValue("phone", member.phone())
+                        .addValue("registNum", member.registNum()))
+                .toArray(SqlParameterSource[]::new);
+        if (params.length > 0) {
+            db2JdbcTemplate.batchUpdate(INSERT_SQL, params);
+        }
+
+        log.debug("회원 복제 청크 - 요청: {}, 신규: {}, 기존: {}", chunk.size(), params.length, existing.size());
+    }
+}
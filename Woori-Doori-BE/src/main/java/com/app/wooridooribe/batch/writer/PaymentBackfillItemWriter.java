@@ -0,0 +1,98 @@
+package com.app.wooridooribe.batch.writer;
+
+import com.app.dooribankbe.domain.entity.AccountHistory;
+import com.app.dooribankbe.domain.repository.AccountHistoryRepository;
+import com.app.wooridooribe.controller.dto.PaymentSyncResultDto;
+import com.app.wooridooribe.service.payment.PaymentSyncService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 과거 결제 내역 백필 ItemWriter
+ * 리더가 넘긴 db2 account_history ID 청크를 계좌/회원 fetch join으로 한 번에 조회한 뒤,
+ * 실시간 동기화와 같은 PaymentSyncService 매핑/배치 INSERT 로직으로 저장합니다.
+ * 이미 저장된 내역은 DUPLICATE로 건너뛰므로 재시작으로 같은 청크를 다시 처리해도 안전합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentBackfillItemWriter implements ItemWriter<Long>, StepExecutionListener, SkipListener<Long, Long> {
+
+    private final AccountHistoryRepository accountHistoryRepository;
+    private final PaymentSyncService paymentSyncService;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void write(Chunk<? extends Long> chunk) {
+        List<Long> historyIds = List.copyOf(chunk.getItems());
+        List<AccountHistory> histories = accountHistoryRepository.findAllByIdInWithAccountAndMember(historyIds);
+        List<PaymentSyncResultDto> results = paymentSyncService.syncAccountHistories(histories);
+
+        int success = 0;
+        int duplicate = 0;
+        int failed = 0;
+        for (PaymentSyncResultDto result : results) {
+            switch (result.getStatus()) {
+                case SUCCESS -> success++;
+                case DUPLICATE -> duplicate++;
+                case FAILED -> failed++;
+            }
+        }
+
+        // 처리량 메트릭 (rate()로 초당 처리 건수 확인)
+        increment("success", success);
+        increment("duplicate", duplicate);
+        increment("failed", failed);
+
+        log.debug("백필 청크 처리 완료 - 요청: {}, 저장: {}, 중복: {}, 실패: {}",
+                historyIds.size(), success, duplicate, failed);
+    }
+
+    private void increment(String result, int count) {
+        if (count > 0) {
+            Counter.builder("batch.payment_backfill.items")
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
+    @Override
+    public void onSkipInWrite(Long historyId, Throwable t) {
+        increment("skipped", 1);
+        log.warn("백필 저장 실패로 건너뜀: historyId={}, error={}", historyId, t.getMessage());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        LocalDateTime startTime = stepExecution.getStartTime();
+        long elapsedMs = startTime != null ? Duration.between(startTime, LocalDateTime.now()).toMillis() : 0;
+        long written = stepExecution.getWriteCount();
+        double perSecond = elapsedMs > 0 ? written * 1000.0 / elapsedMs : written;
+
+        DistributionSummary.builder("batch.payment_backfill.throughput")
+                .description("백필 Step 실행당 초당 처리 건수")
+                .baseUnit("items/s")
+                .register(meterRegistry)
+                .record(perSecond);
+
+        log.info("=== 결제 내역 백필 Step 종료 - 상태: {}, 읽음: {}, 처리: {}, 건너뜀: {}, 소요: {}ms, 처리량: {}건/초 ===",
+                stepExecution.getStatus(), stepExecution.getReadCount(), written,
+                stepExecution.getSkipCount(), elapsedMs, String.format("%.1f", perSecond));
+        return stepExecution.getExitStatus();
+    }
+}
@@ -0,0 +1,14 @@
+package com.app.wooridooribe.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 기반 스케줄러 활성화
+ * 각 스케줄러는 자기 설정(app.*.enabled 등)으로 따로 켜고 끄며, 기존 정기 작업(목표 점수, 일기 알림, 대화 메모리 정리)은
+ * app.scheduler.*.enabled=true 일 때만 등록됩니다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
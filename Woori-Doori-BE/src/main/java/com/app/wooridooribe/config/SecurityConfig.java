@@ -137,6 +137,7 @@ public class SecurityConfig {
                         .requestMatchers("/sse/**").authenticated() // SSE 경로는 인증 필요
                         .requestMatchers("/files/**").permitAll() // 파일 경로 허용
                         .requestMatchers("/history/calendar/sync").permitAll() // 두리뱅킹 결제 동기화 경로 허용
+                        .requestMatchers("/history/calendar/sync/bulk").permitAll() // 두리뱅킹 결제 일괄 동기화 경로 허용
                         .requestMatchers("/swagger-ui.html","/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**").permitAll() // Swagger UI
                         .requestMatchers("/actuator/**").permitAll() // Actuator 엔드포인트 허용 (Prometheus 메트릭 수집용)
                         .requestMatchers("/member/**").hasRole("USER") // 나머지 회원 경로는 USER 권한 필요
@@ -20,6 +20,8 @@ import com.app.wooridooribe.repository.file.FileRepository;
 import com.app.wooridooribe.repository.member.MemberRepository;
 import com.app.wooridooribe.service.member.MemberService;
 import com.app.wooridooribe.service.card.CardService;
+import com.app.wooridooribe.service.payment.PaymentBackfillService;
+import com.app.wooridooribe.service.spending.SpendRollupService;
 import com.app.wooridooribe.service.sse.SseService;
 import com.app.wooridooribe.service.s3FileService.S3FileService;
 import com.app.wooridooribe.util.FileValidator;
@@ -31,6 +33,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -38,8 +46,11 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.HtmlUtils;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "관리자", description = "관리자 전용 API (ADMIN 권한 필요)")
 @RestController
@@ -57,6 +68,10 @@ public class AdminController {
     private final S3FileService s3FileService;
     private final FileRepository fileRepository;
     private final ObjectMapper objectMapper;
+    private final JobLauncher jobLauncher;
+    private final Job db2ReplicationJob;
+    private final PaymentBackfillService paymentBackfillService;
+    private final SpendRollupService spendRollupService;
 
     @Operation(summary = "전체 회원 조회", description = "모든 회원 정보를 조회합니다 (관리자 전용)")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
@@ -597,4 +612,54 @@ public class AdminController {
                     .body(ApiResponse.error(500, "알림 전송 실패: " + e.getMessage()));
         }
     }
+
+    @Operation(summary = "우리두리 → 두리뱅킹 일괄 복제", description = "회원, 카드(계좌), 결제 내역을 파티션 단위 Spring Batch Job으로 두리뱅킹(db2)에 복제합니다 (관리자 전용). 이미 복제된 행은 건너뛰므로 다시 실행해도 안전합니다. 진행 상황은 서버 로그를 확인하세요.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "복제 시작")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
+    @PostMapping("/batch/db2-replication")
+    public ResponseEntity<ApiResponse<Void>> replicateToDb2() {
+        log.info("관리자 - db1 → db2 일괄 복제 요청");
+        CompletableFuture.runAsync(() -> {
+            try {
+                JobParameters jobParameters = new JobParametersBuilder()
+                        .addLong("timestamp", System.currentTimeMillis())
+                        .toJobParameters();
+                JobExecution execution = jobLauncher.run(db2ReplicationJob, jobParameters);
+                log.info("=== db1 → db2 일괄 복제 종료 - 상태: {} ===", execution.getStatus());
+            } catch (Exception e) {
+                log.error("=== db1 → db2 일괄 복제 실패 ===", e);
+            }
+        });
+        return ResponseEntity.ok(ApiResponse.res(200,
+                "db1 → db2 일괄 복제가 백그라운드에서 시작되었습니다 (회원 → 카드 → 결제 내역, 파티션 병렬 처리). 처리 결과는 서버 로그를 확인하세요."));
+    }
+
+    @Operation(summary = "두리뱅킹 결제 내역 수동 백필", description = "두리뱅킹 회원/기간의 과거 결제 내역을 CardHistory로 가져오는 백필 Job을 백그라운드에서 실행합니다 (관리자 전용). 같은 조건으로 다시 요청하면 실패한 지점부터 재시작합니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "백필 시작")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
+    @PostMapping("/batch/payment-backfill")
+    public ResponseEntity<ApiResponse<Void>> backfillPayments(
+            @Parameter(description = "두리뱅킹 회원 ID (없으면 전체 회원)") @RequestParam(required = false) Long bankMemberId,
+            @Parameter(description = "시작일 (포함, yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "종료일 (미포함, yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        log.info("관리자 - 결제 내역 백필 요청: bankMemberId={}, 기간=[{}, {})", bankMemberId, fromDate, toDate);
+        paymentBackfillService.backfillAsync(bankMemberId, fromDate, toDate);
+        return ResponseEntity.ok(ApiResponse.res(200,
+                "결제 내역 백필이 백그라운드에서 시작되었습니다. 처리 결과는 서버 로그와 batch.payment_backfill.* 메트릭을 확인하세요."));
+    }
+
+    @Operation(summary = "지출 집계 재계산", description = "결제 내역 기준으로 월별/일별 지출 집계(tbl_monthly_spend_rollup, tbl_daily_spend_rollup)를 다시 계산합니다 (관리자 전용). month를 생략하면 전체 월을 다시 계산합니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "재계산 완료")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
+    @PostMapping("/spend-rollup/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildSpendRollup(
+            @Parameter(description = "대상 월 (yyyy-MM, 없으면 전체)") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        log.info("관리자 - 지출 집계 재계산 요청: month={}", month);
+        if (month != null) {
+            int rows = spendRollupService.rebuildMonth(month);
+            return ResponseEntity.ok(ApiResponse.res(200, month + " 지출 집계 재계산 완료 (집계 행 수: " + rows + ")"));
+        }
+        int monthCount = spendRollupService.rebuildAll();
+        return ResponseEntity.ok(ApiResponse.res(200, "지출 집계 전체 재계산 완료 (월 수: " + monthCount + ")"));
+    }
 }
@@ -7,18 +7,21 @@ import com.app.wooridooribe.controller.dto.DiaryResponseDto;
 import com.app.wooridooribe.controller.dto.DiaryUpdateRequestDto;
 import com.app.wooridooribe.jwt.MemberDetail;
 import com.app.wooridooribe.service.diary.DiaryService;
+import com.app.wooridooribe.service.version.DataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,9 +32,11 @@ import java.util.List;
 public class DiaryController {
 
     private final DiaryService diaryService;
+    private final DataVersionService dataVersionService;
 
     @Operation(summary = "소비 일기 전체 조회", description = "특정 월에 해당하는 소비 일기 전체를 조회합니다.")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "일기가 존재하지 않음")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
@@ -42,11 +47,18 @@ public class DiaryController {
             @Parameter(description = "조회 기준 날짜 (해당 월 전체 조회)", required = true)
 
             @RequestParam
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
         MemberDetail principal = (MemberDetail) authentication.getPrincipal();
         Long memberId = principal.getId();
 
+        // 해당 월 버전이 그대로면 조회 없이 304
+        String etag = dataVersionService.etag(memberId, YearMonth.from(targetDate));
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<DiaryResponseDto> result = diaryService.getMonthlyDiaries(memberId, targetDate);
 
         return ResponseEntity.ok(
@@ -3,6 +3,7 @@ package com.app.wooridooribe.controller;
 import com.app.wooridooribe.controller.dto.*;
 import com.app.wooridooribe.jwt.MemberDetail;
 import com.app.wooridooribe.service.goal.GoalService;
+import com.app.wooridooribe.service.version.DataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,6 +23,7 @@ import java.util.List;
 public class GoalController {
 
     private final GoalService goalService;
+    private final DataVersionService dataVersionService;
 
     /** 목표 설정 API **/
 
@@ -81,16 +84,23 @@ public class GoalController {
     @Operation(summary = "요약리포트 데이터 조회",
                description = "이번달 목표 금액, 소비 점수, 소비금액, 카테고리별 소비를 반환합니다")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "대시보드 데이터 조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "이번 달 목표가 존재하지 않습니다")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
-    public ResponseEntity<ApiResponse<ReportResponseDto>> getReport(Authentication authentication) {
+    public ResponseEntity<ApiResponse<ReportResponseDto>> getReport(Authentication authentication, WebRequest webRequest) {
         
         // 현재 로그인한 사용자의 memberId 추출
         MemberDetail principal = (MemberDetail) authentication.getPrincipal();
         Long memberId = principal.getMember().getId();
         
         log.info("요약리포트 데이터 조회 요청 - memberId: {}", memberId);
+
+        // 이번 달 데이터와 날짜가 그대로면 조회 없이 304
+        String etag = dataVersionService.etagForToday(memberId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         
         // 요약리포트 데이터 조회
         ReportResponseDto result = goalService.getReportData(memberId);
@@ -4,6 +4,7 @@ import com.app.wooridooribe.controller.dto.ApiResponse;
 import com.app.wooridooribe.controller.dto.MainDto;
 import com.app.wooridooribe.jwt.MemberDetail;
 import com.app.wooridooribe.service.main.MainService;
+import com.app.wooridooribe.service.version.DataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "메인", description = "메인페이지 관련 API")
 @RestController
@@ -22,14 +24,23 @@ import org.springframework.web.bind.annotation.RestController;
 public class MainController {
     
     private final MainService mainService;
+    private final DataVersionService dataVersionService;
     
     @Operation(summary = "메인", description = "사용자의 소비 현황의 카테고리와 목표 금액, 현재 소비 현황을 보여줍니다")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "토큰값이 없거나 유효하지 않습니다")
     @GetMapping("main")
-    public ResponseEntity<ApiResponse<MainDto>> main(Authentication authentication) {
+    public ResponseEntity<ApiResponse<MainDto>> main(Authentication authentication, WebRequest webRequest) {
         log.info("메인 페이지 조회 API 호출");
         MemberDetail principal = (MemberDetail) authentication.getPrincipal();
+
+        // 이번 달 데이터와 날짜가 그대로면 조회 없이 304
+        String etag = dataVersionService.etagForToday(principal.getId());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         MainDto mainDto = mainService.getMainPageData(principal.getId());
         return ResponseEntity.ok(ApiResponse.res(200, "조회 완료", mainDto));
     }
@@ -1,23 +1,37 @@
 package com.app.wooridooribe.controller;
 
+import com.app.wooridooribe.controller.dto.CardHistoryPageResponseDto;
 import com.app.wooridooribe.controller.dto.CardHistoryResponseDto;
+import com.app.wooridooribe.controller.dto.PaymentBulkSyncRequestDto;
+import com.app.wooridooribe.controller.dto.PaymentSyncResultDto;
+import com.app.wooridooribe.controller.dto.PaymentSyncTaskDto;
+import com.app.wooridooribe.controller.dto.SpendingBatchEditRequestDto;
+import com.app.wooridooribe.controller.dto.SpendingEditResultDto;
 import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.jwt.MemberDetail;
+import com.app.wooridooribe.service.payment.PaymentSyncDispatcher;
 import com.app.wooridooribe.service.payment.PaymentSyncService;
+import com.app.wooridooribe.service.payment.PaymentSyncTask;
 import com.app.wooridooribe.service.spending.SpendingService;
+import com.app.wooridooribe.service.version.DataVersionService;
 import com.app.wooridooribe.controller.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 @Tag(name = "소비내역", description = "소비 내역 조회, 더치페이, 인원 수정, 금액 수정")
@@ -29,9 +43,12 @@ public class SpendingController {
 
     private final SpendingService spendingService;
     private final PaymentSyncService paymentSyncService;
+    private final PaymentSyncDispatcher paymentSyncDispatcher;
+    private final DataVersionService dataVersionService;
 
-    @Operation(summary = "월별 소비 내역 조회", description = "사용자의 특정 월에 해당하는 소비 내역 및 합계 정보를 조회합니다.")
+    @Operation(summary = "월별 소비 내역 조회", description = "사용자의 특정 월에 해당하는 소비 내역 및 합계 정보를 조회합니다. 응답의 ETag를 If-None-Match로 보내면 해당 월 데이터가 바뀌지 않은 경우 304를 반환합니다.")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "유효하지 않은 날짜 형식")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "소비 내역이 존재하지 않음")
@@ -39,15 +56,80 @@ public class SpendingController {
     public ResponseEntity<ApiResponse<Map<String, Object>>> getMonthlySpending(
             @Parameter(hidden = true) Authentication authentication,
             @Parameter(description = "조회 기준 날짜 (해당 월 전체 조회)", required = true)
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
         MemberDetail principal = (MemberDetail) authentication.getPrincipal();
         Long memberId = principal.getId();
 
+        // 해당 월 버전이 그대로면 조회 없이 304
+        String etag = dataVersionService.etag(memberId, YearMonth.from(targetDate));
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         Map<String, Object> result = spendingService.getMonthlySpendings(memberId, targetDate);
         return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "조회에 성공하였습니다", result));
     }
 
+    @Operation(summary = "월별 소비 내역 페이지 조회", description = "특정 월의 소비 내역을 소비 일자, ID 순으로 한 페이지씩 조회합니다. 다음 페이지는 응답의 nextCursorDate, nextCursorId를 그대로 전달해 조회합니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "유효하지 않은 날짜, 페이지 크기 또는 커서")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CardHistoryPageResponseDto>> getMonthlySpendingPage(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "조회 기준 날짜 (해당 월 전체 조회)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate,
+            @Parameter(description = "이전 페이지의 nextCursorDate (첫 페이지는 생략)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursorDate,
+            @Parameter(description = "이전 페이지의 nextCursorId (첫 페이지는 생략)")
+            @RequestParam(required = false) Long cursorId,
+            @Parameter(description = "페이지 크기 (1~100)")
+            @RequestParam(defaultValue = "30") int size
+    ) {
+        MemberDetail principal = (MemberDetail) authentication.getPrincipal();
+        Long memberId = principal.getId();
+
+        CardHistoryPageResponseDto result = spendingService.getMonthlySpendingPage(memberId, targetDate, cursorDate, cursorId, size);
+        return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "조회에 성공하였습니다", result));
+    }
+
+    @Operation(summary = "월별 소비 내역 스트리밍 조회", description = "월별 소비 내역 조회와 같은 형식의 JSON을 내역을 나눠 읽으면서 바로 응답합니다. 내역이 많은 달에도 서버 메모리 사용량이 일정합니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamMonthlySpending(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "조회 기준 날짜 (해당 월 전체 조회)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate
+    ) {
+        MemberDetail principal = (MemberDetail) authentication.getPrincipal();
+        Long memberId = principal.getId();
+
+        StreamingResponseBody body = out -> spendingService.streamMonthlySpendings(memberId, targetDate, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(summary = "월별 일자별 소비 합계 조회", description = "캘린더 표시용으로 특정 월의 일자별 소비 합계와 건수를 조회합니다. 배열은 1일부터 31칸이며 소비가 없는 날은 0입니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "유효하지 않은 날짜 형식")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
+    @GetMapping("/daily")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDailySpending(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "조회 기준 날짜 (해당 월 전체 조회)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetDate
+    ) {
+        MemberDetail principal = (MemberDetail) authentication.getPrincipal();
+        Long memberId = principal.getId();
+
+        Map<String, Object> result = spendingService.getDailySpendings(memberId, targetDate);
+        return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "조회에 성공하였습니다", result));
+    }
+
     @Operation(summary = "소비 내역 상세 조회", description = "특정 소비 내역의 상세 정보를 조회합니다.")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "상세 조회 성공")
     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
@@ -187,14 +269,34 @@ public class SpendingController {
         return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "성공적으로 수정이 완료되었습니다", result));
     }
 
-    @Operation(summary = "결제 내역 동기화 (두리뱅킹)", description = "두리뱅킹 DB에서 결제 내역을 가져와 우리두리 DB에 저장합니다.")
+    @Operation(summary = "소비 내역 일괄 수정", description = "여러 소비 내역의 지출 합계 포함 여부, 카테고리, 더치페이 인원, 금액을 한 번에 수정하고 건별 결과를 반환합니다. 보낸 항목만 수정됩니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "일괄 수정 처리 완료 (건별 결과 포함)")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "요청 건수가 0건이거나 100건 초과")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "수정 실패")
+    @PatchMapping("/batch")
+    public ResponseEntity<ApiResponse<List<SpendingEditResultDto>>> updateSpendings(
+            @Parameter(hidden = true) Authentication authentication,
+            @RequestBody SpendingBatchEditRequestDto request
+    ) {
+        MemberDetail principal = (MemberDetail) authentication.getPrincipal();
+        Long memberId = principal.getId();
+
+        List<SpendingEditResultDto> results = spendingService.updateSpendings(memberId, request.getEdits());
+        return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "일괄 수정 처리가 완료되었습니다", results));
+    }
+
+    @Operation(summary = "결제 내역 동기화 (두리뱅킹)", description = "결제 내역 동기화 요청을 큐에 접수하고 추적 ID를 반환합니다. 실제 저장은 백그라운드 워커가 처리합니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "동기화 요청 접수")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "동기화 대기 큐가 가득 참")
     @PostMapping("/sync")
     public ResponseEntity<ApiResponse<?>> syncPaymentFromDooriBank(@RequestBody Map<String, Object> request) {
         try {
             String accountNumber = (String) request.get("accountNumber");
             Long historyId = Long.valueOf(request.get("historyId").toString());
-            Long newHistoryId = paymentSyncService.syncPayment(accountNumber, historyId);
-            return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "결제 동기화 성공", newHistoryId));
+            PaymentSyncTask task = paymentSyncDispatcher.submit(accountNumber, historyId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.res(HttpStatus.ACCEPTED.value(), "결제 동기화 요청 접수", PaymentSyncTaskDto.from(task)));
         } catch (CustomException e) {
             return ResponseEntity.status(e.getErrorCode().getStatusCode())
                     .body(ApiResponse.error(
@@ -207,4 +309,30 @@ public class SpendingController {
                     .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), "결제 동기화 실패: " + e.getMessage()));
         }
     }
+
+    @Operation(summary = "결제 내역 일괄 동기화 (두리뱅킹)", description = "두리뱅킹 DB의 여러 결제 내역을 한 번에 가져와 우리두리 DB에 저장하고 건별 결과를 반환합니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "일괄 동기화 처리 완료 (건별 결과 포함)")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "일괄 저장 실패")
+    @PostMapping("/sync/bulk")
+    public ResponseEntity<ApiResponse<List<PaymentSyncResultDto>>> syncPaymentsFromDooriBank(
+            @RequestBody PaymentBulkSyncRequestDto request
+    ) {
+        List<Long> historyIds = request.getHistoryIds() != null ? request.getHistoryIds() : List.of();
+        List<PaymentSyncResultDto> results = paymentSyncService.syncPayments(historyIds);
+        return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "결제 일괄 동기화 완료", results));
+    }
+
+    @Operation(summary = "결제 내역 동기화 작업 상태 조회 (두리뱅킹)", description = "동기화 요청 시 받은 추적 ID로 처리 상태를 조회합니다.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패 (JWT 필요)")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "작업이 없거나 보관 기간이 지남, 또는 본인 계좌의 작업이 아님")
+    @GetMapping("/sync/tasks/{trackingId}")
+    public ResponseEntity<ApiResponse<PaymentSyncTaskDto>> getSyncTask(
+            @Parameter(hidden = true) Authentication authentication,
+            @Parameter(description = "동기화 요청 추적 ID") @PathVariable String trackingId
+    ) {
+        MemberDetail principal = (MemberDetail) authentication.getPrincipal();
+        PaymentSyncTask task = paymentSyncDispatcher.getTask(trackingId, principal.getId());
+        return ResponseEntity.ok(ApiResponse.res(HttpStatus.OK.value(), "동기화 작업 조회 성공", PaymentSyncTaskDto.from(task)));
+    }
 }
@@ -0,0 +1,34 @@
+package com.app.wooridooribe.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "월별 소비 내역 페이지 응답 DTO (소비 일자, ID 기준 커서 페이지)")
+public class CardHistoryPageResponseDto {
+    @Schema(description = "조회 연도", example = "2025")
+    private int year;
+
+    @Schema(description = "조회 월", example = "11")
+    private int month;
+
+    @Schema(description = "해당 월 전체 소비 합계 (페이지와 무관)", example = "1250000")
+    private int totalAmount;
+
+    @Schema(description = "이번 페이지의 소비 내역 (소비 일자, ID 오름차순)")
+    private List<CardHistoryResponseDto> spendings;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "다음 페이지 요청 시 cursorDate로 전달할 값 (마지막 내역의 소비 일자)", example = "2025-11-07")
+    private LocalDate nextCursorDate;
+
+    @Schema(description = "다음 페이지 요청 시 cursorId로 전달할 값 (마지막 내역의 ID)", example = "1234")
+    private Long nextCursorId;
+}
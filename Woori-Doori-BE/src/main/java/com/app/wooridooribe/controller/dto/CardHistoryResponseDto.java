@@ -1,7 +1,7 @@
 package com.app.wooridooribe.controller.dto;
 
-import com.app.wooridooribe.entity.CardHistory;
 import com.app.wooridooribe.entity.type.CategoryType;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryRow;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
@@ -36,18 +36,18 @@ public class CardHistoryResponseDto {
     @Schema(description = "지출 합계 포함 여부", example = "YES")
     private String includeTotal;
 
-    public static CardHistoryResponseDto from(CardHistory entity) {
-        int perPersonAmount = entity.getHistoryPrice() / entity.getHistoryDutchpay();
+    public static CardHistoryResponseDto from(CardHistoryRow row) {
+        int perPersonAmount = row.historyPrice() / row.historyDutchpay();
 
         return CardHistoryResponseDto.builder()
-                .id(entity.getId())
-                .date(entity.getHistoryDate())
-                .historyName(entity.getHistoryName())
-                .historyCategory(entity.getHistoryCategory())
-                .historyPrice(entity.getHistoryPrice())
-                .historyDutchpay(entity.getHistoryDutchpay())
+                .id(row.id())
+                .date(row.historyDate())
+                .historyName(row.historyName())
+                .historyCategory(row.historyCategory())
+                .historyPrice(row.historyPrice())
+                .historyDutchpay(row.historyDutchpay())
                 .perPersonAmount(perPersonAmount)
-                .includeTotal(entity.getHistoryIncludeTotal())
+                .includeTotal(row.historyIncludeTotal())
                 .build();
     }
 }
@@ -1,6 +1,6 @@
 package com.app.wooridooribe.controller.dto;
 
-import com.app.wooridooribe.entity.CardHistory;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryRow;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,5 +15,5 @@ public class CardHistorySummaryResponseDto {
     private int totalAmount;
 
     @Schema(description = "소비 내역 리스트")
-    private List<CardHistory> histories;
+    private List<CardHistoryRow> histories;
 }
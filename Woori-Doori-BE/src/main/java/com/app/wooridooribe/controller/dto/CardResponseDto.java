@@ -1,8 +1,8 @@
 package com.app.wooridooribe.controller.dto;
 
 import com.app.wooridooribe.entity.Card;
-import com.app.wooridooribe.entity.MemberCard;
 import com.app.wooridooribe.entity.type.CardType;
+import com.app.wooridooribe.repository.card.CardRow;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
@@ -44,43 +44,19 @@ public class CardResponseDto {
     @Schema(description = "카드 배너 이미지 File ID", example = "456")
     private Long cardBannerFileId;
 
-    public static CardResponseDto toDTO(MemberCard memberCard) {
-        Card card = memberCard.getCard();
-
-        // YESNO enum을 문자열로 변환 (enum.name() 사용)
-        String cardSvcStr = card.getCardSvc() != null ? card.getCardSvc().name() : null;
-
-        // DB의 card_url 컬럼 값
-        String cardUrl = card.getCardUrl();
-
-        // cardImageFileId를 통해 tbl_file의 file_path를 이미지 URL로 사용
-        String cardImageUrl = "";
-        Long cardImageFileId = null;
-        if (card.getCardImage() != null) {
-            cardImageFileId = card.getCardImage().getId();
-            if (card.getCardImage().getFilePath() != null) {
-                cardImageUrl = card.getCardImage().getFilePath();
-            }
-        }
-
-        // 카드 배너 이미지 정보
-        Long cardBannerFileId = null;
-        if (card.getCardBanner() != null) {
-            cardBannerFileId = card.getCardBanner().getId();
-        }
-
+    public static CardResponseDto toDTO(CardRow row) {
         return CardResponseDto.builder()
-                .id(card.getId())
-                .cardName(card.getCardName())
-                .cardUrl(cardUrl)
-                .cardImageUrl(cardImageUrl)
-                .cardBenef(card.getCardBenefit() != null ? card.getCardBenefit() : "")
-                .cardType(card.getCardType())
-                .cardSvc(cardSvcStr)
-                .annualFee1(card.getAnnualFee1() != null ? card.getAnnualFee1() : "")
-                .annualFee2(card.getAnnualFee2() != null ? card.getAnnualFee2() : "")
-                .cardImageFileId(cardImageFileId)
-                .cardBannerFileId(cardBannerFileId)
+                .id(row.id())
+                .cardName(row.cardName())
+                .cardUrl(row.cardUrl())
+                .cardImageUrl(row.cardImagePath() != null ? row.cardImagePath() : "")
+                .cardBenef(row.cardBenefit() != null ? row.cardBenefit() : "")
+                .cardType(row.cardType())
+                .cardSvc(row.cardSvc() != null ? row.cardSvc().name() : null)
+                .annualFee1(row.annualFee1() != null ? row.annualFee1() : "")
+                .annualFee2(row.annualFee2() != null ? row.annualFee2() : "")
+                .cardImageFileId(row.cardImageFileId())
+                .cardBannerFileId(row.cardBannerFileId())
                 .build();
     }
 
@@ -2,6 +2,7 @@ package com.app.wooridooribe.controller.dto;
 
 import com.app.wooridooribe.entity.Diary;
 import com.app.wooridooribe.entity.type.EmotionType;
+import com.app.wooridooribe.repository.diary.DiaryRow;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
@@ -34,4 +35,13 @@ public class DiaryResponseDto {
                 .diaryContent(diary.getDiaryContent())
                 .build();
     }
+
+    public static DiaryResponseDto from(DiaryRow row) {
+        return DiaryResponseDto.builder()
+                .diaryId(row.id())
+                .diaryDay(row.diaryDay())
+                .diaryEmotion(row.diaryEmotion())
+                .diaryContent(row.diaryContent())
+                .build();
+    }
 }
@@ -0,0 +1,15 @@
+package com.app.wooridooribe.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@Schema(description = "결제 내역 일괄 동기화 요청 DTO")
+public class PaymentBulkSyncRequestDto {
+    @Schema(description = "두리뱅킹 계좌 거래내역 ID 목록", example = "[101, 102, 103]", required = true)
+    private List<Long> historyIds;
+}
@@ -0,0 +1,40 @@
+package com.app.wooridooribe.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "결제 내역 동기화 건별 결과 DTO")
+public class PaymentSyncResultDto {
+    @Schema(description = "두리뱅킹 계좌 거래내역 ID", example = "101")
+    private Long historyId;
+
+    @Schema(description = "저장된 소비 내역 ID (성공/중복 시)", example = "5123")
+    private Long cardHistoryId;
+
+    @Schema(description = "처리 결과", example = "SUCCESS", allowableValues = {"SUCCESS", "DUPLICATE", "FAILED"})
+    private Status status;
+
+    @Schema(description = "실패 사유 (실패 시)", example = "은행 계좌 내역을 찾을 수 없습니다.")
+    private String reason;
+
+    public static PaymentSyncResultDto success(Long historyId, Long cardHistoryId) {
+        return new PaymentSyncResultDto(historyId, cardHistoryId, Status.SUCCESS, null);
+    }
+
+    public static PaymentSyncResultDto duplicate(Long historyId, Long cardHistoryId) {
+        return new PaymentSyncResultDto(historyId, cardHistoryId, Status.DUPLICATE, null);
+    }
+
+    public static PaymentSyncResultDto failed(Long historyId, String reason) {
+        return new PaymentSyncResultDto(historyId, null, Status.FAILED, reason);
+    }
+
+    public enum Status {
+        SUCCESS,
+        DUPLICATE, // 이미 동기화된 내역 (재시도 요청)
+        FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.wooridooribe.controller.dto;
+
+import com.app.wooridooribe.service.payment.PaymentSyncTask;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "비동기 결제 동기화 작업 상태 DTO")
+public class PaymentSyncTaskDto {
+    @Schema(description = "작업 추적 ID", example = "3f2b8c1e-6a4d-4e0b-9f5e-2d7c1a9b8e10")
+    private String trackingId;
+
+    @Schema(description = "두리뱅킹 계좌 거래내역 ID", example = "101")
+    private Long historyId;
+
+    @Schema(description = "작업 상태", example = "QUEUED",
+            allowableValues = {"QUEUED", "PROCESSING", "RETRYING", "SUCCESS", "FAILED"})
+    private PaymentSyncTask.Status status;
+
+    @Schema(description = "재시도 횟수", example = "0")
+    private int retryCount;
+
+    @Schema(description = "저장된 소비 내역 ID (성공 시)", example = "5123")
+    private Long cardHistoryId;
+
+    @Schema(description = "실패 사유 (실패 시)", example = "은행 계좌 내역을 찾을 수 없습니다.")
+    private String reason;
+
+    public static PaymentSyncTaskDto from(PaymentSyncTask task) {
+        return new PaymentSyncTaskDto(task.getTrackingId(), task.getHistoryId(), task.getStatus(),
+                task.getRetryCount(), task.getCardHistoryId(), task.getReason());
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.wooridooribe.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@Schema(description = "소비 내역 일괄 수정 요청 DTO")
+public class SpendingBatchEditRequestDto {
+    @Schema(description = "소비 내역별 수정 목록 (최대 100건)", required = true)
+    private List<Edit> edits;
+
+    @Getter
+    @NoArgsConstructor
+    @Schema(description = "소비 내역 한 건의 수정 요청")
+    public static class Edit {
+        @Schema(description = "소비 내역 ID", example = "5123", required = true)
+        private Long historyId;
+
+        @Schema(description = "수정할 값 (보낸 항목만 수정)", required = true)
+        private Changes changes;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @Schema(description = "소비 내역 수정 값")
+    public static class Changes {
+        @Schema(description = "지출 합계 포함 여부", example = "false")
+        private Boolean includeTotal;
+
+        @Schema(description = "카테고리", example = "FOOD")
+        private String category;
+
+        @Schema(description = "더치페이 인원 수 (1~10)", example = "2")
+        private Integer dutchpay;
+
+        @Schema(description = "금액 (1 이상)", example = "12000")
+        private Integer price;
+    }
+}
@@ -0,0 +1,37 @@
+package com.app.wooridooribe.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "소비 내역 일괄 수정 건별 결과 DTO")
+public class SpendingEditResultDto {
+    @Schema(description = "소비 내역 ID", example = "5123")
+    private Long historyId;
+
+    @Schema(description = "처리 결과", example = "UPDATED", allowableValues = {"UPDATED", "NOT_FOUND", "INVALID"})
+    private Status status;
+
+    @Schema(description = "실패 사유 (실패 시)", example = "유효하지 않은 카테고리 값입니다.")
+    private String reason;
+
+    public static SpendingEditResultDto updated(Long historyId) {
+        return new SpendingEditResultDto(historyId, Status.UPDATED, null);
+    }
+
+    public static SpendingEditResultDto notFound(Long historyId) {
+        return new SpendingEditResultDto(historyId, Status.NOT_FOUND, "소비 내역이 없거나 수정 권한이 없습니다.");
+    }
+
+    public static SpendingEditResultDto invalid(Long historyId, String reason) {
+        return new SpendingEditResultDto(historyId, Status.INVALID, reason);
+    }
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND, // 없는 내역이거나 다른 회원의 내역
+        INVALID
+    }
+}
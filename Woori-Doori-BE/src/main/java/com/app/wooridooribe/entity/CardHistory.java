@@ -13,7 +13,15 @@ import java.time.LocalDate;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-@Table(name = "tbl_card_history")
+@Table(name = "tbl_card_history",
+        // 월별 파티션 테이블은 유니크 키에 파티션 키(history_date)가 포함되어야 함 (같은 두리뱅킹 내역은 결제일이 같으므로 중복 방지 동일)
+        uniqueConstraints = @UniqueConstraint(name = "uk_card_history_source_history_id", columnNames = {"source_history_id", "history_date"}),
+        indexes = {
+                // 회원별 기간 합계/목록 조회 (member_card 조인 없이 회원 + 날짜 범위 + 총지출 포함 여부)
+                @Index(name = "idx_card_history_member_date_include", columnList = "member_id, history_date, history_include_total"),
+                // 회원별 카테고리 + 기간 조회 (카테고리별 가맹점 TOP 5 등)
+                @Index(name = "idx_card_history_member_category_date", columnList = "member_id, history_category, history_date")
+        })
 public class CardHistory {
 
     @Id
@@ -21,9 +29,13 @@ public class CardHistory {
     private Long id; // 결제내역 고유번호
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_card_id", nullable = false)
+    // 파티션 테이블은 외래 키를 가질 수 없으므로 DB 제약 없이 매핑 (회원 카드 삭제 시 정리는 cascade 담당)
+    @JoinColumn(name = "user_card_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private MemberCard memberCard; // 유저 카드 데이터 번호
 
+    @Column(name = "member_id")
+    private Long memberId; // 회원 ID (member_card.member_id 비정규화, 카드 연결/해제 시 함께 변경, 연결된 회원이 없으면 null)
+
     @Column(name = "history_date", nullable = false)
     private LocalDate historyDate; // 결제일자
 
@@ -47,5 +59,8 @@ public class CardHistory {
     @Column(name = "history_dutchpay", nullable = false)
     @Builder.Default
     private Integer historyDutchpay = 1; // 더치페이 참여 인원수
+
+    @Column(name = "source_history_id")
+    private Long sourceHistoryId; // 두리뱅킹(db2) account_history ID (동기화 중복 방지용, 직접 등록한 내역은 null)
 }
 
@@ -0,0 +1,39 @@
+package com.app.wooridooribe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 회원별 월별 결제 내역 보관본 (보관 기준 월 이전의 tbl_card_history 행을 회원-월 단위로 압축)
+ * payload는 CardHistoryArchiveCodec 형식(gzip)으로, 한 회원의 한 달 결제 내역 전체를 담습니다.
+ * 합계/리포트는 지출 집계(tbl_monthly_spend_rollup, tbl_daily_spend_rollup)에 그대로 남아 있으므로
+ * 보관본은 연간 리포트/챗봇처럼 내역 목록이 필요할 때만 읽습니다.
+ * 저장은 CardHistoryArchiveJdbcRepository가 담당합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "tbl_card_history_archive",
+        uniqueConstraints = @UniqueConstraint(name = "uk_card_history_archive",
+                columnNames = {"member_id", "archive_month"}))
+public class CardHistoryArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId; // 회원 ID
+
+    @Column(name = "archive_month", nullable = false)
+    private Integer archiveMonth; // 결제 월 (yyyyMM, 예: 202310)
+
+    @Column(name = "row_count", nullable = false)
+    private Integer rowCount; // 보관된 결제 내역 수
+
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] payload; // 압축된 결제 내역 목록
+}
@@ -0,0 +1,35 @@
+package com.app.wooridooribe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 보관본(tbl_card_history_archive)으로 옮긴 결제 내역 한 건의 색인
+ * 보관본 payload는 압축되어 있어 조회 조건으로 쓸 수 없으므로, 원본 결제 내역 ID와 두리뱅킹 내역 ID를 따로 남깁니다.
+ * - source_history_id: 결제 내역 테이블에서 삭제된 뒤에도 같은 두리뱅킹 내역이 다시 저장되지 않도록 확인
+ * - card_history_id: 보관본에 담긴 행만 결제 내역 테이블에서 삭제
+ * 저장은 CardHistoryArchiveJdbcRepository가 담당합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "tbl_card_history_archive_index",
+        uniqueConstraints = @UniqueConstraint(name = "uk_card_history_archive_index_source",
+                columnNames = {"source_history_id"}))
+public class CardHistoryArchiveIndex {
+
+    @Id
+    @Column(name = "card_history_id")
+    private Long cardHistoryId; // 보관된 결제 내역 ID
+
+    @Column(name = "source_history_id")
+    private Long sourceHistoryId; // 두리뱅킹 account_history ID (직접 등록된 내역은 null)
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId; // 회원 ID
+
+    @Column(name = "archive_month", nullable = false)
+    private Integer archiveMonth; // 결제 월 (yyyyMM, 예: 202310)
+}
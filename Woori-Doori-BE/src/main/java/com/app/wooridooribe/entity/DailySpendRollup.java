@@ -0,0 +1,43 @@
+package com.app.wooridooribe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 회원별 일별 지출 집계 (tbl_card_history 롤업)
+ * 캘린더의 일별 합계(결제 가능 내역 기준)와 소비 안정성 점수의 일별 지출(총지출 포함 내역 기준)을 함께 저장합니다.
+ * 갱신은 월별 집계와 같이 SpendRollupJdbcRepository가 담당합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "tbl_daily_spend_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_spend_rollup", columnNames = {"member_id", "spend_date"}))
+public class DailySpendRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId; // 회원 ID
+
+    @Column(name = "spend_date", nullable = false)
+    private LocalDate spendDate; // 결제일자
+
+    @Column(name = "spend_sum", nullable = false)
+    private Long spendSum; // 결제 금액 합계 (history_status = ABLE, 캘린더 기준)
+
+    @Column(name = "spend_count", nullable = false)
+    private Integer spendCount; // 결제 건수 (history_status = ABLE)
+
+    @Column(name = "included_sum", nullable = false)
+    private Long includedSum; // 총지출 포함 금액 합계 (history_include_total = 'Y', 목표/점수 기준)
+
+    @Column(name = "included_count", nullable = false)
+    private Integer includedCount; // 총지출 포함 결제 건수
+}
@@ -0,0 +1,39 @@
+package com.app.wooridooribe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목표 점수를 다시 계산해야 하는 회원-목표 월 표시
+ * 결제 동기화, 소비 내역 수정, 목표/필수 카테고리 변경 시 같은 트랜잭션에서 기록되고,
+ * 재계산이 점수를 저장하는 트랜잭션에서 mark_version이 그대로일 때만 삭제됩니다. (재계산 중 다시 표시되면 남음)
+ * 저장은 GoalScoreDirtyJdbcRepository가 담당합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "tbl_goal_score_dirty",
+        uniqueConstraints = @UniqueConstraint(name = "uk_goal_score_dirty",
+                columnNames = {"member_id", "goal_month"}))
+public class GoalScoreDirty {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId; // 회원 ID
+
+    @Column(name = "goal_month", nullable = false)
+    private Integer goalMonth; // 목표 월 (yyyyMM, 예: 202310)
+
+    @Column(name = "mark_version", nullable = false)
+    private Long markVersion; // 표시될 때마다 1씩 증가
+
+    @Column(name = "marked_at", nullable = false)
+    private LocalDateTime markedAt; // 마지막으로 표시된 시각
+}
@@ -0,0 +1,45 @@
+package com.app.wooridooribe.entity;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 회원별 월별 지출 집계 (tbl_card_history 롤업)
+ * (회원, 월, 카테고리, 총지출 포함 여부)마다 결제 금액 합계와 건수를 저장합니다.
+ * 결제 내역 저장/수정과 같은 트랜잭션에서 증감되므로, 기간 합계 조회 비용이 내역 수가 아닌 개월 수에 비례합니다.
+ * 갱신은 SpendRollupJdbcRepository가 담당합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "tbl_monthly_spend_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_spend_rollup",
+                columnNames = {"member_id", "spend_month", "history_category", "history_include_total"}))
+public class MonthlySpendRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId; // 회원 ID
+
+    @Column(name = "spend_month", nullable = false)
+    private Integer spendMonth; // 결제 월 (yyyyMM, 예: 202510)
+
+    @Column(name = "history_category", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CategoryType historyCategory; // 카테고리
+
+    @Column(name = "history_include_total", nullable = false)
+    private String historyIncludeTotal; // 총지출금액 포함여부 (Y/N)
+
+    @Column(name = "spend_sum", nullable = false)
+    private Long spendSum; // 결제 금액 합계
+
+    @Column(name = "spend_count", nullable = false)
+    private Integer spendCount; // 결제 건수
+}
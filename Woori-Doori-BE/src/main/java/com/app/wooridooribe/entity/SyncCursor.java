@@ -0,0 +1,31 @@
+package com.app.wooridooribe.entity;
+
+import com.app.wooridooribe.entity.aduit.Period;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 외부 데이터 동기화 커서 (high-water mark)
+ * 마지막으로 반영한 원본 ID를 저장하여, 서버가 중단되어도 이어서 동기화할 수 있도록 합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "tbl_sync_cursor")
+public class SyncCursor extends Period {
+
+    @Id
+    @Column(name = "cursor_name", length = 50)
+    private String cursorName; // 커서 이름 (동기화 대상 구분)
+
+    @Column(name = "last_synced_id", nullable = false)
+    private Long lastSyncedId; // 마지막으로 동기화한 원본 ID
+
+    public void advanceTo(Long syncedId) {
+        if (syncedId != null && syncedId > this.lastSyncedId) {
+            this.lastSyncedId = syncedId;
+        }
+    }
+}
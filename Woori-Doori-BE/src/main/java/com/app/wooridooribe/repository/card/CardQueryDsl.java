@@ -34,4 +34,16 @@ public interface CardQueryDsl {
      * @return 카드 ID와 전체 사용자 등록 횟수 Tuple 리스트
      */
     List<Tuple> findPopularCardsOverall(int limit);
+
+    /**
+     * 전체 카드 목록을 카드 읽기 모델로 조회합니다 (ID 순)
+     */
+    List<CardRow> findAllCardRows();
+
+    /**
+     * 카드 ID 목록에 해당하는 카드를 카드 읽기 모델로 조회합니다 (순서는 보장하지 않음)
+     *
+     * @param cardIds 카드 ID 목록
+     */
+    List<CardRow> findCardRowsByIdIn(List<Long> cardIds);
 }
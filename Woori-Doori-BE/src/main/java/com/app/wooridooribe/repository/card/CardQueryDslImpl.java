@@ -3,11 +3,13 @@ package com.app.wooridooribe.repository.card;
 import com.app.wooridooribe.entity.Card;
 import com.app.wooridooribe.entity.QCard;
 import com.app.wooridooribe.entity.QCardBenefitCategory;
+import com.app.wooridooribe.entity.QFile;
 import com.app.wooridooribe.entity.QMemberCard;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.entity.type.YESNO;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -113,4 +115,34 @@ public class CardQueryDslImpl implements CardQueryDsl {
                 log.info("전체 인기 카드 조회 - 조회된 카드 ID: {}, 카드 수: {}", resultCardIds, result.size());
                 return result;
         }
+
+        @Override
+        public List<CardRow> findAllCardRows() {
+                return selectCardRows()
+                                .orderBy(QCard.card.id.asc())
+                                .fetch();
+        }
+
+        @Override
+        public List<CardRow> findCardRowsByIdIn(List<Long> cardIds) {
+                if (cardIds.isEmpty()) {
+                        return List.of();
+                }
+                return selectCardRows()
+                                .where(QCard.card.id.in(cardIds))
+                                .fetch();
+        }
+
+        // 카드 + 이미지/배너 파일 경로 (이미지, 배너가 없는 카드도 포함)
+        private JPAQuery<CardRow> selectCardRows() {
+                QCard card = QCard.card;
+                QFile cardImage = new QFile("cardImage");
+                QFile cardBanner = new QFile("cardBanner");
+
+                return queryFactory
+                                .select(CardRow.projection(card, cardImage, cardBanner))
+                                .from(card)
+                                .leftJoin(card.cardImage, cardImage)
+                                .leftJoin(card.cardBanner, cardBanner);
+        }
 }
@@ -0,0 +1,49 @@
+package com.app.wooridooribe.repository.card;
+
+import com.app.wooridooribe.entity.QCard;
+import com.app.wooridooribe.entity.QFile;
+import com.app.wooridooribe.entity.type.CardType;
+import com.app.wooridooribe.entity.type.YESNO;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+
+/**
+ * 카드 조회 전용 읽기 모델 (카드 컬럼 + 카드 이미지/배너 파일 경로)
+ * 카드/파일 엔티티를 fetch join으로 올리지 않고 응답에 필요한 값만 조회합니다.
+ * 이미지/배너가 없는 카드는 파일 ID와 경로가 null입니다.
+ */
+public record CardRow(
+        Long id,
+        String cardName,
+        String cardUrl,
+        String cardBenefit,
+        CardType cardType,
+        YESNO cardSvc,
+        String annualFee1,
+        String annualFee2,
+        Long cardImageFileId,
+        String cardImagePath,
+        Long cardBannerFileId,
+        String cardBannerPath
+) {
+
+    /**
+     * @param cardImage  card.cardImage 로 left join한 파일 별칭
+     * @param cardBanner card.cardBanner 로 left join한 파일 별칭
+     */
+    public static ConstructorExpression<CardRow> projection(QCard card, QFile cardImage, QFile cardBanner) {
+        return Projections.constructor(CardRow.class,
+                card.id,
+                card.cardName,
+                card.cardUrl,
+                card.cardBenefit,
+                card.cardType,
+                card.cardSvc,
+                card.annualFee1,
+                card.annualFee2,
+                cardImage.id,
+                cardImage.filePath,
+                cardBanner.id,
+                cardBanner.filePath);
+    }
+}
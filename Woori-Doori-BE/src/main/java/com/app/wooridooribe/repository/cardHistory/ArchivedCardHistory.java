@@ -0,0 +1,41 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+import com.app.wooridooribe.entity.type.StatusType;
+
+import java.time.LocalDate;
+
+/**
+ * 보관본(tbl_card_history_archive)에 저장되는 결제 내역 한 건
+ * 보관된 내역은 수정할 수 없으므로 조회에 필요한 컬럼과 회원/두리뱅킹 내역 연결(member_id, source_history_id)만 담습니다.
+ * 버전 1 보관본에서 읽은 내역은 memberId, sourceHistoryId가 null입니다.
+ */
+public record ArchivedCardHistory(
+        Long id,
+        Long memberId,
+        Long memberCardId,
+        Long sourceHistoryId,
+        LocalDate historyDate,
+        String historyName,
+        Integer historyPrice,
+        StatusType historyStatus,
+        CategoryType historyCategory,
+        String historyIncludeTotal,
+        Integer historyDutchpay
+) {
+
+    /**
+     * 버전 1 보관본에서 읽어 회원 ID가 없는 내역에 보관본 키의 회원 ID를 채웁니다.
+     */
+    public ArchivedCardHistory withMemberId(Long memberId) {
+        if (this.memberId != null) {
+            return this;
+        }
+        return new ArchivedCardHistory(id, memberId, memberCardId, sourceHistoryId, historyDate, historyName,
+                historyPrice, historyStatus, historyCategory, historyIncludeTotal, historyDutchpay);
+    }
+
+    public CardHistoryRow toRow() {
+        return new CardHistoryRow(id, historyDate, historyName, historyCategory, historyPrice, historyDutchpay, historyIncludeTotal);
+    }
+}
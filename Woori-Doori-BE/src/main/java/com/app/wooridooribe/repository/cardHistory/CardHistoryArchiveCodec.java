@@ -0,0 +1,96 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+import com.app.wooridooribe.entity.type.StatusType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 결제 내역 보관본 payload 직렬화
+ * [버전 1바이트][건수 int] 뒤에 건마다 고정 순서로 필드를 쓰고 gzip으로 압축합니다.
+ * 같은 회원의 한 달 내역은 가맹점명/카테고리가 반복되므로 압축 효율이 높습니다.
+ * enum은 순서가 바뀌어도 읽을 수 있도록 이름으로 저장합니다.
+ * 버전 2부터 회원 ID와 source_history_id(없으면 -1)를 함께 저장하며, 버전 1 보관본도 그대로 읽습니다.
+ */
+final class CardHistoryArchiveCodec {
+
+    private static final byte VERSION = 2;
+
+    private static final byte VERSION_WITHOUT_SOURCE = 1;
+
+    private static final long NO_SOURCE_HISTORY_ID = -1L;
+
+    private CardHistoryArchiveCodec() {
+    }
+
+    static byte[] encode(List<ArchivedCardHistory> histories) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            out.writeInt(histories.size());
+            for (ArchivedCardHistory history : histories) {
+                out.writeLong(history.id());
+                out.writeLong(history.memberId());
+                out.writeLong(history.memberCardId());
+                out.writeLong(history.sourceHistoryId() != null ? history.sourceHistoryId() : NO_SOURCE_HISTORY_ID);
+                out.writeLong(history.historyDate().toEpochDay());
+                out.writeUTF(history.historyName());
+                out.writeInt(history.historyPrice());
+                out.writeUTF(history.historyStatus().name());
+                out.writeUTF(history.historyCategory().name());
+                out.writeUTF(history.historyIncludeTotal());
+                out.writeInt(history.historyDutchpay());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("결제 내역 보관본 직렬화 실패", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<ArchivedCardHistory> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_WITHOUT_SOURCE) {
+                throw new IllegalStateException("지원하지 않는 결제 내역 보관본 버전: " + version);
+            }
+            int count = in.readInt();
+            List<ArchivedCardHistory> histories = new ArrayList<>(count);
+            boolean withSource = version == VERSION;
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                Long memberId = withSource ? in.readLong() : null;
+                long memberCardId = in.readLong();
+                Long sourceHistoryId = null;
+                if (withSource) {
+                    long value = in.readLong();
+                    sourceHistoryId = value != NO_SOURCE_HISTORY_ID ? value : null;
+                }
+                histories.add(new ArchivedCardHistory(
+                        id,
+                        memberId,
+                        memberCardId,
+                        sourceHistoryId,
+                        LocalDate.ofEpochDay(in.readLong()),
+                        in.readUTF(),
+                        in.readInt(),
+                        StatusType.valueOf(in.readUTF()),
+                        CategoryType.valueOf(in.readUTF()),
+                        in.readUTF(),
+                        in.readInt()));
+            }
+            return histories;
+        } catch (IOException e) {
+            throw new UncheckedIOException("결제 내역 보관본 역직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+import com.app.wooridooribe.entity.type.StatusType;
+import com.app.wooridooribe.repository.spendRollup.SpendRollupJdbcRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 내역 보관 계층(tbl_card_history_archive) JDBC 리포지토리
+ * 보관 기준 월(horizon) 이전의 결제 내역은 회원-월 단위로 압축된 보관본으로 옮겨지고,
+ * 조회 기간이 기준 월보다 앞설 때만 CardHistoryQueryDslImpl이 여기서 이전 내역을 읽어 합칩니다.
+ * 보관 중(보관본 저장 후 원본 삭제 전)에는 같은 내역이 양쪽에 있을 수 있으므로 읽는 쪽에서 ID로 중복을 제거합니다.
+ * 보관한 내역은 tbl_card_history_archive_index에도 기록해, 원본이 삭제된 뒤에도 같은 두리뱅킹 내역(source_history_id)이
+ * 다시 저장되지 않도록 하고, 보관본에 담긴 행만 원본에서 삭제합니다.
+ */
+@Repository
+public class CardHistoryArchiveJdbcRepository {
+
+    private static final String SELECT_ARCHIVES_SQL =
+            "SELECT payload FROM tbl_card_history_archive " +
+            "WHERE member_id = :memberId AND archive_month BETWEEN :fromMonth AND :toMonth";
+
+    private static final String UPSERT_ARCHIVE_SQL =
+            "INSERT INTO tbl_card_history_archive (member_id, archive_month, row_count, payload) " +
+            "VALUES (:memberId, :archiveMonth, :rowCount, :payload) " +
+            "ON DUPLICATE KEY UPDATE row_count = VALUES(row_count), payload = VALUES(payload)";
+
+    private static final String SELECT_OLDEST_HOT_DATE_SQL =
+            "SELECT MIN(history_date) FROM tbl_card_history";
+
+    private static final String SELECT_HOT_MEMBERS_SQL =
+            "SELECT DISTINCT member_id FROM tbl_card_history " +
+            "WHERE history_date >= :startDate AND history_date < :endDate AND member_id IS NOT NULL";
+
+    private static final String SELECT_HOT_ROWS_SQL =
+            "SELECT id, member_id, user_card_id, source_history_id, history_date, history_name, history_price, history_status, " +
+            "history_category, history_include_total, history_dutchpay FROM tbl_card_history " +
+            "WHERE member_id = :memberId AND history_date >= :startDate AND history_date < :endDate";
+
+    private static final String UPSERT_INDEX_SQL =
+            "INSERT INTO tbl_card_history_archive_index (card_history_id, source_history_id, member_id, archive_month) " +
+            "VALUES (:cardHistoryId, :sourceHistoryId, :memberId, :archiveMonth) " +
+            "ON DUPLICATE KEY UPDATE card_history_id = card_history_id";
+
+    private static final String SELECT_ARCHIVED_IDS_BY_SOURCE_SQL =
+            "SELECT card_history_id, source_history_id FROM tbl_card_history_archive_index " +
+            "WHERE source_history_id IN (:sourceHistoryIds)";
+
+    // 보관본에 담긴(색인이 있는) 행만 삭제하므로 보관 도중 새로 저장된 내역은 남음
+    private static final String DELETE_HOT_ROWS_SQL =
+            "DELETE h FROM tbl_card_history h " +
+            "JOIN tbl_card_history_archive_index i ON i.card_history_id = h.id " +
+            "WHERE h.member_id = :memberId AND h.history_date >= :startDate AND h.history_date < :endDate";
+
+    private static final String SELECT_UNARCHIVED_HOT_MEMBERS_SQL =
+            "SELECT DISTINCT h.member_id FROM tbl_card_history h " +
+            "WHERE h.history_date >= :startDate AND h.history_date < :endDate AND h.member_id IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM tbl_card_history_archive_index i WHERE i.card_history_id = h.id)";
+
+    private static final String EXISTS_UNOWNED_HOT_ROWS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM tbl_card_history " +
+            "WHERE history_date >= :startDate AND history_date < :endDate AND member_id IS NULL)";
+
+    private static final RowMapper<ArchivedCardHistory> HOT_ROW_MAPPER = (rs, rowNum) -> new ArchivedCardHistory(
+            rs.getLong("id"),
+            rs.getLong("member_id"),
+            rs.getLong("user_card_id"),
+            rs.getObject("source_history_id", Long.class),
+            rs.getDate("history_date").toLocalDate(),
+            rs.getString("history_name"),
+            rs.getInt("history_price"),
+            StatusType.valueOf(rs.getString("history_status")),
+            CategoryType.valueOf(rs.getString("history_category")),
+            rs.getString("history_include_total"),
+            rs.getInt("history_dutchpay"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int horizonMonths;
+
+    public CardHistoryArchiveJdbcRepository(@Qualifier("db1DataSource") DataSource dataSource,
+                                            @Value("${app.card-history-archive.enabled:false}") boolean enabled,
+                                            @Value("${app.card-history-archive.horizon-months:24}") int horizonMonths) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.horizonMonths = horizonMonths;
+    }
+
+    /**
+     * 결제 내역 테이블에 남기는 첫 달 (이번 달 포함 horizon-months 개월). 이보다 앞선 달은 보관 대상
+     */
+    public YearMonth horizon() {
+        return YearMonth.now().minusMonths(horizonMonths - 1L);
+    }
+
+    /**
+     * 조회 시작일이 보관 기준 월보다 앞서면 true (보관본도 함께 읽어야 함)
+     */
+    public boolean crossesHorizon(LocalDate startDate) {
+        return enabled && YearMonth.from(startDate).isBefore(horizon());
+    }
+
+    /**
+     * 회원의 보관된 결제 내역 중 [startDate, endDate] 범위를 (일자, ID) 순으로 조회
+     */
+    public List<ArchivedCardHistory> findArchived(Long memberId, LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("fromMonth", SpendRollupJdbcRepository.toSpendMonth(YearMonth.from(startDate)))
+                .addValue("toMonth", SpendRollupJdbcRepository.toSpendMonth(YearMonth.from(endDate)));
+
+        return jdbcTemplate.queryForList(SELECT_ARCHIVES_SQL, params, byte[].class).stream()
+                .flatMap(payload -> CardHistoryArchiveCodec.decode(payload).stream())
+                .filter(history -> !history.historyDate().isBefore(startDate) && !history.historyDate().isAfter(endDate))
+                .sorted(Comparator.comparing(ArchivedCardHistory::historyDate).thenComparing(ArchivedCardHistory::id))
+                .toList();
+    }
+
+    /**
+     * 결제 내역 테이블에 남아 있는 가장 이른 월 (내역이 없으면 null)
+     */
+    public YearMonth findOldestHotMonth() {
+        LocalDate oldest = jdbcTemplate.getJdbcTemplate().queryForObject(SELECT_OLDEST_HOT_DATE_SQL, LocalDate.class);
+        return oldest != null ? YearMonth.from(oldest) : null;
+    }
+
+    public List<Long> findHotMembers(YearMonth month) {
+        return jdbcTemplate.queryForList(SELECT_HOT_MEMBERS_SQL, monthParams(null, month), Long.class);
+    }
+
+    /**
+     * 해당 월에 아직 보관본에 담기지 않은 내역이 남아 있는 회원 (보관 도중 늦게 동기화된 내역 확인용)
+     */
+    public List<Long> findUnarchivedHotMembers(YearMonth month) {
+        return jdbcTemplate.queryForList(SELECT_UNARCHIVED_HOT_MEMBERS_SQL, monthParams(null, month), Long.class);
+    }
+
+    /**
+     * 보관본으로 옮겨진 두리뱅킹 내역의 (보관 전) CardHistory ID를 조회합니다.
+     *
+     * @return source_history_id -> CardHistory ID
+     */
+    public Map<Long, Long> findArchivedIdsBySourceHistoryIds(Collection<Long> sourceHistoryIds) {
+        if (sourceHistoryIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_ARCHIVED_IDS_BY_SOURCE_SQL,
+                new MapSqlParameterSource("sourceHistoryIds", sourceHistoryIds),
+                rs -> {
+                    ids.put(rs.getLong("source_history_id"), rs.getLong("card_history_id"));
+                });
+        return ids;
+    }
+
+    /**
+     * 회원의 한 달 결제 내역을 보관본에 합쳐 저장합니다. (이미 보관본이 있으면 ID 기준으로 병합)
+     *
+     * @return 보관본에 담긴 전체 내역 수
+     */
+    public int archiveMonth(Long memberId, YearMonth month) {
+        Map<Long, ArchivedCardHistory> merged = new LinkedHashMap<>();
+        findArchived(memberId, month.atDay(1), month.atEndOfMonth())
+                .forEach(history -> merged.put(history.id(), history.withMemberId(memberId)));
+        jdbcTemplate.query(SELECT_HOT_ROWS_SQL, monthParams(memberId, month), HOT_ROW_MAPPER)
+                .forEach(history -> merged.put(history.id(), history));
+
+        List<ArchivedCardHistory> histories = merged.values().stream()
+                .sorted(Comparator.comparing(ArchivedCardHistory::historyDate).thenComparing(ArchivedCardHistory::id))
+                .toList();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("archiveMonth", SpendRollupJdbcRepository.toSpendMonth(month))
+                .addValue("rowCount", histories.size())
+                .addValue("payload", CardHistoryArchiveCodec.encode(histories));
+        jdbcTemplate.update(UPSERT_ARCHIVE_SQL, params);
+
+        int archiveMonth = SpendRollupJdbcRepository.toSpendMonth(month);
+        SqlParameterSource[] indexParams = histories.stream()
+                .map(history -> new MapSqlParameterSource()
+                        .addValue("cardHistoryId", history.id())
+                        .addValue("sourceHistoryId", history.sourceHistoryId())
+                        .addValue("memberId", memberId)
+                        .addValue("archiveMonth", archiveMonth))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_INDEX_SQL, indexParams);
+        return histories.size();
+    }
+
+    /**
+     * 보관본에 옮긴 회원의 한 달 결제 내역을 결제 내역 테이블에서 삭제합니다. (지출 집계는 그대로 유지)
+     * 보관본 색인에 있는 행만 삭제하므로, 보관본 저장 이후 새로 들어온 내역은 다음 보관 때 옮겨집니다.
+     */
+    public int deleteHotMonth(Long memberId, YearMonth month) {
+        return jdbcTemplate.update(DELETE_HOT_ROWS_SQL, monthParams(memberId, month));
+    }
+
+    /**
+     * 회원이 연결되지 않은(member_id IS NULL) 내역이 해당 월에 남아 있으면 true (보관본으로 옮길 수 없는 행)
+     */
+    public boolean hasUnownedHotRows(YearMonth month) {
+        Boolean exists = jdbcTemplate.queryForObject(EXISTS_UNOWNED_HOT_ROWS_SQL, monthParams(null, month), Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    // [월초, 다음 달 1일) 범위 파라미터
+    private static MapSqlParameterSource monthParams(Long memberId, YearMonth month) {
+        return new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("startDate", month.atDay(1))
+                .addValue("endDate", month.plusMonths(1).atDay(1));
+    }
+}
@@ -0,0 +1,16 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+
+/**
+ * 결제 내역 한 건의 수정 값 (일괄 수정용, null인 항목은 바꾸지 않음)
+ * 값 검증은 호출하는 쪽(SpendingServiceImpl)에서 끝난 상태여야 합니다.
+ */
+public record CardHistoryChange(
+        Long historyId,
+        Boolean includeTotal,
+        CategoryType category,
+        Integer dutchpay,
+        Integer price
+) {
+}
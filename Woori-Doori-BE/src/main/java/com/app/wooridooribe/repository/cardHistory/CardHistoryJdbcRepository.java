@@ -0,0 +1,200 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.entity.CardHistory;
+import com.app.wooridooribe.repository.spendRollup.SpendRollupJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * CardHistory 대량 INSERT 전용 JDBC 리포지토리
+ * IDENTITY 전략에서는 Hibernate 배치 INSERT가 동작하지 않으므로 JDBC 배치로 직접 저장합니다.
+ * db1 트랜잭션(JpaTransactionManager)에 참여하므로 같은 트랜잭션 안에서 JPA 조회와 함께 사용할 수 있습니다.
+ * source_history_id 유니크 제약과 INSERT ... ON DUPLICATE KEY UPDATE로 같은 두리뱅킹 내역이 두 번 저장되지 않도록 합니다.
+ * 새로 저장된 행은 같은 트랜잭션에서 월별 지출 집계(tbl_monthly_spend_rollup)에도 더합니다.
+ * 보관본으로 옮겨져 결제 내역 테이블에서 삭제된 내역은 보관본 색인(tbl_card_history_archive_index)으로 이미 저장된 것으로 봅니다.
+ */
+@Repository
+@Slf4j
+public class CardHistoryJdbcRepository {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO tbl_card_history " +
+            "(user_card_id, member_id, history_date, history_name, history_price, history_status, " +
+            "history_category, history_include_total, history_dutchpay, source_history_id) " +
+            "VALUES (:userCardId, :memberId, :historyDate, :historyName, :historyPrice, :historyStatus, " +
+            ":historyCategory, :historyIncludeTotal, :historyDutchpay, :sourceHistoryId) " +
+            "ON DUPLICATE KEY UPDATE id = id";
+
+    private static final String SELECT_IDS_BY_SOURCE_SQL =
+            "SELECT id, source_history_id FROM tbl_card_history WHERE source_history_id IN (:sourceHistoryIds)";
+
+    // member_id 비정규화 이전에 저장된 행 중, 카드에 회원이 연결되어 있어 채워야 하는 ID 범위
+    private static final String SELECT_MEMBER_ID_BACKFILL_RANGE_SQL =
+            "SELECT MIN(h.id) AS min_id, MAX(h.id) AS max_id FROM tbl_card_history h " +
+            "JOIN tbl_member_card mc ON mc.id = h.user_card_id " +
+            "WHERE h.member_id IS NULL AND mc.member_id IS NOT NULL";
+
+    private static final String BACKFILL_MEMBER_ID_SQL =
+            "UPDATE tbl_card_history h JOIN tbl_member_card mc ON mc.id = h.user_card_id " +
+            "SET h.member_id = mc.member_id " +
+            "WHERE h.id BETWEEN :fromId AND :toId AND h.member_id IS NULL AND mc.member_id IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SpendRollupJdbcRepository spendRollupJdbcRepository;
+    private final CardHistoryArchiveJdbcRepository cardHistoryArchiveJdbcRepository;
+
+    public CardHistoryJdbcRepository(@Qualifier("db1DataSource") DataSource dataSource,
+                                     SpendRollupJdbcRepository spendRollupJdbcRepository,
+                                     CardHistoryArchiveJdbcRepository cardHistoryArchiveJdbcRepository) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.spendRollupJdbcRepository = spendRollupJdbcRepository;
+        this.cardHistoryArchiveJdbcRepository = cardHistoryArchiveJdbcRepository;
+    }
+
+    /**
+     * 배치 저장 결과
+     *
+     * @param insertedIds source_history_id -> 이번에 새로 생성된 CardHistory ID
+     * @param existingIds source_history_id -> 이미 있던(다른 트랜잭션이 먼저 저장한 행 포함) CardHistory ID
+     */
+    public record BatchInsertResult(Map<Long, Long> insertedIds, Map<Long, Long> existingIds) {
+
+        public static final BatchInsertResult EMPTY = new BatchInsertResult(Map.of(), Map.of());
+    }
+
+    /**
+     * CardHistory 목록을 하나의 JDBC 배치(INSERT ... ON DUPLICATE KEY UPDATE id = id)로 저장합니다.
+     * INSERT IGNORE는 중복 키 외의 오류(NOT NULL 위반, 값 잘림 등)도 경고로 바꿔 잘못된 값을 저장하므로 사용하지 않고,
+     * 이미 있는 source_history_id만 변경 없이 건너뜁니다.
+     * 일부 행이 건너뛰어진 multi-row INSERT의 생성 키는 입력 행과 순서가 맞지 않으므로,
+     * 새로 저장된 ID는 저장 전후 source_history_id 조회 결과의 차이로 구합니다.
+     * db1 REPEATABLE READ 트랜잭션 안에서 호출해야 합니다. (일관된 읽기로 저장 후 조회에는 저장 전 스냅샷과
+     * 이 트랜잭션이 저장한 행만 보이므로, 그 사이 다른 트랜잭션이 저장한 행을 새로 저장한 행으로 세지 않음)
+     * 스냅샷에 보이지 않는 동시 저장 행은 잠금 읽기로 최신 커밋 값을 확인해 기존 행으로 돌려주므로, 호출 측은 따로 조회하지 않아도 됩니다.
+     *
+     * @param histories 저장할 CardHistory 목록 (id는 비어 있고 source_history_id가 채워져 있어야 함)
+     * @return 새로 저장된 행과 이미 있던 행의 ID (둘 다 없으면 저장 실패)
+     */
+    public BatchInsertResult batchInsertIfAbsent(List<CardHistory> histories) {
+        if (histories.isEmpty()) {
+            return BatchInsertResult.EMPTY;
+        }
+
+        List<Long> sourceHistoryIds = histories.stream().map(CardHistory::getSourceHistoryId).toList();
+        Map<Long, Long> existingIds = new HashMap<>(findIdsBySourceHistoryIds(sourceHistoryIds));
+
+        SqlParameterSource[] params = histories.stream()
+                .filter(history -> !existingIds.containsKey(history.getSourceHistoryId()))
+                .map(this::toParams)
+                .toArray(SqlParameterSource[]::new);
+        if (params.length == 0) {
+            histories.forEach(history -> history.setId(null));
+            return new BatchInsertResult(Map.of(), existingIds);
+        }
+        jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, params);
+
+        Map<Long, Long> insertedIds = new HashMap<>();
+        findIdsBySourceHistoryIds(sourceHistoryIds).forEach((sourceHistoryId, id) -> {
+            if (!existingIds.containsKey(sourceHistoryId)) {
+                insertedIds.put(sourceHistoryId, id);
+            }
+        });
+
+        // 저장 전 조회 이후 다른 트랜잭션이 먼저 저장해 건너뛴 행 (스냅샷에 보이지 않으므로 잠금 읽기)
+        List<Long> concurrentSourceIds = sourceHistoryIds.stream()
+                .filter(sourceHistoryId -> !existingIds.containsKey(sourceHistoryId) && !insertedIds.containsKey(sourceHistoryId))
+                .distinct()
+                .toList();
+        if (!concurrentSourceIds.isEmpty()) {
+            jdbcTemplate.query(SELECT_IDS_BY_SOURCE_SQL + " LOCK IN SHARE MODE",
+                    new MapSqlParameterSource("sourceHistoryIds", concurrentSourceIds),
+                    rs -> {
+                        existingIds.put(rs.getLong("source_history_id"), rs.getLong("id"));
+                    });
+        }
+
+        for (CardHistory history : histories) {
+            history.setId(insertedIds.get(history.getSourceHistoryId()));
+        }
+        spendRollupJdbcRepository.addHistories(insertedIds.values());
+
+        log.info("CardHistory 배치 저장 완료: 요청 건수={}, 신규 저장 건수={}, 기존 건수={}",
+                histories.size(), insertedIds.size(), existingIds.size());
+        return new BatchInsertResult(insertedIds, existingIds);
+    }
+
+    /**
+     * 이미 동기화된 두리뱅킹 내역의 CardHistory ID를 조회합니다. (결제 내역 테이블에 없으면 보관본 색인에서 확인)
+     *
+     * @return source_history_id -> CardHistory ID
+     */
+    public Map<Long, Long> findIdsBySourceHistoryIds(Collection<Long> sourceHistoryIds) {
+        if (sourceHistoryIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_BY_SOURCE_SQL,
+                new MapSqlParameterSource("sourceHistoryIds", sourceHistoryIds),
+                rs -> {
+                    ids.put(rs.getLong("source_history_id"), rs.getLong("id"));
+                });
+
+        List<Long> missingIds = sourceHistoryIds.stream()
+                .filter(sourceHistoryId -> !ids.containsKey(sourceHistoryId))
+                .toList();
+        cardHistoryArchiveJdbcRepository.findArchivedIdsBySourceHistoryIds(missingIds).forEach(ids::putIfAbsent);
+        return ids;
+    }
+
+    /**
+     * member_id가 비어 있는(비정규화 이전) 행의 ID 범위를 조회합니다.
+     *
+     * @return [최소 ID, 최대 ID], 채울 행이 없으면 empty
+     */
+    public Optional<long[]> findMemberIdBackfillRange() {
+        Map<String, Object> range = jdbcTemplate.getJdbcTemplate().queryForMap(SELECT_MEMBER_ID_BACKFILL_RANGE_SQL);
+        Number minId = (Number) range.get("min_id");
+        Number maxId = (Number) range.get("max_id");
+        if (minId == null || maxId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new long[]{minId.longValue(), maxId.longValue()});
+    }
+
+    /**
+     * ID 구간 [fromId, toId]의 비어 있는 member_id를 카드의 현재 회원으로 채웁니다. (한 문장, 자동 커밋)
+     *
+     * @return 채운 행 수
+     */
+    public int backfillMemberIds(long fromId, long toId) {
+        return jdbcTemplate.update(BACKFILL_MEMBER_ID_SQL, new MapSqlParameterSource()
+                .addValue("fromId", fromId)
+                .addValue("toId", toId));
+    }
+
+    private SqlParameterSource toParams(CardHistory history) {
+        return new MapSqlParameterSource()
+                .addValue("userCardId", history.getMemberCard() != null ? history.getMemberCard().getId() : null)
+                .addValue("memberId", history.getMemberId())
+                .addValue("historyDate", history.getHistoryDate())
+                .addValue("historyName", history.getHistoryName())
+                .addValue("historyPrice", history.getHistoryPrice())
+                .addValue("historyStatus", history.getHistoryStatus().name())
+                .addValue("historyCategory", history.getHistoryCategory().name())
+                .addValue("historyIncludeTotal", history.getHistoryIncludeTotal())
+                .addValue("historyDutchpay", history.getHistoryDutchpay())
+                .addValue("sourceHistoryId", history.getSourceHistoryId());
+    }
+}
@@ -0,0 +1,189 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * tbl_card_history 월별 RANGE 파티션 관리 전용 JDBC 리포지토리
+ * history_date 기준 RANGE COLUMNS 파티션을 월마다 하나씩 두고(p202401 = 2024년 1월),
+ * 마지막에 MAXVALUE 파티션(p_max)을 둬 미리 만들지 못한 미래 날짜도 저장되도록 합니다.
+ *
+ * MySQL 제약
+ * - 파티션 테이블의 모든 유니크 키(PK 포함)에 history_date가 들어가야 하므로 PK는 (id, history_date),
+ *   source_history_id 유니크 키는 (source_history_id, history_date)로 바꿉니다.
+ *   같은 두리뱅킹 내역은 항상 같은 결제일로 들어오므로 source_history_id 중복 방지는 그대로 동작합니다.
+ * - 파티션 테이블은 외래 키를 가질 수 없어 user_card_id 외래 키를 제거합니다. (회원 카드 삭제 시 정리는 JPA cascade 담당)
+ * 파티션 DDL은 암묵적으로 커밋되므로 트랜잭션 밖에서 호출해야 합니다.
+ */
+@Repository
+@Slf4j
+public class CardHistoryPartitionJdbcRepository {
+
+    public static final String MAX_PARTITION = "p_max";
+
+    private static final String TABLE = "tbl_card_history";
+
+    private static final String SELECT_PARTITIONS_SQL =
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private static final String SELECT_FOREIGN_KEYS_SQL =
+            "SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'";
+
+    private static final String SELECT_TABLE_EXISTS_SQL =
+            "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private static final String SELECT_MIN_DATE_SQL =
+            "SELECT MIN(history_date) FROM " + TABLE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardHistoryPartitionJdbcRepository(@Qualifier("db1DataSource") DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 현재 월 파티션 목록 (p_max 제외, 오래된 순). 파티션 테이블이 아니면 빈 목록
+     */
+    public List<YearMonth> findMonthPartitions() {
+        return findPartitionNames().stream()
+                .filter(name -> !MAX_PARTITION.equals(name))
+                .map(CardHistoryPartitionJdbcRepository::toMonth)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public boolean isPartitioned() {
+        return findPartitionNames().contains(MAX_PARTITION);
+    }
+
+    /**
+     * 결제 내역이 있는 가장 이른 월 (내역이 없으면 null)
+     */
+    public YearMonth findOldestHistoryMonth() {
+        Date minDate = jdbcTemplate.queryForObject(SELECT_MIN_DATE_SQL, Date.class);
+        return minDate != null ? YearMonth.from(minDate.toLocalDate()) : null;
+    }
+
+    /**
+     * 일반 테이블을 [first, last] 월 파티션 + p_max 로 전환합니다. (최초 1회, 테이블 전체를 다시 쓰는 작업)
+     */
+    public void partitionByMonth(YearMonth first, YearMonth last) {
+        for (String foreignKey : jdbcTemplate.queryForList(SELECT_FOREIGN_KEYS_SQL, String.class, TABLE)) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP FOREIGN KEY " + foreignKey);
+            log.info("파티션 전환 준비 - 외래 키 제거: {}", foreignKey);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE +
+                " DROP PRIMARY KEY, ADD PRIMARY KEY (id, history_date)," +
+                " DROP INDEX uk_card_history_source_history_id," +
+                " ADD UNIQUE KEY uk_card_history_source_history_id (source_history_id, history_date)");
+
+        StringJoiner partitions = new StringJoiner(", ", " PARTITION BY RANGE COLUMNS (history_date) (", ")");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(monthPartition(month));
+        }
+        partitions.add(maxPartition());
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + partitions);
+        log.info("결제 내역 테이블 월별 파티션 전환 완료: {} ~ {}", first, last);
+    }
+
+    /**
+     * p_max를 나눠 해당 월 파티션을 추가합니다. (p_max가 비어 있으면 메타데이터 작업)
+     */
+    public void addMonthPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION +
+                " INTO (" + monthPartition(month) + ", " + maxPartition() + ")");
+        log.info("결제 내역 월 파티션 추가: {}", partitionName(month));
+    }
+
+    /**
+     * 해당 월 파티션을 데이터와 함께 삭제합니다.
+     */
+    public void dropMonthPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partitionName(month));
+        log.info("결제 내역 월 파티션 삭제: {}", partitionName(month));
+    }
+
+    /**
+     * 해당 월 파티션을 보관 테이블(tbl_card_history_archive_yyyyMM)과 교환한 뒤 빈 파티션을 삭제합니다.
+     * 행을 복사하지 않고 테이블스페이스만 바꾸므로 월 데이터 크기와 무관하게 빠릅니다.
+     *
+     * @return 보관 테이블 이름
+     */
+    public String exchangeMonthPartition(YearMonth month) {
+        String archiveTable = archiveTableName(month);
+        boolean archiveExists = tableExists(archiveTable);
+        if (!archiveExists) {
+            jdbcTemplate.execute("CREATE TABLE " + archiveTable + " LIKE " + TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        }
+
+        // 이전 실행이 교환 후 파티션 삭제 전에 멈췄다면 파티션은 이미 비어 있으므로 삭제만 진행
+        if (!isEmpty(TABLE + " PARTITION (" + partitionName(month) + ")")) {
+            if (archiveExists && !isEmpty(archiveTable)) {
+                throw new IllegalStateException("보관 테이블에 이미 데이터가 있어 파티션을 교환할 수 없습니다: " + archiveTable);
+            }
+            // 보관 테이블이 비어 있으므로 행 검증 없이 교환
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + partitionName(month) +
+                    " WITH TABLE " + archiveTable + " WITHOUT VALIDATION");
+        }
+        dropMonthPartition(month);
+        log.info("결제 내역 월 파티션 보관 완료: {} -> {}", partitionName(month), archiveTable);
+        return archiveTable;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return String.format("p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    public static String archiveTableName(YearMonth month) {
+        return String.format("%s_archive_%04d%02d", TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(SELECT_TABLE_EXISTS_SQL, Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private boolean isEmpty(String tableReference) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + tableReference + ")", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    private List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS_SQL, String.class, TABLE);
+    }
+
+    // 해당 월 파티션 정의 (다음 달 1일 미만)
+    private static String monthPartition(YearMonth month) {
+        LocalDate upperBound = month.plusMonths(1).atDay(1);
+        return "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + upperBound + "')";
+    }
+
+    private static String maxPartition() {
+        return "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)";
+    }
+
+    // p202401 -> 2024-01 (규칙에 맞지 않는 이름은 null)
+    private static YearMonth toMonth(String partitionName) {
+        if (!partitionName.matches("p\\d{6}")) {
+            return null;
+        }
+        int value = Integer.parseInt(partitionName.substring(1));
+        return YearMonth.of(value / 100, value % 100);
+    }
+}
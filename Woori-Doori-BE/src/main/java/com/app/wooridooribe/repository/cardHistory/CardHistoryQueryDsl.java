@@ -1,21 +1,37 @@
 package com.app.wooridooribe.repository.cardHistory;
 
 import com.app.wooridooribe.controller.dto.CardHistorySummaryResponseDto;
-import com.app.wooridooribe.entity.CardHistory;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.entity.type.StatusType;
 import com.querydsl.core.Tuple;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 
 public interface CardHistoryQueryDsl {
 
     CardHistorySummaryResponseDto findByUserAndMonthAndStatus(Long userId, int year, int month, StatusType status);
 
-    CardHistory findDetailById(Long historyId);
+    /**
+     * 월별 소비 내역을 (소비 일자, ID) 커서 기준으로 한 페이지씩 조회 (엔티티 없이 DTO 프로젝션)
+     *
+     * @param cursorDate 이전 페이지 마지막 내역의 소비 일자 (첫 페이지는 null)
+     * @param cursorId   이전 페이지 마지막 내역의 ID (첫 페이지는 null)
+     * @param limit      최대 조회 건수
+     */
+    List<CardHistoryRow> findPageByMemberAndMonth(Long memberId, YearMonth month, StatusType status,
+                                                  LocalDate cursorDate, Long cursorId, int limit);
+
+    CardHistoryRow findDetailById(Long historyId);
 
-    void updateIncludeTotal(Long historyId, boolean includeTotal);
+    /**
+     * 결제 내역의 총지출 포함 여부를 변경하고 지출 집계를 옮김
+     *
+     * @return 잠금 후 읽은 수정 전 값 (내역이 없으면 null)
+     */
+    CardHistoryRow updateIncludeTotal(Long historyId, boolean includeTotal);
 
     /**
      * 특정 회원의 결제 내역 중 지정한 카테고리들의 총지출 포함 여부를 일괄 변경
@@ -26,11 +42,40 @@ public interface CardHistoryQueryDsl {
      */
     void updateIncludeTotalByMemberAndCategories(Long memberId, List<CategoryType> categories, boolean includeTotal);
 
-    void updateCategory(Long historyId, CategoryType newCategory);
+    /**
+     * 결제 내역의 카테고리를 변경하고 지출 집계를 옮김
+     *
+     * @return 잠금 후 읽은 수정 전 값 (내역이 없으면 null)
+     */
+    CardHistoryRow updateCategory(Long historyId, CategoryType newCategory);
+
+    /**
+     * 카드 연결/해제 시 해당 카드 결제 내역의 회원 ID(비정규화 컬럼)를 변경하고 지출 집계를 옮김
+     *
+     * @param memberCardId 회원 카드 ID
+     * @param memberId     새 회원 ID (카드 해제 시 null)
+     * @return 변경된 결제 내역 수
+     */
+    int reassignMember(Long memberCardId, Long memberId);
 
     void updateDutchpay(Long historyId, int count);
 
-    void updatePrice(Long historyId, int price);
+    /**
+     * 결제 내역의 금액을 변경하고 지출 집계를 옮김
+     *
+     * @return 잠금 후 읽은 수정 전 값 (내역이 없으면 null)
+     */
+    CardHistoryRow updatePrice(Long historyId, int price);
+
+    /**
+     * 회원이 소유한 결제 내역 여러 건을 한 번에 수정하고 지출 집계를 옮김
+     * 소유 확인은 잠금 조회 한 번(id IN (...) AND member_id = 회원)으로 하며, 없거나 다른 회원의 내역은 수정하지 않음
+     *
+     * @param memberId 회원 ID
+     * @param changes  결제 내역별 수정 값 (결제 내역 ID 중복 없음)
+     * @return 수정된 결제 내역의 수정 전 값
+     */
+    List<CardHistoryRow> updateOwnedHistories(Long memberId, Collection<CardHistoryChange> changes);
 
     // 총 지출 금액 조회
     Integer getTotalSpentByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate);
@@ -43,11 +88,27 @@ public interface CardHistoryQueryDsl {
     // 가장 많이 사용한 카드 TOP 3 조회
     List<Tuple> getTopUsedCards();
 
-    // 일별 지출 금액 조회 (소비 안정성 계산용)
-    List<Integer> getDailySpendingByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate);
+    /**
+     * 회원의 기간 지출 통계 (총액, 카테고리별 합계, 일별 합계, 필수/비필수 합계)를 지출 집계 테이블에서 계산
+     *
+     * @param startDate           시작일 (포함)
+     * @param endDate             종료일 (포함)
+     * @param essentialCategories 필수 카테고리 목록 (나머지는 비필수)
+     */
+    MemberMonthStats getMemberMonthStats(Long memberId, LocalDate startDate, LocalDate endDate, Collection<CategoryType> essentialCategories);
+
+    // 필수/비필수 구분이 필요 없는 화면용 (전부 비필수로 집계)
+    default MemberMonthStats getMemberMonthStats(Long memberId, LocalDate startDate, LocalDate endDate) {
+        return getMemberMonthStats(memberId, startDate, endDate, List.of());
+    }
 
-    // 필수/비필수 지출 금액 조회 (카테고리 기반)
-    List<Tuple> getEssentialNonEssentialSpending(Long memberId, LocalDate startDate, LocalDate endDate, List<CategoryType> essentialCategories);
+    /**
+     * 회원의 일별 지출 시계열 (일별 지출 집계 기준, 결제가 없는 날은 0)
+     *
+     * @param startDate 시작일 (인덱스 0)
+     * @param endDate   종료일 (포함)
+     */
+    DailySpendSeries getDailySpendSeries(Long memberId, LocalDate startDate, LocalDate endDate);
 
     // 카테고리별 가맹점 TOP5 가맹점명 조회
     List<Tuple> getCategoryStoreByMemberAndDateRange(Long memberId, CategoryType categoryType, LocalDate startDate, LocalDate endDate);
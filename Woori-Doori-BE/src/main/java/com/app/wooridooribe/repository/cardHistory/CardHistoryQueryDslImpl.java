@@ -1,114 +1,248 @@
 package com.app.wooridooribe.repository.cardHistory;
 
 import com.app.wooridooribe.controller.dto.CardHistorySummaryResponseDto;
-import com.app.wooridooribe.entity.CardHistory;
+import com.app.wooridooribe.entity.DailySpendRollup;
 import com.app.wooridooribe.entity.QCard;
 import com.app.wooridooribe.entity.QCardHistory;
+import com.app.wooridooribe.entity.QDailySpendRollup;
 import com.app.wooridooribe.entity.QMemberCard;
+import com.app.wooridooribe.entity.QMonthlySpendRollup;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.entity.type.StatusType;
 import com.app.wooridooribe.entity.type.YESNO;
+import com.app.wooridooribe.repository.spendRollup.SpendRollupJdbcRepository;
 import com.querydsl.core.Tuple;
-import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QTuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import jakarta.persistence.LockModeType;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 @Slf4j
 public class CardHistoryQueryDslImpl implements CardHistoryQueryDsl {
 
+    // 카테고리별 합계 조회 결과 형태 (0: 카테고리, 1: 금액 합계 Long)
+    private static final QTuple CATEGORY_SUM = Projections.tuple(
+            QCardHistory.cardHistory.historyCategory, QCardHistory.cardHistory.historyPrice.sum());
+
+    // 카테고리별 가맹점 조회 결과 형태 (0: 카테고리, 1: 가맹점명)
+    private static final QTuple CATEGORY_STORE = Projections.tuple(
+            QCardHistory.cardHistory.historyCategory, QCardHistory.cardHistory.historyName);
+
     private final JPAQueryFactory queryFactory;
+    private final SpendRollupJdbcRepository spendRollupJdbcRepository;
+    private final CardHistoryArchiveJdbcRepository cardHistoryArchiveJdbcRepository;
 
     @Override
     public CardHistorySummaryResponseDto findByUserAndMonthAndStatus(Long userId, int year, int month, StatusType status) {
         QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
+        LocalDate monthStart = LocalDate.of(year, month, 1);
 
-        // 한 번의 쿼리로 전체 리스트 조회
-        List<CardHistory> histories = queryFactory
-                .selectFrom(history)
-                .join(history.memberCard, memberCard)
+        // 한 번의 쿼리로 전체 리스트 조회 (엔티티 대신 읽기 모델로 프로젝션)
+        List<CardHistoryRow> histories = queryFactory
+                .select(CardHistoryRow.projection(history))
+                .from(history)
                 .where(
-                        memberCard.member.id.eq(userId),
+                        history.memberId.eq(userId),
                         history.historyStatus.eq(status),
-                        history.historyDate.year().eq(year),
-                        history.historyDate.month().eq(month)
+                        // YEAR()/MONTH()로 감싸면 history_date 인덱스를 못 타므로 [월초, 다음 달 1일) 범위로 조회
+                        history.historyDate.goe(monthStart),
+                        history.historyDate.lt(monthStart.plusMonths(1))
                 )
                 .orderBy(history.historyDate.asc())
                 .fetch();
 
+        // 보관 기준 월 이전 달은 보관본으로 옮겨졌으므로 보관본까지 합쳐서 조회
+        if (cardHistoryArchiveJdbcRepository.crossesHorizon(monthStart)) {
+            histories = findRowsWithArchive(userId, monthStart, monthStart.plusMonths(1).minusDays(1), status, false, null);
+        }
+
         int totalAmount = histories.stream()
-                .mapToInt(CardHistory::getHistoryPrice)
+                .mapToInt(CardHistoryRow::historyPrice)
                 .sum();
 
         return new CardHistorySummaryResponseDto(totalAmount, histories);
     }
 
     @Override
-    public CardHistory findDetailById(Long historyId) {
+    public List<CardHistoryRow> findPageByMemberAndMonth(Long memberId, YearMonth month, StatusType status,
+                                                         LocalDate cursorDate, Long cursorId, int limit) {
+        QCardHistory history = QCardHistory.cardHistory;
+
+        // 필요한 컬럼만 조회하므로 영속성 컨텍스트에 엔티티가 쌓이지 않음
+        List<CardHistoryRow> rows = queryFactory
+                .select(CardHistoryRow.projection(history))
+                .from(history)
+                .where(
+                        history.memberId.eq(memberId),
+                        history.historyStatus.eq(status),
+                        history.historyDate.goe(month.atDay(1)),
+                        history.historyDate.lt(month.plusMonths(1).atDay(1)),
+                        afterCursor(history, cursorDate, cursorId)
+                )
+                .orderBy(history.historyDate.asc(), history.id.asc())
+                .limit(limit)
+                .fetch();
+
+        if (!cardHistoryArchiveJdbcRepository.crossesHorizon(month.atDay(1))) {
+            return rows;
+        }
+
+        // 보관본에서 커서 이후 내역을 골라 합친 뒤 다시 limit 건만 (두 쪽 모두 커서 이후 앞쪽 limit 건이면 충분)
+        List<CardHistoryRow> archived = cardHistoryArchiveJdbcRepository
+                .findArchived(memberId, month.atDay(1), month.atEndOfMonth()).stream()
+                .filter(row -> row.historyStatus() == status)
+                .map(ArchivedCardHistory::toRow)
+                .filter(row -> cursorDate == null || cursorId == null
+                        || row.historyDate().isAfter(cursorDate)
+                        || (row.historyDate().equals(cursorDate) && row.id() > cursorId))
+                .toList();
+        return mergeRows(rows, archived).stream()
+                .limit(limit)
+                .toList();
+    }
+
+    // (소비 일자, ID)가 커서보다 뒤인 내역 (첫 페이지는 조건 없음)
+    private BooleanExpression afterCursor(QCardHistory history, LocalDate cursorDate, Long cursorId) {
+        if (cursorDate == null || cursorId == null) {
+            return null;
+        }
+        return history.historyDate.gt(cursorDate)
+                .or(history.historyDate.eq(cursorDate).and(history.id.gt(cursorId)));
+    }
+
+    @Override
+    public CardHistoryRow findDetailById(Long historyId) {
         QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
 
         return queryFactory
-                .selectFrom(history)
-                .join(history.memberCard, memberCard).fetchJoin()   // memberCard 같이 가져옴
+                .select(CardHistoryRow.projection(history))
+                .from(history)
                 .where(history.id.eq(historyId))
                 .fetchOne();
     }
 
     @Override
     @Transactional
-    public void updateIncludeTotal(Long historyId, boolean includeTotal) {
+    public CardHistoryRow updateIncludeTotal(Long historyId, boolean includeTotal) {
         QCardHistory ch = QCardHistory.cardHistory;
 
+        // 수정 전 값을 잠금 조회해 월별 집계에서 빼고, 수정 후 값을 다시 더함
+        CardHistoryRow before = lockHistory(historyId);
+        if (before == null) {
+            return null;
+        }
+        List<Long> historyIds = List.of(historyId);
+        spendRollupJdbcRepository.subtractHistories(historyIds);
+
         queryFactory
                 .update(ch)
                 .set(ch.historyIncludeTotal, includeTotal ? "Y" : "N")
                 .where(ch.id.eq(historyId))
                 .execute();
+
+        spendRollupJdbcRepository.addHistories(historyIds);
+        return before;
     }
 
     @Override
     @Transactional
     public void updateIncludeTotalByMemberAndCategories(Long memberId, List<CategoryType> categories, boolean includeTotal) {
         QCardHistory ch = QCardHistory.cardHistory;
-        QMemberCard mc = QMemberCard.memberCard;
+        String includeTotalValue = includeTotal ? "Y" : "N";
+
+        // 실제로 값이 바뀌는 행만 잠근 뒤 월별 집계를 옮김
+        List<Long> historyIds = lockHistories(
+                ch.memberId.eq(memberId),
+                ch.historyCategory.in(categories),
+                ch.historyIncludeTotal.ne(includeTotalValue)
+        );
+        if (historyIds.isEmpty()) {
+            return;
+        }
+        spendRollupJdbcRepository.subtractHistories(historyIds);
 
         queryFactory
                 .update(ch)
-                .set(ch.historyIncludeTotal, includeTotal ? "Y" : "N")
-                .where(
-                        ch.memberCard.isNotNull(),
-                        ch.memberCard.eq(mc),
-                        mc.member.id.eq(memberId),
-                        ch.historyCategory.in(categories)
-                )
+                .set(ch.historyIncludeTotal, includeTotalValue)
+                .where(ch.id.in(historyIds))
                 .execute();
+
+        spendRollupJdbcRepository.addHistories(historyIds);
     }
 
     @Override
     @Transactional
-    public void updateCategory(Long historyId, CategoryType newCategory) {
+    public CardHistoryRow updateCategory(Long historyId, CategoryType newCategory) {
         QCardHistory ch = QCardHistory.cardHistory;
 
+        // 수정 전 값을 잠금 조회해 월별 집계에서 빼고, 수정 후 값을 다시 더함
+        CardHistoryRow before = lockHistory(historyId);
+        if (before == null) {
+            return null;
+        }
+        List<Long> historyIds = List.of(historyId);
+        spendRollupJdbcRepository.subtractHistories(historyIds);
+
         queryFactory
                 .update(ch)
                 .set(ch.historyCategory, newCategory)
                 .where(ch.id.eq(historyId))
                 .execute();
+
+        spendRollupJdbcRepository.addHistories(historyIds);
+        return before;
+    }
+
+    @Override
+    @Transactional
+    public int reassignMember(Long memberCardId, Long memberId) {
+        QCardHistory ch = QCardHistory.cardHistory;
+
+        // 이전 회원의 집계에서 빼고, 회원 ID를 바꾼 뒤 새 회원의 집계에 더함 (회원 ID가 null이면 집계 대상 아님)
+        List<Long> historyIds = lockHistories(ch.memberCard.id.eq(memberCardId));
+        if (historyIds.isEmpty()) {
+            return 0;
+        }
+        spendRollupJdbcRepository.subtractHistories(historyIds);
+
+        long updated = queryFactory
+                .update(ch)
+                .set(ch.memberId, memberId)
+                .where(ch.id.in(historyIds))
+                .execute();
+
+        spendRollupJdbcRepository.addHistories(historyIds);
+        return (int) updated;
     }
 
     @Override
     @Transactional
     public void updateDutchpay(Long historyId, int count) {
+        // 지출 합계는 더치페이 인원과 무관하게 결제 금액 기준이므로 월별 집계는 바뀌지 않음
         QCardHistory ch = QCardHistory.cardHistory;
 
         queryFactory
@@ -120,80 +254,285 @@ public class CardHistoryQueryDslImpl implements CardHistoryQueryDsl {
 
     @Override
     @Transactional
-    public void updatePrice(Long historyId, int price) {
+    public CardHistoryRow updatePrice(Long historyId, int price) {
         QCardHistory ch = QCardHistory.cardHistory;
 
+        // 수정 전 값을 잠금 조회해 월별 집계에서 빼고, 수정 후 값을 다시 더함
+        CardHistoryRow before = lockHistory(historyId);
+        if (before == null) {
+            return null;
+        }
+        List<Long> historyIds = List.of(historyId);
+        spendRollupJdbcRepository.subtractHistories(historyIds);
+
         queryFactory
                 .update(ch)
                 .set(ch.historyPrice, price)
                 .where(ch.id.eq(historyId))
                 .execute();
+
+        spendRollupJdbcRepository.addHistories(historyIds);
+        return before;
     }
 
     @Override
-    public Integer getTotalSpentByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate) {
-        QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
+    @Transactional
+    public List<CardHistoryRow> updateOwnedHistories(Long memberId, Collection<CardHistoryChange> changes) {
+        QCardHistory ch = QCardHistory.cardHistory;
 
-        Integer totalSpent = queryFactory
-                .select(Expressions.numberTemplate(Integer.class, "COALESCE({0}, 0)", history.historyPrice.sum()))
-                .from(history)
-                .join(history.memberCard, memberCard)
-                .where(
-                        memberCard.member.id.eq(memberId),
-                        history.historyDate.between(startDate, endDate),
-                        history.historyIncludeTotal.eq("Y")
-                )
-                .fetchOne();
+        // 회원 소유 행만 수정 전 값과 함께 잠금 (없거나 다른 회원의 내역은 여기서 빠짐)
+        List<Long> requestedIds = changes.stream().map(CardHistoryChange::historyId).toList();
+        List<CardHistoryRow> before = queryFactory
+                .select(CardHistoryRow.projection(ch))
+                .from(ch)
+                .where(ch.id.in(requestedIds), ch.memberId.eq(memberId))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+        if (before.isEmpty()) {
+            return before;
+        }
+        List<Long> historyIds = before.stream().map(CardHistoryRow::id).toList();
+        Set<Long> owned = Set.copyOf(historyIds);
+
+        // 항목별로 ID → 새 값 CASE 식을 만들어 UPDATE 한 번에 반영 (바꾸지 않는 행은 현재 값 유지)
+        Map<Long, String> includeTotals = new LinkedHashMap<>();
+        Map<Long, CategoryType> categories = new LinkedHashMap<>();
+        Map<Long, Integer> dutchpays = new LinkedHashMap<>();
+        Map<Long, Integer> prices = new LinkedHashMap<>();
+        for (CardHistoryChange change : changes) {
+            if (!owned.contains(change.historyId())) {
+                continue;
+            }
+            if (change.includeTotal() != null) {
+                includeTotals.put(change.historyId(), change.includeTotal() ? "Y" : "N");
+            }
+            if (change.category() != null) {
+                categories.put(change.historyId(), change.category());
+            }
+            if (change.dutchpay() != null) {
+                dutchpays.put(change.historyId(), change.dutchpay());
+            }
+            if (change.price() != null) {
+                prices.put(change.historyId(), change.price());
+            }
+        }
+
+        // 수정 전 값을 월별 집계에서 빼고, 수정 후 값을 다시 더함
+        spendRollupJdbcRepository.subtractHistories(historyIds);
+
+        JPAUpdateClause update = queryFactory.update(ch);
+        setById(update, ch, ch.historyIncludeTotal, includeTotals);
+        setById(update, ch, ch.historyCategory, categories);
+        setById(update, ch, ch.historyDutchpay, dutchpays);
+        setById(update, ch, ch.historyPrice, prices);
+        long updated = update
+                .where(ch.id.in(historyIds), ch.memberId.eq(memberId))
+                .execute();
+        if (updated != historyIds.size()) {
+            log.warn("결제 내역 일괄 수정 건수 불일치: memberId={}, 잠금 건수={}, 수정 건수={}", memberId, historyIds.size(), updated);
+        }
+
+        spendRollupJdbcRepository.addHistories(historyIds);
+        return before;
+    }
+
+    // SET column = CASE WHEN id = ? THEN ? ... ELSE column END (바꿀 값이 없으면 SET 생략)
+    private <T> void setById(JPAUpdateClause update, QCardHistory ch, Path<T> column, Map<Long, T> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        CaseBuilder.Cases<T, Expression<T>> cases = null;
+        for (Map.Entry<Long, T> entry : values.entrySet()) {
+            cases = cases == null
+                    ? new CaseBuilder().when(ch.id.eq(entry.getKey())).then(entry.getValue())
+                    : cases.when(ch.id.eq(entry.getKey())).then(entry.getValue());
+        }
+        update.set(column, cases.otherwise(column));
+    }
+
+    @Override
+    public Integer getTotalSpentByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate) {
+        long totalSpent = sumByCategory(memberId, startDate, endDate).values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
 
         log.info("getTotalSpentByMemberAndDateRange - memberId: {}, startDate: {}, endDate: {}, totalSpent: {}",
                 memberId, startDate, endDate, totalSpent);
 
-        return totalSpent != null ? totalSpent : 0;
+        return (int) totalSpent;
     }
 
     @Override
     public List<Tuple> getCategorySpendingByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate) {
+        return toSortedCategoryTuples(sumByCategory(memberId, startDate, endDate), 5);
+    }
+
+    @Override
+    public List<Tuple> getAllCategorySpendingByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate) {
+        return toSortedCategoryTuples(sumByCategory(memberId, startDate, endDate), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 기간 내 카테고리별 지출 합계 (history_include_total = 'Y')
+     * 기간에 온전히 포함된 달은 월별 집계(tbl_monthly_spend_rollup)에서, 앞뒤로 일부만 걸친 달은 결제 내역에서 합산합니다.
+     * 결제 내역을 직접 읽는 범위가 최대 두 달이므로 조회 비용이 전체 내역 수에 비례하지 않습니다.
+     */
+    private Map<CategoryType, Long> sumByCategory(Long memberId, LocalDate startDate, LocalDate endDate) {
+        Map<CategoryType, Long> sums = new EnumMap<>(CategoryType.class);
+        if (startDate.isAfter(endDate)) {
+            return sums;
+        }
+
+        YearMonth startMonth = YearMonth.from(startDate);
+        YearMonth endMonth = YearMonth.from(endDate);
+        YearMonth firstFullMonth = startDate.getDayOfMonth() == 1 ? startMonth : startMonth.plusMonths(1);
+        YearMonth lastFullMonth = endDate.equals(endMonth.atEndOfMonth()) ? endMonth : endMonth.minusMonths(1);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            // 온전한 달이 없으면 (한 달 안의 일부 기간 등) 결제 내역에서 바로 합산
+            addHistorySums(sums, memberId, startDate, endDate);
+            return sums;
+        }
+
+        addRollupSums(sums, memberId, firstFullMonth, lastFullMonth);
+        if (startMonth.isBefore(firstFullMonth)) {
+            addHistorySums(sums, memberId, startDate, startMonth.atEndOfMonth());
+        }
+        if (endMonth.isAfter(lastFullMonth)) {
+            addHistorySums(sums, memberId, endMonth.atDay(1), endDate);
+        }
+        return sums;
+    }
+
+    private void addRollupSums(Map<CategoryType, Long> sums, Long memberId, YearMonth fromMonth, YearMonth toMonth) {
+        QMonthlySpendRollup rollup = QMonthlySpendRollup.monthlySpendRollup;
+
+        List<Tuple> rows = queryFactory
+                .select(rollup.historyCategory, rollup.spendSum.sum())
+                .from(rollup)
+                .where(
+                        rollup.memberId.eq(memberId),
+                        rollup.spendMonth.between(
+                                SpendRollupJdbcRepository.toSpendMonth(fromMonth),
+                                SpendRollupJdbcRepository.toSpendMonth(toMonth)),
+                        rollup.historyIncludeTotal.eq("Y")
+                )
+                .groupBy(rollup.historyCategory)
+                .fetch();
+
+        for (Tuple row : rows) {
+            Number sum = row.get(1, Number.class);
+            sums.merge(row.get(rollup.historyCategory), sum != null ? sum.longValue() : 0L, Long::sum);
+        }
+    }
+
+    private void addHistorySums(Map<CategoryType, Long> sums, Long memberId, LocalDate startDate, LocalDate endDate) {
         QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
 
-        return queryFactory
+        if (cardHistoryArchiveJdbcRepository.crossesHorizon(startDate)) {
+            // 보관본이 섞이는 구간(최대 한 달)은 행을 읽어 합산
+            for (CardHistoryRow row : findRowsWithArchive(memberId, startDate, endDate, null, true, null)) {
+                sums.merge(row.historyCategory(), row.historyPrice().longValue(), Long::sum);
+            }
+            return;
+        }
+
+        List<Tuple> rows = queryFactory
                 .select(
                         history.historyCategory,
                         history.historyPrice.sum()
                 )
                 .from(history)
-                .join(history.memberCard, memberCard)
                 .where(
-                        memberCard.member.id.eq(memberId),
+                        history.memberId.eq(memberId),
                         history.historyDate.between(startDate, endDate),
                         history.historyIncludeTotal.eq("Y")
                 )
                 .groupBy(history.historyCategory)
-                .orderBy(history.historyPrice.sum().desc())
-                .limit(5)
                 .fetch();
+
+        for (Tuple row : rows) {
+            Number sum = row.get(1, Number.class);
+            sums.merge(row.get(history.historyCategory), sum != null ? sum.longValue() : 0L, Long::sum);
+        }
     }
 
-    @Override
-    public List<Tuple> getAllCategorySpendingByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate) {
+    // 합계가 0보다 큰 카테고리를 금액 내림차순으로 (카테고리, 합계) Tuple 목록으로 변환
+    private List<Tuple> toSortedCategoryTuples(Map<CategoryType, Long> sums, int limit) {
+        return sums.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<CategoryType, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> CATEGORY_SUM.newInstance(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * 기간 내 결제 내역 행을 결제 내역 테이블과 보관본에서 함께 읽어 (일자, ID) 순으로 반환합니다.
+     * 조건 값이 null/false 이면 해당 조건은 적용하지 않습니다.
+     */
+    private List<CardHistoryRow> findRowsWithArchive(Long memberId, LocalDate startDate, LocalDate endDate,
+                                                     StatusType status, boolean includedOnly, CategoryType category) {
         QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
 
-        return queryFactory
-                .select(
-                        history.historyCategory,
-                        history.historyPrice.sum()
-                )
+        List<CardHistoryRow> hot = queryFactory
+                .select(CardHistoryRow.projection(history))
                 .from(history)
-                .join(history.memberCard, memberCard)
                 .where(
-                        memberCard.member.id.eq(memberId),
+                        history.memberId.eq(memberId),
                         history.historyDate.between(startDate, endDate),
-                        history.historyIncludeTotal.eq("Y")
+                        status != null ? history.historyStatus.eq(status) : null,
+                        includedOnly ? history.historyIncludeTotal.eq("Y") : null,
+                        category != null ? history.historyCategory.eq(category) : null
                 )
-                .groupBy(history.historyCategory)
-                .orderBy(history.historyPrice.sum().desc())
+                .fetch();
+
+        List<CardHistoryRow> archived = cardHistoryArchiveJdbcRepository.findArchived(memberId, startDate, endDate).stream()
+                .filter(row -> status == null || row.historyStatus() == status)
+                .filter(row -> !includedOnly || "Y".equals(row.historyIncludeTotal()))
+                .filter(row -> category == null || row.historyCategory() == category)
+                .map(ArchivedCardHistory::toRow)
+                .toList();
+
+        return mergeRows(hot, archived);
+    }
+
+    // 두 목록을 (일자, ID) 순으로 합침 (보관 중 양쪽에 있는 내역은 결제 내역 테이블 쪽 하나만)
+    private List<CardHistoryRow> mergeRows(List<CardHistoryRow> hot, List<CardHistoryRow> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Set<Long> hotIds = hot.stream().map(CardHistoryRow::id).collect(Collectors.toSet());
+        return Stream.concat(hot.stream(), archived.stream().filter(row -> !hotIds.contains(row.id())))
+                .sorted(Comparator.comparing(CardHistoryRow::historyDate).thenComparing(CardHistoryRow::id))
+                .toList();
+    }
+
+    /**
+     * 결제 내역 한 건을 수정 전에 잠그고 수정 전 값을 반환합니다. (지출 누적값 증감도 잠근 값 기준으로 계산)
+     */
+    private CardHistoryRow lockHistory(Long historyId) {
+        QCardHistory ch = QCardHistory.cardHistory;
+
+        return queryFactory
+                .select(CardHistoryRow.projection(ch))
+                .from(ch)
+                .where(ch.id.eq(historyId))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetchOne();
+    }
+
+    /**
+     * 결제 내역 행을 수정 전에 잠그고 ID를 반환합니다. (월별 집계 증감이 동시 수정과 섞이지 않도록)
+     */
+    private List<Long> lockHistories(Predicate... conditions) {
+        QCardHistory ch = QCardHistory.cardHistory;
+
+        return queryFactory
+                .select(ch.id)
+                .from(ch)
+                .where(conditions)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
                 .fetch();
     }
 
@@ -220,95 +559,39 @@ public class CardHistoryQueryDslImpl implements CardHistoryQueryDsl {
     }
 
     @Override
-    public List<Integer> getDailySpendingByMemberAndDateRange(Long memberId, LocalDate startDate, LocalDate endDate) {
-        QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
-
-        List<Tuple> results = queryFactory
-                .select(
-                        history.historyDate,
-                        history.historyPrice.sum()
-                )
-                .from(history)
-                .join(history.memberCard, memberCard)
-                .where(
-                        memberCard.member.id.eq(memberId),
-                        history.historyDate.between(startDate, endDate),
-                        history.historyIncludeTotal.eq("Y")
-                )
-                .groupBy(history.historyDate)
-                .orderBy(history.historyDate.asc())
-                .fetch();
-
-        return results.stream()
-                .map(tuple -> tuple.get(1, Integer.class))
-                .toList();
+    public MemberMonthStats getMemberMonthStats(Long memberId, LocalDate startDate, LocalDate endDate, Collection<CategoryType> essentialCategories) {
+        // 총액/일별 지출은 일별 집계(기간 일수만큼의 행), 카테고리별 합계는 월별 집계 + 앞뒤 일부 달의 결제 내역에서 계산
+        DailySpendSeries daily = getDailySpendSeries(memberId, startDate, endDate);
+
+        MemberMonthStats.Builder builder = MemberMonthStats.builder(startDate, endDate, essentialCategories);
+        sumByCategory(memberId, startDate, endDate)
+                .forEach((category, sum) -> builder.addCategory(category, sum.intValue()));
+
+        MemberMonthStats stats = builder.build(daily);
+        log.debug("getMemberMonthStats - memberId: {}, startDate: {}, endDate: {}, total: {}",
+                memberId, startDate, endDate, stats.total());
+        return stats;
     }
 
     @Override
-    public List<Tuple> getEssentialNonEssentialSpending(Long memberId, LocalDate startDate, LocalDate endDate, List<CategoryType> essentialCategories) {
-        QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
-
-        // MySQL ONLY_FULL_GROUP_BY 모드 호환을 위해 두 개의 쿼리로 분리
-        // 1. 필수 지출 합계
-        Integer essentialSpending = queryFactory
-                .select(history.historyPrice.sum().coalesce(0))
-                .from(history)
-                .join(history.memberCard, memberCard)
-                .where(
-                        memberCard.member.id.eq(memberId),
-                        history.historyDate.between(startDate, endDate),
-                        history.historyIncludeTotal.eq("Y"),
-                        history.historyCategory.in(essentialCategories)
-                )
-                .fetchOne();
+    public DailySpendSeries getDailySpendSeries(Long memberId, LocalDate startDate, LocalDate endDate) {
+        QDailySpendRollup rollup = QDailySpendRollup.dailySpendRollup;
 
-        // 2. 비필수 지출 합계
-        Integer nonEssentialSpending = queryFactory
-                .select(history.historyPrice.sum().coalesce(0))
-                .from(history)
-                .join(history.memberCard, memberCard)
+        List<DailySpendRollup> rows = queryFactory
+                .selectFrom(rollup)
                 .where(
-                        memberCard.member.id.eq(memberId),
-                        history.historyDate.between(startDate, endDate),
-                        history.historyIncludeTotal.eq("Y"),
-                        history.historyCategory.notIn(essentialCategories)
-                )
-                .fetchOne();
-
-        // Tuple 리스트로 변환하여 반환 (기존 인터페이스와 호환)
-        List<Tuple> results = new ArrayList<>();
-
-        // 필수 지출 Tuple 생성 (값이 0이어도 항상 반환)
-        Tuple essentialTuple = queryFactory
-                .select(
-                        Expressions.stringTemplate("'essential'"),
-                        Expressions.numberTemplate(Integer.class, "{0}", essentialSpending != null ? essentialSpending : 0)
-                )
-                .from(history)
-                .limit(1)
-                .fetchFirst();
-
-        if (essentialTuple != null) {
-            results.add(essentialTuple);
-        }
-
-        // 비필수 지출 Tuple 생성 (값이 0이어도 항상 반환)
-        Tuple nonEssentialTuple = queryFactory
-                .select(
-                        Expressions.stringTemplate("'nonEssential'"),
-                        Expressions.numberTemplate(Integer.class, "{0}", nonEssentialSpending != null ? nonEssentialSpending : 0)
+                        rollup.memberId.eq(memberId),
+                        rollup.spendDate.between(startDate, endDate)
                 )
-                .from(history)
-                .limit(1)
-                .fetchFirst();
+                .fetch();
 
-        if (nonEssentialTuple != null) {
-            results.add(nonEssentialTuple);
+        DailySpendSeries series = DailySpendSeries.empty(startDate, endDate);
+        for (DailySpendRollup row : rows) {
+            series.add(row.getSpendDate(),
+                    row.getSpendSum().intValue(), row.getSpendCount(),
+                    row.getIncludedSum().intValue(), row.getIncludedCount());
         }
-
-        return results;
+        return series;
     }
 
     /** 카테고리별 가맹점 TOP 5 가맹점명 조회
@@ -316,7 +599,17 @@ public class CardHistoryQueryDslImpl implements CardHistoryQueryDsl {
     @Override
     public List<Tuple> getCategoryStoreByMemberAndDateRange(Long memberId, CategoryType categoryType, LocalDate startDate, LocalDate endDate) {
         QCardHistory history = QCardHistory.cardHistory;
-        QMemberCard memberCard = QMemberCard.memberCard;
+
+        if (cardHistoryArchiveJdbcRepository.crossesHorizon(startDate)) {
+            // 보관본이 섞이면 가맹점별 건수를 메모리에서 세어 TOP 5
+            Map<String, Long> counts = findRowsWithArchive(memberId, startDate, endDate, null, true, categoryType).stream()
+                    .collect(Collectors.groupingBy(CardHistoryRow::historyName, Collectors.counting()));
+            return counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                    .limit(5)
+                    .map(entry -> CATEGORY_STORE.newInstance(categoryType, entry.getKey()))
+                    .toList();
+        }
 
         return queryFactory
                 .select(
@@ -324,9 +617,8 @@ public class CardHistoryQueryDslImpl implements CardHistoryQueryDsl {
                         history.historyName
                 )
                 .from(history)
-                .join(history.memberCard, memberCard)
                 .where(
-                        memberCard.member.id.eq(memberId),
+                        history.memberId.eq(memberId),
                         history.historyDate.between(startDate, endDate),
                         history.historyIncludeTotal.eq("Y"),
                         history.historyCategory.eq(categoryType)
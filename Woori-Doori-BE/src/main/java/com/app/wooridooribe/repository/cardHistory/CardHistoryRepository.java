@@ -8,7 +8,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CardHistoryRepository extends JpaRepository<CardHistory, Long>, CardHistoryQueryDsl {
     
-    boolean existsByIdAndMemberCardMemberId(Long historyId, Long memberId);
+    boolean existsByIdAndMemberId(Long historyId, Long memberId);
 
     @Override
     @NonNull
@@ -0,0 +1,34 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.entity.QCardHistory;
+import com.app.wooridooribe.entity.type.CategoryType;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+
+import java.time.LocalDate;
+
+/**
+ * 소비 내역 조회 전용 읽기 모델 (응답에 필요한 컬럼만 담은 불변 레코드)
+ * 엔티티를 영속성 컨텍스트에 올리지 않으므로 스냅샷/프록시 비용 없이 GET 응답을 만들 수 있습니다.
+ */
+public record CardHistoryRow(
+        Long id,
+        LocalDate historyDate,
+        String historyName,
+        CategoryType historyCategory,
+        Integer historyPrice,
+        Integer historyDutchpay,
+        String historyIncludeTotal
+) {
+
+    public static ConstructorExpression<CardHistoryRow> projection(QCardHistory history) {
+        return Projections.constructor(CardHistoryRow.class,
+                history.id,
+                history.historyDate,
+                history.historyName,
+                history.historyCategory,
+                history.historyPrice,
+                history.historyDutchpay,
+                history.historyIncludeTotal);
+    }
+}
@@ -0,0 +1,87 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원의 일별 지출 시계열 (일별 지출 집계 tbl_daily_spend_rollup 기준)
+ * 인덱스 = startDate로부터 경과 일수이며, 결제가 없는 날도 0으로 채운 조밀한 배열입니다.
+ * 배열 길이는 최소 SLOTS(31)로, 한 달 캘린더와 31일 목표 기간을 같은 크기로 다룹니다.
+ *
+ * @param startDate      시작일 (인덱스 0)
+ * @param endDate        종료일 (포함, 이후 칸은 0)
+ * @param spendSums      일별 결제 금액 (history_status = ABLE, 캘린더 기준)
+ * @param spendCounts    일별 결제 건수 (history_status = ABLE)
+ * @param includedSums   일별 총지출 포함 금액 (history_include_total = 'Y', 목표/점수 기준)
+ * @param includedCounts 일별 총지출 포함 결제 건수
+ */
+public record DailySpendSeries(
+        LocalDate startDate,
+        LocalDate endDate,
+        int[] spendSums,
+        int[] spendCounts,
+        int[] includedSums,
+        int[] includedCounts
+) {
+
+    public static final int SLOTS = 31;
+
+    public static DailySpendSeries empty(LocalDate startDate, LocalDate endDate) {
+        int days = (int) Math.max(SLOTS, ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        return new DailySpendSeries(startDate, endDate, new int[days], new int[days], new int[days], new int[days]);
+    }
+
+    /**
+     * 일별 집계 한 행을 해당 칸에 더합니다. (기간 밖의 날짜는 무시)
+     */
+    public void add(LocalDate date, int spendSum, int spendCount, int includedSum, int includedCount) {
+        if (date.isAfter(endDate)) {
+            return;
+        }
+        int day = (int) ChronoUnit.DAYS.between(startDate, date);
+        if (day < 0 || day >= spendSums.length) {
+            return;
+        }
+        spendSums[day] += spendSum;
+        spendCounts[day] += spendCount;
+        includedSums[day] += includedSum;
+        includedCounts[day] += includedCount;
+    }
+
+    /**
+     * 총지출 포함 금액 합계
+     */
+    public int includedTotal() {
+        int total = 0;
+        for (int sum : includedSums) {
+            total += sum;
+        }
+        return total;
+    }
+
+    /**
+     * 결제 가능 금액 합계 (캘린더 월 합계)
+     */
+    public int spendTotal() {
+        int total = 0;
+        for (int sum : spendSums) {
+            total += sum;
+        }
+        return total;
+    }
+
+    /**
+     * 총지출 포함 결제가 있는 날의 일별 금액 (날짜 오름차순, 소비 안정성 계산용)
+     */
+    public List<Integer> includedSpendingDays() {
+        List<Integer> days = new ArrayList<>();
+        for (int i = 0; i < includedSums.length; i++) {
+            if (includedCounts[i] > 0) {
+                days.add(includedSums[i]);
+            }
+        }
+        return days;
+    }
+}
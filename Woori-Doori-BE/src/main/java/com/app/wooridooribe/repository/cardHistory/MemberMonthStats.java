@@ -0,0 +1,94 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회원의 한 기간(목표 월) 지출 통계
+ * 총지출 포함(history_include_total = 'Y') 내역만 집계합니다.
+ * 총액/일별 지출은 일별 집계에서, 카테고리별/필수·비필수 합계는 월별 집계(앞뒤 일부만 걸친 달은 결제 내역)에서 만듭니다.
+ *
+ * @param startDate    집계 시작일 (포함)
+ * @param endDate      집계 종료일 (포함)
+ * @param total        총 지출 금액
+ * @param categorySums 카테고리별 지출 금액
+ * @param daily        일별 지출 (결제가 없는 날은 0)
+ * @param essential    필수 카테고리 지출 금액
+ * @param nonEssential 비필수 카테고리 지출 금액
+ */
+public record MemberMonthStats(
+        LocalDate startDate,
+        LocalDate endDate,
+        int total,
+        Map<CategoryType, Integer> categorySums,
+        DailySpendSeries daily,
+        int essential,
+        int nonEssential
+) {
+
+    /**
+     * 카테고리별 합계를 누적하는 빌더
+     */
+    public static Builder builder(LocalDate startDate, LocalDate endDate, Collection<CategoryType> essentialCategories) {
+        return new Builder(startDate, endDate, essentialCategories);
+    }
+
+    /**
+     * 결제 내역이 있는 날의 일별 지출 금액 (날짜 오름차순, 소비 안정성 계산용)
+     */
+    public List<Integer> spendingDays() {
+        return daily.includedSpendingDays();
+    }
+
+    /**
+     * 지출 금액이 큰 순서의 카테고리별 지출 금액 (상위 limit개)
+     */
+    public Map<CategoryType, Integer> topCategories(int limit) {
+        Map<CategoryType, Integer> top = new LinkedHashMap<>();
+        categorySums.entrySet().stream()
+                .sorted(Map.Entry.<CategoryType, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    public static class Builder {
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Collection<CategoryType> essentialCategories;
+        private final Map<CategoryType, Integer> categorySums = new EnumMap<>(CategoryType.class);
+        private int essential;
+        private int nonEssential;
+
+        private Builder(LocalDate startDate, LocalDate endDate, Collection<CategoryType> essentialCategories) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.essentialCategories = essentialCategories;
+        }
+
+        public Builder addCategory(CategoryType category, int sum) {
+            if (sum == 0) {
+                return this; // 수정으로 비워진 집계 행
+            }
+            categorySums.merge(category, sum, Integer::sum);
+            if (essentialCategories.contains(category)) {
+                essential += sum;
+            } else {
+                nonEssential += sum;
+            }
+            return this;
+        }
+
+        public MemberMonthStats build(DailySpendSeries daily) {
+            return new MemberMonthStats(startDate, endDate, daily.includedTotal(),
+                    Collections.unmodifiableMap(categorySums), daily, essential, nonEssential);
+        }
+    }
+}
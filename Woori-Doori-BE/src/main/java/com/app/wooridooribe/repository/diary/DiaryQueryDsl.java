@@ -7,7 +7,9 @@ import java.util.List;
 import java.util.Optional;
 
 public interface DiaryQueryDsl {
-    List<Diary> findByMemberAndMonth(Member member, LocalDate startDate, LocalDate endDate);
+    List<DiaryRow> findRowsByMemberAndMonth(Long memberId, LocalDate startDate, LocalDate endDate);
+
+    Optional<DiaryRow> findRowById(Long diaryId);
 
     Optional<Diary> findByMemberAndDiaryDay(Member member, LocalDate diaryDay);
 }
\ No newline at end of file
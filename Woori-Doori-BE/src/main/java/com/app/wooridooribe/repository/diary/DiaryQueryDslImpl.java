@@ -18,19 +18,33 @@ public class DiaryQueryDslImpl implements DiaryQueryDsl {
     private final JPAQueryFactory queryFactory;
 
     @Override
-    public List<Diary> findByMemberAndMonth(Member member, LocalDate startDate, LocalDate endDate) {
+    public List<DiaryRow> findRowsByMemberAndMonth(Long memberId, LocalDate startDate, LocalDate endDate) {
         QDiary d = QDiary.diary;
 
         return queryFactory
-                .selectFrom(d)
+                .select(DiaryRow.projection(d))
+                .from(d)
                 .where(
-                        d.member.eq(member),
+                        d.member.id.eq(memberId),
                         d.diaryDay.between(startDate, endDate)
                 )
                 .orderBy(d.diaryDay.asc())
                 .fetch();
     }
 
+    @Override
+    public Optional<DiaryRow> findRowById(Long diaryId) {
+        QDiary d = QDiary.diary;
+
+        DiaryRow diary = queryFactory
+                .select(DiaryRow.projection(d))
+                .from(d)
+                .where(d.id.eq(diaryId))
+                .fetchOne();
+
+        return Optional.ofNullable(diary);
+    }
+
     @Override
     public Optional<Diary> findByMemberAndDiaryDay(Member member, LocalDate diaryDay) {
         QDiary d = QDiary.diary;
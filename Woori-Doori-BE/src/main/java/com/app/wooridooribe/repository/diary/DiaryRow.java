@@ -0,0 +1,29 @@
+package com.app.wooridooribe.repository.diary;
+
+import com.app.wooridooribe.entity.QDiary;
+import com.app.wooridooribe.entity.type.EmotionType;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+
+import java.time.LocalDate;
+
+/**
+ * 소비 일기 조회 전용 읽기 모델 (소유권 확인용 회원 ID 포함)
+ */
+public record DiaryRow(
+        Long id,
+        Long memberId,
+        LocalDate diaryDay,
+        EmotionType diaryEmotion,
+        String diaryContent
+) {
+
+    public static ConstructorExpression<DiaryRow> projection(QDiary diary) {
+        return Projections.constructor(DiaryRow.class,
+                diary.id,
+                diary.member.id,
+                diary.diaryDay,
+                diary.diaryEmotion,
+                diary.diaryContent);
+    }
+}
@@ -0,0 +1,88 @@
+package com.app.wooridooribe.repository.goal;
+
+import com.app.wooridooribe.repository.spendRollup.SpendRollupJdbcRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 목표 점수 재계산 대상(tbl_goal_score_dirty) JDBC 리포지토리
+ * 표시는 호출하는 쪽 트랜잭션에 참여하므로 원본 변경이 롤백되면 표시도 남지 않습니다.
+ */
+@Repository
+public class GoalScoreDirtyJdbcRepository {
+
+    private static final String MARK_SQL =
+            "INSERT INTO tbl_goal_score_dirty (member_id, goal_month, mark_version, marked_at) " +
+            "VALUES (:memberId, :goalMonth, 1, :markedAt) " +
+            "ON DUPLICATE KEY UPDATE mark_version = mark_version + 1, marked_at = VALUES(marked_at)";
+
+    private static final String SELECT_DIRTY_SQL =
+            "SELECT id, member_id, goal_month, mark_version FROM tbl_goal_score_dirty " +
+            "WHERE id > :afterId ORDER BY id LIMIT :limit";
+
+    private static final String CLEAR_SQL =
+            "DELETE FROM tbl_goal_score_dirty WHERE id = :id AND mark_version = :markVersion";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public GoalScoreDirtyJdbcRepository(@Qualifier("db1DataSource") DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * 재계산 대상 회원-목표 월 (markVersion: 조회 시점의 표시 버전)
+     */
+    public record DirtyGoal(Long id, Long memberId, YearMonth month, long markVersion) {
+    }
+
+    public void mark(Long memberId, Collection<YearMonth> months) {
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] params = months.stream()
+                .map(month -> new MapSqlParameterSource()
+                        .addValue("memberId", memberId)
+                        .addValue("goalMonth", SpendRollupJdbcRepository.toSpendMonth(month))
+                        .addValue("markedAt", now))
+                .toArray(SqlParameterSource[]::new);
+        if (params.length > 0) {
+            jdbcTemplate.batchUpdate(MARK_SQL, params);
+        }
+    }
+
+    /**
+     * id가 afterId보다 큰 재계산 대상을 id 순으로 최대 limit건 조회 (keyset)
+     */
+    public List<DirtyGoal> findDirty(long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_DIRTY_SQL, params, (rs, rowNum) -> {
+            int goalMonth = rs.getInt("goal_month");
+            return new DirtyGoal(
+                    rs.getLong("id"),
+                    rs.getLong("member_id"),
+                    YearMonth.of(goalMonth / 100, goalMonth % 100),
+                    rs.getLong("mark_version"));
+        });
+    }
+
+    /**
+     * 조회 이후 다시 표시되지 않았으면 삭제합니다. (호출하는 쪽 트랜잭션에 참여)
+     *
+     * @return 삭제되었으면 true, 재계산 중 다시 표시되어 남겼으면 false
+     */
+    public boolean clear(DirtyGoal dirty) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", dirty.id())
+                .addValue("markVersion", dirty.markVersion());
+        return jdbcTemplate.update(CLEAR_SQL, params) > 0;
+    }
+}
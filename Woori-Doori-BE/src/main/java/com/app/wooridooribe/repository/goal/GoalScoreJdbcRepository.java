@@ -0,0 +1,217 @@
+package com.app.wooridooribe.repository.goal;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+import com.app.wooridooribe.repository.spendRollup.SpendRollupJdbcRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전체 회원 목표 점수 일괄 계산용 JDBC 리포지토리
+ * 회원마다 조회하지 않고 GROUP BY member_id 집계 몇 번으로 모든 회원의 점수 계산 입력값을 읽고,
+ * 계산된 점수는 배치 UPDATE로 저장합니다.
+ * 지출 값은 회원별 계산(CardHistoryQueryDsl.getMemberMonthStats)과 같은 기준입니다.
+ * (총액/일별은 일별 집계, 카테고리 합계는 월별 집계 + 앞뒤 일부만 걸친 달은 결제 내역, history_include_total = 'Y')
+ */
+@Repository
+public class GoalScoreJdbcRepository {
+
+    private static final String SELECT_ACTIVE_GOALS_SQL =
+            "SELECT g.id, g.member_id, g.previous_goal_money FROM tbl_goal g " +
+            "JOIN tbl_member m ON m.id = g.member_id " +
+            "WHERE g.goal_start_date = :goalStartDate AND m.last_login_date >= :loginSince";
+
+    private static final String SELECT_GOAL_MONEY_SQL =
+            "SELECT member_id, previous_goal_money FROM tbl_goal WHERE goal_start_date = :goalStartDate";
+
+    // 결제가 있는 날(included_count > 0)만 평균/표준편차 대상 (DailySpendSeries.includedSpendingDays와 같은 기준)
+    private static final String SELECT_DAILY_STATS_SQL =
+            "SELECT member_id, SUM(included_sum) AS total, " +
+            "AVG(CASE WHEN included_count > 0 THEN included_sum END) AS daily_mean, " +
+            "STDDEV_POP(CASE WHEN included_count > 0 THEN included_sum END) AS daily_std " +
+            "FROM tbl_daily_spend_rollup WHERE spend_date BETWEEN :startDate AND :endDate " +
+            "GROUP BY member_id";
+
+    private static final String SELECT_ROLLUP_SPLIT_SQL =
+            "SELECT member_id, " +
+            "SUM(CASE WHEN history_category IN (:essential) THEN spend_sum ELSE 0 END) AS essential_sum, " +
+            "SUM(CASE WHEN history_category IN (:essential) THEN 0 ELSE spend_sum END) AS non_essential_sum " +
+            "FROM tbl_monthly_spend_rollup " +
+            "WHERE spend_month BETWEEN :fromMonth AND :toMonth AND history_include_total = 'Y' " +
+            "GROUP BY member_id";
+
+    private static final String SELECT_HISTORY_SPLIT_SQL =
+            "SELECT member_id, " +
+            "SUM(CASE WHEN history_category IN (:essential) THEN history_price ELSE 0 END) AS essential_sum, " +
+            "SUM(CASE WHEN history_category IN (:essential) THEN 0 ELSE history_price END) AS non_essential_sum " +
+            "FROM tbl_card_history " +
+            "WHERE history_date BETWEEN :startDate AND :endDate AND history_include_total = 'Y' " +
+            "AND member_id IS NOT NULL " +
+            "GROUP BY member_id";
+
+    private static final String UPDATE_SCORES_SQL =
+            "UPDATE tbl_goal SET goal_achievement_score = :achievementScore, goal_stability_score = :stabilityScore, " +
+            "goal_ratio_score = :ratioScore, goal_continuity_score = :continuityScore WHERE id = :goalId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public GoalScoreJdbcRepository(@Qualifier("db1DataSource") DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * 점수 계산 대상 목표 (해당 월 목표가 있고 최근 로그인한 회원)
+     */
+    public record GoalTarget(Long goalId, Long memberId, Integer previousGoalMoney) {
+    }
+
+    /**
+     * 회원의 기간 일별 지출 통계
+     *
+     * @param total     총 지출 금액
+     * @param dailyMean 결제가 있는 날의 일별 지출 평균
+     * @param dailyStd  결제가 있는 날의 일별 지출 (모)표준편차
+     */
+    public record DailyStats(long total, double dailyMean, double dailyStd) {
+        public static final DailyStats EMPTY = new DailyStats(0L, 0.0, 0.0);
+    }
+
+    /**
+     * 회원의 기간 필수/비필수 카테고리 지출 금액
+     */
+    public record CategorySplit(long essential, long nonEssential) {
+        public static final CategorySplit EMPTY = new CategorySplit(0L, 0L);
+
+        private CategorySplit plus(CategorySplit other) {
+            return new CategorySplit(essential + other.essential, nonEssential + other.nonEssential);
+        }
+    }
+
+    /**
+     * 계산된 목표 점수 (tbl_goal 한 행)
+     */
+    public record GoalScores(Long goalId, Long memberId, int achievementScore, int stabilityScore,
+                             int ratioScore, int continuityScore) {
+    }
+
+    public List<GoalTarget> findActiveGoals(LocalDate goalStartDate, LocalDateTime loginSince) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("goalStartDate", goalStartDate)
+                .addValue("loginSince", loginSince);
+        return jdbcTemplate.query(SELECT_ACTIVE_GOALS_SQL, params, (rs, rowNum) -> new GoalTarget(
+                rs.getLong("id"),
+                rs.getLong("member_id"),
+                rs.getObject("previous_goal_money", Integer.class)));
+    }
+
+    /**
+     * 해당 월 목표가 있는 회원별 목표 금액 (만원 단위, 목표는 있지만 금액이 없으면 null 값)
+     */
+    public Map<Long, Integer> findGoalMoneyByMember(LocalDate goalStartDate) {
+        Map<Long, Integer> goalMoney = new HashMap<>();
+        jdbcTemplate.query(SELECT_GOAL_MONEY_SQL, new MapSqlParameterSource("goalStartDate", goalStartDate), rs -> {
+            goalMoney.put(rs.getLong("member_id"), rs.getObject("previous_goal_money", Integer.class));
+        });
+        return goalMoney;
+    }
+
+    /**
+     * 기간 [startDate, endDate]의 회원별 일별 지출 통계 (지출 집계가 없는 회원은 없음)
+     */
+    public Map<Long, DailyStats> findDailyStats(LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate);
+        Map<Long, DailyStats> stats = new HashMap<>();
+        jdbcTemplate.query(SELECT_DAILY_STATS_SQL, params, rs -> {
+            stats.put(rs.getLong("member_id"), new DailyStats(
+                    rs.getLong("total"),
+                    rs.getDouble("daily_mean"),
+                    rs.getDouble("daily_std")));
+        });
+        return stats;
+    }
+
+    /**
+     * 기간 [startDate, endDate]의 회원별 필수/비필수 지출 금액
+     * 온전히 포함된 달은 월별 집계에서, 앞뒤로 일부만 걸친 달은 결제 내역에서 합산합니다.
+     */
+    public Map<Long, CategorySplit> findCategorySplit(LocalDate startDate, LocalDate endDate,
+                                                      Collection<CategoryType> essentialCategories) {
+        Map<Long, CategorySplit> splits = new HashMap<>();
+        if (startDate.isAfter(endDate)) {
+            return splits;
+        }
+        List<String> essential = essentialCategories.stream().map(Enum::name).toList();
+
+        YearMonth startMonth = YearMonth.from(startDate);
+        YearMonth endMonth = YearMonth.from(endDate);
+        YearMonth firstFullMonth = startDate.getDayOfMonth() == 1 ? startMonth : startMonth.plusMonths(1);
+        YearMonth lastFullMonth = endDate.equals(endMonth.atEndOfMonth()) ? endMonth : endMonth.minusMonths(1);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            addSplits(splits, SELECT_HISTORY_SPLIT_SQL, historyParams(essential, startDate, endDate));
+            return splits;
+        }
+
+        addSplits(splits, SELECT_ROLLUP_SPLIT_SQL, new MapSqlParameterSource()
+                .addValue("essential", essential)
+                .addValue("fromMonth", SpendRollupJdbcRepository.toSpendMonth(firstFullMonth))
+                .addValue("toMonth", SpendRollupJdbcRepository.toSpendMonth(lastFullMonth)));
+        if (startMonth.isBefore(firstFullMonth)) {
+            addSplits(splits, SELECT_HISTORY_SPLIT_SQL, historyParams(essential, startDate, startMonth.atEndOfMonth()));
+        }
+        if (endMonth.isAfter(lastFullMonth)) {
+            addSplits(splits, SELECT_HISTORY_SPLIT_SQL, historyParams(essential, endMonth.atDay(1), endDate));
+        }
+        return splits;
+    }
+
+    /**
+     * 목표 점수 4개를 배치 UPDATE로 저장합니다. (호출하는 쪽 트랜잭션에 참여)
+     *
+     * @return 저장된 행 수
+     */
+    public int updateScores(List<GoalScores> scores) {
+        SqlParameterSource[] params = scores.stream()
+                .map(score -> new MapSqlParameterSource()
+                        .addValue("goalId", score.goalId())
+                        .addValue("achievementScore", score.achievementScore())
+                        .addValue("stabilityScore", score.stabilityScore())
+                        .addValue("ratioScore", score.ratioScore())
+                        .addValue("continuityScore", score.continuityScore()))
+                .toArray(SqlParameterSource[]::new);
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(UPDATE_SCORES_SQL, params)) {
+            // rewriteBatchedStatements 사용 시 건별 결과 대신 SUCCESS_NO_INFO(-2)가 올 수 있음
+            updated += count > 0 || count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+        }
+        return updated;
+    }
+
+    private void addSplits(Map<Long, CategorySplit> splits, String sql, MapSqlParameterSource params) {
+        jdbcTemplate.query(sql, params, rs -> {
+            CategorySplit split = new CategorySplit(rs.getLong("essential_sum"), rs.getLong("non_essential_sum"));
+            splits.merge(rs.getLong("member_id"), split, CategorySplit::plus);
+        });
+    }
+
+    private static MapSqlParameterSource historyParams(List<String> essential, LocalDate startDate, LocalDate endDate) {
+        return new MapSqlParameterSource()
+                .addValue("essential", essential)
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate);
+    }
+}
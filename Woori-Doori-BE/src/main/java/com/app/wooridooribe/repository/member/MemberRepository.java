@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,12 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberQue
 
     Optional<Member> findByMemberNameAndPhone(String name, String phone);
 
+    /**
+     * 여러 이름에 해당하는 Member를 한 번에 조회합니다.
+     * 결제 일괄 동기화 시 후보를 가져온 뒤 주민번호/전화번호는 메모리에서 대조합니다.
+     */
+    List<Member> findAllByMemberNameIn(Collection<String> memberNames);
+
     /**
      * 이름, 생년월일(앞 6자리), 뒷자리(1자리), 전화번호로 Member를 조회합니다.
      * 주민번호 대조를 위해 사용됩니다.
@@ -1,6 +1,7 @@
 package com.app.wooridooribe.repository.memberCard;
 
 import com.app.wooridooribe.entity.MemberCard;
+import com.app.wooridooribe.repository.card.CardRow;
 import org.springframework.data.repository.NoRepositoryBean;
 import java.util.List;
 import java.util.Optional;
@@ -8,7 +9,8 @@ import java.util.Optional;
 @NoRepositoryBean
 public interface MemberCardQueryDSL {
 
-    List<MemberCard> findMemberCardsByMemberId(Long memberId);
+    // 회원이 보유한 카드 목록 (카드 읽기 모델, 회원 카드 1장당 1행)
+    List<CardRow> findCardRowsByMemberId(Long memberId);
 
     Optional<MemberCard> findByMemberIdAndCardNum(Long memberId, String cardNum);
 
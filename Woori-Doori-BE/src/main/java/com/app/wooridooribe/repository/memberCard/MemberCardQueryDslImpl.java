@@ -4,6 +4,7 @@ import com.app.wooridooribe.entity.MemberCard;
 import com.app.wooridooribe.entity.QCard;
 import com.app.wooridooribe.entity.QFile;
 import com.app.wooridooribe.entity.QMemberCard;
+import com.app.wooridooribe.repository.card.CardRow;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.util.List;
 import java.util.Optional;
@@ -19,14 +20,16 @@ public class MemberCardQueryDslImpl implements MemberCardQueryDSL {
     private static final QMemberCard memberCard = QMemberCard.memberCard;
     private static final QCard card = QCard.card;
     private static final QFile file = QFile.file;
+    private static final QFile banner = new QFile("banner");
 
     @Override
-    public List<MemberCard> findMemberCardsByMemberId(Long memberId) {
+    public List<CardRow> findCardRowsByMemberId(Long memberId) {
         return queryFactory
-                .selectFrom(memberCard)
-                .distinct()
-                .join(memberCard.card, card).fetchJoin()
-                .leftJoin(card.cardImage, file).fetchJoin()
+                .select(CardRow.projection(card, file, banner))
+                .from(memberCard)
+                .join(memberCard.card, card)
+                .leftJoin(card.cardImage, file)
+                .leftJoin(card.cardBanner, banner)
                 .where(memberCard.member.id.eq(memberId))
                 .fetch();
     }
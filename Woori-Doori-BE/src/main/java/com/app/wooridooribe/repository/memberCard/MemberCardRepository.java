@@ -1,6 +1,7 @@
 package com.app.wooridooribe.repository.memberCard;
 
 import com.app.wooridooribe.entity.MemberCard;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,10 @@ import org.springframework.stereotype.Repository;
 public interface MemberCardRepository extends JpaRepository<MemberCard, Long>, MemberCardQueryDSL {
     List<MemberCard> findByMemberId(Long memberId);
 
+    List<MemberCard> findByMemberIdInOrderByIdAsc(Collection<Long> memberIds);
+
+    Optional<MemberCard> findFirstByMemberIdOrderByIdAsc(Long memberId);
+
     Optional<MemberCard> findFirstByCardUserNameAndCardUserRegistNumAndCardUserRegistBack(
             String cardUserName,
             String cardUserRegistNum,
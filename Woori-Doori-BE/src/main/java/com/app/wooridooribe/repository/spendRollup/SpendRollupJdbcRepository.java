@@ -0,0 +1,162 @@
+package com.app.wooridooribe.repository.spendRollup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 지출 집계(tbl_monthly_spend_rollup, tbl_daily_spend_rollup) 갱신 전용 JDBC 리포지토리
+ * 결제 내역 ID 목록의 기여분을 집계 키별로 묶어 INSERT ... ON DUPLICATE KEY UPDATE로 더하거나 뺍니다.
+ * - 월별: (회원, 월, 카테고리, 총지출 포함 여부)별 금액/건수
+ * - 일별: (회원, 일자)별 결제 가능 금액/건수와 총지출 포함 금액/건수
+ * db1 트랜잭션에 참여하므로 결제 내역 저장/수정과 같은 트랜잭션에서 호출해야 집계가 어긋나지 않습니다.
+ *
+ * 수정 흐름: 대상 행 잠금 → subtractHistories(수정 전 값 제거) → UPDATE → addHistories(수정 후 값 반영)
+ */
+@Repository
+@Slf4j
+public class SpendRollupJdbcRepository {
+
+    // 결제 내역의 기여분(:sign = 1 이면 더하고, -1 이면 뺌)을 월별 집계 행에 반영
+    private static final String APPLY_MONTHLY_SQL =
+            "INSERT INTO tbl_monthly_spend_rollup " +
+            "(member_id, spend_month, history_category, history_include_total, spend_sum, spend_count) " +
+            "SELECT h.member_id, YEAR(h.history_date) * 100 + MONTH(h.history_date), h.history_category, " +
+            "h.history_include_total, :sign * SUM(h.history_price), :sign * COUNT(*) " +
+            "FROM tbl_card_history h " +
+            "WHERE h.id IN (:historyIds) AND h.member_id IS NOT NULL " +
+            "GROUP BY h.member_id, YEAR(h.history_date) * 100 + MONTH(h.history_date), " +
+            "h.history_category, h.history_include_total " +
+            "ON DUPLICATE KEY UPDATE spend_sum = spend_sum + VALUES(spend_sum), " +
+            "spend_count = spend_count + VALUES(spend_count)";
+
+    // 결제 내역의 기여분을 일별 집계 행에 반영
+    private static final String APPLY_DAILY_SQL =
+            "INSERT INTO tbl_daily_spend_rollup " +
+            "(member_id, spend_date, spend_sum, spend_count, included_sum, included_count) " +
+            "SELECT h.member_id, h.history_date, " + dailyColumns(":sign * ") +
+            "FROM tbl_card_history h " +
+            "WHERE h.id IN (:historyIds) AND h.member_id IS NOT NULL " +
+            "GROUP BY h.member_id, h.history_date " +
+            "ON DUPLICATE KEY UPDATE spend_sum = spend_sum + VALUES(spend_sum), " +
+            "spend_count = spend_count + VALUES(spend_count), " +
+            "included_sum = included_sum + VALUES(included_sum), " +
+            "included_count = included_count + VALUES(included_count)";
+
+    private static final String DELETE_MONTHLY_SQL =
+            "DELETE FROM tbl_monthly_spend_rollup WHERE spend_month = :spendMonth";
+
+    private static final String REBUILD_MONTHLY_SQL =
+            "INSERT INTO tbl_monthly_spend_rollup " +
+            "(member_id, spend_month, history_category, history_include_total, spend_sum, spend_count) " +
+            "SELECT h.member_id, :spendMonth, h.history_category, h.history_include_total, " +
+            "SUM(h.history_price), COUNT(*) " +
+            "FROM tbl_card_history h " +
+            "WHERE h.history_date BETWEEN :startDate AND :endDate AND h.member_id IS NOT NULL " +
+            "GROUP BY h.member_id, h.history_category, h.history_include_total";
+
+    private static final String DELETE_DAILY_SQL =
+            "DELETE FROM tbl_daily_spend_rollup WHERE spend_date BETWEEN :startDate AND :endDate";
+
+    private static final String REBUILD_DAILY_SQL =
+            "INSERT INTO tbl_daily_spend_rollup " +
+            "(member_id, spend_date, spend_sum, spend_count, included_sum, included_count) " +
+            "SELECT h.member_id, h.history_date, " + dailyColumns("") +
+            "FROM tbl_card_history h " +
+            "WHERE h.history_date BETWEEN :startDate AND :endDate AND h.member_id IS NOT NULL " +
+            "GROUP BY h.member_id, h.history_date";
+
+    private static final String SELECT_HISTORY_MONTHS_SQL =
+            "SELECT DISTINCT YEAR(history_date) * 100 + MONTH(history_date) FROM tbl_card_history";
+
+    private static final String EXISTS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM tbl_monthly_spend_rollup) AND EXISTS (SELECT 1 FROM tbl_daily_spend_rollup)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SpendRollupJdbcRepository(@Qualifier("db1DataSource") DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * 결제 내역들의 현재 값을 집계에 더합니다. (신규 저장 직후, 수정 직후)
+     */
+    public void addHistories(Collection<Long> historyIds) {
+        apply(historyIds, 1);
+    }
+
+    /**
+     * 결제 내역들의 현재 값을 집계에서 뺍니다. (수정 직전, 해당 행을 잠근 상태에서 호출)
+     */
+    public void subtractHistories(Collection<Long> historyIds) {
+        apply(historyIds, -1);
+    }
+
+    /**
+     * 해당 월의 월별/일별 집계를 결제 내역 기준으로 다시 계산합니다. (최초 적재 및 오차 보정용)
+     *
+     * @return 다시 저장한 월별 집계 행 수
+     */
+    public int rebuildMonth(YearMonth month) {
+        int spendMonth = toSpendMonth(month);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("spendMonth", spendMonth)
+                .addValue("startDate", month.atDay(1))
+                .addValue("endDate", month.atEndOfMonth());
+
+        jdbcTemplate.update(DELETE_MONTHLY_SQL, params);
+        int rows = jdbcTemplate.update(REBUILD_MONTHLY_SQL, params);
+        jdbcTemplate.update(DELETE_DAILY_SQL, params);
+        int dailyRows = jdbcTemplate.update(REBUILD_DAILY_SQL, params);
+        log.info("지출 집계 재계산 완료: month={}, 월별 집계 행 수={}, 일별 집계 행 수={}", month, rows, dailyRows);
+        return rows;
+    }
+
+    /**
+     * 결제 내역이 있는 모든 월을 찾습니다. (전체 재적재용)
+     */
+    public List<YearMonth> findHistoryMonths() {
+        return jdbcTemplate.getJdbcTemplate().queryForList(SELECT_HISTORY_MONTHS_SQL, Integer.class).stream()
+                .map(spendMonth -> YearMonth.of(spendMonth / 100, spendMonth % 100))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 월별/일별 집계 중 하나라도 비어 있으면 true (최초 배포, 새 집계 테이블 추가 시)
+     */
+    public boolean isEmpty() {
+        Boolean exists = jdbcTemplate.getJdbcTemplate().queryForObject(EXISTS_SQL, Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    public static int toSpendMonth(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private void apply(Collection<Long> historyIds, int sign) {
+        if (historyIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sign", sign)
+                .addValue("historyIds", historyIds);
+        jdbcTemplate.update(APPLY_MONTHLY_SQL, params);
+        jdbcTemplate.update(APPLY_DAILY_SQL, params);
+    }
+
+    // 일별 집계 값 컬럼 (결제 가능 금액/건수, 총지출 포함 금액/건수)
+    private static String dailyColumns(String sign) {
+        return sign + "SUM(CASE WHEN h.history_status = 'ABLE' THEN h.history_price ELSE 0 END), " +
+                sign + "SUM(CASE WHEN h.history_status = 'ABLE' THEN 1 ELSE 0 END), " +
+                sign + "SUM(CASE WHEN h.history_include_total = 'Y' THEN h.history_price ELSE 0 END), " +
+                sign + "SUM(CASE WHEN h.history_include_total = 'Y' THEN 1 ELSE 0 END) ";
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.wooridooribe.repository.syncCursor;
+
+import com.app.wooridooribe.entity.SyncCursor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SyncCursorRepository extends JpaRepository<SyncCursor, String> {
+
+    // 여러 인스턴스가 동시에 같은 구간을 가져가지 않도록 커서 행을 잠근 채 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SyncCursor c WHERE c.cursorName = :cursorName")
+    Optional<SyncCursor> findByCursorNameForUpdate(@Param("cursorName") String cursorName);
+}
@@ -0,0 +1,34 @@
+package com.app.wooridooribe.scheduler;
+
+import com.app.wooridooribe.service.card.CardHistoryArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 내역 보관 스케줄러 (app.card-history-archive.enabled=true 일 때만 동작)
+ * 매월 보관 기준 월을 지난 달의 결제 내역을 회원-월 보관본으로 옮김
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.card-history-archive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CardHistoryArchiveScheduler {
+
+    private final CardHistoryArchiveService cardHistoryArchiveService;
+
+    /**
+     * 매월 2일 새벽 5시에 보관 실행 (파티션 관리 이후, 이미 보관한 달은 건너뜀)
+     * cron 표현식: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "${app.card-history-archive.archive-cron:0 0 5 2 * ?}")
+    public void archive() {
+        try {
+            cardHistoryArchiveService.archiveExpiredMonths();
+        } catch (Exception e) {
+            log.error("=== 결제 내역 보관 중 에러 발생 ===", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.wooridooribe.scheduler;
+
+import com.app.wooridooribe.service.card.CardHistoryMemberBackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서버 시작 시 CardHistory.memberId 백필 실행
+ * 지출 집계 초기 적재(SpendRollupScheduler)가 member_id 기준으로 합산하므로 그보다 먼저 실행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardHistoryMemberBackfillScheduler {
+
+    private final CardHistoryMemberBackfillService cardHistoryMemberBackfillService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        try {
+            cardHistoryMemberBackfillService.backfill();
+        } catch (Exception e) {
+            // 남은 행은 다음 시작 시 이어서 채움
+            log.error("=== 결제 내역 member_id 백필 중 에러 발생 ===", e);
+        }
+    }
+}
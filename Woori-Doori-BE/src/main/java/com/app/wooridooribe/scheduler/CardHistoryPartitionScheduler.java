@@ -0,0 +1,45 @@
+package com.app.wooridooribe.scheduler;
+
+import com.app.wooridooribe.service.card.CardHistoryPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 내역 월별 파티션 관리 스케줄러 (app.card-history-partition.enabled=true 일 때만 동작)
+ * 서버 시작 시와 매일 새벽에 파티션 전환/미래 파티션 생성/오래된 파티션 정리를 수행
+ * 파티션 전환은 테이블을 다시 쓰므로 member_id 백필(CardHistoryMemberBackfillScheduler)이 끝난 뒤 실행
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.card-history-partition", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CardHistoryPartitionScheduler {
+
+    private final CardHistoryPartitionService cardHistoryPartitionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void initialize() {
+        maintain();
+    }
+
+    /**
+     * 매일 새벽 4시 40분에 파티션 관리 (이미 만들어진 파티션은 건너뛰므로 여러 번 실행해도 안전)
+     * cron 표현식: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "${app.card-history-partition.maintain-cron:0 40 4 * * ?}")
+    public void maintain() {
+        try {
+            cardHistoryPartitionService.maintain();
+        } catch (Exception e) {
+            log.error("=== 결제 내역 파티션 관리 중 에러 발생 ===", e);
+        }
+    }
+}
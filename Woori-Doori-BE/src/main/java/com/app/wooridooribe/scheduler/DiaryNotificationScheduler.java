@@ -5,6 +5,7 @@ import com.app.wooridooribe.repository.member.MemberRepository;
 import com.app.wooridooribe.service.sse.SseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -14,10 +15,12 @@ import java.util.List;
 /**
  * 소비 일기(DIARY) 알림 스케줄러
  * - 최근 6개월 내 로그인한 회원들에게 매일 UTC 기준 22시에 일기 작성 알림 전송
+ * - app.scheduler.diary-notification.enabled=true 일 때만 등록됨
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(prefix = "app.scheduler.diary-notification", name = "enabled", havingValue = "true")
 public class DiaryNotificationScheduler {
 
     private final MemberRepository memberRepository;
@@ -0,0 +1,34 @@
+package com.app.wooridooribe.scheduler;
+
+import com.app.wooridooribe.service.goal.GoalScoreDirtyRescoreService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 목표 점수 증분 재계산 스케줄러 (app.goal-score.dirty-rescore.enabled=true 일 때만 동작)
+ * 결제/소비 내역/목표 변경으로 표시된 회원-목표 월만 다시 계산해 점수를 최신으로 유지
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.goal-score.dirty-rescore", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GoalScoreDirtyScheduler {
+
+    private final GoalScoreDirtyRescoreService goalScoreDirtyRescoreService;
+
+    /**
+     * 매시 30분에 실행 (월말 전체 계산 02:00과 겹치지 않음)
+     * cron 표현식: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "${app.goal-score.dirty-rescore.cron:0 30 * * * ?}")
+    public void rescoreDirtyGoals() {
+        try {
+            goalScoreDirtyRescoreService.rescoreDirty();
+        } catch (Exception e) {
+            log.error("=== 목표 점수 증분 재계산 중 에러 발생 ===", e);
+        }
+    }
+}
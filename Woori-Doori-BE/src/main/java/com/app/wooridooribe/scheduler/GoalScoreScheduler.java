@@ -4,6 +4,7 @@ import com.app.wooridooribe.service.goal.GoalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -12,10 +13,12 @@ import java.time.LocalDate;
 /**
  * 목표 점수 계산 스케줄러
  * 매달 마지막 날 새벽 2시에 모든 활성 유저의 점수를 계산하여 DB에 저장
+ * app.scheduler.goal-score.enabled=true 일 때만 등록됨
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(prefix = "app.scheduler.goal-score", name = "enabled", havingValue = "true")
 public class GoalScoreScheduler {
     
     private final GoalService goalService;
@@ -0,0 +1,56 @@
+package com.app.wooridooribe.scheduler;
+
+import com.app.wooridooribe.service.payment.PaymentPullSyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 두리뱅킹 결제 내역 pull 동기화 스케줄러
+ * 일정 간격으로 db2 account_history를 커서 이후부터 페이지 단위로 읽어 CardHistory에 반영
+ * app.payment-sync.pull.enabled=true 일 때만 등록됨
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.payment-sync.pull", name = "enabled", havingValue = "true")
+public class PaymentPullSyncScheduler {
+
+    private final PaymentPullSyncService paymentPullSyncService;
+
+    @Value("${app.payment-sync.pull.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.payment-sync.pull.max-pages-per-run:20}")
+    private int maxPagesPerRun;
+
+    @Value("${app.payment-sync.pull.overlap-ids:100}")
+    private int overlapIds;
+
+    /**
+     * 이전 실행이 끝난 뒤 interval-ms 만큼 쉬고 다시 실행 (fixedDelay라 실행이 겹치지 않음)
+     * 한 번 실행에서 최대 maxPagesPerRun 페이지까지 처리하고, 페이지가 덜 차면 따라잡은 것으로 보고 종료
+     */
+    @Scheduled(fixedDelayString = "${app.payment-sync.pull.interval-ms:5000}")
+    public void pullPayments() {
+        int totalCount = 0;
+        try {
+            for (int pageCount = 0; pageCount < maxPagesPerRun; pageCount++) {
+                int readCount = paymentPullSyncService.syncNextPage(pageSize, overlapIds);
+                totalCount += readCount;
+                if (readCount < pageSize) {
+                    break;
+                }
+            }
+            if (totalCount > 0) {
+                log.info("=== 결제 내역 pull 동기화 완료 - 읽은 내역 수: {} ===", totalCount);
+            }
+        } catch (Exception e) {
+            // 실패한 페이지는 롤백되어 커서가 그대로이므로 다음 실행에서 다시 시도됨
+            log.error("=== 결제 내역 pull 동기화 중 에러 발생 (읽은 내역 수: {}) ===", totalCount, e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.app.wooridooribe.scheduler;
+
+import com.app.wooridooribe.service.spending.SpendRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * 지출 집계(월별/일별) 적재/보정 스케줄러
+ * 서버 시작 시 집계가 비어 있으면 전체를 적재하고, 매일 새벽 이번 달과 지난 달 집계를 결제 내역 기준으로 다시 계산
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpendRollupScheduler {
+
+    private final SpendRollupService spendRollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            spendRollupService.initializeIfEmpty();
+        } catch (Exception e) {
+            log.error("=== 지출 집계 초기 적재 중 에러 발생 ===", e);
+        }
+    }
+
+    /**
+     * 매일 새벽 4시 20분에 이번 달/지난 달 집계 재계산 (지난 달 내역 수정분 포함)
+     * cron 표현식: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "${app.spend-rollup.rebuild-cron:0 20 4 * * ?}")
+    public void rebuildRecentMonths() {
+        YearMonth thisMonth = YearMonth.now();
+        try {
+            spendRollupService.rebuildMonth(thisMonth);
+            spendRollupService.rebuildMonth(thisMonth.minusMonths(1));
+            log.info("=== 지출 집계 재계산 완료 - month: {}, {} ===", thisMonth.minusMonths(1), thisMonth);
+        } catch (Exception e) {
+            log.error("=== 지출 집계 재계산 중 에러 발생 ===", e);
+        }
+    }
+}
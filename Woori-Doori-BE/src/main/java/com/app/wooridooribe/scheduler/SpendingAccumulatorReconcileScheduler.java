@@ -0,0 +1,53 @@
+package com.app.wooridooribe.scheduler;
+
+import com.app.wooridooribe.service.goal.GoalScoreStreamer;
+import com.app.wooridooribe.service.spending.SpendingAccumulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * 지출 누적값 재계산 스케줄러
+ * 동시 갱신/롤백 등으로 Redis 누적값과 DB 합계가 어긋날 수 있으므로 주기적으로 SQL 기준으로 덮어씀
+ * 같은 주기로 목표 점수 실시간 통계 키도 지워 다음 이벤트에서 SQL 통계로 다시 채움
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpendingAccumulatorReconcileScheduler {
+
+    private final SpendingAccumulator spendingAccumulator;
+    private final GoalScoreStreamer goalScoreStreamer;
+
+    /**
+     * 매시 10분에 이번 달 누적값 재계산 (월초 새벽에는 지난 달 마감분도 함께 재계산)
+     * cron 표현식: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "${app.spending-accumulator.reconcile-cron:0 10 * * * ?}")
+    public void reconcile() {
+        YearMonth thisMonth = YearMonth.now();
+        try {
+            int memberCount = spendingAccumulator.reconcile(thisMonth);
+            log.info("=== 지출 누적값 재계산 완료 - month: {}, 회원 수: {} ===", thisMonth, memberCount);
+
+            if (LocalDate.now().getDayOfMonth() == 1) {
+                YearMonth lastMonth = thisMonth.minusMonths(1);
+                int lastMonthCount = spendingAccumulator.reconcile(lastMonth);
+                log.info("=== 지난 달 지출 누적값 재계산 완료 - month: {}, 회원 수: {} ===", lastMonth, lastMonthCount);
+            }
+        } catch (Exception e) {
+            log.error("=== 지출 누적값 재계산 중 에러 발생 ===", e);
+        }
+
+        try {
+            int keyCount = goalScoreStreamer.reconcile();
+            log.info("=== 목표 점수 실시간 통계 초기화 - month: {}, 삭제한 키 수: {} ===", thisMonth, keyCount);
+        } catch (Exception e) {
+            log.error("=== 목표 점수 실시간 통계 초기화 중 에러 발생 ===", e);
+        }
+    }
+}
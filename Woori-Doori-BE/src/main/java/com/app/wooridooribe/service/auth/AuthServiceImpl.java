@@ -8,6 +8,7 @@ import com.app.wooridooribe.exception.*;
 import com.app.wooridooribe.jwt.*;
 import com.app.wooridooribe.repository.member.MemberRepository;
 import com.app.wooridooribe.service.mailService.MailService;
+import com.app.wooridooribe.service.payment.BankMemberResolver;
 import com.app.wooridooribe.service.token.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +34,7 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final MailService mailService;
     private final LoginFailureService loginFailureService;
+    private final BankMemberResolver bankMemberResolver;
     
 
     @Override
@@ -68,6 +70,8 @@ public class AuthServiceImpl implements AuthService {
             String encodedPassword = passwordEncoder.encode(joinDto.getPassword());
             Member member = joinDto.toEntity(encodedPassword);
             memberRepository.save(member);
+            // 가입 전 결제 동기화에서 캐싱된 '회원 없음' 매핑 제거 (새 회원 결제가 회원 없이 저장되지 않도록)
+            bankMemberResolver.evictMember(member);
 
             log.info("회원가입 완료: {}", joinDto.getId());
 
@@ -0,0 +1,107 @@
+package com.app.wooridooribe.service.card;
+
+import com.app.wooridooribe.repository.cardHistory.CardHistoryArchiveJdbcRepository;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryPartitionJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 결제 내역 보관 서비스
+ * 보관 기준 월(app.card-history-archive.horizon-months) 이전의 결제 내역을 회원-월 단위 보관본으로 옮기고
+ * 결제 내역 테이블에서 제거해, 자주 읽는 최근 내역과 인덱스가 버퍼 풀 안에 머물도록 합니다.
+ *
+ * 해당 월이 파티션으로 나뉘어 있고 회원이 없는 내역이 없으면 보관본을 모두 저장하고, 그 사이 늦게 들어온 내역을
+ * 한 번 더 합친 뒤 파티션을 보관 테이블과 교환해 비웁니다(메타데이터 작업).
+ * 그렇지 않으면 회원별로 보관본 저장과 원본 삭제(보관본에 담긴 행만)를 한 트랜잭션에서 처리합니다.
+ * 회원이 연결되지 않은 내역은 보관본 키가 없으므로 결제 내역 테이블에 남깁니다.
+ */
+@Service
+@Slf4j
+public class CardHistoryArchiveService {
+
+    private final CardHistoryArchiveJdbcRepository archiveRepository;
+    private final CardHistoryPartitionJdbcRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public CardHistoryArchiveService(CardHistoryArchiveJdbcRepository archiveRepository,
+                                     CardHistoryPartitionJdbcRepository partitionRepository,
+                                     @Qualifier("db1TransactionManager") PlatformTransactionManager transactionManager) {
+        this.archiveRepository = archiveRepository;
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 보관 기준 월 이전에 남아 있는 결제 내역을 월 단위로 모두 보관합니다.
+     *
+     * @return 보관한 월 수
+     */
+    public int archiveExpiredMonths() {
+        YearMonth horizon = archiveRepository.horizon();
+        YearMonth oldest = archiveRepository.findOldestHotMonth();
+        if (oldest == null || !oldest.isBefore(horizon)) {
+            return 0;
+        }
+
+        int months = 0;
+        for (YearMonth month = oldest; month.isBefore(horizon); month = month.plusMonths(1)) {
+            archiveMonth(month);
+            months++;
+        }
+        log.info("결제 내역 보관 완료: {} ~ {}, 월 수={}", oldest, horizon.minusMonths(1), months);
+        return months;
+    }
+
+    private void archiveMonth(YearMonth month) {
+        List<Long> memberIds = archiveRepository.findHotMembers(month);
+        boolean dropPartition = partitionRepository.findMonthPartitions().contains(month)
+                && !archiveRepository.hasUnownedHotRows(month);
+
+        int rows = archiveMembers(memberIds, month, !dropPartition);
+
+        if (dropPartition) {
+            // 복사하는 동안 늦게 동기화된 내역이 있으면 보관본에 한 번 더 합친 뒤 다시 확인
+            List<Long> lateMemberIds = archiveRepository.findUnarchivedHotMembers(month);
+            rows += archiveMembers(lateMemberIds, month, false);
+            if (archiveRepository.hasUnownedHotRows(month)) {
+                // 회원이 없는 내역이 새로 생기면 파티션을 비울 수 없으므로 보관본에 담긴 행만 삭제
+                dropPartition = false;
+                List<Long> archivedMemberIds = new ArrayList<>(memberIds);
+                archivedMemberIds.addAll(lateMemberIds);
+                archivedMemberIds.forEach(memberId -> transactionTemplate.executeWithoutResult(
+                        status -> archiveRepository.deleteHotMonth(memberId, month)));
+            } else {
+                // 확인 이후 DDL 직전에 들어온 행도 잃지 않도록 삭제 대신 보관 테이블과 교환
+                partitionRepository.exchangeMonthPartition(month);
+            }
+        }
+        log.info("결제 내역 월 보관: month={}, 회원 수={}, 내역 수={}, 파티션 비움={}", month, memberIds.size(), rows, dropPartition);
+    }
+
+    /**
+     * 회원별로 한 달 내역을 보관본에 저장합니다. (deleteHotRows면 같은 트랜잭션에서 보관본에 담긴 원본도 삭제)
+     *
+     * @return 보관본에 담긴 내역 수
+     */
+    private int archiveMembers(List<Long> memberIds, YearMonth month, boolean deleteHotRows) {
+        int rows = 0;
+        for (Long memberId : memberIds) {
+            Integer archived = transactionTemplate.execute(status -> {
+                int count = archiveRepository.archiveMonth(memberId, month);
+                if (deleteHotRows) {
+                    archiveRepository.deleteHotMonth(memberId, month);
+                }
+                return count;
+            });
+            rows += archived != null ? archived : 0;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,54 @@
+package com.app.wooridooribe.service.card;
+
+import com.app.wooridooribe.repository.cardHistory.CardHistoryJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * CardHistory.memberId(비정규화 컬럼) 온라인 백필 서비스
+ * 컬럼 추가 이전에 저장된 결제 내역의 member_id를 ID 구간 단위로 나눠 채웁니다.
+ * 구간마다 별도 UPDATE 한 문장으로 커밋하므로 잠금이 짧고, 중간에 멈춰도 다음 실행에서 남은 행만 이어서 채웁니다.
+ */
+@Service
+@Slf4j
+public class CardHistoryMemberBackfillService {
+
+    private final CardHistoryJdbcRepository cardHistoryJdbcRepository;
+    private final int chunkSize;
+
+    public CardHistoryMemberBackfillService(CardHistoryJdbcRepository cardHistoryJdbcRepository,
+                                            @Value("${app.card-history-member-backfill.chunk-size:5000}") int chunkSize) {
+        this.cardHistoryJdbcRepository = cardHistoryJdbcRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 비어 있는 member_id를 모두 채웁니다.
+     *
+     * @return 채운 행 수
+     */
+    public int backfill() {
+        Optional<long[]> range = cardHistoryJdbcRepository.findMemberIdBackfillRange();
+        if (range.isEmpty()) {
+            return 0;
+        }
+
+        long minId = range.get()[0];
+        long maxId = range.get()[1];
+        log.info("결제 내역 member_id 백필 시작: id {} ~ {}, 구간 크기={}", minId, maxId, chunkSize);
+
+        int total = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+            long toId = Math.min(fromId + chunkSize - 1, maxId);
+            int updated = cardHistoryJdbcRepository.backfillMemberIds(fromId, toId);
+            total += updated;
+            log.debug("결제 내역 member_id 백필 구간 완료: id {} ~ {}, 채운 행 수={}", fromId, toId, updated);
+        }
+
+        log.info("결제 내역 member_id 백필 완료: 채운 행 수={}", total);
+        return total;
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.wooridooribe.service.card;
+
+import com.app.wooridooribe.repository.cardHistory.CardHistoryPartitionJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * tbl_card_history 월별 파티션 수명 주기 관리 서비스
+ * - 파티션 테이블이 아니면 결제 내역이 있는 첫 달부터 월별 파티션으로 전환 (최초 1회)
+ * - 이번 달부터 future-months 만큼 앞선 달까지 파티션을 미리 생성
+ * - retention-months 보다 오래된 달의 파티션은 retention-action 에 따라 보관 테이블로 교환(ARCHIVE)하거나 삭제(DROP)
+ *
+ * 월별/일별 지출 집계는 파티션을 정리해도 그대로 남으므로 지난 달 합계/리포트는 유지됩니다.
+ * 다만 지출 집계 보정(SpendRollupScheduler)이 이번 달/지난 달을 결제 내역 기준으로 다시 계산하므로 보관 기간은 최소 3개월입니다.
+ */
+@Service
+@Slf4j
+public class CardHistoryPartitionService {
+
+    public enum RetentionAction { ARCHIVE, DROP }
+
+    private static final int MIN_RETENTION_MONTHS = 3;
+
+    private final CardHistoryPartitionJdbcRepository partitionRepository;
+    private final int futureMonths;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+
+    public CardHistoryPartitionService(CardHistoryPartitionJdbcRepository partitionRepository,
+                                       @Value("${app.card-history-partition.future-months:3}") int futureMonths,
+                                       @Value("${app.card-history-partition.retention-months:0}") int retentionMonths,
+                                       @Value("${app.card-history-partition.retention-action:ARCHIVE}") RetentionAction retentionAction) {
+        this.partitionRepository = partitionRepository;
+        this.futureMonths = futureMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+    }
+
+    /**
+     * 파티션 전환(필요 시), 미래 파티션 생성, 보관 기간이 지난 파티션 정리를 순서대로 수행합니다.
+     */
+    public void maintain() {
+        YearMonth thisMonth = YearMonth.now();
+        YearMonth lastFutureMonth = thisMonth.plusMonths(futureMonths);
+
+        if (!partitionRepository.isPartitioned()) {
+            YearMonth oldest = partitionRepository.findOldestHistoryMonth();
+            YearMonth first = oldest != null && oldest.isBefore(thisMonth) ? oldest : thisMonth;
+            log.info("결제 내역 테이블을 월별 파티션으로 전환합니다: {} ~ {}", first, lastFutureMonth);
+            partitionRepository.partitionByMonth(first, lastFutureMonth);
+        }
+
+        createFuturePartitions(lastFutureMonth);
+        applyRetention(thisMonth);
+    }
+
+    private void createFuturePartitions(YearMonth lastFutureMonth) {
+        List<YearMonth> partitions = partitionRepository.findMonthPartitions();
+        YearMonth next = partitions.isEmpty() ? YearMonth.now() : partitions.get(partitions.size() - 1).plusMonths(1);
+        for (YearMonth month = next; !month.isAfter(lastFutureMonth); month = month.plusMonths(1)) {
+            partitionRepository.addMonthPartition(month);
+        }
+    }
+
+    private void applyRetention(YearMonth thisMonth) {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        if (retentionMonths < MIN_RETENTION_MONTHS) {
+            log.warn("결제 내역 보관 기간이 {}개월 미만이라 파티션 정리를 건너뜁니다: retention-months={}",
+                    MIN_RETENTION_MONTHS, retentionMonths);
+            return;
+        }
+
+        // 보관 기간 = 이번 달 포함 retentionMonths 개월
+        YearMonth oldestKept = thisMonth.minusMonths(retentionMonths - 1L);
+        for (YearMonth month : partitionRepository.findMonthPartitions()) {
+            if (!month.isBefore(oldestKept)) {
+                break;
+            }
+            if (retentionAction == RetentionAction.DROP) {
+                partitionRepository.dropMonthPartition(month);
+            } else {
+                partitionRepository.exchangeMonthPartition(month);
+            }
+        }
+    }
+}
@@ -16,11 +16,18 @@ import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.exception.ErrorCode;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.repository.card.CardRepository;
+import com.app.wooridooribe.repository.card.CardRow;
 import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
 import com.app.wooridooribe.repository.file.FileRepository;
 import com.app.wooridooribe.repository.member.MemberRepository;
 import com.app.wooridooribe.repository.memberCard.MemberCardRepository;
+import com.app.wooridooribe.service.payment.BankMemberResolver;
+import com.app.wooridooribe.service.goal.GoalScoreDirtyMarker;
+import com.app.wooridooribe.service.goal.GoalScoreStreamer;
+import com.app.wooridooribe.service.payment.PaymentBackfillService;
 import com.app.wooridooribe.service.s3FileService.S3FileService;
+import com.app.wooridooribe.service.spending.SpendingAccumulator;
+import com.app.wooridooribe.service.version.DataVersionService;
 import com.querydsl.core.Tuple;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -48,6 +55,12 @@ public class CardServiceImpl implements CardService {
     private final CardHistoryRepository cardHistoryRepository;
     private final FileRepository fileRepository;
     private final S3FileService s3FileService;
+    private final BankMemberResolver bankMemberResolver;
+    private final PaymentBackfillService paymentBackfillService;
+    private final SpendingAccumulator spendingAccumulator;
+    private final DataVersionService dataVersionService;
+    private final GoalScoreDirtyMarker goalScoreDirtyMarker;
+    private final GoalScoreStreamer goalScoreStreamer;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -55,9 +68,9 @@ public class CardServiceImpl implements CardService {
     @Override
     @Transactional(readOnly = true)
     public List<CardResponseDto> getCardList(Long memberId) {
-        List<MemberCard> memberCards = memberCardRepository.findMemberCardsByMemberId(memberId);
+        List<CardRow> cards = memberCardRepository.findCardRowsByMemberId(memberId);
 
-        return memberCards.stream()
+        return cards.stream()
                 .map(CardResponseDto::toDTO)
                 .collect(Collectors.toList());
     }
@@ -65,7 +78,7 @@ public class CardServiceImpl implements CardService {
     @Override
     @Transactional(readOnly = true)
     public List<CardResponseDto> getAllCards() {
-        List<Card> cards = cardRepository.findAllWithImage();
+        List<CardRow> cards = cardRepository.findAllCardRows();
 
         return cards.stream()
                 .map(CardResponseDto::toDTO)
@@ -291,6 +304,13 @@ public class CardServiceImpl implements CardService {
                     safeMemberId, cardNum,
                     memberCard.getMember() != null ? memberCard.getMember().getId() : "null");
 
+            // 카드 소유자가 바뀌므로 이전/새 소유자의 결제 동기화 카드 매핑 캐시 무효화
+            Long previousMemberId = memberCard.getMember() != null ? memberCard.getMember().getId() : null;
+            if (previousMemberId != null) {
+                bankMemberResolver.evictMemberCard(previousMemberId);
+            }
+            bankMemberResolver.evictMemberCard(safeMemberId);
+
             memberCard.setMember(member);
 
             // card_alias 업데이트
@@ -300,9 +320,21 @@ public class CardServiceImpl implements CardService {
 
             memberCardRepository.save(memberCard);
 
+            // 이 카드의 기존 결제 내역도 새 소유자의 내역으로 옮김 (CardHistory.memberId 비정규화 컬럼 + 지출 집계)
+            int reassigned = cardHistoryRepository.reassignMember(memberCard.getId(), safeMemberId);
+            log.info("카드 결제 내역 회원 변경 - memberCardId: {}, memberId: {}, 내역 수: {}",
+                    memberCard.getId(), safeMemberId, reassigned);
+            if (previousMemberId != null && !previousMemberId.equals(safeMemberId)) {
+                invalidateSpending(previousMemberId);
+            }
+            invalidateSpending(safeMemberId);
+
             memberCard = memberCardRepository.findByMemberIdAndCardNum(safeMemberId, cardNum)
                     .orElse(memberCard);
 
+            // 카드 연결 이전의 두리뱅킹 결제 내역을 커밋 이후 백그라운드에서 가져옴
+            paymentBackfillService.backfillMemberAfterCommit(safeMemberId, memberCard.getId());
+
             log.info("최종 조회 후 - memberCard member: {}",
                     memberCard.getMember() != null ? memberCard.getMember().getId() : "null");
         } else {
@@ -331,10 +363,25 @@ public class CardServiceImpl implements CardService {
         // member_id를 NULL로 설정 (화면에서만 삭제, DB에는 남아있음)
         card.setMember(null);
         memberCardRepository.save(card);
+        bankMemberResolver.evictMemberCard(safeMemberId);
+
+        // 해제된 카드의 결제 내역은 더 이상 회원 지출에 포함하지 않음
+        cardHistoryRepository.reassignMember(cardId, null);
+        invalidateSpending(safeMemberId);
 
         log.info("카드 삭제 완료 - memberCardId: {}, memberId: {}", cardId, safeMemberId);
     }
 
+    /**
+     * 결제 내역의 소유 회원이 바뀐 뒤 회원의 지출 누적값/데이터 버전/목표 점수 캐시를 무효화합니다.
+     */
+    private void invalidateSpending(Long memberId) {
+        spendingAccumulator.evictAfterCommit(memberId);
+        dataVersionService.bumpMemberAfterCommit(memberId);
+        goalScoreDirtyMarker.markMember(memberId);
+        goalScoreStreamer.evictAfterCommit(memberId);
+    }
+
     @Override
     @Transactional
     public void editCardAlias(Long memberId, CardEditRequestDto request) {
@@ -393,12 +440,12 @@ public class CardServiceImpl implements CardService {
                     .collect(Collectors.toList());
 
             // 카드 정보 조회
-            List<Card> recommendedCards = cardRepository.findCardsByIdIn(cardIds);
+            List<CardRow> recommendedCards = cardRepository.findCardRowsByIdIn(cardIds);
 
             // ID 순서대로 정렬
-            List<Card> sortedCards = cardIds.stream()
+            List<CardRow> sortedCards = cardIds.stream()
                     .map(cardId -> recommendedCards.stream()
-                            .filter(card -> card.getId().equals(cardId))
+                            .filter(card -> card.id().equals(cardId))
                             .findFirst()
                             .orElse(null))
                     .filter(card -> card != null)
@@ -508,12 +555,12 @@ public class CardServiceImpl implements CardService {
                 topCategory, categories, allCardIds, allCardIds.size());
 
         // 6. 카드 정보 조회 (ID 순서 유지)
-        List<Card> recommendedCards = cardRepository.findCardsByIdIn(allCardIds);
+        List<CardRow> recommendedCards = cardRepository.findCardRowsByIdIn(allCardIds);
 
         // 7. ID 순서대로 정렬 (전체 사용자 사용 횟수 순서 유지)
-        List<Card> sortedCards = allCardIds.stream()
+        List<CardRow> sortedCards = allCardIds.stream()
                 .map(cardId -> recommendedCards.stream()
-                        .filter(card -> card.getId().equals(cardId))
+                        .filter(card -> card.id().equals(cardId))
                         .findFirst()
                         .orElse(null))
                 .filter(card -> card != null)
@@ -1,20 +1,18 @@
 package com.app.wooridooribe.service.chat;
 
-import com.app.wooridooribe.entity.CardHistory;
 import com.app.wooridooribe.entity.Goal;
 import com.app.wooridooribe.entity.Member;
-import com.app.wooridooribe.entity.QCardHistory;
-import com.app.wooridooribe.entity.QMemberCard;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.entity.type.StatusType;
 import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.exception.ErrorCode;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryRow;
 import com.app.wooridooribe.repository.goal.GoalRepository;
 import com.knuddels.jtokkit.Encodings;
 import com.knuddels.jtokkit.api.Encoding;
 import com.knuddels.jtokkit.api.EncodingRegistry;
 import com.knuddels.jtokkit.api.EncodingType;
-import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
@@ -48,7 +46,7 @@ public class ChatBotServiceImpl implements ChatBotService {
     private final EmbeddingModel embeddingModel;
     private final VectorStore vectorStore;
     private final GoalRepository goalRepository;
-    private final JPAQueryFactory queryFactory;
+    private final CardHistoryRepository cardHistoryRepository;
 
     // 장기 기억
     private final String personaPrompt;    // 두리 페르소나
@@ -65,7 +63,7 @@ public class ChatBotServiceImpl implements ChatBotService {
             @Qualifier("ollamaEmbeddingModel") EmbeddingModel embeddingModel,
             VectorStore vectorStore,
             GoalRepository goalRepository,
-            JPAQueryFactory queryFactory,
+            CardHistoryRepository cardHistoryRepository,
             @Value("${app.chat.persona}") Resource personaResource,
             @Value("${app.chat.rules}") Resource rulesResource
     ) {
@@ -73,7 +71,7 @@ public class ChatBotServiceImpl implements ChatBotService {
         this.embeddingModel = embeddingModel;
         this.vectorStore = vectorStore;
         this.goalRepository = goalRepository;
-        this.queryFactory = queryFactory;
+        this.cardHistoryRepository = cardHistoryRepository;
 
         try {
             this.personaPrompt = new String(personaResource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
@@ -173,10 +171,10 @@ public class ChatBotServiceImpl implements ChatBotService {
                         .limit(20)
                         .forEach(h -> sb.append(String.format(
                                 "- [%s] %s: %,d원 (%s)\n",
-                                h.getHistoryDate(),
-                                h.getHistoryName(),
-                                h.getHistoryPrice(),
-                                toKor(String.valueOf(h.getHistoryCategory()))
+                                h.historyDate(),
+                                h.historyName(),
+                                h.historyPrice(),
+                                toKor(String.valueOf(h.historyCategory()))
                         )));
 
                 monthlyContext = sb.toString();
@@ -287,54 +285,33 @@ public class ChatBotServiceImpl implements ChatBotService {
 
 
     /**
-     *  QueryDSL로 한 달 소비 내역 + 총합 + 카테고리별 합계(TOP5) 조회
+     *  한 달 소비 내역 + 총합 + 카테고리별 합계(TOP5) 조회
      */
     private MonthlySummary loadMonthlySummary(Long memberId, YearMonth ym) {
 
-        QCardHistory h = QCardHistory.cardHistory;
-        QMemberCard mc = QMemberCard.memberCard;
-
-        int year = ym.getYear();
-        int month = ym.getMonthValue();
-
         // 상세 리스트 (include_total='Y')
-        List<CardHistory> histories = queryFactory.selectFrom(h)
-                .join(h.memberCard, mc)
-                .where(
-                        mc.member.id.eq(memberId),
-                        h.historyDate.year().eq(year),
-                        h.historyDate.month().eq(month),
-                        h.historyStatus.eq(StatusType.ABLE),
-                        h.historyIncludeTotal.eq("Y")
-                )
-                .orderBy(h.historyDate.asc())
-                .fetch();
-
-        // 총합
-        Integer total = queryFactory.select(h.historyPrice.sum())
-                .from(h)
-                .join(h.memberCard, mc)
-                .where(
-                        mc.member.id.eq(memberId),
-                        h.historyDate.year().eq(year),
-                        h.historyDate.month().eq(month),
-                        h.historyStatus.eq(StatusType.ABLE),
-                        h.historyIncludeTotal.eq("Y")
-                )
-                .fetchOne();
-
-        int totalAmount = (total != null ? total : 0);
+        // 월별 조회를 그대로 사용하므로 보관된 이전 달 내역도 함께 조회됨
+        List<CardHistoryRow> histories = cardHistoryRepository
+                .findByUserAndMonthAndStatus(memberId, ym.getYear(), ym.getMonthValue(), StatusType.ABLE)
+                .getHistories().stream()
+                .filter(history -> "Y".equals(history.historyIncludeTotal()))
+                .toList();
+
+        // 총합 (같은 조건이므로 다시 조회하지 않고 상세 리스트에서 합산)
+        int totalAmount = histories.stream()
+                .mapToInt(CardHistoryRow::historyPrice)
+                .sum();
 
         // 카테고리별 합계 + 카운트
         Map<CategoryType, Long> categorySum = histories.stream()
                 .collect(Collectors.groupingBy(
-                        CardHistory::getHistoryCategory,
-                        Collectors.summingLong(CardHistory::getHistoryPrice)
+                        CardHistoryRow::historyCategory,
+                        Collectors.summingLong(CardHistoryRow::historyPrice)
                 ));
 
         Map<CategoryType, Long> categoryCount = histories.stream()
                 .collect(Collectors.groupingBy(
-                        CardHistory::getHistoryCategory,
+                        CardHistoryRow::historyCategory,
                         Collectors.counting()
                 ));
 
@@ -353,7 +330,7 @@ public class ChatBotServiceImpl implements ChatBotService {
     }
 
     private record CategoryStat(CategoryType category, long total, long count) {}
-    private record MonthlySummary(int totalAmount, List<CardHistory> histories, List<CategoryStat> top5) {}
+    private record MonthlySummary(int totalAmount, List<CardHistoryRow> histories, List<CategoryStat> top5) {}
 
 
     /**
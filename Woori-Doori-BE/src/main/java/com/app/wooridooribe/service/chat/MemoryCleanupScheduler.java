@@ -7,12 +7,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+// app.scheduler.memory-cleanup.enabled=true 일 때만 등록됨
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.scheduler.memory-cleanup", name = "enabled", havingValue = "true")
 public class MemoryCleanupScheduler {
 
     private final VectorStore vectorStore;
@@ -10,7 +10,9 @@ import com.app.wooridooribe.entity.type.EmotionType;
 import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.exception.ErrorCode;
 import com.app.wooridooribe.repository.diary.DiaryRepository;
+import com.app.wooridooribe.repository.diary.DiaryRow;
 import com.app.wooridooribe.repository.member.MemberRepository;
+import com.app.wooridooribe.service.version.DataVersionService;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,7 @@ public class DiaryServiceImpl implements DiaryService {
 
     private final DiaryRepository diaryRepository;
     private final MemberRepository memberRepository;
+    private final DataVersionService dataVersionService;
 
     @Override
     public List<DiaryResponseDto> getMonthlyDiaries(Long memberId, LocalDate targetDate) {
@@ -36,8 +39,7 @@ public class DiaryServiceImpl implements DiaryService {
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        Member memberRef = memberRepository.getReferenceById(memberId);
-        List<Diary> diaries = diaryRepository.findByMemberAndMonth(memberRef, startDate, endDate);
+        List<DiaryRow> diaries = diaryRepository.findRowsByMemberAndMonth(memberId, startDate, endDate);
         
         // 일기가 없는 경우 빈 리스트 반환 (정상 상태)
         if (diaries.isEmpty()) {
@@ -46,7 +48,7 @@ public class DiaryServiceImpl implements DiaryService {
 
         // 방어적 소유권 검증(쿼리로 필터되지만 레이어드 방어)
         boolean anyNotMine = diaries.stream()
-                .anyMatch(d -> !memberId.equals(d.getMember().getId()));
+                .anyMatch(d -> !memberId.equals(d.memberId()));
         if (anyNotMine) {
             throw new CustomException(ErrorCode.DIARY_ISNOTYOURS);
         }
@@ -56,7 +58,7 @@ public class DiaryServiceImpl implements DiaryService {
 
     @Override
     public DiaryResponseDto getDiaryDetail(Long diaryId, Long memberId) {
-        Diary diary = diaryRepository.findById(diaryId)
+        DiaryRow diary = diaryRepository.findRowById(diaryId)
                 .orElseThrow(() -> new CustomException(ErrorCode.DIARY_ISNULL));
 
         assertOwnership(diary, memberId);
@@ -95,6 +97,7 @@ public class DiaryServiceImpl implements DiaryService {
                             .diaryContent(request.getDiaryContent())
                             .build()
             );
+            dataVersionService.bumpAfterCommit(memberId, YearMonth.from(saved.getDiaryDay()));
             return new DiaryCreateResponseDto(saved.getId(), "소비 일기가 성공적으로 등록되었습니다.");
         } catch (DataIntegrityViolationException e) {
             // DB 유니크 인덱스(uq_member_day) 하드가드 (동시성 대비)
@@ -141,6 +144,7 @@ public class DiaryServiceImpl implements DiaryService {
                 diary.setDiaryContent(request.getDiaryContent());
             }
             // @Transactional 이므로 flush 시 업데이트 반영
+            dataVersionService.bumpAfterCommit(memberId, YearMonth.from(diary.getDiaryDay()));
             return DiaryResponseDto.from(diary);
         } catch (Exception e) {
             throw new CustomException(ErrorCode.DIARY_UPDATE_FAIL);
@@ -159,17 +163,15 @@ public class DiaryServiceImpl implements DiaryService {
 
         try {
             diaryRepository.delete(diary);
+            dataVersionService.bumpAfterCommit(memberId, YearMonth.from(diary.getDiaryDay()));
         } catch (Exception e) {
             throw new CustomException(ErrorCode.DIARY_DELETE_FAIL);
         }
     }
 
     // 공통 소유권 검증 헬퍼
-    private void assertOwnership(Diary diary, Long memberId) {
-        if (diary == null || diary.getMember() == null || diary.getMember().getId() == null) {
-            throw new CustomException(ErrorCode.DIARY_ISNOTYOURS);
-        }
-        if (!memberId.equals(diary.getMember().getId())) {
+    private void assertOwnership(DiaryRow diary, Long memberId) {
+        if (diary.memberId() == null || !memberId.equals(diary.memberId())) {
             throw new CustomException(ErrorCode.DIARY_ISNOTYOURS);
         }
     }
@@ -11,6 +11,7 @@ import com.querydsl.core.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,6 +26,7 @@ public class FranchiseServiceImpl implements FranchiseService {
 
     /** 카테고리별 가맹점 TOP5 조회 */
     @Override
+    @Transactional(readOnly = true)
     public List<FranchiseFileDto> getFranchise(Long memberId, String category){
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.withDayOfMonth(1);
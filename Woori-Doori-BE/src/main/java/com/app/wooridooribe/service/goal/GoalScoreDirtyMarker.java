@@ -0,0 +1,85 @@
+package com.app.wooridooribe.service.goal;
+
+import com.app.wooridooribe.repository.goal.GoalScoreDirtyJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 목표 점수 재계산 대상(회원-목표 월) 표시 (app.goal-score.dirty-rescore.enabled=true 일 때만 기록)
+ * 점수에 영향을 주는 변경이 있을 때 호출하는 쪽 트랜잭션 안에서 표시하며, GoalScoreDirtyRescoreService가 표시된 목표만 다시 계산합니다.
+ *
+ * 지출 날짜 d가 영향을 주는 목표 월:
+ * - d가 속한 달
+ * - 지난 달 목표 기간 [지난 달 1일, +30일]에 d가 포함되면 지난 달
+ * - 다음 달 (지속성 점수가 지난 달 지출을 사용)
+ * 아직 시작하지 않은 달은 표시하지 않습니다.
+ */
+@Service
+@Slf4j
+public class GoalScoreDirtyMarker {
+
+    private final GoalScoreDirtyJdbcRepository goalScoreDirtyJdbcRepository;
+    private final boolean enabled;
+
+    public GoalScoreDirtyMarker(GoalScoreDirtyJdbcRepository goalScoreDirtyJdbcRepository,
+                                @Value("${app.goal-score.dirty-rescore.enabled:false}") boolean enabled) {
+        this.goalScoreDirtyJdbcRepository = goalScoreDirtyJdbcRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 결제 내역 추가/수정 (날짜별로 영향을 주는 목표 월 표시)
+     */
+    public void markSpending(Long memberId, LocalDate historyDate) {
+        markSpending(memberId, List.of(historyDate));
+    }
+
+    public void markSpending(Long memberId, Collection<LocalDate> historyDates) {
+        Set<YearMonth> months = new TreeSet<>();
+        for (LocalDate date : historyDates) {
+            YearMonth month = YearMonth.from(date);
+            months.add(month);
+            YearMonth lastMonth = month.minusMonths(1);
+            if (!date.isAfter(lastMonth.atDay(1).plusDays(30))) {
+                months.add(lastMonth);
+            }
+            months.add(month.plusMonths(1));
+        }
+        mark(memberId, months);
+    }
+
+    /**
+     * 목표 설정/수정 (해당 목표 월과, 지속성 점수에 쓰이는 다음 달)
+     */
+    public void markGoal(Long memberId, YearMonth goalMonth) {
+        mark(memberId, List.of(goalMonth, goalMonth.plusMonths(1)));
+    }
+
+    /**
+     * 여러 달에 걸친 변경(필수 카테고리 일괄 제외 등). 점수가 바뀔 수 있는 이번 달과 지난 달을 표시합니다.
+     */
+    public void markMember(Long memberId) {
+        YearMonth thisMonth = YearMonth.now();
+        mark(memberId, List.of(thisMonth.minusMonths(1), thisMonth));
+    }
+
+    private void mark(Long memberId, Collection<YearMonth> months) {
+        if (!enabled || memberId == null) {
+            return;
+        }
+        YearMonth thisMonth = YearMonth.now();
+        List<YearMonth> started = months.stream()
+                .filter(month -> !month.isAfter(thisMonth))
+                .toList();
+        goalScoreDirtyJdbcRepository.mark(memberId, started);
+        log.debug("목표 점수 재계산 대상 표시: memberId={}, months={}", memberId, started);
+    }
+}
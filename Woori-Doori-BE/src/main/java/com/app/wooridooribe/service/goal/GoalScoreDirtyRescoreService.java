@@ -0,0 +1,62 @@
+package com.app.wooridooribe.service.goal;
+
+import com.app.wooridooribe.repository.goal.GoalScoreDirtyJdbcRepository;
+import com.app.wooridooribe.repository.goal.GoalScoreDirtyJdbcRepository.DirtyGoal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 재계산 대상으로 표시된 목표만 점수를 다시 계산 (전체 활성 회원을 훑는 월말 계산의 증분 모드)
+ * 표시 하나마다 GoalService.rescoreDirtyGoal 트랜잭션에서 점수 저장과 표시 삭제를 함께 커밋합니다.
+ * 한 번 실행할 때 표시 id 순으로 한 바퀴만 돌므로, 계속 실패하는 표시가 있어도 다음 실행으로 넘어갑니다.
+ */
+@Service
+@Slf4j
+public class GoalScoreDirtyRescoreService {
+
+    private final GoalScoreDirtyJdbcRepository goalScoreDirtyJdbcRepository;
+    private final GoalService goalService;
+    private final int pageSize;
+
+    public GoalScoreDirtyRescoreService(GoalScoreDirtyJdbcRepository goalScoreDirtyJdbcRepository,
+                                        GoalService goalService,
+                                        @Value("${app.goal-score.dirty-rescore.page-size:500}") int pageSize) {
+        this.goalScoreDirtyJdbcRepository = goalScoreDirtyJdbcRepository;
+        this.goalService = goalService;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * @return 점수를 다시 저장한 목표 수
+     */
+    public int rescoreDirty() {
+        int rescored = 0;
+        int skipped = 0;
+        int failed = 0;
+        long afterId = 0L;
+
+        List<DirtyGoal> page;
+        do {
+            page = goalScoreDirtyJdbcRepository.findDirty(afterId, pageSize);
+            for (DirtyGoal dirty : page) {
+                try {
+                    if (goalService.rescoreDirtyGoal(dirty)) {
+                        rescored++;
+                    } else {
+                        skipped++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.error("목표 점수 재계산 실패 - memberId: {}, month: {}", dirty.memberId(), dirty.month(), e);
+                }
+                afterId = dirty.id();
+            }
+        } while (page.size() == pageSize);
+
+        log.info("목표 점수 증분 재계산 완료 - 재계산: {}, 목표 없음: {}, 실패: {}", rescored, skipped, failed);
+        return rescored;
+    }
+}
@@ -0,0 +1,123 @@
+package com.app.wooridooribe.service.goal;
+
+import com.app.wooridooribe.repository.goal.GoalScoreJdbcRepository;
+import com.app.wooridooribe.repository.goal.GoalScoreJdbcRepository.CategorySplit;
+import com.app.wooridooribe.repository.goal.GoalScoreJdbcRepository.DailyStats;
+import com.app.wooridooribe.repository.goal.GoalScoreJdbcRepository.GoalScores;
+import com.app.wooridooribe.repository.goal.GoalScoreJdbcRepository.GoalTarget;
+import com.app.wooridooribe.service.version.DataVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전체 회원 목표 점수 일괄 계산 (집합 기반)
+ * 회원마다 목표/지출을 따로 조회하는 대신 GROUP BY member_id 집계 몇 번으로 모든 회원의 입력값을 읽고,
+ * 점수 4개는 메모리에서 계산한 뒤 chunk-size 건씩 배치 UPDATE로 저장합니다.
+ * 각 chunk는 별도 트랜잭션이라 전체 회원을 한 트랜잭션으로 묶지 않으며, 커밋된 chunk의 회원만 데이터 버전을 올립니다.
+ */
+@Service
+@Slf4j
+public class GoalScoreSetService {
+
+    private final GoalScoreJdbcRepository goalScoreJdbcRepository;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public GoalScoreSetService(GoalScoreJdbcRepository goalScoreJdbcRepository,
+                               DataVersionService dataVersionService,
+                               @Qualifier("db1TransactionManager") PlatformTransactionManager transactionManager,
+                               @Value("${app.goal-score.chunk-size:1000}") int chunkSize) {
+        this.goalScoreJdbcRepository = goalScoreJdbcRepository;
+        this.dataVersionService = dataVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 호출하는 쪽 트랜잭션에 합류하지 않고 chunk마다 따로 커밋
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * loginSince 이후 로그인한 회원 중 해당 월 목표가 있는 회원의 점수를 모두 계산해 저장합니다.
+     * 회원별 계산(GoalServiceImpl.calculateGoalScoresForMonth)과 같은 기간/기준을 사용합니다.
+     *
+     * @return 점수를 저장한 목표 수
+     */
+    public int scoreAll(YearMonth month, LocalDateTime loginSince) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = startDate.plusDays(30);
+        LocalDate lastMonthStart = startDate.minusMonths(1);
+        LocalDate lastMonthEnd = lastMonthStart.plusDays(30);
+
+        List<GoalTarget> targets = goalScoreJdbcRepository.findActiveGoals(startDate, loginSince);
+        if (targets.isEmpty()) {
+            log.info("집합 기반 점수 계산 - 대상 목표 없음: month={}", month);
+            return 0;
+        }
+
+        Map<Long, DailyStats> dailyStats = goalScoreJdbcRepository.findDailyStats(startDate, endDate);
+        Map<Long, CategorySplit> splits = goalScoreJdbcRepository.findCategorySplit(
+                startDate, endDate, ScoreEngine.ESSENTIAL_CATEGORIES);
+        Map<Long, Integer> lastGoalMoney = goalScoreJdbcRepository.findGoalMoneyByMember(lastMonthStart);
+        Map<Long, CategorySplit> lastSplits = lastGoalMoney.isEmpty()
+                ? Map.of()
+                : goalScoreJdbcRepository.findCategorySplit(
+                        lastMonthStart, lastMonthEnd, ScoreEngine.ESSENTIAL_CATEGORIES);
+
+        List<GoalScores> scores = new ArrayList<>(targets.size());
+        for (GoalTarget target : targets) {
+            scores.add(score(target,
+                    dailyStats.getOrDefault(target.memberId(), DailyStats.EMPTY),
+                    splits.getOrDefault(target.memberId(), CategorySplit.EMPTY),
+                    lastGoalMoney,
+                    lastSplits.getOrDefault(target.memberId(), CategorySplit.EMPTY)));
+        }
+
+        int saved = 0;
+        for (int from = 0; from < scores.size(); from += chunkSize) {
+            List<GoalScores> chunk = scores.subList(from, Math.min(from + chunkSize, scores.size()));
+            Integer updated = transactionTemplate.execute(status -> goalScoreJdbcRepository.updateScores(chunk));
+            saved += updated != null ? updated : 0;
+            dataVersionService.bumpAll(chunk.stream().map(GoalScores::memberId).toList(), month);
+        }
+
+        log.info("집합 기반 점수 계산 완료: month={}, 대상 목표 수={}, 저장={}, chunk-size={}",
+                month, targets.size(), saved, chunkSize);
+        return saved;
+    }
+
+    private static GoalScores score(GoalTarget target, DailyStats stats, CategorySplit split,
+                                    Map<Long, Integer> lastGoalMoney, CategorySplit lastSplit) {
+        // 목표 금액은 만원 단위로 저장되어 있으므로 원 단위로 변환 (* 10000)
+        int goalMoney = (target.previousGoalMoney() != null ? target.previousGoalMoney() : 0) * 10000;
+        int actualSpending = (int) stats.total();
+
+        // 지난 달 목표가 있을 때만 지속성 계산에 지난 달 지출 반영 (없으면 0)
+        int lastMonthSpending = 0;
+        int lastMonthGoal = 0;
+        Integer lastMoney = lastGoalMoney.get(target.memberId());
+        if (lastMoney != null) {
+            lastMonthSpending = (int) (lastSplit.essential() + lastSplit.nonEssential());
+            lastMonthGoal = lastMoney * 10000;
+        }
+
+        return new GoalScores(
+                target.goalId(),
+                target.memberId(),
+                ScoreEngine.achievementScore(goalMoney, actualSpending),
+                ScoreEngine.stabilityScore(stats.dailyMean(), stats.dailyStd()),
+                ScoreEngine.ratioScore((int) split.essential(), (int) split.nonEssential()),
+                ScoreEngine.continuityScore(actualSpending, goalMoney, lastMonthSpending, lastMonthGoal));
+    }
+}
@@ -0,0 +1,365 @@
+package com.app.wooridooribe.service.goal;
+
+import com.app.wooridooribe.entity.Goal;
+import com.app.wooridooribe.entity.type.CategoryType;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
+import com.app.wooridooribe.repository.cardHistory.MemberMonthStats;
+import com.app.wooridooribe.repository.goal.GoalRepository;
+import com.app.wooridooribe.repository.goal.GoalScoreJdbcRepository;
+import com.app.wooridooribe.repository.goal.GoalScoreJdbcRepository.GoalScores;
+import com.app.wooridooribe.service.version.DataVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이번 달 목표 점수 실시간 갱신 (app.goal-score.streaming.enabled=true 일 때만 동작)
+ * 결제 동기화/소비 내역 수정이 커밋될 때마다 회원의 이번 달 목표 기간 통계를 증분으로 갱신하고,
+ * 이달 데이터를 다시 조회하지 않고 goal_*_score 4개를 저장합니다.
+ *
+ * key: goal_stream:{memberId}:{yyyyMM} (Redis Hash)
+ * field: goal_id, goal, last_spend, last_goal (점수 계산 기준, 초기화 시 채움)
+ *        total, ess, non (총지출 포함 합계, 필수/비필수 합계)
+ *        d:{i}, c:{i} (목표 시작일로부터 i일째 총지출 포함 금액/건수)
+ *        n, mean, m2 (결제가 있는 날의 일별 금액에 대한 Welford 누적값, 소비 안정성용)
+ *
+ * 하루 금액이 바뀌면 Welford 누적값에서 이전 값을 빼고 새 값을 더하므로 갱신 비용은 이벤트당 O(1)입니다.
+ * 키가 없으면(만료/최초/필수 카테고리·목표 변경 후) 회원별 점수 계산과 같은 SQL 통계로 다시 채웁니다.
+ * 지난 달 기준값과 목표 금액은 초기화 시점 값이므로, 바뀌는 곳(목표 설정, 필수 카테고리 변경)에서 키를 지웁니다.
+ * 초기화와 겹친 이벤트로 생길 수 있는 오차는 지출 누적값 재계산 주기마다 키를 지워(reconcile) 다시 채우는 방식으로 맞춥니다.
+ */
+@Service
+@Slf4j
+public class GoalScoreStreamer {
+
+    private static final String KEY_PREFIX = "goal_stream:";
+    private static final long TTL_DAYS = 35;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final List<String> STATE_FIELDS = List.of(
+            "goal_id", "goal", "last_spend", "last_goal", "total", "ess", "non", "n", "mean", "m2");
+
+    // 키가 있을 때만 하루 금액/건수와 합계를 증감하고 Welford 누적값을 갱신한 뒤 STATE_FIELDS 순서로 반환, 없으면 nil
+    // ARGV: [ttlSeconds, dayIndex, amountDelta, countDelta, essentialDelta, nonEssentialDelta]
+    private static final RedisScript<List> APPLY = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end " +
+            "local dayField = 'd:' .. ARGV[2] " +
+            "local countField = 'c:' .. ARGV[2] " +
+            "local oldSum = tonumber(redis.call('HGET', KEYS[1], dayField) or '0') " +
+            "local oldCount = tonumber(redis.call('HGET', KEYS[1], countField) or '0') " +
+            "local newSum = redis.call('HINCRBY', KEYS[1], dayField, ARGV[3]) " +
+            "local newCount = redis.call('HINCRBY', KEYS[1], countField, ARGV[4]) " +
+            "redis.call('HINCRBY', KEYS[1], 'total', ARGV[3]) " +
+            "redis.call('HINCRBY', KEYS[1], 'ess', ARGV[5]) " +
+            "redis.call('HINCRBY', KEYS[1], 'non', ARGV[6]) " +
+            "if oldSum ~= newSum or (oldCount > 0) ~= (newCount > 0) then " +
+            "  local n = tonumber(redis.call('HGET', KEYS[1], 'n') or '0') " +
+            "  local mean = tonumber(redis.call('HGET', KEYS[1], 'mean') or '0') " +
+            "  local m2 = tonumber(redis.call('HGET', KEYS[1], 'm2') or '0') " +
+            "  if oldCount > 0 then " +
+            "    if n <= 1 then n = 0 mean = 0 m2 = 0 " +
+            "    else " +
+            "      local removedMean = (n * mean - oldSum) / (n - 1) " +
+            "      m2 = m2 - (oldSum - mean) * (oldSum - removedMean) " +
+            "      mean = removedMean n = n - 1 " +
+            "    end " +
+            "  end " +
+            "  if newCount > 0 then " +
+            "    n = n + 1 " +
+            "    local delta = newSum - mean " +
+            "    mean = mean + delta / n " +
+            "    m2 = m2 + delta * (newSum - mean) " +
+            "  end " +
+            "  if m2 < 0 then m2 = 0 end " +
+            "  redis.call('HSET', KEYS[1], 'n', n, 'mean', string.format('%.17g', mean), 'm2', string.format('%.17g', m2)) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return redis.call('HMGET', KEYS[1], 'goal_id', 'goal', 'last_spend', 'last_goal', 'total', 'ess', 'non', 'n', 'mean', 'm2')",
+            List.class);
+
+    // 키가 없을 때만 전체 필드를 채움 (동시에 다른 요청이 먼저 채웠으면 그 값을 유지)
+    // ARGV: [ttlSeconds, field1, value1, ...]
+    private static final RedisScript<Long> SEED_IF_ABSENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "for i = 2, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final GoalRepository goalRepository;
+    private final CardHistoryRepository cardHistoryRepository;
+    private final GoalScoreJdbcRepository goalScoreJdbcRepository;
+    private final DataVersionService dataVersionService;
+    private final boolean enabled;
+
+    public GoalScoreStreamer(StringRedisTemplate redisTemplate,
+                             GoalRepository goalRepository,
+                             CardHistoryRepository cardHistoryRepository,
+                             GoalScoreJdbcRepository goalScoreJdbcRepository,
+                             DataVersionService dataVersionService,
+                             @Value("${app.goal-score.streaming.enabled:false}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.goalRepository = goalRepository;
+        this.cardHistoryRepository = cardHistoryRepository;
+        this.goalScoreJdbcRepository = goalScoreJdbcRepository;
+        this.dataVersionService = dataVersionService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 이번 달 목표 기간 통계 (점수 계산 입력값)
+     *
+     * @param goalId    이번 달 목표 ID (목표가 없으면 null)
+     * @param goalMoney 목표 금액 (원)
+     * @param dailyMean 결제가 있는 날의 일별 지출 평균
+     * @param dailyStd  결제가 있는 날의 일별 지출 (모)표준편차
+     */
+    record StreamState(Long goalId, int goalMoney, Integer lastMonthSpending, Integer lastMonthGoal,
+                       int total, int essential, int nonEssential, double dailyMean, double dailyStd) {
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 지출 변경을 반영하고 이번 달 목표 점수를 저장합니다. (롤백 시 반영하지 않음)
+     *
+     * @param historyDate 결제 일자 (이번 달 목표 기간 밖이면 무시)
+     * @param deltas      카테고리 → 총지출 포함 금액 증감
+     * @param countDelta  총지출 포함 결제 건수 증감 (추가/포함 +1, 제외 -1, 금액·카테고리 수정 0)
+     */
+    public void applyAfterCommit(Long memberId, LocalDate historyDate, Map<CategoryType, Integer> deltas, int countDelta) {
+        if (!enabled || memberId == null || (deltas.isEmpty() && countDelta == 0)) {
+            return;
+        }
+        runAfterCommit(() -> {
+            try {
+                apply(memberId, historyDate, deltas, countDelta);
+            } catch (Exception e) {
+                log.error("목표 점수 실시간 갱신 중 오류 발생: memberId={}, date={}", memberId, historyDate, e);
+            }
+        });
+    }
+
+    /**
+     * 지난 달 기준값/목표 금액/필수 카테고리처럼 초기화 시점에 읽은 값이 바뀌면 커밋 이후 이번 달 통계를 지웁니다.
+     */
+    public void evictAfterCommit(Long memberId) {
+        if (!enabled) {
+            return;
+        }
+        runAfterCommit(() -> {
+            try {
+                redisTemplate.delete(key(memberId, YearMonth.now()));
+            } catch (Exception e) {
+                log.warn("목표 점수 실시간 통계 삭제 실패: memberId={}, error={}", memberId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 이번 달 통계 키를 모두 지워 다음 이벤트에서 SQL 통계로 다시 채우게 합니다.
+     * 초기화(SQL 조회 후 SEED)와 같은 시점에 커밋된 변경은 SQL 통계와 증분에 함께 반영되어 두 번 더해질 수 있으므로,
+     * SpendingAccumulatorReconcileScheduler 주기로 실행해 오차가 다음 재계산 주기를 넘기지 않게 합니다.
+     *
+     * @return 지운 키 수
+     */
+    public int reconcile() {
+        if (!enabled) {
+            return 0;
+        }
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*:" + YearMonth.now().format(MONTH_FORMAT))
+                .count(1000)
+                .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        return keys.size();
+    }
+
+    private void apply(Long memberId, LocalDate historyDate, Map<CategoryType, Integer> deltas, int countDelta) {
+        YearMonth month = YearMonth.now();
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = startDate.plusDays(30);
+        if (historyDate.isBefore(startDate) || historyDate.isAfter(endDate)) {
+            return; // 지난 달 목표는 월말/증분 재계산에서 처리
+        }
+
+        long amountDelta = 0;
+        long essentialDelta = 0;
+        for (Map.Entry<CategoryType, Integer> entry : deltas.entrySet()) {
+            amountDelta += entry.getValue();
+            if (ScoreEngine.ESSENTIAL_CATEGORIES.contains(entry.getKey())) {
+                essentialDelta += entry.getValue();
+            }
+        }
+
+        StreamState state;
+        try {
+            List<?> values = redisTemplate.execute(APPLY, List.of(key(memberId, month)),
+                    String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)),
+                    String.valueOf(ChronoUnit.DAYS.between(startDate, historyDate)),
+                    String.valueOf(amountDelta),
+                    String.valueOf(countDelta),
+                    String.valueOf(essentialDelta),
+                    String.valueOf(amountDelta - essentialDelta));
+            state = values != null ? toState(values) : seed(memberId, month);
+        } catch (Exception e) {
+            // Redis 장애 시 이번 이벤트는 건너뜀 (월말/증분 재계산이 DB 기준으로 맞춤)
+            log.warn("목표 점수 실시간 통계 갱신 실패: memberId={}, month={}, error={}", memberId, month, e.getMessage());
+            return;
+        }
+
+        if (state.goalId() == null) {
+            return;
+        }
+        GoalScores scores = new GoalScores(
+                state.goalId(),
+                memberId,
+                ScoreEngine.achievementScore(state.goalMoney(), state.total()),
+                ScoreEngine.stabilityScore(state.dailyMean(), state.dailyStd()),
+                ScoreEngine.ratioScore(state.essential(), state.nonEssential()),
+                ScoreEngine.continuityScore(state.total(), state.goalMoney(),
+                        state.lastMonthSpending() != null ? state.lastMonthSpending() : 0,
+                        state.lastMonthGoal() != null ? state.lastMonthGoal() : 0));
+        goalScoreJdbcRepository.updateScores(List.of(scores));
+        dataVersionService.bump(memberId, month);
+    }
+
+    /**
+     * 회원별 점수 계산(GoalServiceImpl.calculateGoalScoresForMonth)과 같은 SQL 통계로 이번 달 통계를 채웁니다.
+     * 커밋 이후에 호출되므로 SQL 통계에는 이번 변경이 이미 포함되어 있습니다.
+     */
+    private StreamState seed(Long memberId, YearMonth month) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = startDate.plusDays(30);
+        Goal goal = goalRepository.findGoalByMemberIdAndStartDate(memberId, startDate).orElse(null);
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)));
+        if (goal == null) {
+            // 목표가 없는 회원도 키를 남겨 이벤트마다 다시 조회하지 않음 (목표 설정 시 삭제)
+            args.addAll(List.of("goal_id", ""));
+            redisTemplate.execute(SEED_IF_ABSENT, List.of(key(memberId, month)), args.toArray());
+            return new StreamState(null, 0, null, null, 0, 0, 0, 0.0, 0.0);
+        }
+
+        int goalMoney = (goal.getPreviousGoalMoney() != null ? goal.getPreviousGoalMoney() : 0) * 10000;
+        MemberMonthStats stats = cardHistoryRepository.getMemberMonthStats(
+                memberId, startDate, endDate, ScoreEngine.ESSENTIAL_CATEGORIES);
+
+        LocalDate lastMonthStart = startDate.minusMonths(1);
+        Goal lastGoal = goalRepository.findGoalByMemberIdAndStartDate(memberId, lastMonthStart).orElse(null);
+        Integer lastMonthSpending = null;
+        Integer lastMonthGoal = null;
+        if (lastGoal != null) {
+            lastMonthSpending = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
+                    memberId, lastMonthStart, lastMonthStart.plusDays(30));
+            lastMonthGoal = lastGoal.getPreviousGoalMoney() != null ? lastGoal.getPreviousGoalMoney() * 10000 : null;
+        }
+
+        // 결제가 있는 날의 일별 금액으로 Welford 누적값 계산
+        int[] sums = stats.daily().includedSums();
+        int[] counts = stats.daily().includedCounts();
+        long n = 0;
+        double mean = 0.0;
+        double m2 = 0.0;
+        for (int i = 0; i < sums.length; i++) {
+            if (sums[i] != 0) {
+                args.addAll(List.of("d:" + i, String.valueOf(sums[i])));
+            }
+            if (counts[i] > 0) {
+                args.addAll(List.of("c:" + i, String.valueOf(counts[i])));
+                n++;
+                double delta = sums[i] - mean;
+                mean += delta / n;
+                m2 += delta * (sums[i] - mean);
+            }
+        }
+
+        args.addAll(List.of(
+                "goal_id", String.valueOf(goal.getId()),
+                "goal", String.valueOf(goalMoney),
+                "last_spend", lastMonthSpending != null ? String.valueOf(lastMonthSpending) : "",
+                "last_goal", lastMonthGoal != null ? String.valueOf(lastMonthGoal) : "",
+                "total", String.valueOf(stats.total()),
+                "ess", String.valueOf(stats.essential()),
+                "non", String.valueOf(stats.nonEssential()),
+                "n", String.valueOf(n),
+                "mean", String.valueOf(mean),
+                "m2", String.valueOf(m2)));
+        redisTemplate.execute(SEED_IF_ABSENT, List.of(key(memberId, month)), args.toArray());
+        log.debug("목표 점수 실시간 통계 초기화: memberId={}, month={}, total={}", memberId, month, stats.total());
+
+        return new StreamState(goal.getId(), goalMoney, lastMonthSpending, lastMonthGoal,
+                stats.total(), stats.essential(), stats.nonEssential(), mean, n > 0 ? Math.sqrt(m2 / n) : 0.0);
+    }
+
+    private StreamState toState(List<?> values) {
+        Long goalId = parseLong(values.get(STATE_FIELDS.indexOf("goal_id")));
+        long n = orZero(parseLong(values.get(STATE_FIELDS.indexOf("n"))));
+        double m2 = parseDouble(values.get(STATE_FIELDS.indexOf("m2")));
+        Long lastSpend = parseLong(values.get(STATE_FIELDS.indexOf("last_spend")));
+        Long lastGoal = parseLong(values.get(STATE_FIELDS.indexOf("last_goal")));
+        return new StreamState(
+                goalId,
+                (int) orZero(parseLong(values.get(STATE_FIELDS.indexOf("goal")))),
+                lastSpend != null ? lastSpend.intValue() : null,
+                lastGoal != null ? lastGoal.intValue() : null,
+                (int) orZero(parseLong(values.get(STATE_FIELDS.indexOf("total")))),
+                (int) orZero(parseLong(values.get(STATE_FIELDS.indexOf("ess")))),
+                (int) orZero(parseLong(values.get(STATE_FIELDS.indexOf("non")))),
+                parseDouble(values.get(STATE_FIELDS.indexOf("mean"))),
+                n > 0 ? Math.sqrt(m2 / n) : 0.0);
+    }
+
+    private static Long parseLong(Object value) {
+        if (value == null || value.toString().isEmpty()) {
+            return null;
+        }
+        return (long) Double.parseDouble(value.toString());
+    }
+
+    private static double parseDouble(Object value) {
+        return value == null || value.toString().isEmpty() ? 0.0 : Double.parseDouble(value.toString());
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String key(Long memberId, YearMonth month) {
+        return KEY_PREFIX + memberId + ":" + month.format(MONTH_FORMAT);
+    }
+}
@@ -2,6 +2,7 @@ package com.app.wooridooribe.service.goal;
 
 
 import com.app.wooridooribe.controller.dto.*;
+import com.app.wooridooribe.repository.goal.GoalScoreDirtyJdbcRepository.DirtyGoal;
 
 import java.util.List;
 
@@ -23,6 +24,12 @@ public interface GoalService {
      * @return 처리된 유저 수
      */
     int calculateAllActiveUsersScores();
+
+    /**
+     * 재계산 대상으로 표시된 목표 하나의 점수를 다시 계산하고, 같은 트랜잭션에서 표시를 지움
+     * @return 점수를 저장했으면 true (목표가 없으면 표시만 지우고 false)
+     */
+    boolean rescoreDirtyGoal(DirtyGoal dirty);
     
     DashboardResponseDto getDashboardData(Long memberId);
     ReportResponseDto getReportData(Long memberId);
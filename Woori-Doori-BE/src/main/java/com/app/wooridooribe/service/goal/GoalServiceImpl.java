@@ -9,19 +9,24 @@ import com.app.wooridooribe.entity.type.JobType;
 import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.exception.ErrorCode;
 import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
+import com.app.wooridooribe.repository.cardHistory.MemberMonthStats;
 import com.app.wooridooribe.repository.goal.GoalRepository;
+import com.app.wooridooribe.repository.goal.GoalScoreDirtyJdbcRepository;
+import com.app.wooridooribe.repository.goal.GoalScoreDirtyJdbcRepository.DirtyGoal;
 import com.app.wooridooribe.repository.member.MemberRepository;
 import com.app.wooridooribe.repository.categoryMember.CategoryMemberRepository;
-import com.querydsl.core.Tuple;
+import com.app.wooridooribe.service.spending.SpendingAccumulator;
+import com.app.wooridooribe.service.version.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.time.LocalDateTime;
 
 @Service
@@ -33,16 +38,20 @@ public class GoalServiceImpl implements GoalService {
     private final GoalRepository goalRepository;
     private final MemberRepository memberRepository;
     private final CardHistoryRepository cardHistoryRepository;
+    private final SpendingAccumulator spendingAccumulator;
+    private final DataVersionService dataVersionService;
     private final CategoryMemberRepository categoryMemberRepository;
+    private final GoalScoreSetService goalScoreSetService;
+    private final GoalScoreDirtyMarker goalScoreDirtyMarker;
+    private final GoalScoreStreamer goalScoreStreamer;
+    private final GoalScoreDirtyJdbcRepository goalScoreDirtyJdbcRepository;
+
+    // true: 전체 회원 점수를 집계 쿼리 + 배치 UPDATE로 계산, false: 회원별로 계산
+    @Value("${app.goal-score.set-based:true}")
+    private boolean setBasedScoring;
     
     // 필수 카테고리 목록 (필수/비필수 구분용)
-    private static final List<CategoryType> ESSENTIAL_CATEGORIES = Arrays.asList(
-            CategoryType.FOOD,           // 식비
-            CategoryType.TRANSPORTATION, // 교통/자동차
-            CategoryType.HOUSING,        // 주거
-            CategoryType.HOSPITAL,       // 병원
-            CategoryType.EDUCATION       // 교육
-    );
+    private static final List<CategoryType> ESSENTIAL_CATEGORIES = ScoreEngine.ESSENTIAL_CATEGORIES;
 
     @Override
     public GoalResponseDto setGoal(Long memberId, SetGoalDto setGoalDto) {
@@ -125,6 +134,10 @@ public class GoalServiceImpl implements GoalService {
             }
         }
 
+        dataVersionService.bumpAfterCommit(member.getId(), YearMonth.from(setGoalDto.getGoalStartDate()));
+        goalScoreDirtyMarker.markGoal(member.getId(), YearMonth.from(setGoalDto.getGoalStartDate()));
+        goalScoreStreamer.evictAfterCommit(member.getId());
+
         return GoalResponseDto.builder()
                 .thisMonthGoalExists(thisMonthGoalExists)
                 .nextMonthGoalExists(nextMonthGoalExists)
@@ -165,6 +178,10 @@ public class GoalServiceImpl implements GoalService {
         // 해당 카테고리의 결제내역을 총지출에서 제외(N) 처리
         if (!essentialCategories.isEmpty()) {
             cardHistoryRepository.updateIncludeTotalByMemberAndCategories(memberId, essentialCategories, false);
+            spendingAccumulator.evictAfterCommit(memberId);
+            dataVersionService.bumpMemberAfterCommit(memberId);
+            goalScoreDirtyMarker.markMember(memberId);
+            goalScoreStreamer.evictAfterCommit(memberId);
         }
     }
     
@@ -207,31 +224,9 @@ public class GoalServiceImpl implements GoalService {
         // 목표 금액은 만원 단위로 저장되어 있으므로 원 단위로 변환 (* 10000)
         int goalMoney = (goalMoneyInteger != null ? goalMoneyInteger : 0) * 10000;
 
-        // 이번 달 지출 데이터 조회
-        int actualSpending = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
-                memberId, startDate, endDate);
-
-        // 일별 지출 조회 (안정성 계산용)
-        List<Integer> dailySpending = cardHistoryRepository.getDailySpendingByMemberAndDateRange(
-                memberId, startDate, endDate);
-
-        // 필수/비필수 지출 조회
-        List<Tuple> categorySpendingTuples = cardHistoryRepository
-                .getEssentialNonEssentialSpending(memberId, startDate, endDate, ESSENTIAL_CATEGORIES);
-        
-        int essentialSpending = 0;
-        int nonEssentialSpending = 0;
-        
-        for (Tuple tuple : categorySpendingTuples) {
-            String isEssential = tuple.get(0, String.class);
-            Integer amount = tuple.get(1, Integer.class);
-            
-            if ("essential".equals(isEssential)) {
-                essentialSpending = amount != null ? amount : 0;
-            } else if ("nonEssential".equals(isEssential)) {
-                nonEssentialSpending = amount != null ? amount : 0;
-            }
-        }
+        // 이번 달 지출 통계 (총액/일별/필수·비필수/카테고리별) 한 번에 조회
+        MemberMonthStats stats = cardHistoryRepository.getMemberMonthStats(
+                memberId, startDate, endDate, ESSENTIAL_CATEGORIES);
 
         // 지난 달 데이터 조회 (지속성 계산용)
         LocalDate lastMonthStart = startDate.minusMonths(1);
@@ -240,21 +235,25 @@ public class GoalServiceImpl implements GoalService {
         Goal lastGoal = goalRepository.findGoalByMemberIdAndStartDate(memberId, lastMonthStart)
                 .orElse(null);
 
-        Integer lastMonthSpending = null;
-        Integer lastMonthGoal = null;
-        if (lastGoal != null) {
+        // 지난 달 목표가 없으면 0 (신규 회원으로 계산)
+        int lastMonthSpending = 0;
+        int lastMonthGoal = 0;
+        if (lastGoal != null && lastGoal.getPreviousGoalMoney() != null) {
             lastMonthSpending = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
                     memberId, lastMonthStart, lastMonthEnd);
             // 목표 금액은 만원 단위이므로 원 단위로 변환
-            lastMonthGoal = lastGoal.getPreviousGoalMoney() != null ? lastGoal.getPreviousGoalMoney() * 10000 : null;
+            lastMonthGoal = lastGoal.getPreviousGoalMoney() * 10000;
         }
 
-        // 4가지 점수 계산
-        int achievementScore = calculateAchievementScore(goalMoney, actualSpending);
-        int stabilityScore = calculateStabilityScore(dailySpending);
-        int ratioScore = calculateRatioScore(essentialSpending, nonEssentialSpending);
-        int continuityScore = calculateContinuityScore(
-                actualSpending, goalMoney, lastMonthSpending, lastMonthGoal);
+        // 4가지 점수 계산 (일별 배열은 결제가 없는 날도 0으로 채워진 목표 기간 배열)
+        int[] scores = ScoreEngine.score(goalMoney,
+                stats.daily().includedSums(), stats.daily().includedCounts(),
+                stats.essential(), stats.nonEssential(),
+                lastMonthSpending, lastMonthGoal, new int[ScoreEngine.SCORE_COUNT]);
+        int achievementScore = scores[ScoreEngine.ACHIEVEMENT];
+        int stabilityScore = scores[ScoreEngine.STABILITY];
+        int ratioScore = scores[ScoreEngine.RATIO];
+        int continuityScore = scores[ScoreEngine.CONTINUITY];
 
         // Goal 엔티티에 저장
         goal.setGoalAchievementScore(achievementScore);
@@ -263,16 +262,10 @@ public class GoalServiceImpl implements GoalService {
         goal.setGoalContinuityScore(continuityScore);
 
         goalRepository.save(goal);
+        dataVersionService.bumpAfterCommit(memberId, YearMonth.from(startDate));
 
-        // 카테고리별 소비내역 조회
-        List<Tuple> categorySpendingList = cardHistoryRepository
-                .getCategorySpendingByMemberAndDateRange(memberId, startDate, endDate);
-        
-        Map<CategoryType, Integer> categorySpendingMap = categorySpendingList.stream()
-                .collect(Collectors.toMap(
-                        tuple -> tuple.get(0, CategoryType.class),
-                        tuple -> tuple.get(1, Integer.class) != null ? tuple.get(1, Integer.class) : 0
-                ));
+        // 카테고리별 소비내역 (TOP 5)
+        Map<CategoryType, Integer> categorySpendingMap = stats.topCategories(5);
 
         // 총점 계산
         int totalScore = achievementScore + stabilityScore + ratioScore + continuityScore;
@@ -291,11 +284,16 @@ public class GoalServiceImpl implements GoalService {
     /**
      * 모든 활성 유저의 점수를 배치로 계산
      * 3개월 내 로그인한 유저만 처리
+     * 전체 회원을 한 트랜잭션으로 묶지 않도록 트랜잭션 없이 실행 (집합 기반은 chunk 단위로 커밋)
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int calculateAllActiveUsersScores() {
         LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(3);
+        if (setBasedScoring) {
+            return goalScoreSetService.scoreAll(YearMonth.now(), threeMonthsAgo);
+        }
+
         List<Member> activeMembers = memberRepository.findMembersLoggedInWithinThreeMonths(threeMonthsAgo);
         
         log.info("배치 점수 계산 시작 - 활성 유저 수: {}", activeMembers.size());
@@ -323,179 +321,20 @@ public class GoalServiceImpl implements GoalService {
         return successCount;
     }
     
-    /**
-     * 목표 달성도 점수 계산 (40점 만점)
-     * - 기본 35점
-     * - 절약하면 보너스 (35~40점), 초과하면 감점 (0~35점)
-     * 
-     * if G <= 0:
-     *     goalScore = 40 if A == 0 else 0
-     * else:
-     *     saveRate = (G - A) / G     # 절약률(+면 절약, -면 초과)
-     *     if saveRate >= 0:
-     *         # 절약률 0~30% 사이: 선형 보너스
-     *         bonus = min(saveRate / 0.3, 1)
-     *         goalScore = 35 + 5 * bonus      # 35~40점 (절약할수록 가점)
-     *     else:
-     *         # 목표 초과: 초과율만큼 감점
-     *         penalty = min(abs(saveRate) / 0.3, 1)
-     *         goalScore = 35 * (1 - penalty)   # 0~35점 (초과할수록 감점)
-     */
-    private int calculateAchievementScore(int goalMoney, int actualSpending) {
-        // G: 목표 금액, A: 실제 지출
-        int G = goalMoney;
-        int A = actualSpending;
-        
-        if (G <= 0) {
-            return A == 0 ? 40 : 0;
-        }
-        
-        // 절약률 계산 (양수면 절약, 음수면 초과)
-        double saveRate = (double) (G - A) / G;
-        
-        if (saveRate >= 0) {
-            // 절약한 경우: 35~40점
-            double bonus = Math.min(saveRate / 0.3, 1.0);
-            return (int) Math.round(35 + 5 * bonus);
-        } else {
-            // 목표 초과한 경우: 0~35점
-            double penalty = Math.min(Math.abs(saveRate) / 0.3, 1.0);
-            return (int) Math.round(35 * (1 - penalty));
-        }
-    }
-    
-    /**
-     * 소비 안정성 점수 계산 (20점 만점)
-     * - 일별 지출의 변동계수(CV)를 이용해 계산
-     * - CV가 작을수록 안정적 (높은 점수)
-     * 
-     * mean = avg(D)      # 일별 평균
-     * std  = stdev(D)    # 표준편차
-     * if mean <= 0:
-     *     stabilityScore = 0
-     * else:
-     *     cv = std / mean                   # 변동계수
-     *     stabilityScore = 20 * (1 - min(cv, 1))   # CV=0 → 20점, CV=1↑ → 0점
-     */
-    private int calculateStabilityScore(List<Integer> dailySpending) {
-        if (dailySpending == null || dailySpending.isEmpty()) {
-            return 0;
-        }
-        
-        // 평균 계산
-        double mean = dailySpending.stream()
-                .mapToInt(Integer::intValue)
-                .average()
-                .orElse(0.0);
-        
-        if (mean <= 0) {
-            return 0;
-        }
-        
-        // 표준편차 계산
-        double variance = dailySpending.stream()
-                .mapToDouble(spending -> Math.pow(spending - mean, 2))
-                .average()
-                .orElse(0.0);
-        
-        double std = Math.sqrt(variance);
-        
-        // 변동계수 (CV) = 표준편차 / 평균
-        double cv = std / mean;
-        
-        // CV가 낮을수록 안정적 (CV=0 → 20점, CV≥1 → 0점)
-        return (int) Math.round(20 * (1 - Math.min(cv, 1.0)));
-    }
-    
-    /**
-     * 필수/비필수 지출 비율 점수 (20점 만점)
-     * - 필수 지출 비율이 0.8 이상이면 20점 만점
-     * - 0~0.8 구간: 선형 상승
-     * 
-     * sumEX = E + X
-     * if sumEX <= 0:
-     *     ratioScore = 0
-     * else:
-     *     p = E / sumEX   # 필수지출 비율 (0~1)
-     *     if p <= 0.8:
-     *         ratioScore = 20 * (p / 0.8)    # 0~0.8 구간: 선형 상승 (0~20점)
-     *     else:
-     *         ratioScore = 20                # 0.8 이상이면 만점
-     */
-    private int calculateRatioScore(int essentialSpending, int nonEssentialSpending) {
-        // E: 필수 지출, X: 비필수 지출
-        int E = essentialSpending;
-        int X = nonEssentialSpending;
-        int sumEX = E + X;
-        
-        if (sumEX <= 0) {
-            return 0;
-        }
-        
-        // 필수 지출 비율 계산
-        double p = (double) E / sumEX;
-        
-        if (p <= 0.8) {
-            // 0~0.8 구간: 선형 상승 (0~20점)
-            return (int) Math.round(20 * (p / 0.8));
-        } else {
-            // 0.8 이상이면 만점
-            return 20;
-        }
-    }
-    
-    /**
-     * 절약 지속성 점수 (20점 만점)
-     * - 신규 회원: 이번 달 절약률 기반 (10~20점)
-     * - 기존 회원: 절약률 변화 기반 (0~20점)
-     * 
-     * # V4
-     * 이번달절약률 = 1 - (이번달소비 / 목표금액)   
-     * 지난달절약률 = 1 - (지난달소비 / 목표금액)   # 신규이면 지난달절약률 = 0
-     * 
-     * 만약 지난달절약률 <= 0:
-     *     # 신규 회원
-     *     절약점수 = 10 + 10 × 이번달절약률)
-     *     # 최대 20점
-     * 그렇지 않으면:
-     *     # 기존 회원: 절약률 변화 기반
-     *     변화 = 이번달절약률 - 지난달절약률
-     *     변화_제한 = 최대(-0.3, 최소(0.3, 변화))   # ±30%로 캡
-     *     절약점수 = 10 + 10 × (변화_제한 / 0.3)
-     */
-    private int calculateContinuityScore(Integer currentSpending, Integer currentGoal,
-                                         Integer lastMonthSpending, Integer lastMonthGoal) {
-        
-        if (currentGoal == null || currentGoal == 0) {
-            return 0;
-        }
-        
-        // 이번 달 절약률 계산
-        double currentSaveRate = 1.0 - ((double) currentSpending / currentGoal);
-        
-        // 지난 달 절약률 계산
-        double lastSaveRate = 0.0;
-        if (lastMonthSpending != null && lastMonthGoal != null && lastMonthGoal > 0) {
-            lastSaveRate = 1.0 - ((double) lastMonthSpending / lastMonthGoal);
-        }
-        
-        if (lastSaveRate <= 0) {
-            // 신규 회원: 10 + 10 × 이번달절약률 (최대 20점)
-            int score = (int) Math.round(10 + 10 * currentSaveRate);
-            return Math.max(0, Math.min(20, score));
+    @Override
+    @Transactional
+    public boolean rescoreDirtyGoal(DirtyGoal dirty) {
+        Goal goal = goalRepository.findGoalByMemberIdAndStartDate(dirty.memberId(), dirty.month().atDay(1))
+                .orElse(null);
+        if (goal != null) {
+            calculateGoalScoresForMonth(dirty.memberId(), goal.getGoalStartDate(), goal);
         } else {
-            // 기존 회원: 절약률 변화 기반
-            double change = currentSaveRate - lastSaveRate;
-            
-            // ±30%로 캡
-            double changeLimit = Math.max(-0.3, Math.min(0.3, change));
-            
-            // 10 + 10 × (변화_제한 / 0.3) → 0~20점
-            int score = (int) Math.round(10 + 10 * (changeLimit / 0.3));
-            return Math.max(0, Math.min(20, score));
+            log.debug("목표 없음으로 재계산 스킵 - memberId: {}, month: {}", dirty.memberId(), dirty.month());
         }
+        goalScoreDirtyJdbcRepository.clear(dirty);
+        return goal != null;
     }
-    
+
     /**
      * 대시보드 화면용 데이터 조회
      * - 이번달 목표 금액
@@ -519,8 +358,9 @@ public class GoalServiceImpl implements GoalService {
         Integer goalAmount = currentGoal.getPreviousGoalMoney() != null ? currentGoal.getPreviousGoalMoney() : 0;
         
         // 2. 이번 달 실제 지출 조회 (원 단위)
-        int actualSpending = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
-                memberId, startDate, endDate);
+        MemberMonthStats stats = cardHistoryRepository.getMemberMonthStats(
+                memberId, startDate, endDate, ESSENTIAL_CATEGORIES);
+        int actualSpending = stats.total();
         
         // 3. 달성률 계산 (0~100)
         // 목표 금액은 만원 단위이므로 원 단위로 변환하여 비교
@@ -541,25 +381,8 @@ public class GoalServiceImpl implements GoalService {
         Integer continuityScore = currentGoal.getGoalContinuityScore() != null 
                 ? currentGoal.getGoalContinuityScore() : 0;
         
-        // 5. 카테고리별 소비 조회 및 TOP 4 추출
-        List<Tuple> categorySpendingList = cardHistoryRepository
-                .getCategorySpendingByMemberAndDateRange(memberId, startDate, endDate);
-        
-        // 금액 순으로 정렬하여 TOP 4 추출
-        Map<CategoryType, Integer> topCategorySpending = categorySpendingList.stream()
-                .map(tuple -> {
-                    CategoryType category = tuple.get(0, CategoryType.class);
-                    Integer amount = tuple.get(1, Integer.class) != null ? tuple.get(1, Integer.class) : 0;
-                    return new AbstractMap.SimpleEntry<>(category, amount);
-                })
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue())) // 금액 내림차순 정렬
-                .limit(4) // TOP 4만 추출
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (v1, v2) -> v1,
-                        LinkedHashMap::new // 순서 유지
-                ));
+        // 5. 카테고리별 소비 TOP 4 추출 (금액 내림차순)
+        Map<CategoryType, Integer> topCategorySpending = stats.topCategories(4);
         
         return DashboardResponseDto.builder()
                 .goalAmount(goalAmount)
@@ -587,8 +410,9 @@ public class GoalServiceImpl implements GoalService {
         Integer goalAmount = currentGoal.getPreviousGoalMoney() != null ? currentGoal.getPreviousGoalMoney() : 0;
 
         // 2. 이번 달 실제 지출 조회 (원 단위)
-        int actualSpending = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
-                memberId, startDate, endDate);
+        MemberMonthStats stats = cardHistoryRepository.getMemberMonthStats(
+                memberId, startDate, endDate, ESSENTIAL_CATEGORIES);
+        int actualSpending = stats.total();
 
         // 4. Goal 엔티티에서 점수들 조회 후 총점수 계산 (null이면 0으로 설정)
         Integer achievementScore = currentGoal.getGoalAchievementScore() != null
@@ -602,25 +426,8 @@ public class GoalServiceImpl implements GoalService {
 
         Integer goalScore = achievementScore + stabilityScore + ratioScore + continuityScore;
 
-        // 5. 카테고리별 소비 조회
-        List<Tuple> categorySpendingList = cardHistoryRepository
-                .getAllCategorySpendingByMemberAndDateRange(memberId, startDate, endDate);
-
-        // 금액 순으로 정렬 후 전체 추출
-        Map<CategoryType, Integer> CategorySpending = categorySpendingList.stream()
-                .map(tuple -> {
-                    CategoryType category = tuple.get(0, CategoryType.class);
-                    Integer amount = tuple.get(1, Integer.class) != null ? tuple.get(1, Integer.class) : 0;
-                    return new AbstractMap.SimpleEntry<>(category, amount);
-                })
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue())) // 금액 내림차순 정렬
-                .limit(12)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (v1, v2) -> v1,
-                        LinkedHashMap::new // 순서 유지
-                ));
+        // 5. 카테고리별 소비 (금액 내림차순 전체)
+        Map<CategoryType, Integer> CategorySpending = stats.topCategories(12);
 
         return ReportResponseDto.builder()
                 .goalAmount(goalAmount)
@@ -652,8 +459,9 @@ public class GoalServiceImpl implements GoalService {
         Integer goalAmount = pastGoal.getPreviousGoalMoney() != null ? pastGoal.getPreviousGoalMoney() : 0;
 
         // 2. 해당 월의 실제 지출 조회 (원 단위)
-        int actualSpending = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
-                memberId, startDate, endDate);
+        MemberMonthStats stats = cardHistoryRepository.getMemberMonthStats(
+                memberId, startDate, endDate, ESSENTIAL_CATEGORIES);
+        int actualSpending = stats.total();
         
         // 디버깅 로그 추가
         log.info("과거 목표 데이터 조회 - memberId: {}, year: {}, month: {}", memberId, year, month);
@@ -682,25 +490,8 @@ public class GoalServiceImpl implements GoalService {
         Integer continuityScore = pastGoal.getGoalContinuityScore() != null
                 ? pastGoal.getGoalContinuityScore() : 0;
 
-        // 5. 카테고리별 소비 조회 및 TOP 4 추출
-        List<Tuple> categorySpendingList = cardHistoryRepository
-                .getCategorySpendingByMemberAndDateRange(memberId, startDate, endDate);
-
-        // 금액 순으로 정렬하여 TOP 4 추출
-        Map<CategoryType, Integer> topCategorySpending = categorySpendingList.stream()
-                .map(tuple -> {
-                    CategoryType category = tuple.get(0, CategoryType.class);
-                    Integer amount = tuple.get(1, Integer.class) != null ? tuple.get(1, Integer.class) : 0;
-                    return new AbstractMap.SimpleEntry<>(category, amount);
-                })
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue())) // 금액 내림차순 정렬
-                .limit(4) // TOP 4만 추출
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (v1, v2) -> v1,
-                        LinkedHashMap::new // 순서 유지
-                ));
+        // 5. 카테고리별 소비 TOP 4 추출 (금액 내림차순)
+        Map<CategoryType, Integer> topCategorySpending = stats.topCategories(4);
 
         return DashboardResponseDto.builder()
                 .goalAmount(goalAmount)
@@ -714,6 +505,7 @@ public class GoalServiceImpl implements GoalService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetGoalDto> getGoalHistory(Long memberId) {
 
         Member member = memberRepository.findById(memberId)
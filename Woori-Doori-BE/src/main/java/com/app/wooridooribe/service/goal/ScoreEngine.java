@@ -0,0 +1,250 @@
+package com.app.wooridooribe.service.goal;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+
+import java.util.List;
+
+/**
+ * 목표 점수 계산 엔진 (회원별 계산, 전체 회원 일괄 계산, 실시간 갱신이 같은 식을 사용)
+ * 입력은 기본형(int, int[])만 받고 객체를 만들지 않으므로, 많은 회원을 연속으로 계산할 때는
+ * 호출하는 쪽이 일별 배열과 결과 배열(int[SCORE_COUNT])을 재사용하면 회원당 할당 없이 계산됩니다.
+ * 처리량은 src/jmh의 ScoreEngineBenchmark로 측정합니다. (./gradlew jmh)
+ */
+public final class ScoreEngine {
+
+    // score() 결과 배열 인덱스
+    public static final int ACHIEVEMENT = 0;
+    public static final int STABILITY = 1;
+    public static final int RATIO = 2;
+    public static final int CONTINUITY = 3;
+    public static final int SCORE_COUNT = 4;
+
+    // 필수 카테고리 목록 (필수/비필수 구분용)
+    public static final List<CategoryType> ESSENTIAL_CATEGORIES = List.of(
+            CategoryType.FOOD,           // 식비
+            CategoryType.TRANSPORTATION, // 교통/자동차
+            CategoryType.HOUSING,        // 주거
+            CategoryType.HOSPITAL,       // 병원
+            CategoryType.EDUCATION       // 교육
+    );
+
+    private ScoreEngine() {
+    }
+
+    /**
+     * 한 회원의 점수 4개를 계산해 out[ACHIEVEMENT..CONTINUITY]에 채웁니다.
+     *
+     * @param goalMoney         목표 금액 (원)
+     * @param dailySums         목표 기간 일별 총지출 포함 금액 (결제가 없는 날은 0)
+     * @param dailyCounts       목표 기간 일별 총지출 포함 결제 건수 (건수가 있는 날만 소비 안정성 대상)
+     * @param essential         필수 카테고리 지출 금액
+     * @param nonEssential      비필수 카테고리 지출 금액
+     * @param lastMonthSpending 지난 달 지출 금액
+     * @param lastMonthGoal     지난 달 목표 금액 (원, 지난 달 목표가 없으면 0)
+     * @param out               결과 배열 (길이 SCORE_COUNT 이상, 재사용 가능)
+     * @return out
+     */
+    public static int[] score(int goalMoney, int[] dailySums, int[] dailyCounts,
+                              int essential, int nonEssential,
+                              int lastMonthSpending, int lastMonthGoal, int[] out) {
+        int actualSpending = 0;
+        for (int sum : dailySums) {
+            actualSpending += sum;
+        }
+        out[ACHIEVEMENT] = achievementScore(goalMoney, actualSpending);
+        out[STABILITY] = stabilityScore(dailySums, dailyCounts);
+        out[RATIO] = ratioScore(essential, nonEssential);
+        out[CONTINUITY] = continuityScore(actualSpending, goalMoney, lastMonthSpending, lastMonthGoal);
+        return out;
+    }
+
+    /**
+     * 목표 달성도 점수 계산 (40점 만점)
+     * - 기본 35점
+     * - 절약하면 보너스 (35~40점), 초과하면 감점 (0~35점)
+     * 
+     * if G <= 0:
+     *     goalScore = 40 if A == 0 else 0
+     * else:
+     *     saveRate = (G - A) / G     # 절약률(+면 절약, -면 초과)
+     *     if saveRate >= 0:
+     *         # 절약률 0~30% 사이: 선형 보너스
+     *         bonus = min(saveRate / 0.3, 1)
+     *         goalScore = 35 + 5 * bonus      # 35~40점 (절약할수록 가점)
+     *     else:
+     *         # 목표 초과: 초과율만큼 감점
+     *         penalty = min(abs(saveRate) / 0.3, 1)
+     *         goalScore = 35 * (1 - penalty)   # 0~35점 (초과할수록 감점)
+     */
+    public static int achievementScore(int goalMoney, int actualSpending) {
+        // G: 목표 금액, A: 실제 지출
+        int G = goalMoney;
+        int A = actualSpending;
+        
+        if (G <= 0) {
+            return A == 0 ? 40 : 0;
+        }
+        
+        // 절약률 계산 (양수면 절약, 음수면 초과)
+        double saveRate = (double) (G - A) / G;
+        
+        if (saveRate >= 0) {
+            // 절약한 경우: 35~40점
+            double bonus = Math.min(saveRate / 0.3, 1.0);
+            return (int) Math.round(35 + 5 * bonus);
+        } else {
+            // 목표 초과한 경우: 0~35점
+            double penalty = Math.min(Math.abs(saveRate) / 0.3, 1.0);
+            return (int) Math.round(35 * (1 - penalty));
+        }
+    }
+    
+    /**
+     * 소비 안정성 점수 계산 (20점 만점)
+     * - 일별 지출의 변동계수(CV)를 이용해 계산
+     * - CV가 작을수록 안정적 (높은 점수)
+     * 
+     * mean = avg(D)      # 일별 평균
+     * std  = stdev(D)    # 표준편차
+     * if mean <= 0:
+     *     stabilityScore = 0
+     * else:
+     *     cv = std / mean                   # 변동계수
+     *     stabilityScore = 20 * (1 - min(cv, 1))   # CV=0 → 20점, CV=1↑ → 0점
+     */
+    public static int stabilityScore(int[] dailySums, int[] dailyCounts) {
+        // 결제가 있는 날의 평균 (결제가 없는 날은 제외)
+        long total = 0;
+        int days = 0;
+        for (int i = 0; i < dailySums.length; i++) {
+            if (dailyCounts[i] > 0) {
+                total += dailySums[i];
+                days++;
+            }
+        }
+        if (days == 0) {
+            return 0;
+        }
+        double mean = (double) total / days;
+        if (mean <= 0) {
+            return 0;
+        }
+
+        // 표준편차 계산
+        double squares = 0.0;
+        for (int i = 0; i < dailySums.length; i++) {
+            if (dailyCounts[i] > 0) {
+                double diff = dailySums[i] - mean;
+                squares += diff * diff;
+            }
+        }
+
+        return stabilityScore(mean, Math.sqrt(squares / days));
+    }
+
+    /**
+     * 일별 지출의 평균과 (모)표준편차로 소비 안정성 점수 계산 (집계 쿼리에서 AVG/STDDEV_POP을 받은 경우)
+     */
+    public static int stabilityScore(double mean, double std) {
+        if (mean <= 0) {
+            return 0;
+        }
+        
+        // 변동계수 (CV) = 표준편차 / 평균
+        double cv = std / mean;
+        
+        // CV가 낮을수록 안정적 (CV=0 → 20점, CV≥1 → 0점)
+        return (int) Math.round(20 * (1 - Math.min(cv, 1.0)));
+    }
+    
+    /**
+     * 필수/비필수 지출 비율 점수 (20점 만점)
+     * - 필수 지출 비율이 0.8 이상이면 20점 만점
+     * - 0~0.8 구간: 선형 상승
+     * 
+     * sumEX = E + X
+     * if sumEX <= 0:
+     *     ratioScore = 0
+     * else:
+     *     p = E / sumEX   # 필수지출 비율 (0~1)
+     *     if p <= 0.8:
+     *         ratioScore = 20 * (p / 0.8)    # 0~0.8 구간: 선형 상승 (0~20점)
+     *     else:
+     *         ratioScore = 20                # 0.8 이상이면 만점
+     */
+    public static int ratioScore(int essentialSpending, int nonEssentialSpending) {
+        // E: 필수 지출, X: 비필수 지출
+        int E = essentialSpending;
+        int X = nonEssentialSpending;
+        int sumEX = E + X;
+        
+        if (sumEX <= 0) {
+            return 0;
+        }
+        
+        // 필수 지출 비율 계산
+        double p = (double) E / sumEX;
+        
+        if (p <= 0.8) {
+            // 0~0.8 구간: 선형 상승 (0~20점)
+            return (int) Math.round(20 * (p / 0.8));
+        } else {
+            // 0.8 이상이면 만점
+            return 20;
+        }
+    }
+    
+    /**
+     * 절약 지속성 점수 (20점 만점)
+     * - 신규 회원: 이번 달 절약률 기반 (10~20점)
+     * - 기존 회원: 절약률 변화 기반 (0~20점)
+     * 
+     * # V4
+     * 이번달절약률 = 1 - (이번달소비 / 목표금액)   
+     * 지난달절약률 = 1 - (지난달소비 / 목표금액)   # 신규이면 지난달절약률 = 0
+     * 
+     * 만약 지난달절약률 <= 0:
+     *     # 신규 회원
+     *     절약점수 = 10 + 10 × 이번달절약률)
+     *     # 최대 20점
+     * 그렇지 않으면:
+     *     # 기존 회원: 절약률 변화 기반
+     *     변화 = 이번달절약률 - 지난달절약률
+     *     변화_제한 = 최대(-0.3, 최소(0.3, 변화))   # ±30%로 캡
+     *     절약점수 = 10 + 10 × (변화_제한 / 0.3)
+     *
+     * 지난 달 목표가 없거나 목표 금액이 없으면 lastMonthGoal = 0 (신규 회원으로 계산)
+     */
+    public static int continuityScore(int currentSpending, int currentGoal,
+                                      int lastMonthSpending, int lastMonthGoal) {
+        
+        if (currentGoal == 0) {
+            return 0;
+        }
+        
+        // 이번 달 절약률 계산
+        double currentSaveRate = 1.0 - ((double) currentSpending / currentGoal);
+        
+        // 지난 달 절약률 계산
+        double lastSaveRate = 0.0;
+        if (lastMonthGoal > 0) {
+            lastSaveRate = 1.0 - ((double) lastMonthSpending / lastMonthGoal);
+        }
+        
+        if (lastSaveRate <= 0) {
+            // 신규 회원: 10 + 10 × 이번달절약률 (최대 20점)
+            int score = (int) Math.round(10 + 10 * currentSaveRate);
+            return Math.max(0, Math.min(20, score));
+        } else {
+            // 기존 회원: 절약률 변화 기반
+            double change = currentSaveRate - lastSaveRate;
+            
+            // ±30%로 캡
+            double changeLimit = Math.max(-0.3, Math.min(0.3, change));
+            
+            // 10 + 10 × (변화_제한 / 0.3) → 0~20점
+            int score = (int) Math.round(10 + 10 * (changeLimit / 0.3));
+            return Math.max(0, Math.min(20, score));
+        }
+    }
+}
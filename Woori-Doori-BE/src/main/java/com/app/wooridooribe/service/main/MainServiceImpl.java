@@ -3,13 +3,14 @@ package com.app.wooridooribe.service.main;
 import com.app.wooridooribe.controller.dto.CardRecommendDto;
 import com.app.wooridooribe.controller.dto.CategorySpendDto;
 import com.app.wooridooribe.controller.dto.MainDto;
-import com.app.wooridooribe.entity.Card;
 import com.app.wooridooribe.entity.Goal;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.exception.ErrorCode;
 import com.app.wooridooribe.repository.card.CardRepository;
+import com.app.wooridooribe.repository.card.CardRow;
 import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
+import com.app.wooridooribe.repository.cardHistory.MemberMonthStats;
 import com.app.wooridooribe.repository.goal.GoalRepository;
 import com.querydsl.core.Tuple;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -56,14 +58,9 @@ public class MainServiceImpl implements MainService {
             duringDate = 0;
         }
 
-        // 3. 총 지출 금액 조회 (QueryDSL)
-        Integer totalPaidMoney = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
-                memberId, goalStartDate, today
-        );
-        // 데이터가 없을 경우 0으로 설정
-        if (totalPaidMoney == null) {
-            totalPaidMoney = 0;
-        }
+        // 3. 총 지출 금액/카테고리별 지출 조회 (QueryDSL, 한 번의 집계 쿼리)
+        MemberMonthStats stats = cardHistoryRepository.getMemberMonthStats(memberId, goalStartDate, today);
+        Integer totalPaidMoney = stats.total();
 
         // 4. 목표 달성률 계산
         Integer goalMoney = latestGoal.getPreviousGoalMoney();
@@ -93,25 +90,15 @@ public class MainServiceImpl implements MainService {
             }
         }
 
-        // 6. 카테고리별 지출 TOP 5 조회 (QueryDSL)
-        List<Tuple> categorySpendingList = cardHistoryRepository.getCategorySpendingByMemberAndDateRange(
-                memberId, goalStartDate, today
-        );
-        
+        // 6. 카테고리별 지출 TOP 5
         List<CategorySpendDto> paidPriceOfCategory = new ArrayList<>();
         String[] ranks = {"top1", "top2", "top3", "top4", "top5"};
-        for (int i = 0; i < Math.min(categorySpendingList.size(), 5); i++) {
-            Tuple tuple = categorySpendingList.get(i);
-            CategoryType categoryType = tuple.get(0, CategoryType.class);
-            Integer totalPrice = tuple.get(1, Integer.class);
-            
-            // CategoryType Enum을 String으로 변환
-            String category = categoryType != null ? categoryType.name() : "";
-            
+        int rank = 0;
+        for (Map.Entry<CategoryType, Integer> entry : stats.topCategories(5).entrySet()) {
             paidPriceOfCategory.add(CategorySpendDto.builder()
-                    .rank(ranks[i])
-                    .category(category)
-                    .totalPrice(totalPrice)
+                    .rank(ranks[rank++])
+                    .category(entry.getKey().name())
+                    .totalPrice(entry.getValue())
                     .build());
         }
 
@@ -128,24 +115,19 @@ public class MainServiceImpl implements MainService {
                     .collect(Collectors.toList());
             
             // 카드 정보 조회 (배너 이미지 포함)
-            List<Card> cards = cardRepository.findCardsByIdIn(top3CardIds);
+            List<CardRow> cards = cardRepository.findCardRowsByIdIn(top3CardIds);
             
             // 카드 ID 순서를 유지하면서 결과 생성
             for (Long cardId : top3CardIds) {
-                Card card = cards.stream()
-                        .filter(c -> c.getId().equals(cardId))
+                CardRow card = cards.stream()
+                        .filter(c -> c.id().equals(cardId))
                         .findFirst()
                         .orElse(null);
                 
                 if (card != null) {
-                    String bannerUrl = null;
-                    if (card.getCardBanner() != null) {
-                        bannerUrl = card.getCardBanner().getFilePath();
-                    }
-                    
                     cardRecommend.add(CardRecommendDto.builder()
-                            .cardId(card.getId())
-                            .cardBannerUrl(bannerUrl)
+                            .cardId(card.id())
+                            .cardBannerUrl(card.cardBannerPath())
                             .build());
                 }
             }
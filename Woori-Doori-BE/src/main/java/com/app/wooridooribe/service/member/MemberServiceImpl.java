@@ -10,6 +10,10 @@ import com.app.wooridooribe.exception.ErrorCode;
 import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
 import com.app.wooridooribe.repository.categoryMember.CategoryMemberRepository;
 import com.app.wooridooribe.repository.member.MemberRepository;
+import com.app.wooridooribe.service.spending.SpendingAccumulator;
+import com.app.wooridooribe.service.goal.GoalScoreDirtyMarker;
+import com.app.wooridooribe.service.goal.GoalScoreStreamer;
+import com.app.wooridooribe.service.version.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +30,10 @@ public class MemberServiceImpl implements MemberService {
     private final MemberRepository memberRepository;
     private final CategoryMemberRepository categoryMemberRepository;
     private final CardHistoryRepository cardHistoryRepository;
+    private final SpendingAccumulator spendingAccumulator;
+    private final DataVersionService dataVersionService;
+    private final GoalScoreDirtyMarker goalScoreDirtyMarker;
+    private final GoalScoreStreamer goalScoreStreamer;
 
     @Override
     @Transactional(readOnly = true)
@@ -81,6 +89,10 @@ public class MemberServiceImpl implements MemberService {
         // 해당 카테고리 결제 내역의 총지출 포함 여부를 미포함(N)으로 일괄 변경
         if (!essentialCategories.isEmpty()) {
             cardHistoryRepository.updateIncludeTotalByMemberAndCategories(memberId, essentialCategories, false);
+            spendingAccumulator.evictAfterCommit(memberId);
+            dataVersionService.bumpMemberAfterCommit(memberId);
+            goalScoreDirtyMarker.markMember(memberId);
+            goalScoreStreamer.evictAfterCommit(memberId);
         }
     }
 
@@ -0,0 +1,379 @@
+package com.app.wooridooribe.service.payment;
+
+import com.app.dooribankbe.domain.entity.DB2Member;
+import com.app.wooridooribe.entity.Member;
+import com.app.wooridooribe.entity.MemberCard;
+import com.app.wooridooribe.repository.member.MemberRepository;
+import com.app.wooridooribe.repository.memberCard.MemberCardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 두리뱅킹(db2) 회원 → 우리두리(db1) 회원/카드 매핑을 Redis에 캐싱하는 리졸버
+ *
+ * - 1단계: 은행 회원 식별정보(이름, 주민번호 7자리, 전화번호) → db1 memberId (못 찾으면 NONE을 짧게 캐싱, 회원가입 시 AuthServiceImpl에서 무효화)
+ * - 2단계: memberId → 결제 내역을 붙일 MemberCard ID (카드 등록/삭제 시 CardServiceImpl에서 무효화)
+ * 식별정보는 개인정보이므로 SHA-256 해시로만 키에 사용합니다.
+ * Redis 장애 시에는 캐시 미스로 보고 DB 조회 결과를 그대로 사용합니다.
+ */
+@Service
+@Slf4j
+public class BankMemberResolver {
+
+    private static final String MEMBER_KEY_PREFIX = "bank_member_resolution:";
+    private static final String CARD_KEY_PREFIX = "member_sync_card:";
+    private static final String NONE = "NONE";
+
+    private final MemberRepository memberRepository;
+    private final MemberCardRepository memberCardRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private final Duration positiveTtl;
+    private final Duration negativeTtl;
+
+    private final Counter memberHitCounter;
+    private final Counter memberNegativeHitCounter;
+    private final Counter memberMissCounter;
+    private final Counter cardHitCounter;
+    private final Counter cardMissCounter;
+
+    public BankMemberResolver(MemberRepository memberRepository,
+                              MemberCardRepository memberCardRepository,
+                              StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.payment-sync.member-cache.ttl-minutes:60}") long positiveTtlMinutes,
+                              @Value("${app.payment-sync.member-cache.negative-ttl-minutes:5}") long negativeTtlMinutes) {
+        this.memberRepository = memberRepository;
+        this.memberCardRepository = memberCardRepository;
+        this.redisTemplate = redisTemplate;
+        this.positiveTtl = Duration.ofMinutes(positiveTtlMinutes);
+        this.negativeTtl = Duration.ofMinutes(negativeTtlMinutes);
+
+        this.memberHitCounter = cacheCounter(meterRegistry, "member", "hit");
+        this.memberNegativeHitCounter = cacheCounter(meterRegistry, "member", "negative_hit");
+        this.memberMissCounter = cacheCounter(meterRegistry, "member", "miss");
+        this.cardHitCounter = cacheCounter(meterRegistry, "card", "hit");
+        this.cardMissCounter = cacheCounter(meterRegistry, "card", "miss");
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("payment.sync.member_cache")
+                .description("결제 동기화 회원/카드 매핑 캐시 조회 결과")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * db1 회원/카드 매핑 결과
+     *
+     * @param memberId     우리두리 회원 ID (못 찾으면 null)
+     * @param memberCardId 결제 내역을 연결할 MemberCard ID (회원이 없거나 카드가 없으면 null)
+     */
+    public record BankMemberResolution(Long memberId, Long memberCardId) {
+        static final BankMemberResolution UNKNOWN = new BankMemberResolution(null, null);
+    }
+
+    /**
+     * 은행 회원 한 명의 db1 회원/카드를 조회합니다.
+     * 주민번호(7자리)가 있으면 이름/생년월일/뒷자리/전화번호로, 없으면 이름/전화번호로 대조합니다.
+     */
+    public BankMemberResolution resolve(DB2Member bankMember) {
+        String memberKey = memberKey(bankMember);
+        String cachedMember = get(memberKey);
+
+        Long memberId;
+        if (NONE.equals(cachedMember)) {
+            memberNegativeHitCounter.increment();
+            return BankMemberResolution.UNKNOWN;
+        } else if (cachedMember != null) {
+            memberHitCounter.increment();
+            memberId = Long.valueOf(cachedMember);
+        } else {
+            memberMissCounter.increment();
+            Member member = findWooriDooriMember(bankMember);
+            memberId = member != null ? member.getId() : null;
+            putMember(memberKey, memberId);
+            if (memberId == null) {
+                return BankMemberResolution.UNKNOWN;
+            }
+        }
+
+        String cachedCard = get(cardKey(memberId));
+        if (cachedCard != null) {
+            cardHitCounter.increment();
+            return new BankMemberResolution(memberId, NONE.equals(cachedCard) ? null : Long.valueOf(cachedCard));
+        }
+
+        cardMissCounter.increment();
+        // resolveAll과 같은 기준(가장 먼저 등록된 카드)으로 선택
+        Long memberCardId = memberCardRepository.findFirstByMemberIdOrderByIdAsc(memberId)
+                .map(MemberCard::getId)
+                .orElse(null);
+        putCard(memberId, memberCardId);
+        return new BankMemberResolution(memberId, memberCardId);
+    }
+
+    /**
+     * 여러 은행 회원을 한 번에 조회합니다. 캐시는 MGET으로 일괄 조회하고,
+     * 미스난 회원만 이름 후보 일괄 조회 / MemberCard 일괄 조회로 채웁니다.
+     *
+     * @return db2 회원 ID → 매핑 결과 (같은 식별정보는 한 번만 조회)
+     */
+    public Map<Long, BankMemberResolution> resolveAll(Collection<DB2Member> bankMembers) {
+        // 식별정보 해시 기준으로 중복 제거
+        Map<String, DB2Member> membersByKey = new LinkedHashMap<>();
+        for (DB2Member bankMember : bankMembers) {
+            membersByKey.putIfAbsent(memberKey(bankMember), bankMember);
+        }
+        List<String> memberKeys = new ArrayList<>(membersByKey.keySet());
+
+        // 1. 은행 회원 → memberId
+        Map<String, Long> memberIdByKey = new HashMap<>();
+        List<String> missedKeys = new ArrayList<>();
+        List<String> cachedMembers = multiGet(memberKeys);
+        for (int i = 0; i < memberKeys.size(); i++) {
+            String cached = cachedMembers.get(i);
+            if (NONE.equals(cached)) {
+                memberNegativeHitCounter.increment();
+            } else if (cached != null) {
+                memberHitCounter.increment();
+                memberIdByKey.put(memberKeys.get(i), Long.valueOf(cached));
+            } else {
+                memberMissCounter.increment();
+                missedKeys.add(memberKeys.get(i));
+            }
+        }
+
+        if (!missedKeys.isEmpty()) {
+            Set<String> memberNames = missedKeys.stream()
+                    .map(key -> membersByKey.get(key).getName())
+                    .collect(Collectors.toSet());
+            Map<String, List<Member>> candidatesByName = memberRepository.findAllByMemberNameIn(memberNames).stream()
+                    .collect(Collectors.groupingBy(Member::getMemberName));
+            for (String key : missedKeys) {
+                Member member = matchWooriDooriMember(candidatesByName, membersByKey.get(key));
+                Long memberId = member != null ? member.getId() : null;
+                putMember(key, memberId);
+                if (memberId != null) {
+                    memberIdByKey.put(key, memberId);
+                }
+            }
+        }
+
+        // 2. memberId → memberCardId
+        List<Long> memberIds = memberIdByKey.values().stream().distinct().toList();
+        Map<Long, Long> cardIdByMemberId = new HashMap<>();
+        List<Long> missedMemberIds = new ArrayList<>();
+        List<String> cachedCards = multiGet(memberIds.stream().map(this::cardKey).toList());
+        for (int i = 0; i < memberIds.size(); i++) {
+            String cached = cachedCards.get(i);
+            if (cached != null) {
+                cardHitCounter.increment();
+                if (!NONE.equals(cached)) {
+                    cardIdByMemberId.put(memberIds.get(i), Long.valueOf(cached));
+                }
+            } else {
+                cardMissCounter.increment();
+                missedMemberIds.add(memberIds.get(i));
+            }
+        }
+
+        if (!missedMemberIds.isEmpty()) {
+            Map<Long, Long> loaded = new HashMap<>();
+            for (MemberCard memberCard : memberCardRepository.findByMemberIdInOrderByIdAsc(missedMemberIds)) {
+                loaded.putIfAbsent(memberCard.getMember().getId(), memberCard.getId());
+            }
+            for (Long memberId : missedMemberIds) {
+                Long memberCardId = loaded.get(memberId);
+                putCard(memberId, memberCardId);
+                if (memberCardId != null) {
+                    cardIdByMemberId.put(memberId, memberCardId);
+                }
+            }
+        }
+
+        Map<Long, BankMemberResolution> resolutions = new HashMap<>();
+        for (DB2Member bankMember : bankMembers) {
+            Long memberId = memberIdByKey.get(memberKey(bankMember));
+            resolutions.put(bankMember.getId(), memberId != null
+                    ? new BankMemberResolution(memberId, cardIdByMemberId.get(memberId))
+                    : BankMemberResolution.UNKNOWN);
+        }
+        return resolutions;
+    }
+
+    /**
+     * 회원의 카드 소유 관계가 바뀌었을 때 카드 매핑 캐시를 무효화합니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후에 한 번 더 지워, 커밋 전 동기화 요청이 옛 값을 다시 캐싱하지 않도록 합니다.
+     */
+    public void evictMemberCard(Long memberId) {
+        if (memberId == null) {
+            return;
+        }
+        evictNowAndAfterCommit(List.of(cardKey(memberId)));
+    }
+
+    /**
+     * 새 회원이 가입했을 때 그 식별정보의 회원 매핑 캐시(NONE 포함)를 무효화합니다.
+     * 가입 전에 들어온 결제가 NONE을 캐싱해 두었으면 negative TTL 동안 새 회원 결제가 회원 없이 저장되므로,
+     * 은행 회원 키의 두 형태(주민번호 7자리 포함 / 이름+전화번호만)를 모두 지웁니다.
+     */
+    public void evictMember(Member member) {
+        if (member == null) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(memberKey(member.getMemberName(), null, member.getPhone()));
+        if (member.getBirthDate() != null && member.getBirthBack() != null) {
+            keys.add(memberKey(member.getMemberName(), member.getBirthDate() + member.getBirthBack(), member.getPhone()));
+        }
+        evictNowAndAfterCommit(keys);
+    }
+
+    /**
+     * 바로 지우고, 트랜잭션 안에서 호출되면 커밋 이후에 한 번 더 지워 커밋 전 동기화 요청이 옛 값을 다시 캐싱하지 않도록 합니다.
+     */
+    private void evictNowAndAfterCommit(List<String> keys) {
+        keys.forEach(this::delete);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.forEach(BankMemberResolver.this::delete);
+                }
+            });
+        }
+    }
+
+    private Member findWooriDooriMember(DB2Member bankMember) {
+        String memberRegistNum = bankMember.getMemberRegistNum();
+        if (memberRegistNum != null && memberRegistNum.length() == 7) {
+            return memberRepository.findByMemberNameAndBirthDateAndBirthBackAndPhone(
+                    bankMember.getName(), memberRegistNum.substring(0, 6), memberRegistNum.substring(6, 7), bankMember.getPhone())
+                    .orElse(null);
+        }
+        log.warn("주민번호 정보가 없어서 이름과 전화번호로만 조회: memberName={}, phone={}", bankMember.getName(), bankMember.getPhone());
+        return memberRepository.findByMemberNameAndPhone(bankMember.getName(), bankMember.getPhone())
+                .orElse(null);
+    }
+
+    /**
+     * 이름으로 조회한 db1 Member 후보 중 db2 회원 정보와 일치하는 Member를 찾습니다.
+     * 주민번호(7자리)가 있으면 이름/생년월일/뒷자리/전화번호로, 없으면 이름/전화번호로 대조합니다.
+     */
+    private Member matchWooriDooriMember(Map<String, List<Member>> candidatesByName, DB2Member bankMember) {
+        List<Member> candidates = candidatesByName.getOrDefault(bankMember.getName(), List.of());
+        String memberRegistNum = bankMember.getMemberRegistNum();
+        boolean hasRegistNum = memberRegistNum != null && memberRegistNum.length() == 7;
+
+        return candidates.stream()
+                .filter(member -> Objects.equals(member.getPhone(), bankMember.getPhone()))
+                .filter(member -> !hasRegistNum
+                        || (memberRegistNum.substring(0, 6).equals(member.getBirthDate())
+                        && memberRegistNum.substring(6, 7).equals(member.getBirthBack())))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String memberKey(DB2Member bankMember) {
+        return memberKey(bankMember.getName(), bankMember.getMemberRegistNum(), bankMember.getPhone());
+    }
+
+    private String memberKey(String name, String registNum, String phone) {
+        boolean hasRegistNum = registNum != null && registNum.length() == 7;
+        String identity = name + "|" + (hasRegistNum ? registNum : "") + "|" + phone;
+        return MEMBER_KEY_PREFIX + sha256(identity);
+    }
+
+    private String cardKey(Long memberId) {
+        return CARD_KEY_PREFIX + memberId;
+    }
+
+    private void putMember(String memberKey, Long memberId) {
+        if (memberId != null) {
+            set(memberKey, String.valueOf(memberId), positiveTtl);
+        } else {
+            set(memberKey, NONE, negativeTtl);
+        }
+    }
+
+    private void putCard(Long memberId, Long memberCardId) {
+        if (memberCardId != null) {
+            set(cardKey(memberId), String.valueOf(memberCardId), positiveTtl);
+        } else {
+            set(cardKey(memberId), NONE, negativeTtl);
+        }
+    }
+
+    private String get(String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("회원 매핑 캐시 조회 실패 (DB 조회로 대체): key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private List<String> multiGet(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values != null) {
+                return values;
+            }
+        } catch (Exception e) {
+            log.warn("회원 매핑 캐시 일괄 조회 실패 (DB 조회로 대체): size={}, error={}", keys.size(), e.getMessage());
+        }
+        return new ArrayList<>(Collections.nCopies(keys.size(), null));
+    }
+
+    private void set(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (Exception e) {
+            log.warn("회원 매핑 캐시 저장 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private void delete(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (Exception e) {
+            log.warn("회원 매핑 캐시 삭제 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.app.wooridooribe.service.payment;
+
+import com.app.wooridooribe.entity.CardHistory;
+import com.app.wooridooribe.exception.CustomException;
+import com.app.wooridooribe.exception.ErrorCode;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryJdbcRepository;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryJdbcRepository.BatchInsertResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단건 CardHistory 저장 요청을 짧은 시간 동안 모아 한 트랜잭션의 JDBC 배치(INSERT ... ON DUPLICATE KEY UPDATE)로 저장합니다.
+ *
+ * linger-ms가 지나거나 max-batch-size만큼 모이면(먼저 도달하는 쪽) 한 번에 커밋하므로,
+ * 월말처럼 결제가 몰릴 때 건별 트랜잭션 커밋(fsync) 비용을 여러 건이 나눠 부담합니다.
+ * 각 요청자는 CompletableFuture로 커밋 이후 생성된 ID(또는 이미 저장된 내역의 ID)를 받습니다.
+ */
+@Service
+@Slf4j
+public class CardHistoryWriteCoalescer {
+
+    private final CardHistoryJdbcRepository cardHistoryJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingInsert> queue;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public CardHistoryWriteCoalescer(CardHistoryJdbcRepository cardHistoryJdbcRepository,
+                                     @Qualifier("db1TransactionManager") PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.payment-sync.coalescer.max-batch-size:100}") int maxBatchSize,
+                                     @Value("${app.payment-sync.coalescer.linger-ms:5}") long lingerMs,
+                                     @Value("${app.payment-sync.coalescer.queue-capacity:2000}") int queueCapacity) {
+        this.cardHistoryJdbcRepository = cardHistoryJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 저장 전후 조회 차이로 신규 행을 구하므로 일관된 읽기가 보장되는 격리 수준으로 고정
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+
+        this.batchSizeSummary = DistributionSummary.builder("card_history.coalescer.batch.size")
+                .description("한 번에 커밋한 CardHistory 묶음 크기")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("card_history.coalescer.flush")
+                .description("CardHistory 묶음 저장(트랜잭션 커밋 포함) 시간")
+                .register(meterRegistry);
+        Gauge.builder("card_history.coalescer.queue.depth", queue, BlockingQueue::size)
+                .description("묶음 저장 대기 중인 CardHistory 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저장 결과
+     *
+     * @param cardHistoryId 저장된(또는 이미 있던) CardHistory ID
+     * @param inserted      이번 요청으로 새로 저장되었으면 true, 같은 source_history_id가 이미 있었으면 false
+     */
+    public record InsertResult(Long cardHistoryId, boolean inserted) {
+    }
+
+    private record PendingInsert(CardHistory cardHistory, CompletableFuture<InsertResult> future) {
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = new Thread(this::runFlushLoop, "card-history-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * CardHistory 저장을 요청합니다. 대기열이 가득 차면 자리가 날 때까지 기다립니다. (호출 스레드에 배압)
+     * source_history_id가 채워진 내역만 받습니다.
+     */
+    public CompletableFuture<InsertResult> insert(CardHistory cardHistory) {
+        if (cardHistory.getSourceHistoryId() == null) {
+            throw new IllegalArgumentException("sourceHistoryId must not be null");
+        }
+        CompletableFuture<InsertResult> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new CustomException(ErrorCode.BANK_SYNC_FAILED));
+            return future;
+        }
+        try {
+            queue.put(new PendingInsert(cardHistory, future));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new CustomException(ErrorCode.BANK_SYNC_FAILED));
+        }
+        return future;
+    }
+
+    private void runFlushLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // 첫 요청 이후 linger 시간 동안, 또는 maxBatchSize만큼 모일 때까지 추가로 수집
+                List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingInsert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, maxBatchSize - batch.size());
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    Thread.currentThread().interrupt();
+                }
+            } catch (Exception e) {
+                log.error("CardHistory 묶음 저장 루프 오류", e);
+            }
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        // 같은 source_history_id가 한 묶음에 여러 번 들어온 경우 첫 요청만 저장하고 나머지는 중복으로 응답
+        Map<Long, List<PendingInsert>> bySourceId = new LinkedHashMap<>();
+        for (PendingInsert pending : batch) {
+            bySourceId.computeIfAbsent(pending.cardHistory().getSourceHistoryId(), id -> new ArrayList<>()).add(pending);
+        }
+        List<CardHistory> rows = bySourceId.values().stream()
+                .map(pendings -> pendings.get(0).cardHistory())
+                .toList();
+
+        long start = System.nanoTime();
+        Map<Long, Long> insertedIds;
+        Map<Long, Long> existingIds;
+        try {
+            BatchInsertResult result = transactionTemplate.execute(
+                    status -> cardHistoryJdbcRepository.batchInsertIfAbsent(rows));
+            insertedIds = result.insertedIds();
+            existingIds = result.existingIds();
+        } catch (Exception e) {
+            log.error("CardHistory 묶음 저장 실패: 건수={}", rows.size(), e);
+            batch.forEach(pending -> pending.future().completeExceptionally(new CustomException(ErrorCode.BANK_SYNC_FAILED)));
+            return;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(rows.size());
+        }
+
+        bySourceId.forEach((sourceId, pendings) -> {
+            Long insertedId = insertedIds.get(sourceId);
+            Long existingId = insertedId != null ? insertedId : existingIds.get(sourceId);
+            for (int i = 0; i < pendings.size(); i++) {
+                CompletableFuture<InsertResult> future = pendings.get(i).future();
+                if (existingId == null) {
+                    future.completeExceptionally(new CustomException(ErrorCode.BANK_SYNC_FAILED));
+                } else {
+                    future.complete(new InsertResult(existingId, insertedId != null && i == 0));
+                }
+            }
+        });
+        log.debug("CardHistory 묶음 저장 완료: 요청 건수={}, 신규 저장 건수={}", batch.size(), insertedIds.size());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 대기 중인 요청까지 모두 저장한 뒤 종료
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+}
@@ -0,0 +1,139 @@
+package com.app.wooridooribe.service.payment;
+
+import com.app.dooribankbe.domain.entity.DB2Member;
+import com.app.dooribankbe.domain.repository.DB2MemberRepository;
+import com.app.wooridooribe.entity.Member;
+import com.app.wooridooribe.repository.member.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 두리뱅킹 과거 결제 내역 백필 Job 실행 서비스
+ * 카드를 새로 연결한 회원은 그 이전의 두리뱅킹 내역이 CardHistory에 없으므로, 카드 연결마다 회원 단위로 paymentBackfillJob을 실행합니다.
+ * 식별 파라미터(bankMemberId, memberCardId, fromDate, toDate)가 같으면 같은 JobInstance이므로,
+ * 실패한 백필은 다시 요청하면 이어서 진행하고 이미 완료된 백필은 다시 실행하지 않습니다.
+ * memberCardId는 리더 조건에는 쓰지 않고 JobInstance만 구분하므로, 같은 회원이 다른 카드를 연결하면 새 백필로 실행됩니다.
+ * (이미 저장된 내역은 DUPLICATE로 건너뜀)
+ */
+@Service
+@Slf4j
+public class PaymentBackfillService {
+
+    private final JobLauncher jobLauncher;
+    private final Job paymentBackfillJob;
+    private final TaskExecutor paymentBackfillTaskExecutor;
+    private final MemberRepository memberRepository;
+    private final DB2MemberRepository db2MemberRepository;
+
+    public PaymentBackfillService(JobLauncher jobLauncher,
+                                  @Qualifier("paymentBackfillJob") Job paymentBackfillJob,
+                                  @Qualifier("paymentBackfillTaskExecutor") TaskExecutor paymentBackfillTaskExecutor,
+                                  MemberRepository memberRepository,
+                                  DB2MemberRepository db2MemberRepository) {
+        this.jobLauncher = jobLauncher;
+        this.paymentBackfillJob = paymentBackfillJob;
+        this.paymentBackfillTaskExecutor = paymentBackfillTaskExecutor;
+        this.memberRepository = memberRepository;
+        this.db2MemberRepository = db2MemberRepository;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 회원의 전체 과거 내역 백필을 백그라운드에서 시작합니다.
+     * (카드 연결이 커밋되어야 백필된 내역이 회원 카드로 매핑됨)
+     *
+     * @param memberCardId 새로 연결한 회원 카드 ID (카드 연결마다 별도 JobInstance로 실행)
+     */
+    public void backfillMemberAfterCommit(Long memberId, Long memberCardId) {
+        Runnable task = () -> paymentBackfillTaskExecutor.execute(() -> backfillMember(memberId, memberCardId));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 지정한 두리뱅킹 회원/기간의 백필을 백그라운드에서 시작합니다. (null이면 제한 없음)
+     */
+    public void backfillAsync(Long bankMemberId, LocalDate fromDate, LocalDate toDate) {
+        paymentBackfillTaskExecutor.execute(() -> launch(bankMemberId, null, fromDate, toDate));
+    }
+
+    private void backfillMember(Long memberId, Long memberCardId) {
+        try {
+            Optional<DB2Member> bankMember = memberRepository.findById(memberId)
+                    .flatMap(this::findBankMember);
+            if (bankMember.isEmpty()) {
+                log.info("두리뱅킹 회원이 없어 결제 내역 백필을 건너뜁니다: memberId={}", memberId);
+                return;
+            }
+            launch(bankMember.get().getId(), memberCardId, null, null);
+        } catch (Exception e) {
+            log.error("결제 내역 백필 시작 실패: memberId={}, memberCardId={}", memberId, memberCardId, e);
+        }
+    }
+
+    private Optional<DB2Member> findBankMember(Member member) {
+        if (member.getMemberName() == null || member.getPhone() == null) {
+            return Optional.empty();
+        }
+        return db2MemberRepository.findByNameAndPhone(member.getMemberName(), member.getPhone());
+    }
+
+    /**
+     * 백필 Job을 현재 스레드에서 실행합니다.
+     *
+     * @param memberCardId 백필을 일으킨 카드 연결 (JobInstance 구분용, null이면 회원/기간만으로 구분)
+     * @return 실행된 JobExecution (이미 완료되었거나 실행 중인 백필이면 null)
+     */
+    public JobExecution launch(Long bankMemberId, Long memberCardId, LocalDate fromDate, LocalDate toDate) {
+        JobParametersBuilder builder = new JobParametersBuilder();
+        if (bankMemberId != null) {
+            builder.addLong("bankMemberId", bankMemberId);
+        }
+        if (memberCardId != null) {
+            builder.addLong("memberCardId", memberCardId);
+        }
+        if (fromDate != null) {
+            builder.addString("fromDate", fromDate.toString());
+        }
+        if (toDate != null) {
+            builder.addString("toDate", toDate.toString());
+        }
+        JobParameters jobParameters = builder.toJobParameters();
+
+        try {
+            log.info("=== 결제 내역 백필 시작 - bankMemberId: {}, memberCardId: {}, 기간: [{}, {}) ===",
+                    bankMemberId, memberCardId, fromDate, toDate);
+            JobExecution execution = jobLauncher.run(paymentBackfillJob, jobParameters);
+            log.info("=== 결제 내역 백필 종료 - bankMemberId: {}, 상태: {} ===", bankMemberId, execution.getStatus());
+            return execution;
+        } catch (JobInstanceAlreadyCompleteException e) {
+            log.info("이미 완료된 결제 내역 백필입니다: {}", jobParameters);
+        } catch (JobExecutionAlreadyRunningException e) {
+            log.info("이미 실행 중인 결제 내역 백필입니다: {}", jobParameters);
+        } catch (Exception e) {
+            log.error("결제 내역 백필 실행 실패: {}", jobParameters, e);
+        }
+        return null;
+    }
+}
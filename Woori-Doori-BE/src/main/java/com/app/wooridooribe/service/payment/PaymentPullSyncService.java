@@ -0,0 +1,86 @@
+package com.app.wooridooribe.service.payment;
+
+import com.app.dooribankbe.domain.entity.AccountHistory;
+import com.app.dooribankbe.domain.entity.TransactionType;
+import com.app.dooribankbe.domain.repository.AccountHistoryRepository;
+import com.app.wooridooribe.entity.SyncCursor;
+import com.app.wooridooribe.repository.syncCursor.SyncCursorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * db2 account_history를 커서(high-water mark) 기준으로 끌어와 db1 CardHistory에 반영하는 pull 동기화 서비스
+ * 한 번 호출에 한 페이지를 처리하며, CardHistory 저장과 커서 이동이 같은 db1 트랜잭션에서 커밋되므로
+ * 서버가 중간에 종료되어도 마지막으로 커밋된 커서부터 다시 이어서 동기화합니다.
+ *
+ * AUTO_INCREMENT ID는 커밋 순서와 다르게 보일 수 있습니다. (작은 ID의 트랜잭션이 큰 ID보다 늦게 커밋)
+ * 커서 바로 뒤만 읽으면 이런 내역을 영영 건너뛰므로, 매번 커서보다 overlapIds만큼 앞에서부터 다시 읽습니다.
+ * 이미 동기화된 내역은 source_history_id로 걸러지므로 다시 읽어도 중복 저장되지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentPullSyncService {
+
+    static final String CURSOR_NAME = "ACCOUNT_HISTORY";
+
+    private final AccountHistoryRepository accountHistoryRepository;
+    private final SyncCursorRepository syncCursorRepository;
+    private final PaymentSyncService paymentSyncService;
+
+    /**
+     * 커서 이후의 AccountHistory 한 페이지를 동기화합니다.
+     * 커서 행을 잠그고 진행하므로 여러 인스턴스가 동시에 실행되어도 같은 구간을 중복 반영하지 않습니다.
+     *
+     * @param pageSize   한 번에 가져올 최대 건수
+     * @param overlapIds 늦게 커밋된 내역을 놓치지 않도록 커서보다 앞에서부터 다시 읽을 ID 수 (pageSize의 절반까지)
+     * @return 이번 페이지에서 읽은 db2 내역 건수 (pageSize보다 작으면 더 가져올 내역이 없음)
+     */
+    @Transactional(transactionManager = "db1TransactionManager", propagation = Propagation.REQUIRED,
+            isolation = Isolation.REPEATABLE_READ)
+    public int syncNextPage(int pageSize, int overlapIds) {
+        SyncCursor cursor = syncCursorRepository.findByCursorNameForUpdate(CURSOR_NAME)
+                .orElseGet(this::initCursor);
+
+        Long lastSyncedId = cursor.getLastSyncedId();
+        // 다시 읽는 구간이 페이지를 다 차지하면 커서가 앞으로 나가지 못하므로 페이지의 절반까지만 허용
+        long rereadFromId = Math.max(0L, lastSyncedId - Math.min(Math.max(0, overlapIds), pageSize / 2));
+        List<AccountHistory> page = accountHistoryRepository.findNextPageWithAccountAndMember(
+                rereadFromId, PageRequest.of(0, pageSize));
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        // 입금 내역은 소비 내역이 아니므로 CardHistory로 옮기지 않고 커서만 넘김
+        List<AccountHistory> spendings = page.stream()
+                .filter(history -> history.getHistoryStatus() != TransactionType.TRANSFER_IN)
+                .toList();
+        paymentSyncService.syncAccountHistories(spendings);
+
+        cursor.advanceTo(page.get(page.size() - 1).getId());
+        log.info("pull 동기화 페이지 처리 완료: 커서 {} -> {}, 조회 건수={}, 저장 건수={}",
+                lastSyncedId, cursor.getLastSyncedId(), page.size(), spendings.size());
+        return page.size();
+    }
+
+    /**
+     * 최초 실행 시 커서를 생성합니다.
+     * 기존 내역은 push 방식으로 이미 반영되어 있으므로 현재 db2의 마지막 ID부터 시작합니다.
+     */
+    private SyncCursor initCursor() {
+        Long maxId = accountHistoryRepository.findMaxId();
+        log.info("pull 동기화 커서 생성: cursorName={}, 시작 ID={}", CURSOR_NAME, maxId);
+        SyncCursor cursor = SyncCursor.builder()
+                .cursorName(CURSOR_NAME)
+                .lastSyncedId(maxId)
+                .build();
+        return syncCursorRepository.saveAndFlush(cursor);
+    }
+}
@@ -0,0 +1,222 @@
+package com.app.wooridooribe.service.payment;
+
+import com.app.wooridooribe.exception.CustomException;
+import com.app.wooridooribe.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 결제 동기화 요청을 제한된 크기의 메모리 큐에 넣고 전용 워커 풀에서 처리하는 비동기 파이프라인
+ *
+ * - 요청 스레드는 큐에 넣기만 하고 바로 추적 ID를 반환 (큐가 가득 차면 BANK_SYNC_QUEUE_FULL → 429)
+ * - db2에 아직 커밋되지 않은 내역은 워커가 잠들지 않고 재시도 스케줄러에 지연 등록 후 다시 큐에 넣음
+ * - 큐 길이, 처리 지연, 재시도 횟수를 Micrometer 메트릭으로 노출
+ * - 작업 상태는 인스턴스 메모리에만 보관되며, 완료 후 일정 시간이 지나면 정리됨
+ * - 작업 상태는 계좌와 매핑된 회원 본인만 조회 가능 (다른 회원에게는 없는 작업으로 응답)
+ */
+@Service
+@Slf4j
+public class PaymentSyncDispatcher {
+
+    private final PaymentSyncService paymentSyncService;
+    private final ThreadPoolTaskExecutor workerPool;
+    private final ThreadPoolTaskScheduler retryScheduler;
+    private final Map<String, PaymentSyncTask> tasks = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingRetries = new AtomicInteger(0);
+
+    private final int maxRetries;
+    private final long initialRetryDelayMs;
+    private final long taskRetentionMs;
+
+    private final Counter retryCounter;
+    private final Counter rejectedCounter;
+    private final Counter successCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+
+    public PaymentSyncDispatcher(PaymentSyncService paymentSyncService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.payment-sync.async.workers:16}") int workers,
+                                 @Value("${app.payment-sync.async.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${app.payment-sync.async.max-retries:3}") int maxRetries,
+                                 @Value("${app.payment-sync.async.initial-retry-delay-ms:100}") long initialRetryDelayMs,
+                                 @Value("${app.payment-sync.async.task-retention-ms:600000}") long taskRetentionMs) {
+        this.paymentSyncService = paymentSyncService;
+        this.maxRetries = maxRetries;
+        this.initialRetryDelayMs = initialRetryDelayMs;
+        this.taskRetentionMs = taskRetentionMs;
+
+        // core == max 이므로 큐가 가득 차면 스레드를 늘리지 않고 바로 거절 (TaskRejectedException)
+        this.workerPool = new ThreadPoolTaskExecutor();
+        this.workerPool.setCorePoolSize(workers);
+        this.workerPool.setMaxPoolSize(workers);
+        this.workerPool.setQueueCapacity(queueCapacity);
+        this.workerPool.setThreadNamePrefix("payment-sync-");
+        this.workerPool.setWaitForTasksToCompleteOnShutdown(true);
+        this.workerPool.setAwaitTerminationSeconds(30);
+        this.workerPool.initialize();
+
+        // 재시도 대기는 워커 스레드를 점유하지 않도록 별도 스케줄러에서 지연 실행
+        this.retryScheduler = new ThreadPoolTaskScheduler();
+        this.retryScheduler.setPoolSize(1);
+        this.retryScheduler.setThreadNamePrefix("payment-sync-retry-");
+        this.retryScheduler.initialize();
+
+        Gauge.builder("payment.sync.queue.depth", workerPool, executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("결제 동기화 대기 큐 길이")
+                .register(meterRegistry);
+        Gauge.builder("payment.sync.queue.remaining", workerPool, executor -> executor.getThreadPoolExecutor().getQueue().remainingCapacity())
+                .description("결제 동기화 대기 큐 남은 용량")
+                .register(meterRegistry);
+        Gauge.builder("payment.sync.retry.pending", pendingRetries, AtomicInteger::get)
+                .description("재시도 대기 중인 결제 동기화 작업 수")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("payment.sync.retries")
+                .description("결제 동기화 재시도 횟수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("payment.sync.rejected")
+                .description("큐가 가득 차서 거절된 결제 동기화 요청 수")
+                .register(meterRegistry);
+        this.successCounter = Counter.builder("payment.sync.completed")
+                .tag("status", "success")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("payment.sync.completed")
+                .tag("status", "failure")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("payment.sync.lag")
+                .description("결제 동기화 요청 접수부터 처리 완료까지 걸린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 동기화 요청을 큐에 넣고 추적 가능한 작업을 반환합니다.
+     *
+     * @throws CustomException 큐가 가득 찬 경우 BANK_SYNC_QUEUE_FULL
+     */
+    public PaymentSyncTask submit(String accountNumber, Long historyId) {
+        PaymentSyncTask task = new PaymentSyncTask(accountNumber, historyId);
+        tasks.put(task.getTrackingId(), task);
+        try {
+            workerPool.execute(() -> process(task));
+        } catch (RejectedExecutionException e) {
+            tasks.remove(task.getTrackingId());
+            rejectedCounter.increment();
+            log.warn("결제 동기화 큐가 가득 차서 요청 거절: accountNumber={}, historyId={}", accountNumber, historyId);
+            throw new CustomException(ErrorCode.BANK_SYNC_QUEUE_FULL);
+        }
+        log.info("결제 동기화 요청 접수: trackingId={}, historyId={}", task.getTrackingId(), historyId);
+        return task;
+    }
+
+    /**
+     * 회원 본인의 동기화 작업을 조회합니다.
+     *
+     * @throws CustomException 작업이 없거나 다른 회원 계좌의 작업인 경우 BANK_SYNC_TASK_NOT_FOUND
+     */
+    public PaymentSyncTask getTask(String trackingId, Long memberId) {
+        PaymentSyncTask task = tasks.get(trackingId);
+        if (task == null || !isOwner(task, memberId)) {
+            throw new CustomException(ErrorCode.BANK_SYNC_TASK_NOT_FOUND);
+        }
+        return task;
+    }
+
+    private boolean isOwner(PaymentSyncTask task, Long memberId) {
+        Long ownerMemberId = task.getOwnerMemberId();
+        if (ownerMemberId == null) {
+            ownerMemberId = paymentSyncService.findAccountOwnerMemberId(task.getAccountNumber());
+            task.assignOwner(ownerMemberId);
+        }
+        return ownerMemberId != null && ownerMemberId.equals(memberId);
+    }
+
+    private void process(PaymentSyncTask task) {
+        task.markProcessing();
+        try {
+            Long cardHistoryId = paymentSyncService.syncPaymentOnce(task.getAccountNumber(), task.getHistoryId());
+            task.markSuccess(cardHistoryId);
+            successCounter.increment();
+            recordLag(task);
+        } catch (CustomException e) {
+            // db2 커밋이 아직 안 된 경우에만 재시도 (계좌 불일치 등은 재시도해도 같은 결과)
+            if (e.getErrorCode() == ErrorCode.BANK_HISTORY_NOT_FOUND && task.getRetryCount() < maxRetries) {
+                scheduleRetry(task);
+            } else {
+                fail(task, e.getErrorCode().getErrorMsg());
+            }
+        } catch (Exception e) {
+            log.error("결제 동기화 처리 중 예외 발생: trackingId={}, historyId={}", task.getTrackingId(), task.getHistoryId(), e);
+            fail(task, ErrorCode.BANK_SYNC_FAILED.getErrorMsg());
+        }
+    }
+
+    private void scheduleRetry(PaymentSyncTask task) {
+        long delayMs = initialRetryDelayMs << task.getRetryCount(); // 100 → 200 → 400ms
+        task.markRetrying();
+        retryCounter.increment();
+        pendingRetries.incrementAndGet();
+        log.warn("db2 내역 미조회로 재시도 예약: trackingId={}, historyId={}, retry={}/{}, {}ms 후",
+                task.getTrackingId(), task.getHistoryId(), task.getRetryCount(), maxRetries, delayMs);
+        retryScheduler.schedule(() -> {
+            pendingRetries.decrementAndGet();
+            resubmit(task);
+        }, Instant.now().plusMillis(delayMs));
+    }
+
+    private void resubmit(PaymentSyncTask task) {
+        try {
+            workerPool.execute(() -> process(task));
+        } catch (RejectedExecutionException e) {
+            // 이미 접수된 작업이므로 버리지 않고 잠시 뒤 다시 큐에 넣음
+            pendingRetries.incrementAndGet();
+            retryScheduler.schedule(() -> {
+                pendingRetries.decrementAndGet();
+                resubmit(task);
+            }, Instant.now().plusMillis(initialRetryDelayMs));
+        }
+    }
+
+    private void fail(PaymentSyncTask task, String reason) {
+        task.markFailed(reason);
+        failedCounter.increment();
+        recordLag(task);
+        log.warn("결제 동기화 실패: trackingId={}, historyId={}, retryCount={}, reason={}",
+                task.getTrackingId(), task.getHistoryId(), task.getRetryCount(), reason);
+    }
+
+    private void recordLag(PaymentSyncTask task) {
+        lagTimer.record(System.nanoTime() - task.getEnqueuedAtNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 완료 후 보관 기간이 지난 작업 상태를 정리합니다. (1분마다)
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictCompletedTasks() {
+        long threshold = System.currentTimeMillis() - taskRetentionMs;
+        tasks.values().removeIf(task -> task.isDone() && task.getCompletedAtMillis() < threshold);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdown();
+        workerPool.shutdown();
+    }
+}
@@ -1,32 +1,51 @@
 package com.app.wooridooribe.service.payment;
 
 import com.app.dooribankbe.domain.entity.AccountHistory;
+import com.app.dooribankbe.domain.entity.DB2Member;
 import com.app.dooribankbe.domain.repository.AccountHistoryRepository;
+import com.app.dooribankbe.domain.repository.MemberAccountRepository;
+import com.app.wooridooribe.controller.dto.PaymentSyncResultDto;
+import com.app.wooridooribe.service.payment.BankMemberResolver.BankMemberResolution;
+import com.app.wooridooribe.service.spending.SpendingAccumulator;
+import com.app.wooridooribe.service.spending.SpendingAccumulator.SpendTotals;
 import com.app.wooridooribe.service.sse.SseService;
+import com.app.wooridooribe.service.goal.GoalScoreDirtyMarker;
+import com.app.wooridooribe.service.goal.GoalScoreStreamer;
+import com.app.wooridooribe.service.version.DataVersionService;
 import com.app.wooridooribe.entity.CardHistory;
 import com.app.wooridooribe.entity.Goal;
-import com.app.wooridooribe.entity.Member;
 import com.app.wooridooribe.entity.MemberCard;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.entity.type.StatusType;
 import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.exception.ErrorCode;
-import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryJdbcRepository;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryJdbcRepository.BatchInsertResult;
 import com.app.wooridooribe.repository.goal.GoalRepository;
-import com.app.wooridooribe.repository.member.MemberRepository;
 import com.app.wooridooribe.repository.memberCard.MemberCardRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,20 +53,63 @@ import java.util.Optional;
 public class PaymentSyncService {
 
     private final AccountHistoryRepository accountHistoryRepository;
-    private final CardHistoryRepository cardHistoryRepository;
-    private final MemberRepository memberRepository;
+    private final MemberAccountRepository memberAccountRepository;
+    private final CardHistoryJdbcRepository cardHistoryJdbcRepository;
+    private final BankMemberResolver bankMemberResolver;
+    private final SpendingAccumulator spendingAccumulator;
+    private final DataVersionService dataVersionService;
+    private final GoalScoreDirtyMarker goalScoreDirtyMarker;
+    private final GoalScoreStreamer goalScoreStreamer;
+    private final CardHistoryWriteCoalescer cardHistoryWriteCoalescer;
     private final MemberCardRepository memberCardRepository;
     private final GoalRepository goalRepository;
     private final SseService sseService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * db2에서 AccountHistory를 조회하고, db1의 CardHistory에 저장합니다.
-     * db1 트랜잭션을 사용하여 CardHistory 저장을 보장합니다.
+     * 비동기 동기화 파이프라인용: db2 조회를 한 번만 시도합니다.
+     * 아직 db2에 커밋되지 않은 내역이면 대기하지 않고 BANK_HISTORY_NOT_FOUND를 던지므로,
+     * 호출 측에서 스레드를 점유하지 않고 재시도 시점을 정할 수 있습니다.
+     * 저장은 CardHistoryWriteCoalescer가 다른 요청과 묶어 한 트랜잭션/배치로 처리하므로 이 메서드는 트랜잭션을 열지 않습니다.
      */
-    @Transactional(transactionManager = "db1TransactionManager", propagation = Propagation.REQUIRED)
-    @SuppressWarnings("ConstantConditions")
-    public Long syncPayment(String accountNumber, Long historyId) {
+    public Long syncPaymentOnce(String accountNumber, Long historyId) {
+        PreparedSync prepared = prepareSync(accountNumber, historyId);
+        if (prepared.replicatedCardHistoryId() != null) {
+            return prepared.replicatedCardHistoryId();
+        }
+
+        CardHistoryWriteCoalescer.InsertResult result;
+        try {
+            result = cardHistoryWriteCoalescer.insert(prepared.cardHistory()).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CustomException customException) {
+                throw customException;
+            }
+            log.error("CardHistory 묶음 저장 중 예외 발생: accountNumber={}, historyId={}", accountNumber, historyId, e.getCause());
+            throw new CustomException(ErrorCode.BANK_SYNC_FAILED);
+        }
+
+        if (!result.inserted()) {
+            log.info("이미 동기화된 결제 내역: cardHistoryId={}, accountNumber={}, historyId={}", result.cardHistoryId(), accountNumber, historyId);
+            return result.cardHistoryId();
+        }
+
+        log.info("결제 동기화 완료 (묶음 저장): cardHistoryId={}, accountNumber={}, historyId={}", result.cardHistoryId(), accountNumber, historyId);
+        scheduleRiskCheck(prepared, historyId);
+        return result.cardHistoryId();
+    }
+
+    /**
+     * 저장 전 준비 결과: 저장할 CardHistory와 매핑된 우리두리 회원 ID (없으면 null)
+     * 우리두리에서 복제된 내역이면 cardHistory 대신 원본 CardHistory ID(replicatedCardHistoryId)만 채워집니다.
+     */
+    private record PreparedSync(CardHistory cardHistory, Long memberId, Long replicatedCardHistoryId) {
+    }
+
+    /**
+     * db2 내역 조회, 계좌번호 검증, db1 회원/카드 매핑까지 수행하고 저장할 CardHistory를 만듭니다.
+     */
+    private PreparedSync prepareSync(String accountNumber, Long historyId) {
         Objects.requireNonNull(accountNumber, "accountNumber must not be null");
         Objects.requireNonNull(historyId, "historyId must not be null");
         log.info("결제 동기화 시작: accountNumber={}, historyId={}", accountNumber, historyId);
@@ -57,26 +119,10 @@ public class PaymentSyncService {
         
         // db2 트랜잭션 내에서 필요한 모든 데이터를 추출 (트랜잭션 종료 전에)
         String actualAccountNumber = accountHistory.getAccount().getAccountNumber();
-        String memberName = accountHistory.getAccount().getDB2Member().getName();
-        String phone = accountHistory.getAccount().getDB2Member().getPhone();
-        String memberRegistNum = accountHistory.getAccount().getDB2Member().getMemberRegistNum();
-        String historyName = accountHistory.getHistoryName();
-        Long historyPrice = accountHistory.getHistoryPrice();
-        String historyCategoryName = accountHistory.getHistoryCategory().name();
-        java.time.LocalDateTime historyDate = accountHistory.getHistoryDate();
-        
-        // member_regist_num이 7자리면 파싱 (앞 6자리: birth_date, 마지막 1자리: birth_back)
-        String birthDate = null;
-        String birthBack = null;
-        if (memberRegistNum != null && memberRegistNum.length() == 7) {
-            birthDate = memberRegistNum.substring(0, 6);
-            birthBack = memberRegistNum.substring(6, 7);
-            log.info("member_regist_num 파싱: memberRegistNum={}, birthDate={}, birthBack={}", 
-                    memberRegistNum, birthDate, birthBack);
-        }
+        DB2Member db2Member = accountHistory.getAccount().getDB2Member();
         
         log.info("AccountHistory 조회 성공: historyId={}, historyName={}, historyPrice={}, historyCategory={}, historyStatus={}", 
-                historyId, historyName, historyPrice, 
+                historyId, accountHistory.getHistoryName(), accountHistory.getHistoryPrice(), 
                 accountHistory.getHistoryCategory(), accountHistory.getHistoryStatus());
         
         if (!actualAccountNumber.equals(accountNumber)) {
@@ -85,104 +131,84 @@ public class PaymentSyncService {
             throw new CustomException(ErrorCode.BANK_ACCOUNT_MISMATCH);
         }
 
-        // db1에서 Member와 MemberCard 조회 (이름, 주민번호(앞+뒤), 전화번호로 대조)
-        Member bankMember = null;
-        if (birthDate != null && birthBack != null) {
-            log.info("db1에서 Member 조회 시작 (주민번호 대조): memberName={}, birthDate={}, birthBack={}, phone={}", 
-                    memberName, birthDate, birthBack, phone);
-            bankMember = findWooriDooriMemberByRegistNum(memberName, birthDate, birthBack, phone);
-        } else {
-            log.warn("주민번호 정보가 없어서 이름과 전화번호로만 조회: memberName={}, phone={}", memberName, phone);
-            bankMember = findWooriDooriMemberOptional(memberName, phone);
+        // 우리두리 결제 내역을 복제한 행이면 원본 CardHistory가 이미 있으므로 저장하지 않음
+        if (accountHistory.getReplicatedCardHistoryId() != null) {
+            log.info("우리두리에서 복제된 결제 내역: cardHistoryId={}, historyId={}", accountHistory.getReplicatedCardHistoryId(), historyId);
+            return new PreparedSync(null, null, accountHistory.getReplicatedCardHistoryId());
         }
-        
+
+        // db1 Member와 MemberCard 매핑 (이름, 주민번호(앞+뒤), 전화번호로 대조 / 캐시 우선)
+        BankMemberResolution resolution = bankMemberResolver.resolve(db2Member);
+        Long memberId = resolution.memberId();
         MemberCard memberCard = null;
-        if (bankMember != null) {
-            log.info("db1에서 Member 조회 성공: memberId={}, memberName={}", bankMember.getId(), bankMember.getMemberName());
-            log.info("db1에서 MemberCard 조회 시작: memberId={}", bankMember.getId());
-            memberCard = findMemberCardOptional(bankMember);
-            if (memberCard != null) {
-                log.info("db1에서 MemberCard 조회 성공: memberCardId={}, cardNum={}", memberCard.getId(), memberCard.getCardNum());
+        if (memberId != null) {
+            log.info("db1 Member 매핑 성공: memberId={}, memberCardId={}", memberId, resolution.memberCardId());
+            if (resolution.memberCardId() != null) {
+                memberCard = memberCardRepository.getReferenceById(resolution.memberCardId());
             } else {
-                log.warn("db1에서 MemberCard를 찾을 수 없음: memberId={}, memberCard를 null로 설정", bankMember.getId());
+                log.warn("db1에서 MemberCard를 찾을 수 없음: memberId={}, memberCard를 null로 설정", memberId);
             }
         } else {
-            log.warn("db1에서 Member를 찾을 수 없음: memberName={}, birthDate={}, birthBack={}, phone={}, memberCard를 null로 설정", 
-                    memberName, birthDate, birthBack, phone);
+            log.warn("db1에서 Member를 찾을 수 없음: db2MemberId={}, memberCard를 null로 설정", db2Member.getId());
         }
 
-        CategoryType categoryType = convertCategory(historyCategoryName);
-
-        // db1의 CardHistory에 저장 (Member를 찾지 못하면 memberCard는 null)
-        CardHistory cardHistory = CardHistory.builder()
-                .memberCard(memberCard)
-                .historyDate(historyDate.toLocalDate())
-                .historyName(historyName)
-                .historyPrice(historyPrice.intValue())
-                .historyStatus(StatusType.ABLE)
-                .historyCategory(categoryType)
-                .historyIncludeTotal("Y")
-                .historyDutchpay(1)
-                .build();
-
+        // db1의 CardHistory로 변환 (Member를 찾지 못하면 memberCard는 null)
+        CardHistory cardHistory = toCardHistory(accountHistory, memberCard, memberCard != null ? memberId : null);
         log.info("CardHistory 저장 시작: historyName={}, historyPrice={}, memberCardId={}, historyDate={}", 
                 cardHistory.getHistoryName(), cardHistory.getHistoryPrice(), 
                 memberCard != null ? memberCard.getId() : "null", cardHistory.getHistoryDate());
-        
-        // db1의 tbl_card_history에 저장
-        CardHistory saved;
-        Long savedId;
-        try {
-            log.info("CardHistory 저장 시도: historyName={}, historyPrice={}, memberCardId={}, historyDate={}", 
-                    cardHistory.getHistoryName(), cardHistory.getHistoryPrice(), 
-                    cardHistory.getMemberCard() != null ? cardHistory.getMemberCard().getId() : "null", 
-                    cardHistory.getHistoryDate());
-            saved = cardHistoryRepository.save(cardHistory);
-            log.info("CardHistory save() 호출 완료: saved={}, savedId={}", saved != null, saved != null ? saved.getId() : null);
-            
-            cardHistoryRepository.flush(); // 즉시 db1에 반영
-            log.info("CardHistory flush() 완료");
-            
-            if (saved == null || saved.getId() == null) {
-                log.error("CardHistory 저장 실패: saved가 null이거나 id가 null입니다. accountNumber={}, historyId={}", accountNumber, historyId);
-                throw new CustomException(ErrorCode.BANK_SYNC_FAILED);
+        return new PreparedSync(cardHistory, memberId, null);
+    }
+
+    /**
+     * 지출 누적값 갱신 및 위험도 체크 (히스토리 추가 시에만, 회원 카드에 연결된 경우에만 / 커밋 이후)
+     */
+    private void scheduleRiskCheck(PreparedSync prepared, Long historyId) {
+        CardHistory cardHistory = prepared.cardHistory();
+        Long memberId = prepared.memberId();
+        if (memberId == null || cardHistory.getMemberCard() == null) {
+            log.warn("회원 카드가 없어서 위험도 체크 스킵: historyId={}", historyId);
+            return;
+        }
+        log.info("위험도 체크 예약: memberId={}, newHistoryPrice={}, historyId={}", 
+                memberId, cardHistory.getHistoryPrice(), historyId);
+        goalScoreDirtyMarker.markSpending(memberId, cardHistory.getHistoryDate());
+        Map<CategoryType, Integer> deltas = Map.of(cardHistory.getHistoryCategory(), cardHistory.getHistoryPrice());
+        afterCommit(() -> accumulateAndCheckRisk(memberId, YearMonth.from(cardHistory.getHistoryDate()), deltas));
+        if ("Y".equals(cardHistory.getHistoryIncludeTotal())) {
+            goalScoreStreamer.applyAfterCommit(memberId, cardHistory.getHistoryDate(), deltas, 1);
+        }
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤에 실행합니다. (롤백된 내역으로 누적값/알림이 바뀌지 않도록)
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
-            
-            savedId = saved.getId();
-            log.info("CardHistory 저장된 ID: savedId={}", savedId);
-            
-            // 저장 확인: 실제로 DB에 저장되었는지 확인
-            Optional<CardHistory> verifySaved = cardHistoryRepository.findById(savedId);
-            if (verifySaved.isEmpty()) {
-                log.error("CardHistory 저장 검증 실패: DB에서 조회되지 않음. cardHistoryId={}, accountNumber={}, historyId={}", 
-                        savedId, accountNumber, historyId);
-                throw new CustomException(ErrorCode.BANK_SYNC_FAILED);
+        });
+    }
+
+    /**
+     * 회원의 월 지출 누적값에 새 내역 금액을 더하고, 이번 달 내역이면 더하기 전후 합계로 위험도를 체크합니다.
+     */
+    private void accumulateAndCheckRisk(Long memberId, YearMonth month, Map<CategoryType, Integer> deltas) {
+        dataVersionService.bump(memberId, month);
+        try {
+            SpendTotals totals = spendingAccumulator.apply(memberId, month, deltas);
+            if (month.equals(YearMonth.now())) {
+                checkAndSendRiskNotification(memberId, totals);
             }
-            log.info("CardHistory 저장 검증 성공: cardHistoryId={}", savedId);
-        } catch (CustomException e) {
-            log.error("CardHistory 저장 중 CustomException 발생: accountNumber={}, historyId={}, error={}", 
-                    accountNumber, historyId, e.getMessage());
-            throw e;
         } catch (Exception e) {
-            log.error("CardHistory 저장 중 예외 발생: accountNumber={}, historyId={}, error={}", 
-                    accountNumber, historyId, e.getMessage(), e);
-            throw new CustomException(ErrorCode.BANK_SYNC_FAILED);
-        }
-        
-        log.info("결제 동기화 완료: db1의 tbl_card_history 저장 성공 - cardHistoryId={}, accountNumber={}, historyId={}, historyName={}, historyPrice={}, memberCardId={}", 
-                savedId, accountNumber, historyId, saved.getHistoryName(), saved.getHistoryPrice(), 
-                saved.getMemberCard() != null ? saved.getMemberCard().getId() : "null");
-        
-        // 위험도 체크 및 알림 전송 (히스토리 추가 시에만, Member가 있는 경우에만)
-        if (bankMember != null) {
-            log.info("위험도 체크 시작: memberId={}, newHistoryPrice={}, accountNumber={}, historyId={}", 
-                    bankMember.getId(), saved.getHistoryPrice(), accountNumber, historyId);
-            checkAndSendRiskNotification(bankMember.getId(), saved.getHistoryPrice());
-        } else {
-            log.warn("Member가 없어서 위험도 체크 스킵: accountNumber={}, historyId={}", accountNumber, historyId);
+            log.error("지출 누적값 갱신 중 오류 발생: memberId={}, month={}", memberId, month, e);
         }
-        
-        return savedId;
     }
 
     /**
@@ -190,11 +216,15 @@ public class PaymentSyncService {
      * 히스토리가 추가될 때만 호출되며, 이전 지출 금액과 비교하여 레벨이 올라갔을 때만 알림을 전송합니다.
      * 기존 MainServiceImpl의 goalPercent 계산 로직을 재사용합니다.
      * 
+     * 기존에는 목표 시작일 ~ 오늘 합계를 썼고, 지금은 이번 달 누적값을 씁니다. 이번 달 목표는 항상 1일에 시작하므로
+     * 오늘 이후 날짜로 저장된 이번 달 내역이 없으면 두 합계는 같습니다. (두리뱅킹 결제는 결제 시각 기준으로 저장되므로 해당 없음)
+     *
      * @param memberId 회원 ID
-     * @param newHistoryPrice 새로 추가된 히스토리의 금액
+     * @param totals 새 히스토리 반영 전후의 이번 달 지출 합계 (SpendingAccumulator)
      */
-    private void checkAndSendRiskNotification(Long memberId, Integer newHistoryPrice) {
-        log.info("checkAndSendRiskNotification 호출: memberId={}, newHistoryPrice={}", memberId, newHistoryPrice);
+    private void checkAndSendRiskNotification(Long memberId, SpendTotals totals) {
+        log.info("checkAndSendRiskNotification 호출: memberId={}, previousTotal={}, currentTotal={}",
+                memberId, totals.previousTotal(), totals.currentTotal());
         try {
             // 이번 달 목표 조회
             Optional<Goal> goalOpt = goalRepository.findCurrentMonthGoalByMemberId(memberId);
@@ -204,19 +234,10 @@ public class PaymentSyncService {
             }
             
             Goal latestGoal = goalOpt.get();
-            LocalDate goalStartDate = latestGoal.getGoalStartDate();
-            LocalDate today = LocalDate.now();
-            
-            // 현재 총 지출 금액 조회 (새로 추가된 히스토리 포함)
-            Integer totalPaidMoney = cardHistoryRepository.getTotalSpentByMemberAndDateRange(
-                    memberId, goalStartDate, today
-            );
-            if (totalPaidMoney == null) {
-                totalPaidMoney = 0;
-            }
             
-            // 이전 지출 금액 계산 (새로 추가된 히스토리 제외)
-            Integer previousPaidMoney = totalPaidMoney - newHistoryPrice;
+            // 현재 총 지출 금액 (새로 추가된 히스토리 포함) / 이전 지출 금액 (제외)
+            long totalPaidMoney = totals.currentTotal();
+            long previousPaidMoney = totals.previousTotal();
             
             // 목표 달성률 계산 (MainServiceImpl 로직 재사용)
             Integer goalMoney = latestGoal.getPreviousGoalMoney();
@@ -360,88 +381,203 @@ public class PaymentSyncService {
     }
 
     /**
-     * db1에서 Member를 조회합니다 (이름, 주민번호 앞 6자리, 뒷자리 1자리, 전화번호로 대조).
-     * 찾지 못하면 null을 반환합니다.
+     * db2에서 AccountHistory를 조회합니다.
+     * db2 트랜잭션을 사용하여 조회하며, 아직 커밋되지 않아 조회되지 않으면 대기하지 않고 BANK_HISTORY_NOT_FOUND를 던집니다.
+     * (재시도는 PaymentSyncDispatcher가 워커 스레드를 점유하지 않고 지연 등록해 처리)
      */
-    private Member findWooriDooriMemberByRegistNum(String memberName, String birthDate, String birthBack, String phone) {
-        return memberRepository.findByMemberNameAndBirthDateAndBirthBackAndPhone(memberName, birthDate, birthBack, phone)
-                .orElse(null);
+    @Transactional(transactionManager = "db2TransactionManager", propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    protected AccountHistory findAccountHistoryFromDb2(Long historyId, String accountNumber) {
+        log.info("db2에서 AccountHistory 조회 시도: historyId={}, accountNumber={}", historyId, accountNumber);
+
+        // Fetch join을 사용하여 account와 db2Member를 함께 조회
+        AccountHistory accountHistory = accountHistoryRepository.findByIdWithAccountAndMember(historyId).orElse(null);
+        if (accountHistory == null) {
+            log.warn("db2에서 AccountHistory를 찾을 수 없음 (트랜잭션 커밋 대기 중일 수 있음): historyId={}, accountNumber={}",
+                    historyId, accountNumber);
+            throw new CustomException(ErrorCode.BANK_HISTORY_NOT_FOUND);
+        }
+
+        log.info("db2에서 AccountHistory 조회 성공: historyId={}, historyName={}, historyPrice={}, accountNumber={}",
+                historyId, accountHistory.getHistoryName(), accountHistory.getHistoryPrice(),
+                accountHistory.getAccount().getAccountNumber());
+        return accountHistory;
     }
 
     /**
-     * db1에서 Member를 조회합니다 (이름, 전화번호로만 조회).
-     * 찾지 못하면 null을 반환합니다.
+     * 계좌번호의 db2 회원과 매핑된 우리두리 회원 ID를 조회합니다. (동기화 작업 상태 조회 시 소유자 확인용)
+     *
+     * @return 우리두리 회원 ID, 계좌가 없거나 매핑되는 회원이 없으면 null
      */
-    private Member findWooriDooriMemberOptional(String memberName, String phone) {
-        return memberRepository.findByMemberNameAndPhone(memberName, phone)
+    @Transactional(transactionManager = "db2TransactionManager", readOnly = true)
+    public Long findAccountOwnerMemberId(String accountNumber) {
+        return memberAccountRepository.findByAccountNumberWithMember(accountNumber)
+                .map(account -> bankMemberResolver.resolve(account.getDB2Member()).memberId())
                 .orElse(null);
     }
 
     /**
-     * db1에서 MemberCard를 조회합니다. 찾지 못하면 null을 반환합니다.
+     * 여러 건의 AccountHistory를 한 번에 동기화합니다.
+     * db2 조회 1회, db1 Member/MemberCard 조회 각 최대 1회(캐시 미스 시), CardHistory 배치 INSERT 1회로 처리하고 건별 결과를 반환합니다.
+     * 단건 동기화와 달리 db2 커밋 대기 재시도는 하지 않으며, 조회되지 않은 건은 실패로 응답합니다.
+     * 이미 동기화된 건은 다시 저장하지 않고 DUPLICATE로 응답하므로 같은 요청을 재시도해도 안전합니다.
      */
-    private MemberCard findMemberCardOptional(Member member) {
-        if (member == null) {
-            return null;
+    @Transactional(transactionManager = "db1TransactionManager", propagation = Propagation.REQUIRED,
+            isolation = Isolation.REPEATABLE_READ)
+    public List<PaymentSyncResultDto> syncPayments(List<Long> historyIds) {
+        Objects.requireNonNull(historyIds, "historyIds must not be null");
+        List<Long> requestedIds = historyIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        log.info("결제 일괄 동기화 시작: 요청 건수={}", requestedIds.size());
+
+        if (requestedIds.isEmpty()) {
+            return List.of();
         }
-        Optional<MemberCard> card = memberCardRepository.findByMemberId(member.getId())
-                .stream()
-                .findFirst();
-        return card.orElse(null);
+
+        // db2에서 AccountHistory 일괄 조회 (계좌, 회원 fetch join)
+        List<AccountHistory> accountHistories = accountHistoryRepository.findAllByIdInWithAccountAndMember(requestedIds);
+        Map<Long, PaymentSyncResultDto> resultByHistoryId = syncAccountHistories(accountHistories).stream()
+                .collect(Collectors.toMap(PaymentSyncResultDto::getHistoryId, result -> result));
+
+        return requestedIds.stream()
+                .map(historyId -> resultByHistoryId.getOrDefault(historyId,
+                        PaymentSyncResultDto.failed(historyId, ErrorCode.BANK_HISTORY_NOT_FOUND.getErrorMsg())))
+                .toList();
     }
 
     /**
-     * db2에서 AccountHistory를 조회합니다.
-     * db2 트랜잭션을 사용하여 조회합니다.
-     * 트랜잭션 커밋 타이밍 문제로 인해 재시도 로직을 포함합니다.
+     * 이미 조회된 AccountHistory 목록(계좌/회원 fetch join 상태)을 db1 CardHistory로 일괄 저장합니다.
+     * 일괄 동기화 API와 db2 pull 동기화가 함께 사용하는 매핑/저장 로직입니다.
+     * source_history_id 기준으로 이미 저장된 내역은 건너뛰고, 동시 요청과 겹친 행은 source_history_id 유니크 제약으로 DB에서 걸러집니다.
+     * 저장 전후 조회 차이로 신규 행을 구하므로 REPEATABLE READ로 고정합니다. (이미 열린 트랜잭션에 참여하면 그 격리 수준을 따름)
+     *
+     * @return 입력 순서와 동일한 건별 동기화 결과 (SUCCESS / DUPLICATE / FAILED)
      */
-    @Transactional(transactionManager = "db2TransactionManager", propagation = Propagation.REQUIRES_NEW, readOnly = true)
-    protected AccountHistory findAccountHistoryFromDb2(Long historyId, String accountNumber) {
-        log.info("db2에서 AccountHistory 조회 시도: historyId={}, accountNumber={}", historyId, accountNumber);
-        
-        int maxRetries = 3;
-        int retryDelayMs = 100; // 100ms 대기
-        
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                // Fetch join을 사용하여 account와 db2Member를 함께 조회
-                AccountHistory accountHistory = accountHistoryRepository.findByIdWithAccountAndMember(historyId).orElse(null);
-                
-                if (accountHistory != null) {
-                    // Fetch join으로 이미 로드되었으므로 직접 접근 가능
-                    String loadedAccountNumber = accountHistory.getAccount().getAccountNumber();
-                    
-                    log.info("db2에서 AccountHistory 조회 성공: historyId={}, historyName={}, historyPrice={}, accountNumber={}, attempt={}", 
-                            historyId, accountHistory.getHistoryName(), accountHistory.getHistoryPrice(), 
-                            loadedAccountNumber, attempt);
-                    return accountHistory;
-                }
-                
-                // 마지막 시도가 아니면 대기 후 재시도
-                if (attempt < maxRetries) {
-                    log.warn("db2에서 AccountHistory를 찾을 수 없음 (트랜잭션 커밋 대기 중일 수 있음): historyId={}, attempt={}/{}, {}ms 후 재시도", 
-                            historyId, attempt, maxRetries, retryDelayMs);
-                    try {
-                        Thread.sleep(retryDelayMs);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                    // 재시도 시 지연 시간 증가
-                    retryDelayMs *= 2;
-                }
-            } catch (Exception e) {
-                log.error("db2에서 AccountHistory 조회 중 오류 발생: historyId={}, attempt={}", historyId, attempt, e);
-                if (attempt == maxRetries) {
-                    throw e;
+    @Transactional(transactionManager = "db1TransactionManager", propagation = Propagation.REQUIRED,
+            isolation = Isolation.REPEATABLE_READ)
+    public List<PaymentSyncResultDto> syncAccountHistories(List<AccountHistory> accountHistories) {
+        if (accountHistories.isEmpty()) {
+            return List.of();
+        }
+
+        // 0. 우리두리에서 복제된 내역(원본 CardHistory가 있음)은 회원/카드 조회와 저장 대상에서 제외
+        Map<Long, Long> replicatedIds = new HashMap<>();
+        accountHistories.stream()
+                .filter(history -> history.getReplicatedCardHistoryId() != null)
+                .forEach(history -> replicatedIds.put(history.getId(), history.getReplicatedCardHistoryId()));
+        List<AccountHistory> newHistories = accountHistories.stream()
+                .filter(history -> !replicatedIds.containsKey(history.getId()))
+                .toList();
+
+        // 이미 동기화된 내역은 저장소의 저장 전/동시 저장 확인 결과로 구분 (호출 측에서 다시 조회하지 않음)
+        BatchInsertResult saved = newHistories.isEmpty() ? BatchInsertResult.EMPTY : insertNewHistories(newHistories);
+        Map<Long, Long> insertedIds = saved.insertedIds();
+        Map<Long, Long> existingIds = new HashMap<>(saved.existingIds());
+        existingIds.putAll(replicatedIds);
+
+        List<PaymentSyncResultDto> results = new ArrayList<>(accountHistories.size());
+        for (AccountHistory accountHistory : accountHistories) {
+            Long historyId = accountHistory.getId();
+            if (insertedIds.containsKey(historyId)) {
+                results.add(PaymentSyncResultDto.success(historyId, insertedIds.get(historyId)));
+            } else if (existingIds.containsKey(historyId)) {
+                results.add(PaymentSyncResultDto.duplicate(historyId, existingIds.get(historyId)));
+            } else {
+                results.add(PaymentSyncResultDto.failed(historyId, ErrorCode.BANK_SYNC_FAILED.getErrorMsg()));
+            }
+        }
+
+        log.info("CardHistory 일괄 동기화 완료: 요청 건수={}, 신규 저장 건수={}, 기존 중복 건수={}",
+                accountHistories.size(), insertedIds.size(), existingIds.size());
+        return results;
+    }
+
+    /**
+     * AccountHistory의 회원/카드를 찾아 CardHistory로 배치 저장하고 새로 저장된 내역만 위험도 알림을 확인합니다.
+     *
+     * @return db2 AccountHistory ID 기준 새로 저장된/이미 있던 CardHistory ID
+     */
+    private BatchInsertResult insertNewHistories(List<AccountHistory> accountHistories) {
+        // 1. db1 Member/MemberCard 일괄 매핑 (캐시 MGET 후 미스만 이름 후보/카드 일괄 조회)
+        Map<Long, BankMemberResolution> resolutions = bankMemberResolver.resolveAll(accountHistories.stream()
+                .map(history -> history.getAccount().getDB2Member())
+                .toList());
+
+        // 2. CardHistory 생성 후 배치 INSERT
+        List<CardHistory> toSave = new ArrayList<>(accountHistories.size());
+        Map<Long, Long> memberIdByHistoryId = new HashMap<>();
+        for (AccountHistory accountHistory : accountHistories) {
+            BankMemberResolution resolution = resolutions.get(accountHistory.getAccount().getDB2Member().getId());
+            MemberCard memberCard = null;
+            Long memberId = null;
+            if (resolution.memberCardId() != null) {
+                memberCard = memberCardRepository.getReferenceById(resolution.memberCardId());
+                memberId = resolution.memberId();
+                memberIdByHistoryId.put(accountHistory.getId(), memberId);
+            }
+            toSave.add(toCardHistory(accountHistory, memberCard, memberId));
+        }
+
+        BatchInsertResult saved;
+        try {
+            saved = cardHistoryJdbcRepository.batchInsertIfAbsent(toSave);
+        } catch (Exception e) {
+            log.error("CardHistory 일괄 저장 중 예외 발생: 요청 건수={}, error={}", toSave.size(), e.getMessage(), e);
+            throw new CustomException(ErrorCode.BANK_SYNC_FAILED);
+        }
+
+        // 3. 지출 누적값 갱신/위험도 체크는 회원·월별로 한 번만 수행 (이번에 새로 추가된 금액 합계 기준, 커밋 이후)
+        Map<Long, Map<YearMonth, Map<CategoryType, Integer>>> deltasByMember = new HashMap<>();
+        Map<Long, Set<LocalDate>> datesByMember = new HashMap<>();
+        // 목표 점수 실시간 갱신용: 회원·결제일별 총지출 포함 금액 증감과 건수
+        Map<Long, Map<LocalDate, Map<CategoryType, Integer>>> dayDeltasByMember = new HashMap<>();
+        Map<Long, Map<LocalDate, Integer>> dayCountsByMember = new HashMap<>();
+        for (CardHistory saved : toSave) {
+            Long memberId = memberIdByHistoryId.get(saved.getSourceHistoryId());
+            if (saved.getId() != null && memberId != null) {
+                deltasByMember.computeIfAbsent(memberId, id -> new HashMap<>())
+                        .computeIfAbsent(YearMonth.from(saved.getHistoryDate()), month -> new EnumMap<>(CategoryType.class))
+                        .merge(saved.getHistoryCategory(), saved.getHistoryPrice(), Integer::sum);
+                datesByMember.computeIfAbsent(memberId, id -> new HashSet<>()).add(saved.getHistoryDate());
+                if ("Y".equals(saved.getHistoryIncludeTotal())) {
+                    dayDeltasByMember.computeIfAbsent(memberId, id -> new HashMap<>())
+                            .computeIfAbsent(saved.getHistoryDate(), date -> new EnumMap<>(CategoryType.class))
+                            .merge(saved.getHistoryCategory(), saved.getHistoryPrice(), Integer::sum);
+                    dayCountsByMember.computeIfAbsent(memberId, id -> new HashMap<>())
+                            .merge(saved.getHistoryDate(), 1, Integer::sum);
                 }
             }
         }
-        
-        // 모든 재시도 실패
-        log.error("db2에서 AccountHistory를 찾을 수 없습니다: historyId={}, accountNumber={}. {}번 시도 후 실패.", 
-                historyId, accountNumber, maxRetries);
-        throw new CustomException(ErrorCode.BANK_HISTORY_NOT_FOUND);
+        // 목표 점수 재계산 대상 표시는 저장과 같은 트랜잭션에서 (단건 동기화의 scheduleRiskCheck와 같음)
+        datesByMember.forEach(goalScoreDirtyMarker::markSpending);
+        afterCommit(() -> deltasByMember.forEach((memberId, deltasByMonth) ->
+                deltasByMonth.forEach((month, deltas) -> accumulateAndCheckRisk(memberId, month, deltas))));
+        dayDeltasByMember.forEach((memberId, deltasByDate) -> deltasByDate.forEach((date, deltas) ->
+                goalScoreStreamer.applyAfterCommit(memberId, date, deltas, dayCountsByMember.get(memberId).get(date))));
+
+        log.info("CardHistory 신규 저장 완료: 저장 건수={}, 위험도 체크 회원 수={}",
+                saved.insertedIds().size(), deltasByMember.size());
+        return saved;
+    }
+
+    /**
+     * db2 AccountHistory를 db1 CardHistory로 변환합니다. (memberCard, memberId는 null일 수 있음)
+     * memberCard는 getReferenceById 프록시이므로 초기화하지 않도록 회원 ID는 매핑 결과에서 받습니다.
+     */
+    private CardHistory toCardHistory(AccountHistory accountHistory, MemberCard memberCard, Long memberId) {
+        return CardHistory.builder()
+                .memberCard(memberCard)
+                .memberId(memberId)
+                .historyDate(accountHistory.getHistoryDate().toLocalDate())
+                .historyName(accountHistory.getHistoryName())
+                .historyPrice(accountHistory.getHistoryPrice().intValue())
+                .historyStatus(StatusType.ABLE)
+                .historyCategory(convertCategory(accountHistory.getHistoryCategory().name()))
+                .historyIncludeTotal("Y")
+                .historyDutchpay(1)
+                .sourceHistoryId(accountHistory.getId())
+                .build();
     }
 
     private CategoryType convertCategory(String categoryName) {
@@ -0,0 +1,71 @@
+package com.app.wooridooribe.service.payment;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 비동기 결제 동기화 작업 한 건의 상태
+ * 워커 스레드와 조회 요청 스레드가 함께 읽으므로 변경 필드는 volatile로 둡니다.
+ */
+@Getter
+public class PaymentSyncTask {
+
+    private final String trackingId;
+    private final String accountNumber;
+    private final Long historyId;
+    private final long enqueuedAtNanos;
+    private final long createdAtMillis;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int retryCount;
+    private volatile Long cardHistoryId;
+    private volatile String reason;
+    private volatile long completedAtMillis;
+    private volatile Long ownerMemberId; // 계좌와 매핑된 우리두리 회원 ID (상태 조회 시 처음 확인한 값을 보관)
+
+    PaymentSyncTask(String accountNumber, Long historyId) {
+        this.trackingId = UUID.randomUUID().toString();
+        this.accountNumber = accountNumber;
+        this.historyId = historyId;
+        this.enqueuedAtNanos = System.nanoTime();
+        this.createdAtMillis = System.currentTimeMillis();
+    }
+
+    void assignOwner(Long memberId) {
+        this.ownerMemberId = memberId;
+    }
+
+    void markProcessing() {
+        this.status = Status.PROCESSING;
+    }
+
+    void markRetrying() {
+        this.retryCount++;
+        this.status = Status.RETRYING;
+    }
+
+    void markSuccess(Long cardHistoryId) {
+        this.cardHistoryId = cardHistoryId;
+        this.status = Status.SUCCESS;
+        this.completedAtMillis = System.currentTimeMillis();
+    }
+
+    void markFailed(String reason) {
+        this.reason = reason;
+        this.status = Status.FAILED;
+        this.completedAtMillis = System.currentTimeMillis();
+    }
+
+    public boolean isDone() {
+        return status == Status.SUCCESS || status == Status.FAILED;
+    }
+
+    public enum Status {
+        QUEUED,
+        PROCESSING,
+        RETRYING,
+        SUCCESS,
+        FAILED
+    }
+}
@@ -0,0 +1,63 @@
+package com.app.wooridooribe.service.spending;
+
+import com.app.wooridooribe.repository.spendRollup.SpendRollupJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * 지출 집계(월별 tbl_monthly_spend_rollup, 일별 tbl_daily_spend_rollup) 재계산 서비스
+ * 평소에는 결제 내역 저장/수정 시 증감으로 갱신되며, 여기서는 최초 적재와 오차 보정을 위해 결제 내역 기준으로 다시 계산합니다.
+ */
+@Service
+@Slf4j
+public class SpendRollupService {
+
+    private final SpendRollupJdbcRepository spendRollupJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SpendRollupService(SpendRollupJdbcRepository spendRollupJdbcRepository,
+                                     @Qualifier("db1TransactionManager") PlatformTransactionManager transactionManager) {
+        this.spendRollupJdbcRepository = spendRollupJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 해당 월의 월별/일별 집계를 한 트랜잭션에서 지우고 다시 계산합니다. (조회 중에 빈 집계가 보이지 않도록)
+     *
+     * @return 다시 저장한 월별 집계 행 수
+     */
+    public int rebuildMonth(YearMonth month) {
+        Integer rows = transactionTemplate.execute(status -> spendRollupJdbcRepository.rebuildMonth(month));
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * 결제 내역이 있는 모든 월의 집계를 다시 계산합니다. (월 단위 트랜잭션)
+     *
+     * @return 재계산한 월 수
+     */
+    public int rebuildAll() {
+        List<YearMonth> months = spendRollupJdbcRepository.findHistoryMonths();
+        for (YearMonth month : months) {
+            rebuildMonth(month);
+        }
+        log.info("지출 집계 전체 재계산 완료: 월 수={}", months.size());
+        return months.size();
+    }
+
+    /**
+     * 집계 테이블이 비어 있으면 (최초 배포, 새 집계 테이블 추가 시) 전체를 적재합니다.
+     */
+    public void initializeIfEmpty() {
+        if (spendRollupJdbcRepository.isEmpty()) {
+            log.info("지출 집계가 비어 있어 결제 내역 기준으로 적재합니다.");
+            rebuildAll();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.app.wooridooribe.service.spending;
+
+import com.app.wooridooribe.entity.type.CategoryType;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
+import com.querydsl.core.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원별/월별 지출 누적값 (Redis Hash)
+ *
+ * key: spend_acc:{memberId}:{yyyyMM}
+ * field: total (총지출 포함 내역의 금액 합계), cat:{CategoryType} (카테고리별 합계)
+ *
+ * 합계 기준은 CardHistoryQueryDsl.getTotalSpentByMemberAndDateRange와 같습니다 (history_include_total = 'Y', 금액 그대로 합산).
+ * 기간은 달력 기준 한 달 전체입니다. 위험도 체크에 쓰는 이번 달 목표는 항상 그 달 1일에 시작하므로(findCurrentMonthGoalByMemberId)
+ * 기존 목표 기간 합계(목표 시작일 ~ 오늘)와 시작일이 같고, 오늘 이후 날짜로 저장된 이번 달 내역이 있을 때만 합계가 달라집니다.
+ * 갱신은 Lua 스크립트로 원자적으로 처리하며, 키가 없으면(만료/최초) SQL로 다시 채웁니다.
+ * 동시 갱신이나 롤백으로 생길 수 있는 오차는 SpendingAccumulatorReconcileScheduler가 주기적으로 SQL 기준으로 맞춥니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SpendingAccumulator {
+
+    private static final String KEY_PREFIX = "spend_acc:";
+    private static final String TOTAL_FIELD = "total";
+    private static final String CATEGORY_FIELD_PREFIX = "cat:";
+    private static final long TTL_DAYS = 62; // 지난 달 내역 수정까지 커버
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // 키가 있을 때만 카테고리별 증감과 그 합만큼 total을 올린 뒤 새 total 반환, 없으면 nil
+    // ARGV: [ttlSeconds, categoryField1, delta1, categoryField2, delta2, ...]
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end " +
+            "local total = 0 " +
+            "for i = 2, #ARGV, 2 do " +
+            "  local delta = tonumber(ARGV[i + 1]) " +
+            "  redis.call('HINCRBY', KEYS[1], ARGV[i], delta) " +
+            "  total = total + delta " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return redis.call('HINCRBY', KEYS[1], 'total', total)",
+            Long.class);
+
+    // 키가 없을 때만 전체 필드를 채움 (동시에 다른 요청이 먼저 채웠으면 그 값을 유지)
+    // ARGV: [ttlSeconds, field1, value1, ...]
+    private static final RedisScript<Long> SEED_IF_ABSENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return tonumber(redis.call('HGET', KEYS[1], 'total')) end " +
+            "for i = 2, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return tonumber(redis.call('HGET', KEYS[1], 'total'))",
+            Long.class);
+
+    // 키 전체를 새 값으로 교체 (삭제와 다시 채우기를 한 스크립트로 실행해 그 사이에 다른 증감이 끼어들지 않음)
+    // ARGV: [ttlSeconds, field1, value1, ...]
+    private static final RedisScript<Long> REPLACE = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+            "for i = 2, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CardHistoryRepository cardHistoryRepository;
+
+    /**
+     * 누적값 갱신 전후의 월 합계
+     */
+    public record SpendTotals(long previousTotal, long currentTotal) {
+    }
+
+    /**
+     * 카테고리별 증감을 반영하고 반영 전후 월 합계를 반환합니다.
+     * DB 변경이 커밋된 이후에 호출해야 하며, 키가 없으면 SQL 합계(이미 이번 변경이 포함됨)로 채웁니다.
+     *
+     * @param deltas 카테고리 → 금액 증감 (총지출 포함 내역 기준)
+     */
+    public SpendTotals apply(Long memberId, YearMonth month, Map<CategoryType, Integer> deltas) {
+        long totalDelta = deltas.values().stream().mapToLong(Integer::longValue).sum();
+        try {
+            String key = key(memberId, month);
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)));
+            deltas.forEach((category, delta) -> {
+                args.add(CATEGORY_FIELD_PREFIX + category.name());
+                args.add(String.valueOf(delta));
+            });
+
+            Long currentTotal = redisTemplate.execute(INCREMENT_IF_EXISTS, List.of(key), args.toArray());
+            if (currentTotal == null) {
+                currentTotal = seed(memberId, month);
+            }
+            return new SpendTotals(currentTotal - totalDelta, currentTotal);
+        } catch (Exception e) {
+            // Redis 장애 시 SQL 합계로 대체
+            log.warn("지출 누적값 갱신 실패 (SQL 합계로 대체): memberId={}, month={}, error={}", memberId, month, e.getMessage());
+            long currentTotal = sumFromSql(memberId, month).getOrDefault(TOTAL_FIELD, 0L);
+            return new SpendTotals(currentTotal - totalDelta, currentTotal);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 증감을 반영합니다. (소비 내역 수정 API용, 롤백 시 반영하지 않음)
+     */
+    public void applyAfterCommit(Long memberId, YearMonth month, Map<CategoryType, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> {
+            try {
+                apply(memberId, month, deltas);
+            } catch (Exception e) {
+                log.error("지출 누적값 갱신 중 오류 발생: memberId={}, month={}", memberId, month, e);
+            }
+        });
+    }
+
+    /**
+     * 여러 내역이 한 번에 바뀌어 증감을 계산하기 어려울 때(필수 카테고리 일괄 제외 등),
+     * 커밋 이후 보관 기간 안의 누적값을 지웁니다. 다음 사용 시 SQL로 다시 채워집니다.
+     */
+    public void evictAfterCommit(Long memberId) {
+        runAfterCommit(() -> {
+            YearMonth thisMonth = YearMonth.now();
+            for (int i = 0; i <= TTL_DAYS / 31; i++) {
+                evict(memberId, thisMonth.minusMonths(i));
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 해당 월의 누적값을 지웁니다. (다음 사용 시 SQL로 다시 채움)
+     */
+    public void evict(Long memberId, YearMonth month) {
+        try {
+            redisTemplate.delete(key(memberId, month));
+        } catch (Exception e) {
+            log.warn("지출 누적값 삭제 실패: memberId={}, month={}, error={}", memberId, month, e.getMessage());
+        }
+    }
+
+    /**
+     * 해당 월에 키가 있는 회원의 누적값을 SQL 합계로 덮어씁니다.
+     * 전체 회원 합계를 한 번에 읽어 두고 나중에 쓰면 그 사이의 증감이 덮여 사라지므로,
+     * 회원마다 SQL 합계 조회와 교체(Lua 스크립트 하나)를 연달아 실행합니다.
+     * 키가 없는 회원은 다음 사용 시 SQL로 채워지므로 건너뛰고, SQL 합계가 없는(이번 달 내역이 모두 빠진) 회원의 키는 지웁니다.
+     *
+     * @return 갱신한 회원 수
+     */
+    public int reconcile(YearMonth month) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*:" + month.format(MONTH_FORMAT))
+                .count(1000)
+                .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+
+        int reconciled = 0;
+        List<String> staleKeys = new ArrayList<>();
+        for (String key : keys) {
+            Long memberId = memberIdOf(key);
+            if (memberId == null) {
+                staleKeys.add(key);
+                continue;
+            }
+            Map<String, Long> fields = sumFromSql(memberId, month);
+            if (fields.size() == 1) { // total 외에 카테고리 합계가 없으면 이번 달 내역 없음
+                staleKeys.add(key);
+                continue;
+            }
+            redisTemplate.execute(REPLACE, List.of(key), toArgs(fields));
+            reconciled++;
+        }
+        if (!staleKeys.isEmpty()) {
+            redisTemplate.delete(staleKeys);
+        }
+
+        log.debug("지출 누적값 재계산: month={}, 갱신 회원 수={}, 삭제한 키 수={}", month, reconciled, staleKeys.size());
+        return reconciled;
+    }
+
+    // spend_acc:{memberId}:{yyyyMM} → memberId (형식이 다르면 null)
+    private Long memberIdOf(String key) {
+        int end = key.lastIndexOf(':');
+        try {
+            return Long.valueOf(key.substring(KEY_PREFIX.length(), end));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private long seed(Long memberId, YearMonth month) {
+        Map<String, Long> fields = sumFromSql(memberId, month);
+        Long total = redisTemplate.execute(SEED_IF_ABSENT, List.of(key(memberId, month)), toArgs(fields));
+        log.debug("지출 누적값 초기화: memberId={}, month={}, total={}", memberId, month, total);
+        return total != null ? total : fields.get(TOTAL_FIELD);
+    }
+
+    private Map<String, Long> sumFromSql(Long memberId, YearMonth month) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+        Map<String, Long> fields = new HashMap<>();
+        fields.put(TOTAL_FIELD, 0L);
+        for (Tuple row : cardHistoryRepository.getAllCategorySpendingByMemberAndDateRange(memberId, startDate, endDate)) {
+            CategoryType category = row.get(0, CategoryType.class);
+            Number sum = row.get(1, Number.class);
+            long amount = sum != null ? sum.longValue() : 0L;
+            fields.put(CATEGORY_FIELD_PREFIX + category.name(), amount);
+            fields.merge(TOTAL_FIELD, amount, Long::sum);
+        }
+        return fields;
+    }
+
+    // 스크립트 인자: [ttlSeconds, field1, value1, ...]
+    private Object[] toArgs(Map<String, Long> fields) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)));
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(String.valueOf(value));
+        });
+        return args.toArray();
+    }
+
+    private String key(Long memberId, YearMonth month) {
+        return KEY_PREFIX + memberId + ":" + month.format(MONTH_FORMAT);
+    }
+}
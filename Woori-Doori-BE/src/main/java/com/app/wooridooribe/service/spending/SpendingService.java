@@ -1,13 +1,27 @@
 package com.app.wooridooribe.service.spending;
 
+import com.app.wooridooribe.controller.dto.CardHistoryPageResponseDto;
 import com.app.wooridooribe.controller.dto.CardHistoryResponseDto;
+import com.app.wooridooribe.controller.dto.SpendingBatchEditRequestDto;
+import com.app.wooridooribe.controller.dto.SpendingEditResultDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 public interface SpendingService {
 
     Map<String, Object> getMonthlySpendings(Long memberId, LocalDate targetDate);
 
+    CardHistoryPageResponseDto getMonthlySpendingPage(Long memberId, LocalDate targetDate,
+                                                      LocalDate cursorDate, Long cursorId, int size);
+
+    void streamMonthlySpendings(Long memberId, LocalDate targetDate, OutputStream out) throws IOException;
+
+    Map<String, Object> getDailySpendings(Long memberId, LocalDate targetDate);
+
     CardHistoryResponseDto getSpendingDetail(Long historyId, Long memberId);
 
     void updateIncludeTotal(Long historyId, Long memberId, boolean includeTotal);
@@ -17,4 +31,6 @@ public interface SpendingService {
     void updateDutchpay(Long historyId, Long memberId, int count);
 
     void updatePrice(Long historyId, Long memberId, int price);
+
+    List<SpendingEditResultDto> updateSpendings(Long memberId, List<SpendingBatchEditRequestDto.Edit> edits);
 }
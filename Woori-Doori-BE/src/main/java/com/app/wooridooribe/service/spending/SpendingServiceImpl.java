@@ -1,19 +1,39 @@
 package com.app.wooridooribe.service.spending;
 
+import com.app.wooridooribe.controller.dto.CardHistoryPageResponseDto;
 import com.app.wooridooribe.controller.dto.CardHistoryResponseDto;
 import com.app.wooridooribe.controller.dto.CardHistorySummaryResponseDto;
+import com.app.wooridooribe.controller.dto.SpendingBatchEditRequestDto;
+import com.app.wooridooribe.controller.dto.SpendingEditResultDto;
 import com.app.wooridooribe.entity.CardHistory;
 import com.app.wooridooribe.entity.type.CategoryType;
 import com.app.wooridooribe.entity.type.StatusType;
 import com.app.wooridooribe.exception.CustomException;
 import com.app.wooridooribe.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDate;
+import java.time.YearMonth;
 
+import com.app.wooridooribe.repository.cardHistory.CardHistoryChange;
 import com.app.wooridooribe.repository.cardHistory.CardHistoryRepository;
+import com.app.wooridooribe.repository.cardHistory.CardHistoryRow;
+import com.app.wooridooribe.repository.cardHistory.DailySpendSeries;
+import com.app.wooridooribe.service.goal.GoalScoreDirtyMarker;
+import com.app.wooridooribe.service.goal.GoalScoreStreamer;
+import com.app.wooridooribe.service.version.DataVersionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,7 +42,16 @@ import java.util.Map;
 @Transactional(readOnly = true)
 public class SpendingServiceImpl implements SpendingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_EDITS = 100;
+
     private final CardHistoryRepository cardHistoryRepository;
+    private final SpendingAccumulator spendingAccumulator;
+    private final DataVersionService dataVersionService;
+    private final GoalScoreDirtyMarker goalScoreDirtyMarker;
+    private final GoalScoreStreamer goalScoreStreamer;
+    private final ObjectMapper objectMapper;
 
     @Override
     public Map<String, Object> getMonthlySpendings(Long memberId, LocalDate targetDate) {
@@ -36,7 +65,7 @@ public class SpendingServiceImpl implements SpendingService {
         CardHistorySummaryResponseDto summary = cardHistoryRepository
                 .findByUserAndMonthAndStatus(memberId, year, month, StatusType.ABLE);
 
-        List<CardHistory> histories = summary.getHistories();
+        List<CardHistoryRow> histories = summary.getHistories();
         if (histories == null || histories.isEmpty()) {
             throw new CustomException(ErrorCode.HISTORY_ISNULL);
         }
@@ -56,69 +85,186 @@ public class SpendingServiceImpl implements SpendingService {
         );
     }
 
+    @Override
+    public CardHistoryPageResponseDto getMonthlySpendingPage(Long memberId, LocalDate targetDate,
+                                                             LocalDate cursorDate, Long cursorId, int size) {
+        if (targetDate == null) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_DATE);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_PAGE_SIZE);
+        }
+
+        YearMonth month = YearMonth.from(targetDate);
+        validateCursor(month, cursorDate, cursorId);
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<CardHistoryRow> rows = cardHistoryRepository.findPageByMemberAndMonth(
+                memberId, month, StatusType.ABLE, cursorDate, cursorId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<CardHistoryResponseDto> spendings = rows.stream()
+                .limit(size)
+                .map(CardHistoryResponseDto::from)
+                .toList();
+        CardHistoryResponseDto last = spendings.isEmpty() ? null : spendings.get(spendings.size() - 1);
+
+        return CardHistoryPageResponseDto.builder()
+                .year(month.getYear())
+                .month(month.getMonthValue())
+                .totalAmount(monthlyTotal(memberId, month))
+                .spendings(spendings)
+                .hasNext(hasNext)
+                .nextCursorDate(hasNext ? last.getDate() : null)
+                .nextCursorId(hasNext ? last.getId() : null)
+                .build();
+    }
+
+    /**
+     * 월별 소비 내역을 JSON으로 바로 써 내려갑니다. (응답 형식은 getMonthlySpendings와 동일)
+     * 커서 페이지 단위로 읽고 쓰므로 한 달 내역이 많아도 요청당 메모리는 페이지 크기만큼만 사용합니다.
+     * 느린 클라이언트에 쓰는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 페이지마다 짧게 조회합니다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamMonthlySpendings(Long memberId, LocalDate targetDate, OutputStream out) throws IOException {
+        if (targetDate == null) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_DATE);
+        }
+        YearMonth month = YearMonth.from(targetDate);
+
+        // 응답 스트림은 서블릿 컨테이너가 닫음
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeNumberField("statusCode", HttpStatus.OK.value());
+            generator.writeStringField("resultMsg", "조회에 성공하였습니다");
+            generator.writeObjectFieldStart("resultData");
+            generator.writeNumberField("year", month.getYear());
+            generator.writeNumberField("month", month.getMonthValue());
+            generator.writeNumberField("totalAmount", monthlyTotal(memberId, month));
+            generator.writeArrayFieldStart("spendings");
+
+            LocalDate cursorDate = null;
+            Long cursorId = null;
+            List<CardHistoryRow> page;
+            do {
+                page = cardHistoryRepository.findPageByMemberAndMonth(
+                        memberId, month, StatusType.ABLE, cursorDate, cursorId, STREAM_PAGE_SIZE);
+                for (CardHistoryRow row : page) {
+                    generator.writeObject(CardHistoryResponseDto.from(row));
+                }
+                generator.flush();
+                if (!page.isEmpty()) {
+                    CardHistoryRow last = page.get(page.size() - 1);
+                    cursorDate = last.historyDate();
+                    cursorId = last.id();
+                }
+            } while (page.size() == STREAM_PAGE_SIZE);
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getDailySpendings(Long memberId, LocalDate targetDate) {
+        if (targetDate == null) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_DATE);
+        }
+
+        // 내역 엔티티를 읽지 않고 일별 지출 집계에서 바로 조회 (결제가 없는 날은 0, 31칸 고정)
+        YearMonth month = YearMonth.from(targetDate);
+        DailySpendSeries series = cardHistoryRepository.getDailySpendSeries(memberId, month.atDay(1), month.atEndOfMonth());
+
+        return Map.of(
+                "year", month.getYear(),
+                "month", month.getMonthValue(),
+                "daysInMonth", month.lengthOfMonth(),
+                "totalAmount", series.spendTotal(),
+                "dailyAmounts", series.spendSums(),
+                "dailyCounts", series.spendCounts()
+        );
+    }
+
     @Override
     public CardHistoryResponseDto getSpendingDetail(Long historyId, Long memberId) {
-        CardHistory entity = cardHistoryRepository.findDetailById(historyId);
-        if (entity == null) throw new CustomException(ErrorCode.HISTORY_ISNULL);
+        CardHistoryRow row = cardHistoryRepository.findDetailById(historyId);
+        if (row == null) throw new CustomException(ErrorCode.HISTORY_ISNULL);
 
         assertOwnership(historyId, memberId);
 
-        return CardHistoryResponseDto.from(entity);
+        return CardHistoryResponseDto.from(row);
     }
 
     @Override
     @Transactional
     public void updateIncludeTotal(Long historyId, Long memberId, boolean includeTotal) {
-        if (!cardHistoryRepository.existsById(historyId)) {
-            throw new CustomException(ErrorCode.HISTORY_ISNULL);
-        }
+        assertExists(historyId);
 
         assertOwnership(historyId, memberId);
 
+        CardHistoryRow before;
         try {
-            cardHistoryRepository.updateIncludeTotal(historyId, includeTotal);
+            before = cardHistoryRepository.updateIncludeTotal(historyId, includeTotal);
         } catch (Exception e) {
             throw new CustomException(ErrorCode.HISTORY_INCLUDE_UPDATE_FAIL);
         }
+        if (before == null) {
+            throw new CustomException(ErrorCode.HISTORY_ISNULL);
+        }
+        dataVersionService.bumpAfterCommit(memberId, YearMonth.from(before.historyDate()));
+        goalScoreDirtyMarker.markSpending(memberId, before.historyDate());
+
+        boolean wasIncluded = "Y".equals(before.historyIncludeTotal());
+        if (wasIncluded != includeTotal) {
+            int delta = includeTotal ? before.historyPrice() : -before.historyPrice();
+            spendingAccumulator.applyAfterCommit(memberId, YearMonth.from(before.historyDate()),
+                    Map.of(before.historyCategory(), delta));
+            goalScoreStreamer.applyAfterCommit(memberId, before.historyDate(),
+                    Map.of(before.historyCategory(), delta), includeTotal ? 1 : -1);
+        }
     }
 
     @Override
     @Transactional
     public void updateCategory(Long historyId, Long memberId, String newCategory) {
-        if (!cardHistoryRepository.existsById(historyId)) {
-            throw new CustomException(ErrorCode.HISTORY_ISNULL);
-        }
+        assertExists(historyId);
 
         assertOwnership(historyId, memberId);
 
-        if (newCategory == null || newCategory.trim().isEmpty()) {
-            throw new CustomException(ErrorCode.HISTORY_INVALID_CATEGORY);
-        }
-
-        // String을 CategoryType으로 변환
-        CategoryType categoryType;
-        try {
-            // ENUM 이름으로 변환 (대소문자 구분 없음)
-            categoryType = CategoryType.valueOf(newCategory.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new CustomException(ErrorCode.HISTORY_INVALID_CATEGORY);
-        }
+        CategoryType categoryType = toCategoryType(newCategory);
 
+        CardHistoryRow before;
         try {
-            cardHistoryRepository.updateCategory(historyId, categoryType);
+            before = cardHistoryRepository.updateCategory(historyId, categoryType);
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
             throw new CustomException(ErrorCode.HISTORY_CATEGORY_UPDATE_FAIL);
         }
+        if (before == null) {
+            throw new CustomException(ErrorCode.HISTORY_ISNULL);
+        }
+        dataVersionService.bumpAfterCommit(memberId, YearMonth.from(before.historyDate()));
+        goalScoreDirtyMarker.markSpending(memberId, before.historyDate());
+
+        // 총지출 포함 내역이면 카테고리 간 금액 이동 (합계는 그대로)
+        CategoryType oldCategory = before.historyCategory();
+        if ("Y".equals(before.historyIncludeTotal()) && oldCategory != categoryType) {
+            Map<CategoryType, Integer> deltas = new EnumMap<>(CategoryType.class);
+            deltas.put(oldCategory, -before.historyPrice());
+            deltas.put(categoryType, before.historyPrice());
+            spendingAccumulator.applyAfterCommit(memberId, YearMonth.from(before.historyDate()), deltas);
+            goalScoreStreamer.applyAfterCommit(memberId, before.historyDate(), deltas, 0);
+        }
     }
 
     @Override
     @Transactional
     public void updateDutchpay(Long historyId, Long memberId, int count) {
-        if (!cardHistoryRepository.existsById(historyId)) {
-            throw new CustomException(ErrorCode.HISTORY_ISNULL);
-        }
+        // 지출 합계는 더치페이 인원과 무관하게 결제 금액 기준이므로 지출 누적값은 갱신하지 않음
+        CardHistory history = findHistory(historyId);
 
         assertOwnership(historyId, memberId);
 
@@ -131,14 +277,13 @@ public class SpendingServiceImpl implements SpendingService {
         } catch (Exception e) {
             throw new CustomException(ErrorCode.HISTORY_DUTCHPAY_UPDATE_FAIL);
         }
+        dataVersionService.bumpAfterCommit(memberId, YearMonth.from(history.getHistoryDate()));
     }
 
     @Override
     @Transactional
     public void updatePrice(Long historyId, Long memberId, int price) {
-        if (!cardHistoryRepository.existsById(historyId)) {
-            throw new CustomException(ErrorCode.HISTORY_ISNULL);
-        }
+        assertExists(historyId);
 
         assertOwnership(historyId, memberId);
 
@@ -146,15 +291,176 @@ public class SpendingServiceImpl implements SpendingService {
             throw new CustomException(ErrorCode.HISTORY_INVALID_PRICE);
         }
 
+        CardHistoryRow before;
         try {
-            cardHistoryRepository.updatePrice(historyId, price);
+            before = cardHistoryRepository.updatePrice(historyId, price);
         } catch (Exception e) {
             throw new CustomException(ErrorCode.HISTORY_PRICE_UPDATE_FAIL);
         }
+        if (before == null) {
+            throw new CustomException(ErrorCode.HISTORY_ISNULL);
+        }
+        dataVersionService.bumpAfterCommit(memberId, YearMonth.from(before.historyDate()));
+        goalScoreDirtyMarker.markSpending(memberId, before.historyDate());
+
+        int delta = price - before.historyPrice();
+        if ("Y".equals(before.historyIncludeTotal()) && delta != 0) {
+            spendingAccumulator.applyAfterCommit(memberId, YearMonth.from(before.historyDate()),
+                    Map.of(before.historyCategory(), delta));
+            goalScoreStreamer.applyAfterCommit(memberId, before.historyDate(),
+                    Map.of(before.historyCategory(), delta), 0);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<SpendingEditResultDto> updateSpendings(Long memberId, List<SpendingBatchEditRequestDto.Edit> edits) {
+        if (edits == null || edits.isEmpty() || edits.size() > MAX_BATCH_EDITS) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_BATCH_SIZE);
+        }
+
+        // 1. 값 검증 (잘못된 요청은 DB에 가지 않고 건별 INVALID)
+        SpendingEditResultDto[] results = new SpendingEditResultDto[edits.size()];
+        Map<Long, Integer> indexById = new HashMap<>();
+        Map<Long, CardHistoryChange> changes = new LinkedHashMap<>();
+        for (int i = 0; i < edits.size(); i++) {
+            SpendingBatchEditRequestDto.Edit edit = edits.get(i);
+            Long historyId = edit != null ? edit.getHistoryId() : null;
+            if (historyId != null && indexById.containsKey(historyId)) {
+                results[i] = SpendingEditResultDto.invalid(historyId, "같은 소비 내역이 중복으로 요청되었습니다.");
+                continue;
+            }
+            try {
+                changes.put(historyId, toChange(edit));
+                indexById.put(historyId, i);
+            } catch (CustomException e) {
+                results[i] = SpendingEditResultDto.invalid(historyId, e.getErrorCode().getErrorMsg());
+            }
+        }
+
+        // 2. 소유 확인 + 수정을 집합 단위로 처리 (건별 existsById/소유 확인/UPDATE 반복 없음)
+        List<CardHistoryRow> updated = List.of();
+        if (!changes.isEmpty()) {
+            try {
+                updated = cardHistoryRepository.updateOwnedHistories(memberId, changes.values());
+            } catch (Exception e) {
+                throw new CustomException(ErrorCode.HISTORY_UPDATE_FAIL);
+            }
+        }
+
+        // 3. 수정된 내역은 월별로 지출 누적값 증감을, 일별로 목표 점수 실시간 갱신용 증감을 모아 커밋 이후 반영
+        Map<YearMonth, Map<CategoryType, Integer>> deltasByMonth = new HashMap<>();
+        Map<LocalDate, Map<CategoryType, Integer>> deltasByDate = new HashMap<>();
+        Map<LocalDate, Integer> countDeltasByDate = new HashMap<>();
+        for (CardHistoryRow before : updated) {
+            CardHistoryChange change = changes.get(before.id());
+            Map<CategoryType, Integer> deltas = deltasByMonth.computeIfAbsent(
+                    YearMonth.from(before.historyDate()), month -> new EnumMap<>(CategoryType.class));
+            Map<CategoryType, Integer> dayDeltas = deltasByDate.computeIfAbsent(
+                    before.historyDate(), date -> new EnumMap<>(CategoryType.class));
+            boolean wasIncluded = "Y".equals(before.historyIncludeTotal());
+            if (wasIncluded) {
+                deltas.merge(before.historyCategory(), -before.historyPrice(), Integer::sum);
+                dayDeltas.merge(before.historyCategory(), -before.historyPrice(), Integer::sum);
+            }
+            boolean included = change.includeTotal() != null ? change.includeTotal() : wasIncluded;
+            if (included) {
+                CategoryType category = change.category() != null ? change.category() : before.historyCategory();
+                int price = change.price() != null ? change.price() : before.historyPrice();
+                deltas.merge(category, price, Integer::sum);
+                dayDeltas.merge(category, price, Integer::sum);
+            }
+            if (wasIncluded != included) {
+                countDeltasByDate.merge(before.historyDate(), included ? 1 : -1, Integer::sum);
+            }
+            results[indexById.get(before.id())] = SpendingEditResultDto.updated(before.id());
+        }
+        deltasByMonth.forEach((month, deltas) -> {
+            deltas.values().removeIf(delta -> delta == 0);
+            spendingAccumulator.applyAfterCommit(memberId, month, deltas);
+            dataVersionService.bumpAfterCommit(memberId, month);
+        });
+        deltasByDate.forEach((date, deltas) -> {
+            deltas.values().removeIf(delta -> delta == 0);
+            goalScoreStreamer.applyAfterCommit(memberId, date, deltas, countDeltasByDate.getOrDefault(date, 0));
+        });
+        goalScoreDirtyMarker.markSpending(memberId, updated.stream().map(CardHistoryRow::historyDate).toList());
+
+        // 4. 검증은 통과했지만 수정되지 않은 건은 없는 내역이거나 다른 회원의 내역
+        indexById.forEach((historyId, index) -> {
+            if (results[index] == null) {
+                results[index] = SpendingEditResultDto.notFound(historyId);
+            }
+        });
+        return List.of(results);
+    }
+
+    // 일괄 수정 요청 한 건을 검증해 수정 값으로 변환 (단건 수정 API와 같은 기준)
+    private CardHistoryChange toChange(SpendingBatchEditRequestDto.Edit edit) {
+        SpendingBatchEditRequestDto.Changes changes = edit != null ? edit.getChanges() : null;
+        if (edit == null || edit.getHistoryId() == null || changes == null
+                || (changes.getIncludeTotal() == null && changes.getCategory() == null
+                && changes.getDutchpay() == null && changes.getPrice() == null)) {
+            throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        CategoryType category = changes.getCategory() != null ? toCategoryType(changes.getCategory()) : null;
+        if (changes.getDutchpay() != null && (changes.getDutchpay() < 1 || changes.getDutchpay() > 10)) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_DUTCHPAY);
+        }
+        if (changes.getPrice() != null && changes.getPrice() <= 0) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_PRICE);
+        }
+        return new CardHistoryChange(edit.getHistoryId(), changes.getIncludeTotal(), category,
+                changes.getDutchpay(), changes.getPrice());
+    }
+
+    // ENUM 이름으로 변환 (대소문자 구분 없음)
+    private CategoryType toCategoryType(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_CATEGORY);
+        }
+        try {
+            return CategoryType.valueOf(category.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_CATEGORY);
+        }
+    }
+
+    // 월 소비 합계는 페이지와 무관하게 일별 지출 집계(최대 31행)에서 따로 계산
+    private int monthlyTotal(Long memberId, YearMonth month) {
+        return cardHistoryRepository.getDailySpendSeries(memberId, month.atDay(1), month.atEndOfMonth()).spendTotal();
+    }
+
+    // 커서는 (일자, ID)를 함께 전달해야 하며 조회 월 안의 일자여야 함
+    private void validateCursor(YearMonth month, LocalDate cursorDate, Long cursorId) {
+        if (cursorDate == null && cursorId == null) {
+            return;
+        }
+        if (cursorDate == null || cursorId == null || !YearMonth.from(cursorDate).equals(month)) {
+            throw new CustomException(ErrorCode.HISTORY_INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * 내역을 조회합니다. (결제일은 수정되지 않으므로 잠금 없이 읽음)
+     */
+    private CardHistory findHistory(Long historyId) {
+        return cardHistoryRepository.findById(historyId)
+                .orElseThrow(() -> new CustomException(ErrorCode.HISTORY_ISNULL));
+    }
+
+    /**
+     * 수정 전 값은 UPDATE 직전 잠금 조회로 읽으므로 여기서는 내역이 있는지만 확인합니다.
+     */
+    private void assertExists(Long historyId) {
+        if (!cardHistoryRepository.existsById(historyId)) {
+            throw new CustomException(ErrorCode.HISTORY_ISNULL);
+        }
     }
 
     private void assertOwnership(Long historyId, Long memberId) {
-        boolean mine = cardHistoryRepository.existsByIdAndMemberCardMemberId(historyId, memberId);
+        boolean mine = cardHistoryRepository.existsByIdAndMemberId(historyId, memberId);
         if (!mine) {
             throw new CustomException(ErrorCode.HISTORY_ISNOTYOURS);
         }
@@ -0,0 +1,180 @@
+package com.app.wooridooribe.service.version;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원별/월별 데이터 버전 (Redis String, 조건부 GET의 ETag용)
+ *
+ * key: data_ver:{memberId} (회원 전체 버전, 여러 달이 한 번에 바뀔 때)
+ *      data_ver:{memberId}:{yyyyMM} (월 버전, 결제 동기화/소비 내역 수정/일기/목표 변경 시)
+ *
+ * 버전은 현재 시각(ms)보다 작아지지 않게 올리므로, 키가 만료된 뒤 다시 만들어져도 예전 버전 값이 재사용되지 않습니다.
+ * 버전 올리기는 DB 커밋 이후에 실행하며, Redis 장애 시 ETag를 만들지 않아 항상 전체 응답을 보냅니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataVersionService {
+
+    private static final String KEY_PREFIX = "data_ver:";
+    private static final long TTL_DAYS = 62;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // 키가 없으면 현재 시각으로 채운 뒤 모든 키의 버전을 반환
+    // ARGV: [nowMillis, ttlSeconds]
+    private static final RedisScript<List> CURRENT = new DefaultRedisScript<>(
+            "local versions = {} " +
+            "for i, key in ipairs(KEYS) do " +
+            "  if redis.call('SET', key, ARGV[1], 'NX', 'EX', ARGV[2]) then versions[i] = ARGV[1] " +
+            "  else versions[i] = redis.call('GET', key) end " +
+            "end " +
+            "return versions",
+            List.class);
+
+    // 1 올리되 현재 시각보다 작으면 현재 시각으로 맞춤
+    // ARGV: [nowMillis, ttlSeconds]
+    private static final RedisScript<Long> BUMP = new DefaultRedisScript<>(
+            "local version = redis.call('INCR', KEYS[1]) " +
+            "local now = tonumber(ARGV[1]) " +
+            "if version < now then redis.call('SET', KEYS[1], now) version = now end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return version",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 회원의 월 데이터에 대한 strong ETag (Redis 장애 시 null)
+     */
+    public String etag(Long memberId, YearMonth month) {
+        return etag(memberId, month, month.format(MONTH_FORMAT));
+    }
+
+    /**
+     * 오늘 날짜까지를 기준으로 계산하는 화면(메인, 요약리포트)용 ETag
+     * 데이터가 그대로여도 날짜가 바뀌면 다시 계산하도록 오늘 날짜를 포함합니다.
+     */
+    public String etagForToday(Long memberId) {
+        LocalDate today = LocalDate.now();
+        return etag(memberId, YearMonth.from(today), today.format(DateTimeFormatter.BASIC_ISO_DATE));
+    }
+
+    /**
+     * 회원의 월 버전을 커밋 이후에 올립니다. (롤백 시 올리지 않음)
+     */
+    public void bumpAfterCommit(Long memberId, YearMonth month) {
+        runAfterCommit(() -> bump(memberId, month));
+    }
+
+    /**
+     * 여러 달에 걸친 변경(필수 카테고리 일괄 제외 등)이면 회원 전체 버전을 커밋 이후에 올립니다.
+     */
+    public void bumpMemberAfterCommit(Long memberId) {
+        runAfterCommit(() -> bumpKey(memberKey(memberId)));
+    }
+
+    /**
+     * 회원의 월 버전을 바로 올립니다. (이미 커밋된 변경을 반영할 때)
+     */
+    public void bump(Long memberId, YearMonth month) {
+        bumpKey(monthKey(memberId, month));
+    }
+
+    /**
+     * 여러 회원의 월 버전을 파이프라인으로 한 번에 올립니다. (전체 회원 점수 일괄 계산처럼 이미 커밋된 대량 변경용)
+     * 회원마다 왕복하지 않도록 스크립트 호출을 모아 보내며, 실패하면 해당 키들을 지워 다음 조회 때 새 버전으로 시작합니다.
+     */
+    public void bumpAll(Collection<Long> memberIds, YearMonth month) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        byte[] script = BUMP.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] now = String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long memberId : memberIds) {
+                    byte[] key = monthKey(memberId, month).getBytes(StandardCharsets.UTF_8);
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, key, now, ttl);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("데이터 버전 일괄 갱신 실패: 회원 수={}, month={}, error={}", memberIds.size(), month, e.getMessage());
+            try {
+                redisTemplate.delete(memberIds.stream().map(memberId -> monthKey(memberId, month)).toList());
+            } catch (Exception ignored) {
+                // Redis 장애 중에는 ETag도 만들어지지 않음
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String etag(Long memberId, YearMonth month, String scope) {
+        try {
+            List<Object> versions = redisTemplate.execute(CURRENT,
+                    List.of(memberKey(memberId), monthKey(memberId, month)),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)));
+            if (versions == null || versions.size() != 2) {
+                return null;
+            }
+            return "\"" + memberId + "-" + scope + "-" + versions.get(0) + "." + versions.get(1) + "\"";
+        } catch (Exception e) {
+            log.warn("데이터 버전 조회 실패 (ETag 생략): memberId={}, month={}, error={}", memberId, month, e.getMessage());
+            return null;
+        }
+    }
+
+    private void bumpKey(String key) {
+        try {
+            redisTemplate.execute(BUMP, List.of(key),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)));
+        } catch (Exception e) {
+            // 버전이 오르지 않으면 이전 응답이 재사용될 수 있으므로 키를 지워 다음 조회 때 새 버전으로 시작
+            log.warn("데이터 버전 갱신 실패: key={}, error={}", key, e.getMessage());
+            try {
+                redisTemplate.delete(key);
+            } catch (Exception ignored) {
+                // Redis 장애 중에는 ETag도 만들어지지 않음
+            }
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String memberKey(Long memberId) {
+        return KEY_PREFIX + memberId;
+    }
+
+    private String monthKey(Long memberId, YearMonth month) {
+        return KEY_PREFIX + memberId + ":" + month.format(MONTH_FORMAT);
+    }
+}
@@ -0,0 +1,178 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.repository.spendRollup.SpendRollupJdbcRepository;
+import io.github.cdimascio.dotenv.Dotenv;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 결제 내역 주요 조회의 실행 계획 테스트
+ * 실제 DB의 회원 카드 한 장에 1년치 결제 내역을 넣고 지출 집계를 다시 계산한 뒤 (테스트 종료 시 롤백)
+ * 각 조회가 tbl_card_history 전체 스캔 없이 복합 인덱스 범위로 처리되는지 EXPLAIN으로 확인합니다.
+ */
+@SpringBootTest
+@Slf4j
+@Transactional
+public class CardHistoryIndexPlanTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardHistoryIndexPlanTest.class);
+
+    private static final String MEMBER_DATE_INCLUDE_INDEX = "idx_card_history_member_date_include";
+    private static final String MEMBER_CATEGORY_DATE_INDEX = "idx_card_history_member_category_date";
+    private static final String[] CATEGORIES = {"FOOD", "CAFE", "SHOPPING", "TRANSPORTATION", "ETC"};
+    private static final int SEED_DAYS = 365;
+    private static final int SEED_PER_DAY = 4;
+
+    @Autowired
+    @Qualifier("db1DataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private SpendRollupJdbcRepository spendRollupJdbcRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private Long memberId;
+
+    @BeforeAll
+    static void loadEnv() {
+        try {
+            Dotenv dotenv = Dotenv.load();
+            dotenv.entries().forEach(entry ->
+                    System.setProperty(entry.getKey(), entry.getValue())
+            );
+            logger.info(".env 파일 로드 완료");
+        } catch (Exception e) {
+            logger.warn(".env 파일을 찾을 수 없습니다. 환경 변수를 확인하세요: {}", e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<Map<String, Object>> cards = jdbcTemplate.queryForList(
+                "SELECT id, member_id FROM tbl_member_card WHERE member_id IS NOT NULL ORDER BY id LIMIT 1");
+        assumeTrue(!cards.isEmpty(), "회원이 연결된 카드가 있어야 합니다.");
+        Long memberCardId = ((Number) cards.get(0).get("id")).longValue();
+        memberId = ((Number) cards.get(0).get("member_id")).longValue();
+
+        // 2024년 한 해 동안 하루 4건씩 결제 내역 저장 (테스트 트랜잭션 롤백으로 정리됨)
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<Object[]> rows = new ArrayList<>();
+        for (int day = 0; day < SEED_DAYS; day++) {
+            for (int i = 0; i < SEED_PER_DAY; i++) {
+                rows.add(new Object[]{
+                        memberCardId,
+                        memberId,
+                        Date.valueOf(start.plusDays(day)),
+                        "인덱스 테스트 가맹점 " + i,
+                        1000 * (i + 1),
+                        CATEGORIES[(day + i) % CATEGORIES.length],
+                        i == 0 ? "N" : "Y"
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tbl_card_history (user_card_id, member_id, history_date, history_name, history_price, " +
+                        "history_status, history_category, history_include_total, history_dutchpay) " +
+                        "VALUES (?, ?, ?, ?, ?, 'ABLE', ?, ?, 1)",
+                rows);
+        for (int month = 1; month <= 12; month++) {
+            spendRollupJdbcRepository.rebuildMonth(YearMonth.of(2024, month));
+        }
+        log.info("실행 계획 테스트 데이터 저장 - memberId: {}, memberCardId: {}, 건수: {}", memberId, memberCardId, rows.size());
+    }
+
+    @Test
+    @DisplayName("월별 소비 내역 목록 (findByUserAndMonthAndStatus) - 월 범위 조건이 인덱스를 사용")
+    void monthlyHistoryListUsesDateIndex() {
+        List<Map<String, Object>> plan = explain(
+                "SELECT h.* FROM tbl_card_history h " +
+                        "WHERE h.member_id = ? AND h.history_status = 'ABLE' " +
+                        "AND h.history_date >= ? AND h.history_date < ? ORDER BY h.history_date",
+                memberId, Date.valueOf("2024-06-01"), Date.valueOf("2024-07-01"));
+
+        assertCardHistoryUsesIndex(plan, MEMBER_DATE_INCLUDE_INDEX);
+    }
+
+    @Test
+    @DisplayName("기간 카테고리별 합계 (결제 내역 직접 합산 구간) - 날짜/총지출 포함 여부 인덱스 사용")
+    void categorySpendingUsesDateIncludeIndex() {
+        List<Map<String, Object>> plan = explain(
+                "SELECT h.history_category, SUM(h.history_price) FROM tbl_card_history h " +
+                        "WHERE h.member_id = ? AND h.history_date BETWEEN ? AND ? AND h.history_include_total = 'Y' " +
+                        "GROUP BY h.history_category",
+                memberId, Date.valueOf("2024-03-15"), Date.valueOf("2024-03-31"));
+
+        assertCardHistoryUsesIndex(plan, MEMBER_DATE_INCLUDE_INDEX);
+    }
+
+    @Test
+    @DisplayName("카테고리별 가맹점 TOP 5 - 카테고리/날짜 인덱스 사용")
+    void categoryStoreUsesCategoryDateIndex() {
+        List<Map<String, Object>> plan = explain(
+                "SELECT h.history_category, h.history_name FROM tbl_card_history h " +
+                        "WHERE h.member_id = ? AND h.history_date BETWEEN ? AND ? AND h.history_include_total = 'Y' " +
+                        "AND h.history_category = 'FOOD' GROUP BY h.history_name ORDER BY COUNT(h.history_name) DESC LIMIT 5",
+                memberId, Date.valueOf("2024-06-01"), Date.valueOf("2024-06-30"));
+
+        assertCardHistoryUsesIndex(plan, MEMBER_CATEGORY_DATE_INDEX);
+    }
+
+    @Test
+    @DisplayName("월별/일별 지출 집계 조회 - 회원 기준 유니크 인덱스 범위 조회")
+    void spendRollupsUseMemberKey() {
+        List<Map<String, Object>> monthly = explain(
+                "SELECT history_category, SUM(spend_sum) FROM tbl_monthly_spend_rollup " +
+                        "WHERE member_id = ? AND spend_month BETWEEN 202401 AND 202412 AND history_include_total = 'Y' " +
+                        "GROUP BY history_category",
+                memberId);
+        assertEquals("uk_monthly_spend_rollup", monthly.get(0).get("key"));
+
+        List<Map<String, Object>> daily = explain(
+                "SELECT * FROM tbl_daily_spend_rollup WHERE member_id = ? AND spend_date BETWEEN ? AND ?",
+                memberId, Date.valueOf("2024-06-01"), Date.valueOf("2024-07-01"));
+        assertEquals("uk_daily_spend_rollup", daily.get(0).get("key"));
+    }
+
+    private List<Map<String, Object>> explain(String sql, Object... params) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, params);
+        plan.forEach(row -> log.info("EXPLAIN - table: {}, type: {}, possible_keys: {}, key: {}, rows: {}",
+                row.get("table"), row.get("type"), row.get("possible_keys"), row.get("key"), row.get("rows")));
+        return plan;
+    }
+
+    private Map<String, Object> cardHistoryRow(List<Map<String, Object>> plan) {
+        return plan.stream()
+                .filter(row -> "h".equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("실행 계획에 tbl_card_history가 없습니다."));
+    }
+
+    private void assertCardHistoryUsesIndex(List<Map<String, Object>> plan, String expectedIndex) {
+        Map<String, Object> row = cardHistoryRow(plan);
+        assertNotEquals("ALL", row.get("type"), "tbl_card_history 전체 스캔이면 안 됩니다.");
+        assertEquals(expectedIndex, row.get("key"), expectedIndex + " 인덱스를 사용해야 합니다.");
+    }
+}
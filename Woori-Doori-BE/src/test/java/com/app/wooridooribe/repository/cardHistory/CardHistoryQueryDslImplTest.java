@@ -99,5 +99,33 @@ public class CardHistoryQueryDslImplTest {
 
         log.info("=== getCategorySpendingByMemberAndDateRange 테스트 완료 ===");
     }
-}
 
+    @Test
+    @DisplayName("getMemberMonthStats 집계 테이블 결과가 개별 집계 쿼리와 일치")
+    void testGetMemberMonthStatsMatchesSeparateQueries() {
+        // Given
+        Long memberId = 3L; // 실제 DB에 있는 memberId로 변경하세요
+        LocalDate startDate = LocalDate.of(2025, 9, 1);
+        LocalDate endDate = LocalDate.of(2025, 9, 30);
+        List<CategoryType> essentialCategories = List.of(CategoryType.FOOD, CategoryType.TRANSPORTATION,
+                CategoryType.HOUSING, CategoryType.HOSPITAL, CategoryType.EDUCATION);
+
+        // When
+        MemberMonthStats stats = cardHistoryQueryDsl.getMemberMonthStats(memberId, startDate, endDate, essentialCategories);
+        int total = cardHistoryQueryDsl.getTotalSpentByMemberAndDateRange(memberId, startDate, endDate);
+        List<Tuple> allCategories = cardHistoryQueryDsl.getAllCategorySpendingByMemberAndDateRange(memberId, startDate, endDate);
+
+        // Then
+        log.info("stats - total: {}, essential: {}, nonEssential: {}, 지출일 수: {}",
+                stats.total(), stats.essential(), stats.nonEssential(), stats.spendingDays().size());
+        assertEquals(total, stats.total(), "총 지출 금액이 같아야 합니다.");
+        assertEquals(stats.total(), stats.essential() + stats.nonEssential(), "필수 + 비필수 = 총액이어야 합니다.");
+        assertEquals(stats.total(), stats.spendingDays().stream().mapToInt(Integer::intValue).sum(), "일별 합계 = 총액이어야 합니다.");
+        assertEquals(allCategories.size(), stats.categorySums().size(), "카테고리 수가 같아야 합니다.");
+        for (Tuple tuple : allCategories) {
+            CategoryType category = tuple.get(0, CategoryType.class);
+            Number sum = tuple.get(1, Number.class);
+            assertEquals(sum.intValue(), stats.categorySums().get(category), category + " 합계가 같아야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.app.wooridooribe.repository.cardHistory;
+
+import com.app.wooridooribe.controller.dto.CardHistoryResponseDto;
+import com.app.wooridooribe.entity.CardHistory;
+import com.app.wooridooribe.entity.QCardHistory;
+import com.app.wooridooribe.entity.type.StatusType;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 월별 소비 내역 조회의 엔티티 조회 vs 읽기 모델(프로젝션) 조회 비교 벤치마크
+ * 실제 DB의 회원 카드 한 장에 한 달치 결제 내역을 넣고 (테스트 종료 시 롤백)
+ * 요청 1회에 해당하는 "조회 + 응답 DTO 변환 + 영속성 컨텍스트 정리"의 스레드 할당량과 지연 시간을 측정합니다.
+ */
+@SpringBootTest
+@Slf4j
+@Transactional
+public class CardHistoryReadModelBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardHistoryReadModelBenchmarkTest.class);
+
+    private static final int SEED_ROWS = 1000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+    private static final LocalDate MONTH_START = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    @Qualifier("db1DataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private CardHistoryRepository cardHistoryRepository;
+
+    @Autowired
+    private JPAQueryFactory queryFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long memberId;
+
+    @BeforeAll
+    static void loadEnv() {
+        try {
+            Dotenv dotenv = Dotenv.load();
+            dotenv.entries().forEach(entry ->
+                    System.setProperty(entry.getKey(), entry.getValue())
+            );
+            logger.info(".env 파일 로드 완료");
+        } catch (Exception e) {
+            logger.warn(".env 파일을 찾을 수 없습니다. 환경 변수를 확인하세요: {}", e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<Map<String, Object>> cards = jdbcTemplate.queryForList(
+                "SELECT id, member_id FROM tbl_member_card WHERE member_id IS NOT NULL ORDER BY id LIMIT 1");
+        assumeTrue(!cards.isEmpty(), "회원이 연결된 카드가 있어야 합니다.");
+        Long memberCardId = ((Number) cards.get(0).get("id")).longValue();
+        memberId = ((Number) cards.get(0).get("member_id")).longValue();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SEED_ROWS; i++) {
+            rows.add(new Object[]{
+                    memberCardId,
+                    memberId,
+                    Date.valueOf(MONTH_START.plusDays(i % 30)),
+                    "벤치마크 가맹점 " + (i % 50),
+                    1000 + i
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tbl_card_history (user_card_id, member_id, history_date, history_name, history_price, " +
+                        "history_status, history_category, history_include_total, history_dutchpay) " +
+                        "VALUES (?, ?, ?, ?, ?, 'ABLE', 'FOOD', 'Y', 1)",
+                rows);
+        log.info("읽기 모델 벤치마크 데이터 저장 - memberId: {}, 건수: {}", memberId, rows.size());
+    }
+
+    @Test
+    @DisplayName("월별 소비 내역 - 읽기 모델 조회가 엔티티 조회보다 요청당 할당량이 적음")
+    void readModelAllocatesLessThanEntities() {
+        Result entity = measure("엔티티 조회", this::loadWithEntities);
+        Result projection = measure("읽기 모델 조회", this::loadWithProjection);
+
+        assertEquals(entity.rows(), projection.rows(), "두 방식의 조회 건수가 같아야 합니다.");
+        assertTrue(entity.rows() >= SEED_ROWS, "저장한 결제 내역이 모두 조회되어야 합니다.");
+        assertTrue(projection.bytesPerRequest() < entity.bytesPerRequest(),
+                "읽기 모델 조회의 요청당 할당량이 엔티티 조회보다 적어야 합니다.");
+    }
+
+    // 변경 전 방식: 엔티티를 영속성 컨텍스트에 올린 뒤 응답 DTO로 변환
+    private List<CardHistoryResponseDto> loadWithEntities() {
+        QCardHistory history = QCardHistory.cardHistory;
+        List<CardHistory> histories = queryFactory
+                .selectFrom(history)
+                .where(
+                        history.memberId.eq(memberId),
+                        history.historyStatus.eq(StatusType.ABLE),
+                        history.historyDate.goe(MONTH_START),
+                        history.historyDate.lt(MONTH_START.plusMonths(1))
+                )
+                .orderBy(history.historyDate.asc())
+                .fetch();
+
+        return histories.stream()
+                .map(h -> CardHistoryResponseDto.from(new CardHistoryRow(h.getId(), h.getHistoryDate(), h.getHistoryName(),
+                        h.getHistoryCategory(), h.getHistoryPrice(), h.getHistoryDutchpay(), h.getHistoryIncludeTotal())))
+                .toList();
+    }
+
+    // 변경 후 방식: 읽기 모델 레코드로 바로 프로젝션
+    private List<CardHistoryResponseDto> loadWithProjection() {
+        return cardHistoryRepository
+                .findByUserAndMonthAndStatus(memberId, MONTH_START.getYear(), MONTH_START.getMonthValue(), StatusType.ABLE)
+                .getHistories().stream()
+                .map(CardHistoryResponseDto::from)
+                .toList();
+    }
+
+    private Result measure(String name, Supplier<List<CardHistoryResponseDto>> request) {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        int rows = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            rows = request.get().size();
+            entityManager.clear();
+        }
+
+        long bytesBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.get();
+            // 요청이 끝나면 영속성 컨텍스트가 닫히는 것과 같게 매번 비움
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        Result result = new Result(rows, allocated / ITERATIONS, elapsed / ITERATIONS / 1_000);
+        log.info("{} - 건수: {}, 요청당 할당: {} KB, 요청당 지연: {} us",
+                name, result.rows(), result.bytesPerRequest() / 1024, result.microsPerRequest());
+        return result;
+    }
+
+    private record Result(int rows, long bytesPerRequest, long microsPerRequest) {}
+}
@@ -0,0 +1,138 @@
+package com.app.wooridooribe.service.goal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScoreEngine 점수 식 고정 테스트
+ * 기대값은 ScoreEngine으로 옮기기 전 GoalServiceImpl의 calculate*Score 결과입니다.
+ * (일별 지출은 결제가 있는 날만 모은 목록, 지난 달 목표가 없으면 null)
+ */
+class ScoreEngineTest {
+
+    private static final int GOAL = 1_000_000; // 목표 100만원
+
+    @Test
+    @DisplayName("목표 달성도: 절약하면 35~40점, 초과하면 0~35점")
+    void achievementScore() {
+        assertEquals(40, ScoreEngine.achievementScore(GOAL, 0));
+        assertEquals(40, ScoreEngine.achievementScore(GOAL, 700_000));
+        assertEquals(38, ScoreEngine.achievementScore(GOAL, 800_000));
+        assertEquals(35, ScoreEngine.achievementScore(GOAL, GOAL));
+        assertEquals(18, ScoreEngine.achievementScore(GOAL, 1_150_000));
+        assertEquals(0, ScoreEngine.achievementScore(GOAL, 2_000_000));
+    }
+
+    @Test
+    @DisplayName("목표 금액이 0이면 지출이 없을 때만 목표 달성도 40점, 절약 지속성은 0점")
+    void zeroGoal() {
+        assertEquals(40, ScoreEngine.achievementScore(0, 0));
+        assertEquals(0, ScoreEngine.achievementScore(0, 5_000));
+        assertEquals(0, ScoreEngine.continuityScore(0, 0, 0, 0));
+        assertEquals(0, ScoreEngine.continuityScore(5_000, 0, 900_000, GOAL));
+    }
+
+    @Test
+    @DisplayName("결제가 없는 달은 소비 안정성, 비율 점수 0점")
+    void emptyMonth() {
+        int[] sums = new int[31];
+        int[] counts = new int[31];
+
+        assertEquals(0, ScoreEngine.stabilityScore(sums, counts));
+        assertEquals(0, ScoreEngine.ratioScore(0, 0));
+
+        int[] out = ScoreEngine.score(GOAL, sums, counts, 0, 0, 0, 0, new int[ScoreEngine.SCORE_COUNT]);
+        assertEquals(40, out[ScoreEngine.ACHIEVEMENT]);
+        assertEquals(0, out[ScoreEngine.STABILITY]);
+        assertEquals(0, out[ScoreEngine.RATIO]);
+        assertEquals(20, out[ScoreEngine.CONTINUITY]);
+    }
+
+    @Test
+    @DisplayName("결제가 없는 날은 소비 안정성 계산에서 제외")
+    void noSpendDays() {
+        // 이전 식: [10000, 20000, 30000] → 평균 20000, 표준편차 8165, CV 0.41 → 12점
+        int[] sums = {10_000, 0, 20_000, 0, 0, 30_000};
+        int[] counts = {1, 0, 2, 0, 0, 1};
+        assertEquals(12, ScoreEngine.stabilityScore(sums, counts));
+
+        // 매일 같은 금액이면 만점, 결제 없는 날이 섞여도 동일
+        assertEquals(20, ScoreEngine.stabilityScore(new int[]{5_000, 0, 5_000, 5_000}, new int[]{1, 0, 1, 3}));
+
+        // CV가 1 이상이면 0점: [1000, 1000, 1000, 50000]
+        assertEquals(0, ScoreEngine.stabilityScore(new int[]{1_000, 1_000, 0, 1_000, 50_000}, new int[]{1, 1, 0, 1, 1}));
+    }
+
+    @Test
+    @DisplayName("필수 지출 비율 0.8까지 선형, 이상이면 20점")
+    void ratioScore() {
+        assertEquals(0, ScoreEngine.ratioScore(0, 10_000));
+        assertEquals(15, ScoreEngine.ratioScore(60_000, 40_000));
+        assertEquals(20, ScoreEngine.ratioScore(80_000, 20_000));
+        assertEquals(20, ScoreEngine.ratioScore(90_000, 10_000));
+    }
+
+    @Test
+    @DisplayName("지난 달 목표가 없으면 이번 달 절약률로만 절약 지속성 계산")
+    void noPreviousMonth() {
+        assertEquals(12, ScoreEngine.continuityScore(800_000, GOAL, 0, 0));
+        assertEquals(10, ScoreEngine.continuityScore(GOAL, GOAL, 0, 0));
+        assertEquals(5, ScoreEngine.continuityScore(1_500_000, GOAL, 0, 0));
+        assertEquals(0, ScoreEngine.continuityScore(3_000_000, GOAL, 0, 0));
+        assertEquals(20, ScoreEngine.continuityScore(0, GOAL, 0, 0));
+        // 지난 달 지출이 있어도 목표가 없으면 신규 회원과 동일
+        assertEquals(12, ScoreEngine.continuityScore(800_000, GOAL, 500_000, 0));
+    }
+
+    @Test
+    @DisplayName("지난 달에 절약했으면 절약률 변화(±30% 캡)로 절약 지속성 계산")
+    void previousMonth() {
+        assertEquals(13, ScoreEngine.continuityScore(800_000, GOAL, 900_000, GOAL));
+        assertEquals(20, ScoreEngine.continuityScore(300_000, GOAL, 900_000, GOAL));
+        assertEquals(7, ScoreEngine.continuityScore(900_000, GOAL, 800_000, GOAL));
+        assertEquals(0, ScoreEngine.continuityScore(1_200_000, GOAL, 800_000, GOAL));
+        // 지난 달에 초과했으면 신규 회원 식
+        assertEquals(12, ScoreEngine.continuityScore(800_000, GOAL, 1_200_000, GOAL));
+    }
+
+    @Test
+    @DisplayName("일별 배열로 계산한 소비 안정성과 평균/표준편차로 계산한 값이 같음")
+    void stabilityScoreFromMoments() {
+        int[][] sums = {
+                {10_000, 0, 20_000, 0, 0, 30_000},
+                {5_000, 0, 5_000, 5_000},
+                {1_000, 1_000, 0, 1_000, 50_000},
+                {12_000, 8_000, 0, 15_000, 9_500, 0, 11_000, 30_000}
+        };
+        int[][] counts = {
+                {1, 0, 2, 0, 0, 1},
+                {1, 0, 1, 3},
+                {1, 1, 0, 1, 1},
+                {2, 1, 0, 1, 1, 0, 3, 1}
+        };
+
+        for (int i = 0; i < sums.length; i++) {
+            long total = 0;
+            int days = 0;
+            for (int d = 0; d < sums[i].length; d++) {
+                if (counts[i][d] > 0) {
+                    total += sums[i][d];
+                    days++;
+                }
+            }
+            double mean = (double) total / days;
+            double squares = 0.0;
+            for (int d = 0; d < sums[i].length; d++) {
+                if (counts[i][d] > 0) {
+                    squares += Math.pow(sums[i][d] - mean, 2);
+                }
+            }
+            double std = Math.sqrt(squares / days);
+
+            assertEquals(ScoreEngine.stabilityScore(mean, std), ScoreEngine.stabilityScore(sums[i], counts[i]));
+        }
+        assertEquals(0, ScoreEngine.stabilityScore(0.0, 0.0));
+    }
+}